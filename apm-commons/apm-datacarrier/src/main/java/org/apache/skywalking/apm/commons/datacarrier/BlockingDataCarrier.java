@@ -18,16 +18,16 @@
 
 package org.apache.skywalking.apm.commons.datacarrier;
 
-import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.IChannels;
 import org.apache.skywalking.apm.commons.datacarrier.callback.QueueBlockingCallback;
 
 /**
  * @author wu-sheng
  */
 public class BlockingDataCarrier<T> {
-    private Channels<T> channels;
+    private IChannels<T> channels;
 
-    BlockingDataCarrier(Channels<T> channels) {
+    BlockingDataCarrier(IChannels<T> channels) {
         this.channels = channels;
     }
 
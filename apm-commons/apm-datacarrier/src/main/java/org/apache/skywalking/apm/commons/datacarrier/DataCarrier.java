@@ -20,8 +20,12 @@ package org.apache.skywalking.apm.commons.datacarrier;
 
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.IChannels;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.RingChannels;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumerPool;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumerPool;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.RingConsumerPool;
 import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
 import org.apache.skywalking.apm.commons.datacarrier.partition.SimpleRollingPartitioner;
 
@@ -31,13 +35,25 @@ import org.apache.skywalking.apm.commons.datacarrier.partition.SimpleRollingPart
 public class DataCarrier<T> {
     private final int bufferSize;
     private final int channelSize;
-    private Channels<T> channels;
-    private ConsumerPool<T> consumerPool;
+    private final IChannels<T> channels;
+    private IConsumerPool<T> consumerPool;
 
     public DataCarrier(int channelSize, int bufferSize) {
+        this(channelSize, bufferSize, false);
+    }
+
+    /**
+     * @param ringBuffer true means using {@link RingChannels}, the data is kept until consumed, and the consumer
+     * threads are woken up by the producers instead of polling. A channel is consumed by only one thread.
+     */
+    public DataCarrier(int channelSize, int bufferSize, boolean ringBuffer) {
         this.bufferSize = bufferSize;
         this.channelSize = channelSize;
-        channels = new Channels<T>(channelSize, bufferSize, new SimpleRollingPartitioner<T>(), BufferStrategy.BLOCKING);
+        if (ringBuffer) {
+            channels = new RingChannels<T>(channelSize, bufferSize, new SimpleRollingPartitioner<T>(), BufferStrategy.BLOCKING);
+        } else {
+            channels = new Channels<T>(channelSize, bufferSize, new SimpleRollingPartitioner<T>(), BufferStrategy.BLOCKING);
+        }
     }
 
     /**
@@ -92,7 +108,11 @@ public class DataCarrier<T> {
         if (consumerPool != null) {
             consumerPool.close();
         }
-        consumerPool = new ConsumerPool<T>(this.channels, consumerClass, num, consumeCycle);
+        if (channels instanceof RingChannels) {
+            consumerPool = new RingConsumerPool<T>((RingChannels<T>)this.channels, consumerClass, num, consumeCycle);
+        } else {
+            consumerPool = new ConsumerPool<T>((Channels<T>)this.channels, consumerClass, num, consumeCycle);
+        }
         consumerPool.begin();
         return this;
     }
@@ -119,7 +139,11 @@ public class DataCarrier<T> {
         if (consumerPool != null) {
             consumerPool.close();
         }
-        consumerPool = new ConsumerPool<T>(this.channels, consumer, num, consumeCycle);
+        if (channels instanceof RingChannels) {
+            consumerPool = new RingConsumerPool<T>((RingChannels<T>)this.channels, consumer, num, consumeCycle);
+        } else {
+            consumerPool = new ConsumerPool<T>((Channels<T>)this.channels, consumer, num, consumeCycle);
+        }
         consumerPool.begin();
         return this;
     }
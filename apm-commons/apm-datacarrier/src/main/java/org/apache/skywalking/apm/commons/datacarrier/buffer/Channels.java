@@ -25,7 +25,7 @@ import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
  * Channels of Buffer It contais all buffer data which belongs to this channel. It supports several strategy when buffer
  * is full. The Default is BLOCKING <p> Created by wusheng on 2016/10/25.
  */
-public class Channels<T> {
+public class Channels<T> implements IChannels<T> {
     private final Buffer<T>[] bufferChannels;
     private IDataPartitioner<T> dataPartitioner;
     private BufferStrategy strategy;
@@ -39,6 +39,7 @@ public class Channels<T> {
         }
     }
 
+    @Override
     public boolean save(T data) {
         int index = dataPartitioner.partition(bufferChannels.length, data);
         int retryCountDown = 1;
@@ -56,6 +57,7 @@ public class Channels<T> {
         return false;
     }
 
+    @Override
     public void setPartitioner(IDataPartitioner<T> dataPartitioner) {
         this.dataPartitioner = dataPartitioner;
     }
@@ -66,6 +68,7 @@ public class Channels<T> {
      *
      * @param strategy
      */
+    @Override
     public void setStrategy(BufferStrategy strategy) {
         for (Buffer<T> buffer : bufferChannels) {
             buffer.setStrategy(strategy);
@@ -77,6 +80,7 @@ public class Channels<T> {
      *
      * @return
      */
+    @Override
     public int getChannelSize() {
         return this.bufferChannels.length;
     }
@@ -85,6 +89,7 @@ public class Channels<T> {
         return this.bufferChannels[index];
     }
 
+    @Override
     public void addCallback(QueueBlockingCallback<T> callback) {
         for (Buffer<T> channel : bufferChannels) {
             channel.addCallback(callback);
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import org.apache.skywalking.apm.commons.datacarrier.callback.QueueBlockingCallback;
+import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
+
+/**
+ * The channels of a {@link org.apache.skywalking.apm.commons.datacarrier.DataCarrier}, implemented by {@link Channels}
+ * and {@link RingChannels}.
+ */
+public interface IChannels<T> {
+    /**
+     * @return false means the data is not saved, by the {@link BufferStrategy}.
+     */
+    boolean save(T data);
+
+    void setPartitioner(IDataPartitioner<T> dataPartitioner);
+
+    /**
+     * override the strategy at runtime. Notice, this will override several channels one by one. So, when running
+     * setStrategy, each channel may use different BufferStrategy
+     */
+    void setStrategy(BufferStrategy strategy);
+
+    int getChannelSize();
+
+    void addCallback(QueueBlockingCallback<T> callback);
+}
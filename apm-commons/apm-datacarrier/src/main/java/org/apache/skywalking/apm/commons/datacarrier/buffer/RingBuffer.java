@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.skywalking.apm.commons.datacarrier.callback.QueueBlockingCallback;
+import org.apache.skywalking.apm.commons.datacarrier.common.PaddedAtomicLong;
+
+/**
+ * A bounded multi-producer single-consumer ring buffer. Every slot has a sequence, a producer claims the slot by the
+ * tail sequence, and publishes the data by moving the slot sequence forward, so the unconsumed data is never
+ * overridden, unlike {@link Buffer}.
+ * <p>
+ * When the ring is full, {@link BufferStrategy#BLOCKING} parks the producer until the consumer frees a slot, {@link
+ * BufferStrategy#IF_POSSIBLE} and {@link BufferStrategy#OVERRIDE} drop the new data.
+ */
+public class RingBuffer<T> {
+    private static final long PRODUCER_PARK_NANOS = 100 * 1000L;
+
+    private final int mask;
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final PaddedAtomicLong tail;
+    private final PaddedAtomicLong head;
+    private volatile BufferStrategy strategy;
+    private List<QueueBlockingCallback<T>> callbacks;
+    private volatile Thread consumer;
+    private volatile boolean consumerWaiting;
+
+    RingBuffer(int bufferSize, BufferStrategy strategy) {
+        int capacity = 1;
+        while (capacity < bufferSize) {
+            capacity <<= 1;
+        }
+        this.mask = capacity - 1;
+        this.elements = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.tail = new PaddedAtomicLong(0);
+        this.head = new PaddedAtomicLong(0);
+        this.strategy = strategy;
+        this.callbacks = new LinkedList<QueueBlockingCallback<T>>();
+    }
+
+    void setStrategy(BufferStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    void addCallback(QueueBlockingCallback<T> callback) {
+        callbacks.add(callback);
+    }
+
+    boolean save(T data) {
+        boolean isFirstTimeBlocking = true;
+        while (!offer(data)) {
+            if (!BufferStrategy.BLOCKING.equals(strategy)) {
+                return false;
+            }
+            if (isFirstTimeBlocking) {
+                isFirstTimeBlocking = false;
+                for (QueueBlockingCallback<T> callback : callbacks) {
+                    callback.notify(data);
+                }
+            }
+            wakeUpConsumer();
+            LockSupport.parkNanos(PRODUCER_PARK_NANOS);
+        }
+        wakeUpConsumer();
+        return true;
+    }
+
+    private boolean offer(T data) {
+        while (true) {
+            long tailSequence = tail.get();
+            int index = (int)tailSequence & mask;
+            long slotSequence = sequences.get(index);
+            if (slotSequence == tailSequence) {
+                if (tail.compareAndSet(tailSequence, tailSequence + 1)) {
+                    elements[index] = data;
+                    /*
+                     * Volatile write rather than lazySet, it must not be reordered with the read of consumerWaiting,
+                     * otherwise the consumer may park without seeing this data.
+                     */
+                    sequences.set(index, tailSequence + 1);
+                    return true;
+                }
+            } else if (slotSequence < tailSequence) {
+                return false;
+            }
+        }
+    }
+
+    private void wakeUpConsumer() {
+        if (consumerWaiting) {
+            consumerWaiting = false;
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    public int getBufferSize() {
+        return elements.length;
+    }
+
+    /**
+     * Only one thread consumes a ring.
+     */
+    public void setConsumer(Thread consumer) {
+        this.consumer = consumer;
+    }
+
+    /**
+     * Set by the consumer before it parks, then the producers unpark it after publishing the data.
+     */
+    public void setConsumerWaiting(boolean consumerWaiting) {
+        this.consumerWaiting = consumerWaiting;
+    }
+
+    public boolean isEmpty() {
+        long headSequence = head.get();
+        return sequences.get((int)headSequence & mask) != headSequence + 1;
+    }
+
+    /**
+     * Move all the published data into the target, only called by the consumer thread.
+     *
+     * @return the count of the data moved.
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(List<T> target) {
+        long headSequence = head.get();
+        int count = 0;
+        while (count < elements.length) {
+            int index = (int)headSequence & mask;
+            if (sequences.get(index) != headSequence + 1) {
+                break;
+            }
+            target.add((T)elements[index]);
+            elements[index] = null;
+            sequences.lazySet(index, headSequence + elements.length);
+            headSequence++;
+            count++;
+        }
+        head.lazySet(headSequence);
+        return count;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import org.apache.skywalking.apm.commons.datacarrier.callback.QueueBlockingCallback;
+import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
+
+/**
+ * Same as {@link Channels}, with {@link RingBuffer}s. Each channel is consumed by only one consumer thread.
+ */
+public class RingChannels<T> implements IChannels<T> {
+    private final RingBuffer<T>[] bufferChannels;
+    private IDataPartitioner<T> dataPartitioner;
+    private BufferStrategy strategy;
+
+    public RingChannels(int channelSize, int bufferSize, IDataPartitioner<T> partitioner, BufferStrategy strategy) {
+        this.dataPartitioner = partitioner;
+        this.strategy = strategy;
+        bufferChannels = new RingBuffer[channelSize];
+        for (int i = 0; i < channelSize; i++) {
+            bufferChannels[i] = new RingBuffer<T>(bufferSize, strategy);
+        }
+    }
+
+    @Override
+    public boolean save(T data) {
+        int retryCountDown = 1;
+        if (BufferStrategy.IF_POSSIBLE.equals(strategy)) {
+            int maxRetryCount = dataPartitioner.maxRetryCount();
+            if (maxRetryCount > 1) {
+                retryCountDown = maxRetryCount;
+            }
+        }
+        for (; retryCountDown > 0; retryCountDown--) {
+            int index = dataPartitioner.partition(bufferChannels.length, data);
+            if (bufferChannels[index].save(data)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void setPartitioner(IDataPartitioner<T> dataPartitioner) {
+        this.dataPartitioner = dataPartitioner;
+    }
+
+    /**
+     * override the strategy at runtime. Notice, this will override several channels one by one. So, when running
+     * setStrategy, each channel may use different BufferStrategy
+     *
+     * @param strategy
+     */
+    @Override
+    public void setStrategy(BufferStrategy strategy) {
+        this.strategy = strategy;
+        for (RingBuffer<T> buffer : bufferChannels) {
+            buffer.setStrategy(strategy);
+        }
+    }
+
+    @Override
+    public int getChannelSize() {
+        return this.bufferChannels.length;
+    }
+
+    public RingBuffer<T> getBuffer(int index) {
+        return this.bufferChannels[index];
+    }
+
+    @Override
+    public void addCallback(QueueBlockingCallback<T> callback) {
+        for (RingBuffer<T> channel : bufferChannels) {
+            channel.addCallback(callback);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.common;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An {@link AtomicLong} padded to its own cache line, so the sequences written by the producers and the consumer don't
+ * invalidate each other.
+ */
+public class PaddedAtomicLong extends AtomicLong {
+    private static final long serialVersionUID = 4153934357240165340L;
+
+    public volatile long p1, p2, p3, p4, p5, p6, p7 = 7L;
+
+    public PaddedAtomicLong(long initialValue) {
+        super(initialValue);
+    }
+
+    /**
+     * Read the padding fields, just to keep them from being removed.
+     */
+    public long sumPaddingToPreventOptimisation() {
+        return p1 + p2 + p3 + p4 + p5 + p6 + p7;
+    }
+}
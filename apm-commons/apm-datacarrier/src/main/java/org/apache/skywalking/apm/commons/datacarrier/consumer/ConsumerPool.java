@@ -26,7 +26,7 @@ import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
 /**
  * Pool of consumers <p> Created by wusheng on 2016/10/25.
  */
-public class ConsumerPool<T> {
+public class ConsumerPool<T> implements IConsumerPool<T> {
     private boolean running;
     private ConsumerThread[] consumerThreads;
     private Channels<T> channels;
@@ -69,6 +69,7 @@ public class ConsumerPool<T> {
         }
     }
 
+    @Override
     public void begin() {
         if (running) {
             return;
@@ -85,6 +86,7 @@ public class ConsumerPool<T> {
         }
     }
 
+    @Override
     public boolean isRunning() {
         return running;
     }
@@ -133,6 +135,7 @@ public class ConsumerPool<T> {
 
     }
 
+    @Override
     public void close() {
         try {
             lock.lock();
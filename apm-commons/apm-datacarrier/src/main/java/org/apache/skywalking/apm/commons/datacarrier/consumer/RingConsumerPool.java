@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.RingChannels;
+
+/**
+ * Same as {@link ConsumerPool}, for {@link RingChannels}. A ring has only one consumer, so the count of threads is
+ * limited by the count of channels.
+ */
+public class RingConsumerPool<T> implements IConsumerPool<T> {
+    private boolean running;
+    private RingConsumerThread<T>[] consumerThreads;
+    private RingChannels<T> channels;
+    private ReentrantLock lock;
+
+    public RingConsumerPool(RingChannels<T> channels, Class<? extends IConsumer<T>> consumerClass, int num,
+        long consumeCycle) {
+        this(channels, num);
+        for (int i = 0; i < consumerThreads.length; i++) {
+            consumerThreads[i] = new RingConsumerThread<T>("DataCarrier.Consumser." + i + ".Thread", getNewConsumerInstance(consumerClass), consumeCycle);
+            consumerThreads[i].setDaemon(true);
+        }
+    }
+
+    public RingConsumerPool(RingChannels<T> channels, IConsumer<T> prototype, int num, long consumeCycle) {
+        this(channels, num);
+        prototype.init();
+        for (int i = 0; i < consumerThreads.length; i++) {
+            consumerThreads[i] = new RingConsumerThread<T>("DataCarrier.Consumser." + i + ".Thread", prototype, consumeCycle);
+            consumerThreads[i].setDaemon(true);
+        }
+    }
+
+    private RingConsumerPool(RingChannels<T> channels, int num) {
+        running = false;
+        this.channels = channels;
+        consumerThreads = new RingConsumerThread[Math.min(num, channels.getChannelSize())];
+        lock = new ReentrantLock();
+    }
+
+    private IConsumer<T> getNewConsumerInstance(Class<? extends IConsumer<T>> consumerClass) {
+        try {
+            IConsumer<T> inst = consumerClass.newInstance();
+            inst.init();
+            return inst;
+        } catch (InstantiationException e) {
+            throw new ConsumerCannotBeCreatedException(e);
+        } catch (IllegalAccessException e) {
+            throw new ConsumerCannotBeCreatedException(e);
+        }
+    }
+
+    @Override
+    public void begin() {
+        if (running) {
+            return;
+        }
+        try {
+            lock.lock();
+            for (int channelIndex = 0; channelIndex < channels.getChannelSize(); channelIndex++) {
+                int consumerIndex = channelIndex % consumerThreads.length;
+                consumerThreads[consumerIndex].addDataSource(channels.getBuffer(channelIndex));
+            }
+            for (RingConsumerThread<T> consumerThread : consumerThreads) {
+                consumerThread.start();
+            }
+            running = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void close() {
+        try {
+            lock.lock();
+            this.running = false;
+            for (RingConsumerThread<T> consumerThread : consumerThreads) {
+                consumerThread.shutdown();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.RingBuffer;
+
+/**
+ * Consume {@link RingBuffer}s. The thread parks when all rings are empty, and producers unpark it when new data
+ * arrives, so there is no polling with the consume cycle.
+ * <p>
+ * The list passed to {@link IConsumer#consume(List)} is reused by the next round, the consumer must not hold it.
+ */
+public class RingConsumerThread<T> extends Thread {
+    private volatile boolean running;
+    private IConsumer<T> consumer;
+    private List<RingBuffer<T>> dataSources;
+    private ArrayList<T> consumeList;
+    private long consumeCycleNanos;
+
+    RingConsumerThread(String threadName, IConsumer<T> consumer, long consumeCycle) {
+        super(threadName);
+        this.consumer = consumer;
+        running = false;
+        dataSources = new LinkedList<RingBuffer<T>>();
+        consumeList = new ArrayList<T>();
+        this.consumeCycleNanos = TimeUnit.MILLISECONDS.toNanos(consumeCycle);
+    }
+
+    void addDataSource(RingBuffer<T> sourceBuffer) {
+        sourceBuffer.setConsumer(this);
+        this.dataSources.add(sourceBuffer);
+    }
+
+    @Override
+    public void run() {
+        running = true;
+
+        while (running) {
+            boolean hasData = consume();
+
+            if (!hasData) {
+                for (RingBuffer<T> dataSource : dataSources) {
+                    dataSource.setConsumerWaiting(true);
+                }
+                if (running && isAllEmpty()) {
+                    LockSupport.parkNanos(consumeCycleNanos);
+                }
+                for (RingBuffer<T> dataSource : dataSources) {
+                    dataSource.setConsumerWaiting(false);
+                }
+            }
+        }
+
+        // consumer thread is going to stop
+        // consume the last time
+        consume();
+
+        consumer.onExit();
+    }
+
+    private boolean isAllEmpty() {
+        for (RingBuffer<T> dataSource : dataSources) {
+            if (!dataSource.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean consume() {
+        for (RingBuffer<T> dataSource : dataSources) {
+            dataSource.drainTo(consumeList);
+        }
+
+        if (consumeList.isEmpty()) {
+            return false;
+        }
+        try {
+            consumer.consume(consumeList);
+        } catch (Throwable t) {
+            consumer.onError(consumeList, t);
+        } finally {
+            consumeList.clear();
+        }
+        return true;
+    }
+
+    void shutdown() {
+        running = false;
+        LockSupport.unpark(this);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RingBufferTest {
+    @Test
+    public void testCapacityAndFull() {
+        RingBuffer<Integer> buffer = new RingBuffer<Integer>(6, BufferStrategy.IF_POSSIBLE);
+        Assert.assertEquals(8, buffer.getBufferSize());
+        Assert.assertTrue(buffer.isEmpty());
+
+        for (int i = 0; i < 8; i++) {
+            Assert.assertTrue(buffer.save(i));
+        }
+        Assert.assertFalse(buffer.save(8));
+
+        List<Integer> result = new ArrayList<Integer>();
+        Assert.assertEquals(8, buffer.drainTo(result));
+        for (int i = 0; i < 8; i++) {
+            Assert.assertEquals(i, result.get(i).intValue());
+        }
+        Assert.assertTrue(buffer.isEmpty());
+
+        Assert.assertTrue(buffer.save(9));
+        result.clear();
+        Assert.assertEquals(1, buffer.drainTo(result));
+        Assert.assertEquals(9, result.get(0).intValue());
+    }
+
+    @Test
+    public void testMultipleProducers() throws InterruptedException {
+        final RingBuffer<Integer> buffer = new RingBuffer<Integer>(64, BufferStrategy.BLOCKING);
+        final int producerCount = 4;
+        final int countPerProducer = 10000;
+        final CountDownLatch latch = new CountDownLatch(producerCount);
+        for (int p = 0; p < producerCount; p++) {
+            final int base = p * countPerProducer;
+            new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < countPerProducer; i++) {
+                        buffer.save(base + i);
+                    }
+                    latch.countDown();
+                }
+            }.start();
+        }
+
+        Set<Integer> received = new HashSet<Integer>();
+        List<Integer> drained = new ArrayList<Integer>();
+        while (received.size() < producerCount * countPerProducer) {
+            buffer.drainTo(drained);
+            received.addAll(drained);
+            drained.clear();
+        }
+        latch.await();
+        Assert.assertTrue(buffer.isEmpty());
+        Assert.assertEquals(producerCount * countPerProducer, received.size());
+    }
+}
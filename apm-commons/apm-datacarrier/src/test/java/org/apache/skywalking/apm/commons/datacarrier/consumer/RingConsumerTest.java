@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RingConsumerTest {
+    @Test
+    public void testConsumeRingChannels() throws InterruptedException {
+        final ConcurrentLinkedQueue<SampleData> received = new ConcurrentLinkedQueue<SampleData>();
+        final Set<String> consumerThreads = new HashSet<String>();
+        final DataCarrier<SampleData> carrier = new DataCarrier<SampleData>(2, 16, true);
+        carrier.consume(new IConsumer<SampleData>() {
+            @Override public void init() {
+            }
+
+            @Override public void consume(List<SampleData> data) {
+                synchronized (consumerThreads) {
+                    consumerThreads.add(Thread.currentThread().getName());
+                }
+                received.addAll(data);
+            }
+
+            @Override public void onError(List<SampleData> data, Throwable t) {
+            }
+
+            @Override public void onExit() {
+            }
+        }, 5, 1000);
+
+        for (int i = 0; i < 500; i++) {
+            Assert.assertTrue(carrier.produce(new SampleData().setIntValue(i)));
+        }
+
+        for (int i = 0; i < 100 && received.size() < 500; i++) {
+            Thread.sleep(20);
+        }
+        carrier.shutdownConsumers();
+
+        Assert.assertEquals(500, received.size());
+        Assert.assertTrue(consumerThreads.size() <= 2);
+        Set<Integer> values = new HashSet<Integer>();
+        for (SampleData data : new ArrayList<SampleData>(received)) {
+            values.add(data.getIntValue());
+        }
+        Assert.assertEquals(500, values.size());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.agent.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Producer throughput and produce latency of {@link DataCarrier}, on the ring channels and on the original channels,
+ * with 1 to 64 producer threads and one consumer thread per channel.
+ *
+ * With the blocking strategy the producers wait for the consumers once the buffers are full, with if-possible the
+ * data is dropped instead, the produce result tells which one happened.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataCarrierBenchmark {
+    private static final int CHANNEL_SIZE = 2;
+    private static final int BUFFER_SIZE = 1024;
+
+    @Param({"true", "false"})
+    private boolean ringBuffer;
+
+    @Param({"BLOCKING", "IF_POSSIBLE"})
+    private BufferStrategy strategy;
+
+    private DataCarrier<Object> carrier;
+    private final Object data = new Object();
+
+    @Setup
+    public void setup() {
+        carrier = new DataCarrier<Object>(CHANNEL_SIZE, BUFFER_SIZE, ringBuffer);
+        carrier.setBufferStrategy(strategy);
+        carrier.consume(new BlackholeConsumer(), CHANNEL_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        carrier.shutdownConsumers();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean produce1() {
+        return carrier.produce(data);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean produce4() {
+        return carrier.produce(data);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean produce16() {
+        return carrier.produce(data);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean produce64() {
+        return carrier.produce(data);
+    }
+
+    private static class BlackholeConsumer implements IConsumer<Object> {
+        @Override public void init() {
+        }
+
+        @Override public void consume(List<Object> data) {
+        }
+
+        @Override public void onError(List<Object> data, Throwable t) {
+        }
+
+        @Override public void onExit() {
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.agent.benchmark;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import org.apache.skywalking.apm.agent.core.dictionary.NetworkAddressDictionary;
+import org.apache.skywalking.apm.agent.core.dictionary.OperationNameDictionary;
+
+/**
+ * Fill the dictionaries as the sync with the collector would do, the benchmarks run without a collector.
+ */
+final class Dictionaries {
+
+    private Dictionaries() {
+    }
+
+    static void registerOperationName(int applicationId, String operationName, boolean isEntry, boolean isExit,
+        int operationId) throws Exception {
+        Class<?> keyClass = Class.forName(OperationNameDictionary.class.getName() + "$OperationNameKey");
+        Constructor<?> keyConstructor = keyClass.getDeclaredConstructor(OperationNameDictionary.class,
+            int.class, String.class, boolean.class, boolean.class);
+        keyConstructor.setAccessible(true);
+        Method register = OperationNameDictionary.class.getDeclaredMethod("register", keyClass, int.class);
+        register.setAccessible(true);
+
+        Object key = keyConstructor.newInstance(OperationNameDictionary.INSTANCE, applicationId, operationName, isEntry, isExit);
+        register.invoke(OperationNameDictionary.INSTANCE, key, operationId);
+    }
+
+    @SuppressWarnings("unchecked")
+    static void registerNetworkAddress(String networkAddress, int addressId) throws Exception {
+        Field dictionary = NetworkAddressDictionary.class.getDeclaredField("applicationDictionary");
+        dictionary.setAccessible(true);
+        ((Map<String, Integer>)dictionary.get(NetworkAddressDictionary.INSTANCE)).put(networkAddress, addressId);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.agent.benchmark;
+
+import org.apache.skywalking.apm.agent.core.dictionary.DictionaryUtil;
+import org.apache.skywalking.apm.agent.core.dictionary.NetworkAddressDictionary;
+import org.apache.skywalking.apm.agent.core.dictionary.OperationNameDictionary;
+import org.apache.skywalking.apm.agent.core.dictionary.PossibleFound;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The dictionary lookups of a span creation, through the {@link PossibleFound} callbacks as the tracing context did
+ * before, and through the id lookups it uses now. Run with -prof gc to compare the allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DictionaryLookupBenchmark {
+    private static final int APPLICATION_ID = 1;
+    private static final String OPERATION_NAME = "/benchmark/entry";
+    private static final String PEER = "127.0.0.1:8080";
+
+    @Param({"true", "false"})
+    private boolean registered;
+
+    @Setup
+    public void setup() throws Exception {
+        if (registered) {
+            Dictionaries.registerOperationName(APPLICATION_ID, OPERATION_NAME, false, false, 1);
+            Dictionaries.registerNetworkAddress(PEER, 1);
+        }
+    }
+
+    @Benchmark
+    public Object possibleFound() {
+        final Object operation = OperationNameDictionary.INSTANCE.findOnly(APPLICATION_ID, OPERATION_NAME)
+            .doInCondition(new PossibleFound.FoundAndObtain() {
+                @Override public Object doProcess(int operationId) {
+                    return operationId;
+                }
+            }, new PossibleFound.NotFoundAndObtain() {
+                @Override public Object doProcess() {
+                    return OPERATION_NAME;
+                }
+            });
+        return NetworkAddressDictionary.INSTANCE.find(PEER).doInCondition(new PossibleFound.FoundAndObtain() {
+            @Override public Object doProcess(int peerId) {
+                return operation;
+            }
+        }, new PossibleFound.NotFoundAndObtain() {
+            @Override public Object doProcess() {
+                return PEER;
+            }
+        });
+    }
+
+    @Benchmark
+    public int id() {
+        int operationId = OperationNameDictionary.INSTANCE.findIdOnly(APPLICATION_ID, OPERATION_NAME);
+        int peerId = NetworkAddressDictionary.INSTANCE.findId(PEER);
+        return DictionaryUtil.isNull(peerId) ? operationId : peerId;
+    }
+}
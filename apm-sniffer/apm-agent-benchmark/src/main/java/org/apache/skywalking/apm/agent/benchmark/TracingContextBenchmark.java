@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.apm.agent.benchmark;
+
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.conf.RemoteDownstreamConfig;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.logging.core.LogLevel;
+import org.apache.skywalking.apm.agent.core.plugin.loader.AgentClassLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Spans created per second per thread through {@link ContextManager}, an entry span with a local and an exit span in
+ * it, like a plugin traced request. The names are either registered, which is the common case once the agent has
+ * synced with the collector, or not.
+ *
+ * Run with -t to see the rate per thread under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OperationsPerInvocation(3)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TracingContextBenchmark {
+    private static final String ENTRY_NAME = "/benchmark/entry";
+    private static final String LOCAL_NAME = "Benchmark.local()";
+    private static final String EXIT_NAME = "Benchmark.exit()";
+    private static final String PEER = "127.0.0.1:8080";
+
+    @Param({"true", "false"})
+    private boolean registered;
+
+    @Setup
+    public void setup() throws Throwable {
+        AgentClassLoader.initDefaultLoader();
+        Config.Logging.LEVEL = LogLevel.OFF;
+        ServiceManager.INSTANCE.boot();
+        RemoteDownstreamConfig.Agent.APPLICATION_ID = 1;
+        RemoteDownstreamConfig.Agent.APPLICATION_INSTANCE_ID = 1;
+
+        if (registered) {
+            Dictionaries.registerOperationName(1, ENTRY_NAME, true, false, 1);
+            Dictionaries.registerOperationName(1, LOCAL_NAME, false, false, 2);
+            Dictionaries.registerOperationName(1, EXIT_NAME, false, true, 3);
+            Dictionaries.registerNetworkAddress(PEER, 1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ServiceManager.INSTANCE.shutdown();
+    }
+
+    @Benchmark
+    public void createSpans() {
+        ContextManager.createEntrySpan(ENTRY_NAME, null);
+        ContextManager.createLocalSpan(LOCAL_NAME);
+        ContextManager.stopSpan();
+        ContextManager.createExitSpan(EXIT_NAME, PEER);
+        ContextManager.stopSpan();
+        ContextManager.stopSpan();
+    }
+}
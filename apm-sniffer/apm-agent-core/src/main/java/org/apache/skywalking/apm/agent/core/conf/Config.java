@@ -54,6 +54,17 @@ public class Config {
          */
         public static int SAMPLE_N_PER_3_SECS = -1;
 
+        /**
+         * Negative or zero means off, by default. Positive means the adaptive sampling, which samples about this count
+         * of {@link TraceSegment}s per second, shared by the endpoints. {@link #SAMPLE_N_PER_3_SECS} is ignored then.
+         */
+        public static int SAMPLE_SEGMENTS_PER_SECOND = -1;
+
+        /**
+         * In the adaptive sampling, the endpoints having segments slower than this are sampled more, milliseconds.
+         */
+        public static long SAMPLE_SLOW_THRESHOLD = 1000;
+
         /**
          * If the operation name of the first span is included in this set, this segment should be ignored.
          */
@@ -70,6 +81,20 @@ public class Config {
          * Skywalking team may ask for these files in order to resolve compatible problem.
          */
         public static boolean IS_OPEN_DEBUGGING_CLASS = false;
+
+        /**
+         * If true, the interceptors are called by the code inlined into the enhanced methods, rather than the method
+         * delegation, which saves the allocations of the origin call and the parameter types in every call. The
+         * intercept points overriding the arguments keep the delegation.
+         */
+        public static boolean IS_INLINE_INTERCEPTOR = false;
+
+        /**
+         * The max number of the recycled segments, and of the recycled spans of each type. Zero means off, by default.
+         * When it is on, the plugins must not touch the spans after they have been stopped, so it is unsafe with the
+         * async plugins, which may change a span in a callback after it is reused.
+         */
+        public static int TRACING_OBJECT_POOL_SIZE = 0;
     }
 
     public static class Collector {
@@ -85,6 +110,11 @@ public class Config {
          * Collector skywalking trace receiver service addresses.
          */
         public static String BACKEND_SERVICE = "";
+        /**
+         * Trace segments are sent through one stream, which is completed and reopened in this period, seconds. The
+         * collector acknowledges the segments when the stream completes.
+         */
+        public static long SEGMENT_STREAM_PERIOD = 60;
     }
 
     public static class Jvm {
@@ -98,6 +128,39 @@ public class Config {
         public static int CHANNEL_SIZE = 5;
 
         public static int BUFFER_SIZE = 300;
+
+        /**
+         * The size of the segment spool file, MB. The trace segments are kept in it while the collector is unreachable
+         * or too slow, and sent after reconnecting. Zero means off.
+         */
+        public static int SPOOL_SIZE = 0;
+
+        /**
+         * The segment spool file. Default is blank string, means, "spool/segment.spool" in the agent directory.
+         */
+        public static String SPOOL_FILE = "";
+
+        /**
+         * The spooled segments older than this are abandoned, seconds.
+         */
+        public static long SPOOL_MAX_AGE = 10 * 60;
+
+        /**
+         * The max count of the spooled segments sent per second after reconnecting.
+         */
+        public static int SPOOL_DRAIN_RATE = 500;
+
+        /**
+         * The max size of the sent segments kept in memory until the collector acknowledges them, KB. They are spooled
+         * if their stream fails, and the ones sent beyond this size are abandoned then.
+         */
+        public static int SPOOL_UNACKED_SIZE = 4 * 1024;
+
+        /**
+         * The segment stream period when the spool is on, seconds. The shorter one of it and {@link
+         * Collector#SEGMENT_STREAM_PERIOD} is used, so the kept segments are acknowledged and released sooner.
+         */
+        public static long SPOOL_STREAM_PERIOD = 5;
     }
 
     public static class Dictionary {
@@ -57,8 +57,8 @@ public class ContextManagerExtendService implements BootService {
             context = new IgnoredTracerContext();
         } else {
             SamplingService samplingService = ServiceManager.INSTANCE.findService(SamplingService.class);
-            if (forceSampling || samplingService.trySampling()) {
-                context = new TracingContext();
+            if (forceSampling || samplingService.trySampling(operationName)) {
+                context = new TracingContext(operationName);
             } else {
                 context = new IgnoredTracerContext();
             }
@@ -18,8 +18,10 @@
 
 package org.apache.skywalking.apm.agent.core.context;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
@@ -31,10 +33,10 @@ import org.apache.skywalking.apm.agent.core.context.trace.NoopExitSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.NoopSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegmentRef;
+import org.apache.skywalking.apm.agent.core.context.trace.TracingObjectPool;
 import org.apache.skywalking.apm.agent.core.context.trace.WithPeerInfo;
 import org.apache.skywalking.apm.agent.core.dictionary.DictionaryManager;
 import org.apache.skywalking.apm.agent.core.dictionary.DictionaryUtil;
-import org.apache.skywalking.apm.agent.core.dictionary.PossibleFound;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.sampling.SamplingService;
@@ -68,28 +70,46 @@ public class TracingContext implements AbstractTracerContext {
     private TraceSegment segment;
 
     /**
-     * Active spans stored in a Stack, usually called 'ActiveSpanStack'. This {@link LinkedList} is the in-memory
-     * storage-structure. <p> I use {@link LinkedList#removeLast()}, {@link LinkedList#addLast(Object)} and {@link
-     * LinkedList#last} instead of {@link #pop()}, {@link #push(AbstractSpan)}, {@link #peek()}
+     * Active spans stored in a Stack, usually called 'ActiveSpanStack'. This array is the in-memory storage-structure,
+     * the top element is at {@link #activeSpanStackDepth} - 1. It grows by {@link #push(AbstractSpan)}, and never
+     * shrinks, the contexts are short-lived.
      */
-    private LinkedList<AbstractSpan> activeSpanStack = new LinkedList<AbstractSpan>();
+    private AbstractSpan[] activeSpanStack = new AbstractSpan[8];
+
+    /**
+     * The number of spans in {@link #activeSpanStack}.
+     */
+    private int activeSpanStackDepth;
 
     /**
      * A counter for the next span.
      */
     private int spanIdGenerator;
 
+    /**
+     * The endpoint name, by which this context is sampled.
+     */
+    private String samplingEndpoint;
+
     /**
      * Initialize all fields with default value.
      */
     TracingContext() {
-        this.segment = new TraceSegment();
+        this.segment = TracingObjectPool.newSegment();
         this.spanIdGenerator = 0;
         if (samplingService == null) {
             samplingService = ServiceManager.INSTANCE.findService(SamplingService.class);
         }
     }
 
+    /**
+     * @param samplingEndpoint the endpoint name, by which this context is sampled.
+     */
+    TracingContext(String samplingEndpoint) {
+        this();
+        this.samplingEndpoint = samplingEndpoint;
+    }
+
     /**
      * Inject the context into the given carrier, only when the active span is an exit one.
      *
@@ -248,31 +268,18 @@ public class TracingContext implements AbstractTracerContext {
         AbstractSpan entrySpan;
         final AbstractSpan parentSpan = peek();
         final int parentSpanId = parentSpan == null ? -1 : parentSpan.getSpanId();
+        int operationId = DictionaryManager.findOperationNameCodeSection()
+            .findIdOnly(segment.getApplicationId(), operationName);
         if (parentSpan != null && parentSpan.isEntry()) {
-            entrySpan = (AbstractTracingSpan)DictionaryManager.findOperationNameCodeSection()
-                .findOnly(segment.getApplicationId(), operationName)
-                .doInCondition(new PossibleFound.FoundAndObtain() {
-                    @Override public Object doProcess(int operationId) {
-                        return parentSpan.setOperationId(operationId);
-                    }
-                }, new PossibleFound.NotFoundAndObtain() {
-                    @Override public Object doProcess() {
-                        return parentSpan.setOperationName(operationName);
-                    }
-                });
+            if (DictionaryUtil.isNull(operationId)) {
+                entrySpan = parentSpan.setOperationName(operationName);
+            } else {
+                entrySpan = parentSpan.setOperationId(operationId);
+            }
             return entrySpan.start();
         } else {
-            entrySpan = (AbstractTracingSpan)DictionaryManager.findOperationNameCodeSection()
-                .findOnly(segment.getApplicationId(), operationName)
-                .doInCondition(new PossibleFound.FoundAndObtain() {
-                    @Override public Object doProcess(int operationId) {
-                        return new EntrySpan(spanIdGenerator++, parentSpanId, operationId);
-                    }
-                }, new PossibleFound.NotFoundAndObtain() {
-                    @Override public Object doProcess() {
-                        return new EntrySpan(spanIdGenerator++, parentSpanId, operationName);
-                    }
-                });
+            entrySpan = TracingObjectPool.newEntrySpan(spanIdGenerator++, parentSpanId,
+                DictionaryUtil.isNull(operationId) ? operationName : null, operationId);
             entrySpan.start();
             return push(entrySpan);
         }
@@ -293,19 +300,10 @@ public class TracingContext implements AbstractTracerContext {
         }
         AbstractSpan parentSpan = peek();
         final int parentSpanId = parentSpan == null ? -1 : parentSpan.getSpanId();
-        AbstractTracingSpan span = (AbstractTracingSpan)DictionaryManager.findOperationNameCodeSection()
-            .findOrPrepare4Register(segment.getApplicationId(), operationName, false, false)
-            .doInCondition(new PossibleFound.FoundAndObtain() {
-                @Override
-                public Object doProcess(int operationId) {
-                    return new LocalSpan(spanIdGenerator++, parentSpanId, operationId);
-                }
-            }, new PossibleFound.NotFoundAndObtain() {
-                @Override
-                public Object doProcess() {
-                    return new LocalSpan(spanIdGenerator++, parentSpanId, operationName);
-                }
-            });
+        int operationId = DictionaryManager.findOperationNameCodeSection()
+            .findIdOrPrepare4Register(segment.getApplicationId(), operationName, false, false);
+        AbstractTracingSpan span = TracingObjectPool.newLocalSpan(spanIdGenerator++, parentSpanId,
+            DictionaryUtil.isNull(operationId) ? operationName : null, operationId);
         span.start();
         return push(span);
     }
@@ -326,54 +324,20 @@ public class TracingContext implements AbstractTracerContext {
             exitSpan = parentSpan;
         } else {
             final int parentSpanId = parentSpan == null ? -1 : parentSpan.getSpanId();
-            exitSpan = (AbstractSpan)DictionaryManager.findNetworkAddressSection()
-                .find(remotePeer).doInCondition(
-                    new PossibleFound.FoundAndObtain() {
-                        @Override
-                        public Object doProcess(final int peerId) {
-                            if (isLimitMechanismWorking()) {
-                                return new NoopExitSpan(peerId);
-                            }
-
-                            return DictionaryManager.findOperationNameCodeSection()
-                                .findOnly(segment.getApplicationId(), operationName)
-                                .doInCondition(
-                                    new PossibleFound.FoundAndObtain() {
-                                        @Override
-                                        public Object doProcess(int operationId) {
-                                            return new ExitSpan(spanIdGenerator++, parentSpanId, operationId, peerId);
-                                        }
-                                    }, new PossibleFound.NotFoundAndObtain() {
-                                        @Override
-                                        public Object doProcess() {
-                                            return new ExitSpan(spanIdGenerator++, parentSpanId, operationName, peerId);
-                                        }
-                                    });
-                        }
-                    },
-                    new PossibleFound.NotFoundAndObtain() {
-                        @Override
-                        public Object doProcess() {
-                            if (isLimitMechanismWorking()) {
-                                return new NoopExitSpan(remotePeer);
-                            }
-
-                            return DictionaryManager.findOperationNameCodeSection()
-                                .findOnly(segment.getApplicationId(), operationName)
-                                .doInCondition(
-                                    new PossibleFound.FoundAndObtain() {
-                                        @Override
-                                        public Object doProcess(int operationId) {
-                                            return new ExitSpan(spanIdGenerator++, parentSpanId, operationId, remotePeer);
-                                        }
-                                    }, new PossibleFound.NotFoundAndObtain() {
-                                        @Override
-                                        public Object doProcess() {
-                                            return new ExitSpan(spanIdGenerator++, parentSpanId, operationName, remotePeer);
-                                        }
-                                    });
-                        }
-                    });
+            int peerId = DictionaryManager.findNetworkAddressSection().findId(remotePeer);
+            if (isLimitMechanismWorking()) {
+                if (DictionaryUtil.isNull(peerId)) {
+                    exitSpan = new NoopExitSpan(remotePeer);
+                } else {
+                    exitSpan = new NoopExitSpan(peerId);
+                }
+            } else {
+                int operationId = DictionaryManager.findOperationNameCodeSection()
+                    .findIdOnly(segment.getApplicationId(), operationName);
+                exitSpan = TracingObjectPool.newExitSpan(spanIdGenerator++, parentSpanId,
+                    DictionaryUtil.isNull(operationId) ? operationName : null, operationId,
+                    DictionaryUtil.isNull(peerId) ? remotePeer : null, peerId);
+            }
             push(exitSpan);
         }
         exitSpan.start();
@@ -414,7 +378,7 @@ public class TracingContext implements AbstractTracerContext {
             throw new IllegalStateException("Stopping the unexpected span = " + span);
         }
 
-        if (activeSpanStack.isEmpty()) {
+        if (activeSpanStackDepth == 0) {
             this.finish();
         }
     }
@@ -436,6 +400,9 @@ public class TracingContext implements AbstractTracerContext {
                 finishedSegment.setIgnore(true);
             }
         }
+        if (!finishedSegment.isIgnore()) {
+            samplingService.afterFinished(samplingEndpoint, finishedSegment);
+        }
         TracingContext.ListenerManager.notifyFinish(finishedSegment);
     }
 
@@ -481,7 +448,9 @@ public class TracingContext implements AbstractTracerContext {
      * @return the top element of 'ActiveSpanStack', and remove it.
      */
     private AbstractSpan pop() {
-        return activeSpanStack.removeLast();
+        AbstractSpan span = activeSpanStack[--activeSpanStackDepth];
+        activeSpanStack[activeSpanStackDepth] = null;
+        return span;
     }
 
     /**
@@ -490,7 +459,10 @@ public class TracingContext implements AbstractTracerContext {
      * @param span
      */
     private AbstractSpan push(AbstractSpan span) {
-        activeSpanStack.addLast(span);
+        if (activeSpanStackDepth == activeSpanStack.length) {
+            activeSpanStack = Arrays.copyOf(activeSpanStack, activeSpanStack.length << 1);
+        }
+        activeSpanStack[activeSpanStackDepth++] = span;
         return span;
     }
 
@@ -498,14 +470,17 @@ public class TracingContext implements AbstractTracerContext {
      * @return the top element of 'ActiveSpanStack' only.
      */
     private AbstractSpan peek() {
-        if (activeSpanStack.isEmpty()) {
+        if (activeSpanStackDepth == 0) {
             return null;
         }
-        return activeSpanStack.getLast();
+        return activeSpanStack[activeSpanStackDepth - 1];
     }
 
     private AbstractSpan first() {
-        return activeSpanStack.getFirst();
+        if (activeSpanStackDepth == 0) {
+            throw new NoSuchElementException();
+        }
+        return activeSpanStack[0];
     }
 
     private boolean isLimitMechanismWorking() {
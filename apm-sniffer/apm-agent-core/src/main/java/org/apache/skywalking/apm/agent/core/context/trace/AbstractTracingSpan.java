@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -36,7 +37,12 @@ import org.apache.skywalking.apm.network.trace.component.Component;
 public abstract class AbstractTracingSpan implements AbstractSpan {
     protected int spanId;
     protected int parentSpanId;
-    protected List<KeyValuePair> tags;
+    /**
+     * The keys and values of the tags, in two parallel arrays, the first {@link #tagCount} elements are used.
+     */
+    protected String[] tagKeys;
+    protected String[] tagValues;
+    protected int tagCount;
     protected String operationName;
     protected int operationId;
     protected SpanLayer layer;
@@ -60,7 +66,8 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
     /**
      * Log is a concept from OpenTracing spec. https://github.com/opentracing/specification/blob/master/specification.md#log-structured-data
      */
-    protected List<LogDataEntity> logs;
+    protected LogDataEntity[] logs;
+    protected int logCount;
 
     /**
      * The refs of parent trace segments, except the primary one. For most RPC call, {@link #refs} contains only one
@@ -69,6 +76,12 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     protected List<TraceSegmentRef> refs;
 
+    /**
+     * True after this span is released to the {@link TracingObjectPool}, until it is reused. The late calls from the
+     * plugins, such as the async callbacks, are ignored then, rather than changing a sent span.
+     */
+    protected volatile boolean released;
+
     protected AbstractTracingSpan(int spanId, int parentSpanId, String operationName) {
         this.operationName = operationName;
         this.operationId = DictionaryUtil.nullValue();
@@ -90,10 +103,18 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     @Override
     public AbstractTracingSpan tag(String key, String value) {
-        if (tags == null) {
-            tags = new LinkedList<KeyValuePair>();
+        if (released) {
+            return this;
+        }
+        if (tagKeys == null) {
+            tagKeys = new String[4];
+            tagValues = new String[4];
+        } else if (tagCount == tagKeys.length) {
+            tagKeys = Arrays.copyOf(tagKeys, tagCount << 1);
+            tagValues = Arrays.copyOf(tagValues, tagCount << 1);
         }
-        tags.add(new KeyValuePair(key, value));
+        tagKeys[tagCount] = key;
+        tagValues[tagCount++] = value;
         return this;
     }
 
@@ -104,6 +125,9 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      * @param owner of the Span.
      */
     public boolean finish(TraceSegment owner) {
+        if (released) {
+            return false;
+        }
         this.endTime = System.currentTimeMillis();
         owner.archive(this);
         return true;
@@ -111,6 +135,9 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
 
     @Override
     public AbstractTracingSpan start() {
+        if (released) {
+            return this;
+        }
         this.startTime = System.currentTimeMillis();
         return this;
     }
@@ -123,10 +150,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     @Override
     public AbstractTracingSpan log(Throwable t) {
-        if (logs == null) {
-            logs = new LinkedList<LogDataEntity>();
-        }
-        logs.add(new LogDataEntity.Builder()
+        addLog(new LogDataEntity.Builder()
             .add(new KeyValuePair("event", "error"))
             .add(new KeyValuePair("error.kind", t.getClass().getName()))
             .add(new KeyValuePair("message", t.getMessage()))
@@ -143,17 +167,70 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     @Override
     public AbstractTracingSpan log(long timestampMicroseconds, Map<String, ?> fields) {
-        if (logs == null) {
-            logs = new LinkedList<LogDataEntity>();
-        }
         LogDataEntity.Builder builder = new LogDataEntity.Builder();
         for (Map.Entry<String, ?> entry : fields.entrySet()) {
             builder.add(new KeyValuePair(entry.getKey(), entry.getValue().toString()));
         }
-        logs.add(builder.build(timestampMicroseconds));
+        addLog(builder.build(timestampMicroseconds));
         return this;
     }
 
+    private void addLog(LogDataEntity log) {
+        if (released) {
+            return;
+        }
+        if (logs == null) {
+            logs = new LogDataEntity[2];
+        } else if (logCount == logs.length) {
+            logs = Arrays.copyOf(logs, logCount << 1);
+        }
+        logs[logCount++] = log;
+    }
+
+    /**
+     * Remove all tags and logs, the arrays are kept for reusing.
+     */
+    protected void clearTagsAndLogs() {
+        if (tagCount > 0) {
+            Arrays.fill(tagKeys, 0, tagCount, null);
+            Arrays.fill(tagValues, 0, tagCount, null);
+            tagCount = 0;
+        }
+        if (logCount > 0) {
+            Arrays.fill(logs, 0, logCount, null);
+            logCount = 0;
+        }
+    }
+
+    /**
+     * Reset all fields as a new created span, for {@link TracingObjectPool} to reuse this span.
+     *
+     * @param operationName null if the operation id is given.
+     * @param operationId {@link DictionaryUtil#nullValue()} if the operation name is given.
+     */
+    protected void reset(int spanId, int parentSpanId, String operationName, int operationId) {
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.operationName = operationName;
+        this.operationId = operationId;
+        this.layer = null;
+        this.startTime = 0;
+        this.endTime = 0;
+        this.errorOccurred = false;
+        this.componentId = 0;
+        this.componentName = null;
+        this.refs = null;
+        clearTagsAndLogs();
+        this.released = false;
+    }
+
+    /**
+     * Mark this span released to the {@link TracingObjectPool}, all the later changes are ignored until it is reset.
+     */
+    void release() {
+        this.released = true;
+    }
+
     /**
      * In the scope of this span tracing context, error occurred, in auto-instrumentation mechanism, almost means throw
      * an exception.
@@ -162,6 +239,9 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     @Override
     public AbstractTracingSpan errorOccurred() {
+        if (released) {
+            return this;
+        }
         this.errorOccurred = true;
         return this;
     }
@@ -175,6 +255,9 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     @Override
     public AbstractTracingSpan setOperationName(String operationName) {
+        if (released) {
+            return this;
+        }
         this.operationName = operationName;
         this.operationId = DictionaryUtil.nullValue();
         return this;
@@ -188,6 +271,9 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     @Override
     public AbstractTracingSpan setOperationId(int operationId) {
+        if (released) {
+            return this;
+        }
         this.operationId = operationId;
         this.operationName = null;
         return this;
@@ -210,6 +296,9 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
 
     @Override
     public AbstractTracingSpan setLayer(SpanLayer layer) {
+        if (released) {
+            return this;
+        }
         this.layer = layer;
         return this;
     }
@@ -222,6 +311,9 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     @Override
     public AbstractTracingSpan setComponent(Component component) {
+        if (released) {
+            return this;
+        }
         this.componentId = component.getId();
         return this;
     }
@@ -234,12 +326,18 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     @Override
     public AbstractTracingSpan setComponent(String componentName) {
+        if (released) {
+            return this;
+        }
         this.componentName = componentName;
         return this;
     }
 
     @Override
     public AbstractSpan start(long startTime) {
+        if (released) {
+            return this;
+        }
         this.startTime = startTime;
         return this;
     }
@@ -274,15 +372,15 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
             }
         }
         spanBuilder.setIsError(errorOccurred);
-        if (this.tags != null) {
-            for (KeyValuePair tag : this.tags) {
-                spanBuilder.addTags(tag.transform());
+        for (int i = 0; i < tagCount; i++) {
+            KeyWithStringValue.Builder tagBuilder = KeyWithStringValue.newBuilder().setKey(tagKeys[i]);
+            if (tagValues[i] != null) {
+                tagBuilder.setValue(tagValues[i]);
             }
+            spanBuilder.addTags(tagBuilder);
         }
-        if (this.logs != null) {
-            for (LogDataEntity log : this.logs) {
-                spanBuilder.addLogs(log.transform());
-            }
+        for (int i = 0; i < logCount; i++) {
+            spanBuilder.addLogs(logs[i].transform());
         }
         if (this.refs != null) {
             for (TraceSegmentRef ref : this.refs) {
@@ -294,6 +392,9 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
     }
 
     @Override public void ref(TraceSegmentRef ref) {
+        if (released) {
+            return;
+        }
         if (refs == null) {
             refs = new LinkedList<TraceSegmentRef>();
         }
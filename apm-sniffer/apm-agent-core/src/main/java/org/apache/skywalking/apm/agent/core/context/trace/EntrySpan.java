@@ -52,6 +52,9 @@ public class EntrySpan extends StackBasedTracingSpan {
      */
     @Override
     public EntrySpan start() {
+        if (released) {
+            return this;
+        }
         if ((currentMaxDepth = ++stackDepth) == 1) {
             super.start();
         }
@@ -59,6 +62,12 @@ public class EntrySpan extends StackBasedTracingSpan {
         return this;
     }
 
+    @Override
+    protected void reset(int spanId, int parentSpanId, String operationName, int operationId) {
+        super.reset(spanId, parentSpanId, operationName, operationId);
+        this.currentMaxDepth = 0;
+    }
+
     @Override
     public EntrySpan tag(String key, String value) {
         if (stackDepth == currentMaxDepth) {
@@ -130,7 +139,6 @@ public class EntrySpan extends StackBasedTracingSpan {
         this.componentId = DictionaryUtil.nullValue();
         this.componentName = null;
         this.layer = null;
-        this.logs = null;
-        this.tags = null;
+        clearTagsAndLogs();
     }
 }
@@ -70,12 +70,27 @@ public class ExitSpan extends StackBasedTracingSpan implements WithPeerInfo {
      */
     @Override
     public ExitSpan start() {
+        if (released) {
+            return this;
+        }
         if (++stackDepth == 1) {
             super.start();
         }
         return this;
     }
 
+    /**
+     * Reset all fields as a new created span, for {@link TracingObjectPool} to reuse this span.
+     *
+     * @param peer null if the peer id is given.
+     * @param peerId {@link DictionaryUtil#nullValue()} if the peer is given.
+     */
+    void reset(int spanId, int parentSpanId, String operationName, int operationId, String peer, int peerId) {
+        reset(spanId, parentSpanId, operationName, operationId);
+        this.peer = peer;
+        this.peerId = peerId;
+    }
+
     @Override
     public ExitSpan tag(String key, String value) {
         if (stackDepth == 1) {
@@ -20,7 +20,6 @@ package org.apache.skywalking.apm.agent.core.context.trace;
 
 import org.apache.skywalking.apm.agent.core.dictionary.DictionaryManager;
 import org.apache.skywalking.apm.agent.core.dictionary.DictionaryUtil;
-import org.apache.skywalking.apm.agent.core.dictionary.PossibleFound;
 
 /**
  * The <code>StackBasedTracingSpan</code> represents a span with an inside stack construction.
@@ -42,24 +41,21 @@ public abstract class StackBasedTracingSpan extends AbstractTracingSpan {
         this.stackDepth = 0;
     }
 
+    @Override
+    protected void reset(int spanId, int parentSpanId, String operationName, int operationId) {
+        super.reset(spanId, parentSpanId, operationName, operationId);
+        this.stackDepth = 0;
+    }
+
     @Override
     public boolean finish(TraceSegment owner) {
+        if (released) {
+            return false;
+        }
         if (--stackDepth == 0) {
             if (this.operationId == DictionaryUtil.nullValue()) {
-                this.operationId = (Integer)DictionaryManager.findOperationNameCodeSection()
-                    .findOrPrepare4Register(owner.getApplicationId(), operationName, this.isEntry(), this.isExit())
-                    .doInCondition(
-                        new PossibleFound.FoundAndObtain() {
-                            @Override public Object doProcess(int value) {
-                                return value;
-                            }
-                        },
-                        new PossibleFound.NotFoundAndObtain() {
-                            @Override public Object doProcess() {
-                                return DictionaryUtil.nullValue();
-                            }
-                        }
-                    );
+                this.operationId = DictionaryManager.findOperationNameCodeSection()
+                    .findIdOrPrepare4Register(owner.getApplicationId(), operationName, this.isEntry(), this.isExit());
             }
             return super.finish(owner);
         } else {
@@ -19,6 +19,7 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import org.apache.skywalking.apm.agent.core.conf.RemoteDownstreamConfig;
@@ -76,11 +77,29 @@ public class TraceSegment {
      */
     public TraceSegment() {
         this.traceSegmentId = GlobalIdGenerator.generate();
-        this.spans = new LinkedList<AbstractTracingSpan>();
+        this.spans = new ArrayList<AbstractTracingSpan>();
         this.relatedGlobalTraces = new DistributedTraceIds();
         this.relatedGlobalTraces.append(new NewDistributedTraceId());
     }
 
+    /**
+     * Reset all fields as a new created segment, for {@link TracingObjectPool} to reuse this segment. The ids are
+     * created again, because the snapshots and carriers of the last context may still refer to them.
+     */
+    void reset() {
+        this.traceSegmentId = GlobalIdGenerator.generate();
+        this.refs = null;
+        this.spans.clear();
+        this.relatedGlobalTraces = new DistributedTraceIds();
+        this.relatedGlobalTraces.append(new NewDistributedTraceId());
+        this.ignore = false;
+        this.isSizeLimited = false;
+    }
+
+    List<AbstractTracingSpan> getSpans() {
+        return spans;
+    }
+
     /**
      * Establish the link between this segment and its parents.
      *
@@ -140,6 +159,29 @@ public class TraceSegment {
         return relatedGlobalTraces.getRelatedGlobalTraces();
     }
 
+    /**
+     * @return the duration of the first span, which is archived last, milliseconds.
+     */
+    public long getDuration() {
+        if (spans.isEmpty()) {
+            return 0;
+        }
+        AbstractTracingSpan firstSpan = spans.get(spans.size() - 1);
+        return firstSpan.endTime - firstSpan.startTime;
+    }
+
+    /**
+     * @return true, if any span of this segment is error.
+     */
+    public boolean isErrorOccurred() {
+        for (AbstractTracingSpan span : spans) {
+            if (span.errorOccurred) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public boolean isSingleSpanSegment() {
         return this.spans != null && this.spans.size() == 1;
     }
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.dictionary.DictionaryUtil;
+
+/**
+ * The <code>TracingObjectPool</code> recycles the {@link TraceSegment}s and their spans, after they have been
+ * transformed to the GRPC messages, if {@link Config.Agent#TRACING_OBJECT_POOL_SIZE} is positive.
+ * <p>
+ * The objects are created by the application threads, but released by the uplink consumer thread, so they are kept in
+ * the shared bounded queues rather than the thread local ones, which would be never refilled.
+ * <p>
+ * Only the segments owned by nobody else could be released. The released spans ignore all changes until they are
+ * reused, but once reused, a late change from a plugin holding the stopped span, such as an async callback, goes into
+ * the new span. So the plugins must not touch the spans after they have been stopped.
+ */
+public class TracingObjectPool {
+    private static ArrayBlockingQueue<TraceSegment> SEGMENTS;
+    private static ArrayBlockingQueue<EntrySpan> ENTRY_SPANS;
+    private static ArrayBlockingQueue<LocalSpan> LOCAL_SPANS;
+    private static ArrayBlockingQueue<ExitSpan> EXIT_SPANS;
+
+    static {
+        init(Config.Agent.TRACING_OBJECT_POOL_SIZE);
+    }
+
+    /**
+     * Create the empty pools of the given size, only for tests, before any segment is created.
+     *
+     * @param size zero means off.
+     */
+    static void init(int size) {
+        SEGMENTS = newPool(size);
+        ENTRY_SPANS = newPool(size);
+        LOCAL_SPANS = newPool(size);
+        EXIT_SPANS = newPool(size);
+    }
+
+    private static <T> ArrayBlockingQueue<T> newPool(int size) {
+        return size > 0 ? new ArrayBlockingQueue<T>(size) : null;
+    }
+
+    public static TraceSegment newSegment() {
+        TraceSegment segment = SEGMENTS == null ? null : SEGMENTS.poll();
+        if (segment == null) {
+            return new TraceSegment();
+        }
+        segment.reset();
+        return segment;
+    }
+
+    /**
+     * @param operationName null if the operation id is given.
+     * @param operationId {@link DictionaryUtil#nullValue()} if the operation name is given.
+     */
+    public static EntrySpan newEntrySpan(int spanId, int parentSpanId, String operationName, int operationId) {
+        EntrySpan span = ENTRY_SPANS == null ? null : ENTRY_SPANS.poll();
+        if (span == null) {
+            return DictionaryUtil.isNull(operationId) ? new EntrySpan(spanId, parentSpanId, operationName) : new EntrySpan(spanId, parentSpanId, operationId);
+        }
+        span.reset(spanId, parentSpanId, operationName, operationId);
+        return span;
+    }
+
+    /**
+     * @param operationName null if the operation id is given.
+     * @param operationId {@link DictionaryUtil#nullValue()} if the operation name is given.
+     */
+    public static LocalSpan newLocalSpan(int spanId, int parentSpanId, String operationName, int operationId) {
+        LocalSpan span = LOCAL_SPANS == null ? null : LOCAL_SPANS.poll();
+        if (span == null) {
+            return DictionaryUtil.isNull(operationId) ? new LocalSpan(spanId, parentSpanId, operationName) : new LocalSpan(spanId, parentSpanId, operationId);
+        }
+        span.reset(spanId, parentSpanId, operationName, operationId);
+        return span;
+    }
+
+    /**
+     * @param operationName null if the operation id is given.
+     * @param operationId {@link DictionaryUtil#nullValue()} if the operation name is given.
+     * @param peer null if the peer id is given.
+     * @param peerId {@link DictionaryUtil#nullValue()} if the peer is given.
+     */
+    public static ExitSpan newExitSpan(int spanId, int parentSpanId, String operationName, int operationId,
+        String peer, int peerId) {
+        ExitSpan span = EXIT_SPANS == null ? null : EXIT_SPANS.poll();
+        if (span == null) {
+            if (DictionaryUtil.isNull(operationId)) {
+                return DictionaryUtil.isNull(peerId) ? new ExitSpan(spanId, parentSpanId, operationName, peer) : new ExitSpan(spanId, parentSpanId, operationName, peerId);
+            } else {
+                return DictionaryUtil.isNull(peerId) ? new ExitSpan(spanId, parentSpanId, operationId, peer) : new ExitSpan(spanId, parentSpanId, operationId, peerId);
+            }
+        }
+        span.reset(spanId, parentSpanId, operationName, operationId, peer, peerId);
+        return span;
+    }
+
+    /**
+     * Release the segment and all its spans. The objects exceeding the pool size are left to GC.
+     */
+    public static void release(TraceSegment segment) {
+        if (SEGMENTS == null) {
+            return;
+        }
+        List<AbstractTracingSpan> spans = segment.getSpans();
+        for (int i = 0; i < spans.size(); i++) {
+            AbstractTracingSpan span = spans.get(i);
+            span.release();
+            if (span instanceof EntrySpan) {
+                ENTRY_SPANS.offer((EntrySpan)span);
+            } else if (span instanceof ExitSpan) {
+                EXIT_SPANS.offer((ExitSpan)span);
+            } else if (span instanceof LocalSpan) {
+                LOCAL_SPANS.offer((LocalSpan)span);
+            }
+        }
+        spans.clear();
+        SEGMENTS.offer(segment);
+    }
+}
@@ -38,14 +38,27 @@ public enum NetworkAddressDictionary {
     private Set<String> unRegisterApplications = new ConcurrentSet<String>();
 
     public PossibleFound find(String networkAddress) {
+        int addressId = findId(networkAddress);
+        if (DictionaryUtil.isNull(addressId)) {
+            return new NotFound();
+        }
+        return new Found(addressId);
+    }
+
+    /**
+     * Same as {@link #find(String)}, without any allocation.
+     *
+     * @return the address id, or {@link DictionaryUtil#nullValue()} if not found.
+     */
+    public int findId(String networkAddress) {
         Integer applicationId = applicationDictionary.get(networkAddress);
         if (applicationId != null) {
-            return new Found(applicationId);
+            return applicationId;
         } else {
             if (applicationDictionary.size() + unRegisterApplications.size() < APPLICATION_CODE_BUFFER_SIZE) {
                 unRegisterApplications.add(networkAddress);
             }
-            return new NotFound();
+            return DictionaryUtil.nullValue();
         }
     }
 
@@ -19,6 +19,7 @@
 package org.apache.skywalking.apm.agent.core.dictionary;
 
 import io.netty.util.internal.ConcurrentSet;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -31,34 +32,89 @@ import static org.apache.skywalking.apm.agent.core.conf.Config.Dictionary.OPERAT
  */
 public enum OperationNameDictionary {
     INSTANCE;
-    private Map<OperationNameKey, Integer> operationNameDictionary = new ConcurrentHashMap<OperationNameKey, Integer>();
+    /**
+     * Registered ids by operation name. The ids of an operation name are very few, one per application and span type,
+     * so the lookup scans them without creating any key.
+     */
+    private Map<String, OperationNameId[]> operationNameDictionary = new ConcurrentHashMap<String, OperationNameId[]>();
+    private volatile int operationNameDictionarySize = 0;
     private Set<OperationNameKey> unRegisterOperationNames = new ConcurrentSet<OperationNameKey>();
 
     public PossibleFound findOrPrepare4Register(int applicationId, String operationName,
         boolean isEntry, boolean isExit) {
-        return find0(applicationId, operationName, isEntry, isExit, true);
+        return possibleFound(findIdOrPrepare4Register(applicationId, operationName, isEntry, isExit));
     }
 
     public PossibleFound findOnly(int applicationId, String operationName) {
+        return possibleFound(findIdOnly(applicationId, operationName));
+    }
+
+    /**
+     * Same as {@link #findOrPrepare4Register(int, String, boolean, boolean)}, without any allocation when found.
+     *
+     * @return the operation id, or {@link DictionaryUtil#nullValue()} if not found.
+     */
+    public int findIdOrPrepare4Register(int applicationId, String operationName, boolean isEntry, boolean isExit) {
+        return find0(applicationId, operationName, isEntry, isExit, true);
+    }
+
+    /**
+     * Same as {@link #findOnly(int, String)}, without any allocation.
+     *
+     * @return the operation id, or {@link DictionaryUtil#nullValue()} if not found.
+     */
+    public int findIdOnly(int applicationId, String operationName) {
         return find0(applicationId, operationName, false, false, false);
     }
 
-    private PossibleFound find0(int applicationId, String operationName,
+    private PossibleFound possibleFound(int operationId) {
+        if (DictionaryUtil.isNull(operationId)) {
+            return new NotFound();
+        }
+        return new Found(operationId);
+    }
+
+    private int find0(int applicationId, String operationName,
         boolean isEntry, boolean isExit, boolean registerWhenNotFound) {
         if (operationName == null || operationName.length() == 0) {
-            return new NotFound();
+            return DictionaryUtil.nullValue();
         }
-        OperationNameKey key = new OperationNameKey(applicationId, operationName, isEntry, isExit);
-        Integer operationId = operationNameDictionary.get(key);
-        if (operationId != null) {
-            return new Found(operationId);
-        } else {
-            if (registerWhenNotFound &&
-                operationNameDictionary.size() + unRegisterOperationNames.size() < OPERATION_NAME_BUFFER_SIZE) {
-                unRegisterOperationNames.add(key);
+        OperationNameId[] operationNameIds = operationNameDictionary.get(operationName);
+        if (operationNameIds != null) {
+            for (OperationNameId operationNameId : operationNameIds) {
+                if (operationNameId.match(applicationId, isEntry, isExit)) {
+                    return operationNameId.operationId;
+                }
             }
-            return new NotFound();
         }
+
+        if (registerWhenNotFound &&
+            operationNameDictionarySize + unRegisterOperationNames.size() < OPERATION_NAME_BUFFER_SIZE) {
+            unRegisterOperationNames.add(new OperationNameKey(applicationId, operationName, isEntry, isExit));
+        }
+        return DictionaryUtil.nullValue();
+    }
+
+    /**
+     * Only called by the single dictionary sync thread.
+     */
+    private void register(OperationNameKey key, int operationId) {
+        OperationNameId[] operationNameIds = operationNameDictionary.get(key.getOperationName());
+        int length = 0;
+        if (operationNameIds != null) {
+            for (OperationNameId operationNameId : operationNameIds) {
+                if (operationNameId.match(key.getApplicationId(), key.isEntry(), key.isExit())) {
+                    return;
+                }
+            }
+            length = operationNameIds.length;
+            operationNameIds = Arrays.copyOf(operationNameIds, length + 1);
+        } else {
+            operationNameIds = new OperationNameId[1];
+        }
+        operationNameIds[length] = new OperationNameId(key.getApplicationId(), key.isEntry(), key.isExit(), operationId);
+        operationNameDictionary.put(key.getOperationName(), operationNameIds);
+        operationNameDictionarySize++;
     }
 
     public void syncRemoteDictionary(
@@ -83,12 +139,30 @@ public enum OperationNameDictionary {
                         SpanType.Entry.equals(element.getSrcSpanType()),
                         SpanType.Exit.equals(element.getSrcSpanType()));
                     unRegisterOperationNames.remove(key);
-                    operationNameDictionary.put(key, serviceNameMappingElement.getServiceId());
+                    register(key, serviceNameMappingElement.getServiceId());
                 }
             }
         }
     }
 
+    private static class OperationNameId {
+        private final int applicationId;
+        private final boolean isEntry;
+        private final boolean isExit;
+        private final int operationId;
+
+        private OperationNameId(int applicationId, boolean isEntry, boolean isExit, int operationId) {
+            this.applicationId = applicationId;
+            this.isEntry = isEntry;
+            this.isExit = isExit;
+            this.operationId = operationId;
+        }
+
+        private boolean match(int applicationId, boolean isEntry, boolean isExit) {
+            return this.applicationId == applicationId && this.isEntry == isEntry && this.isExit == isExit;
+        }
+    }
+
     private class OperationNameKey {
         private int applicationId;
         private String operationName;
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.util.Arrays;
+
+/**
+ * The advice code is inlined into the enhanced classes, it can't hold any reference except constants. So the inters are
+ * registered here, and found by their ids bound to the advice.
+ * <p>
+ * Registering happens once per enhanced class, so the copy on write array keeps the lookup lock free.
+ */
+public class AdviceInterRegistry {
+    private static final Object LOCK = new Object();
+    private static volatile Object[] INTERS = new Object[0];
+
+    public static int register(Object inter) {
+        synchronized (LOCK) {
+            Object[] inters = Arrays.copyOf(INTERS, INTERS.length + 1);
+            inters[inters.length - 1] = inter;
+            INTERS = inters;
+            return inters.length - 1;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T get(int id) {
+        return (T)INTERS[id];
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+/**
+ * The {@link MethodInterceptResult} of the advice modes, which also carries the arguments from the enter advice to the
+ * exit advice, so they are only boxed once.
+ */
+public class AdviceInterceptResult extends MethodInterceptResult {
+    private final Object[] allArguments;
+
+    AdviceInterceptResult(Object[] allArguments) {
+        this.allArguments = allArguments;
+    }
+
+    Object[] getAllArguments() {
+        return allArguments;
+    }
+
+    /**
+     * Returned by the enter advice when the interceptor defines the return value, the origin method is skipped because
+     * of its type.
+     */
+    public static class Skip extends AdviceInterceptResult {
+        Skip(AdviceInterceptResult result) {
+            super(result.getAllArguments());
+            defineReturnValue(result._ret());
+        }
+    }
+}
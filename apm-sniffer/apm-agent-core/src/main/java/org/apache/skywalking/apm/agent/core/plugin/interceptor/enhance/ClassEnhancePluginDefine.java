@@ -19,11 +19,13 @@
 
 package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
 
+import net.bytebuddy.asm.Advice;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.implementation.FieldAccessor;
 import net.bytebuddy.implementation.MethodDelegation;
 import net.bytebuddy.implementation.SuperMethodCall;
 import net.bytebuddy.implementation.bind.annotation.Morph;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.plugin.AbstractClassEnhancePluginDefine;
 import org.apache.skywalking.apm.agent.core.plugin.EnhanceContext;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.EnhanceException;
@@ -37,6 +39,8 @@ import org.apache.skywalking.apm.util.StringUtil;
 
 import static net.bytebuddy.jar.asm.Opcodes.ACC_PRIVATE;
 import static net.bytebuddy.jar.asm.Opcodes.ACC_VOLATILE;
+import static net.bytebuddy.matcher.ElementMatchers.isConstructor;
+import static net.bytebuddy.matcher.ElementMatchers.isMethod;
 import static net.bytebuddy.matcher.ElementMatchers.isStatic;
 import static net.bytebuddy.matcher.ElementMatchers.not;
 
@@ -46,6 +50,9 @@ import static net.bytebuddy.matcher.ElementMatchers.not;
  * InstanceMethodsInterceptPoint} and {@link StaticMethodsInterceptPoint} If plugin is going to enhance constructors,
  * instance methods, or both, {@link ClassEnhancePluginDefine} will add a field of {@link
  * Object} type.
+ * <p>
+ * If {@link Config.Agent#IS_INLINE_INTERCEPTOR} is true, the interceptors are called by the {@link Advice} inlined into
+ * the target methods, instead of the delegation, except the intercept points overriding the arguments.
  *
  * @author wusheng
  */
@@ -127,6 +134,11 @@ public abstract class ClassEnhancePluginDefine extends AbstractClassEnhancePlugi
          */
         if (existedConstructorInterceptPoint) {
             for (ConstructorInterceptPoint constructorInterceptPoint : constructorInterceptPoints) {
+                if (Config.Agent.IS_INLINE_INTERCEPTOR) {
+                    ConstructorInter inter = new ConstructorInter(constructorInterceptPoint.getConstructorInterceptor(), classLoader);
+                    newClassBuilder = newClassBuilder.visit(advice(inter, ConstructorAdvice.class).on(isConstructor().and(constructorInterceptPoint.getConstructorMatcher())));
+                    continue;
+                }
                 newClassBuilder = newClassBuilder.constructor(constructorInterceptPoint.getConstructorMatcher()).intercept(SuperMethodCall.INSTANCE
                     .andThen(MethodDelegation.withDefaultConfiguration()
                         .to(new ConstructorInter(constructorInterceptPoint.getConstructorInterceptor(), classLoader))
@@ -155,6 +167,10 @@ public abstract class ClassEnhancePluginDefine extends AbstractClassEnhancePlugi
                                     )
                                     .to(new InstMethodsInterWithOverrideArgs(interceptor, classLoader))
                             );
+                } else if (Config.Agent.IS_INLINE_INTERCEPTOR) {
+                    InstMethodsAdviceInter inter = new InstMethodsAdviceInter(interceptor, classLoader);
+                    newClassBuilder = newClassBuilder.visit(advice(inter, InstMethodsAdvice.class)
+                        .on(isMethod().and(not(isStatic())).and(instanceMethodsInterceptPoint.getMethodsMatcher())));
                 } else {
                     newClassBuilder =
                         newClassBuilder.method(not(isStatic()).and(instanceMethodsInterceptPoint.getMethodsMatcher()))
@@ -213,6 +229,10 @@ public abstract class ClassEnhancePluginDefine extends AbstractClassEnhancePlugi
                             )
                             .to(new StaticMethodsInterWithOverrideArgs(interceptor))
                     );
+            } else if (Config.Agent.IS_INLINE_INTERCEPTOR) {
+                StaticMethodsAdviceInter inter = new StaticMethodsAdviceInter(interceptor);
+                newClassBuilder = newClassBuilder.visit(advice(inter, StaticMethodsAdvice.class)
+                    .on(isMethod().and(isStatic()).and(staticMethodsInterceptPoint.getMethodsMatcher())));
             } else {
                 newClassBuilder = newClassBuilder.method(isStatic().and(staticMethodsInterceptPoint.getMethodsMatcher()))
                     .intercept(
@@ -226,6 +246,18 @@ public abstract class ClassEnhancePluginDefine extends AbstractClassEnhancePlugi
         return newClassBuilder;
     }
 
+    /**
+     * Register the inter, and bind its id to the {@link InterId} parameters of the advice.
+     *
+     * @param inter the bridge between the advice and the interceptor.
+     * @param adviceClass one of {@link ConstructorAdvice}, {@link InstMethodsAdvice} and {@link StaticMethodsAdvice}
+     * @return the advice to be inlined.
+     */
+    private Advice advice(Object inter, Class<?> adviceClass) {
+        int interId = AdviceInterRegistry.register(inter);
+        return Advice.withCustomMapping().bind(InterId.class, interId).to(adviceClass);
+    }
+
     /**
      * Static methods intercept point. See {@link StaticMethodsInterceptPoint}
      *
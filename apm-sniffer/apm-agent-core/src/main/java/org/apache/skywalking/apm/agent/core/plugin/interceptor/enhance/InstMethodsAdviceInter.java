@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.plugin.PluginException;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.OriginMethodCache.OriginMethod;
+import org.apache.skywalking.apm.agent.core.plugin.loader.InterceptorInstanceLoader;
+
+/**
+ * The bridge between the inlined {@link InstMethodsAdvice} and the {@link InstanceMethodsAroundInterceptor}, works as
+ * {@link InstMethodsInter} does, without the {@link java.util.concurrent.Callable} of the origin call.
+ */
+public class InstMethodsAdviceInter {
+    private static final ILog logger = LogManager.getLogger(InstMethodsAdviceInter.class);
+
+    private InstanceMethodsAroundInterceptor interceptor;
+    private final OriginMethodCache methodCache = new OriginMethodCache();
+
+    /**
+     * @param instanceMethodsAroundInterceptorClassName class full name.
+     */
+    public InstMethodsAdviceInter(String instanceMethodsAroundInterceptorClassName, ClassLoader classLoader) {
+        try {
+            interceptor = InterceptorInstanceLoader.load(instanceMethodsAroundInterceptorClassName, classLoader);
+        } catch (Throwable t) {
+            throw new PluginException("Can't create InstanceMethodsAroundInterceptor.", t);
+        }
+    }
+
+    /**
+     * @return an {@link AdviceInterceptResult.Skip} if the interceptor defines the return value.
+     */
+    public AdviceInterceptResult beforeMethod(Object obj, Class<?> clazz, String signature, Object[] allArguments) {
+        OriginMethod method = methodCache.get(clazz, signature);
+        AdviceInterceptResult result = new AdviceInterceptResult(allArguments);
+        try {
+            interceptor.beforeMethod((EnhancedInstance)obj, method.getMethod(), allArguments, method.getParameterTypes(), result);
+        } catch (Throwable t) {
+            logger.error(t, "class[{}] before method[{}] intercept failure", obj.getClass(), method.getMethod().getName());
+        }
+
+        if (!result.isContinue()) {
+            return new AdviceInterceptResult.Skip(result);
+        }
+        return result;
+    }
+
+    /**
+     * @param ret the return value of the origin method, ignored if the origin method is skipped.
+     * @param throwable thrown by the origin method, or null.
+     * @return the new return value.
+     */
+    public Object afterMethod(Object obj, Class<?> clazz, String signature, AdviceInterceptResult result, Object ret,
+        Throwable throwable) {
+        OriginMethod method = methodCache.get(clazz, signature);
+        EnhancedInstance targetObject = (EnhancedInstance)obj;
+        if (throwable != null) {
+            try {
+                interceptor.handleMethodException(targetObject, method.getMethod(), result.getAllArguments(), method.getParameterTypes(), throwable);
+            } catch (Throwable t) {
+                logger.error(t, "class[{}] handle method[{}] exception failure", obj.getClass(), method.getMethod().getName());
+            }
+        }
+
+        if (!result.isContinue()) {
+            ret = result._ret();
+        }
+        try {
+            ret = interceptor.afterMethod(targetObject, method.getMethod(), result.getAllArguments(), method.getParameterTypes(), ret);
+        } catch (Throwable t) {
+            logger.error(t, "class[{}] after method[{}] intercept failure", obj.getClass(), method.getMethod().getName());
+        }
+        return ret;
+    }
+}
@@ -77,9 +77,10 @@ public class InstMethodsInter {
     ) throws Throwable {
         EnhancedInstance targetObject = (EnhancedInstance)obj;
 
+        Class<?>[] argumentsTypes = method.getParameterTypes();
         MethodInterceptResult result = new MethodInterceptResult();
         try {
-            interceptor.beforeMethod(targetObject, method, allArguments, method.getParameterTypes(),
+            interceptor.beforeMethod(targetObject, method, allArguments, argumentsTypes,
                 result);
         } catch (Throwable t) {
             logger.error(t, "class[{}] before method[{}] intercept failure", obj.getClass(), method.getName());
@@ -94,7 +95,7 @@ public class InstMethodsInter {
             }
         } catch (Throwable t) {
             try {
-                interceptor.handleMethodException(targetObject, method, allArguments, method.getParameterTypes(),
+                interceptor.handleMethodException(targetObject, method, allArguments, argumentsTypes,
                     t);
             } catch (Throwable t2) {
                 logger.error(t2, "class[{}] handle method[{}] exception failure", obj.getClass(), method.getName());
@@ -102,7 +103,7 @@ public class InstMethodsInter {
             throw t;
         } finally {
             try {
-                ret = interceptor.afterMethod(targetObject, method, allArguments, method.getParameterTypes(),
+                ret = interceptor.afterMethod(targetObject, method, allArguments, argumentsTypes,
                     ret);
             } catch (Throwable t) {
                 logger.error(t, "class[{}] after method[{}] intercept failure", obj.getClass(), method.getName());
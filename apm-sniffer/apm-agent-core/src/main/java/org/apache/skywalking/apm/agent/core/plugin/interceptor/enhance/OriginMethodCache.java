@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import net.bytebuddy.description.method.MethodDescription;
+import org.apache.skywalking.apm.agent.core.plugin.PluginException;
+
+/**
+ * Cache the {@link Method} and its parameter types of the enhanced methods, by the name and descriptor constant given
+ * by the advice. {@link Method#getParameterTypes()} clones the array every time.
+ */
+public class OriginMethodCache {
+    private final ConcurrentHashMap<String, OriginMethod> methods = new ConcurrentHashMap<String, OriginMethod>();
+
+    public OriginMethod get(Class<?> clazz, String signature) {
+        OriginMethod originMethod = methods.get(signature);
+        if (originMethod == null) {
+            originMethod = resolve(clazz, signature);
+            methods.put(signature, originMethod);
+        }
+        return originMethod;
+    }
+
+    private OriginMethod resolve(Class<?> clazz, String signature) {
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (signature.equals(method.getName() + new MethodDescription.ForLoadedMethod(method).getDescriptor())) {
+                return new OriginMethod(method);
+            }
+        }
+        throw new PluginException("Can't find method " + signature + " in class " + clazz.getName());
+    }
+
+    public static class OriginMethod {
+        private final Method method;
+        private final Class<?>[] parameterTypes;
+
+        private OriginMethod(Method method) {
+            this.method = method;
+            this.parameterTypes = method.getParameterTypes();
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public Class<?>[] getParameterTypes() {
+            return parameterTypes;
+        }
+    }
+}
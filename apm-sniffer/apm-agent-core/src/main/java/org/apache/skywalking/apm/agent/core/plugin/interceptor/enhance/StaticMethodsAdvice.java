@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+
+/**
+ * The advice inlined into the enhanced static methods. The code of these methods is copied into the target methods, so
+ * they only call the public methods of {@link StaticMethodsAdviceInter}.
+ */
+public class StaticMethodsAdvice {
+
+    @Advice.OnMethodEnter(skipOn = AdviceInterceptResult.Skip.class)
+    public static AdviceInterceptResult enter(@InterId int interId,
+        @Advice.Origin Class<?> clazz,
+        @Advice.Origin("#m#d") String signature,
+        @Advice.AllArguments Object[] allArguments) {
+        StaticMethodsAdviceInter inter = AdviceInterRegistry.get(interId);
+        return inter.beforeMethod(clazz, signature, allArguments);
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class)
+    public static void exit(@InterId int interId,
+        @Advice.Origin Class<?> clazz,
+        @Advice.Origin("#m#d") String signature,
+        @Advice.Enter AdviceInterceptResult result,
+        @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object ret,
+        @Advice.Thrown Throwable throwable) {
+        StaticMethodsAdviceInter inter = AdviceInterRegistry.get(interId);
+        ret = inter.afterMethod(clazz, signature, result, ret, throwable);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.plugin.PluginException;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.OriginMethodCache.OriginMethod;
+import org.apache.skywalking.apm.agent.core.plugin.loader.InterceptorInstanceLoader;
+
+/**
+ * The bridge between the inlined {@link StaticMethodsAdvice} and the {@link StaticMethodsAroundInterceptor}, works as
+ * {@link StaticMethodsInter} does, without the {@link java.util.concurrent.Callable} of the origin call.
+ */
+public class StaticMethodsAdviceInter {
+    private static final ILog logger = LogManager.getLogger(StaticMethodsAdviceInter.class);
+
+    /**
+     * A class full name, and instanceof {@link StaticMethodsAroundInterceptor}, loaded by the classloader of the
+     * enhanced class at the first call.
+     */
+    private final String staticMethodsAroundInterceptorClassName;
+    private volatile StaticMethodsAroundInterceptor interceptor;
+    private final OriginMethodCache methodCache = new OriginMethodCache();
+
+    public StaticMethodsAdviceInter(String staticMethodsAroundInterceptorClassName) {
+        this.staticMethodsAroundInterceptorClassName = staticMethodsAroundInterceptorClassName;
+    }
+
+    /**
+     * @return an {@link AdviceInterceptResult.Skip} if the interceptor defines the return value.
+     */
+    public AdviceInterceptResult beforeMethod(Class<?> clazz, String signature, Object[] allArguments) {
+        OriginMethod method = methodCache.get(clazz, signature);
+        AdviceInterceptResult result = new AdviceInterceptResult(allArguments);
+        try {
+            getInterceptor(clazz).beforeMethod(clazz, method.getMethod(), allArguments, method.getParameterTypes(), result);
+        } catch (Throwable t) {
+            logger.error(t, "class[{}] before static method[{}] intercept failure", clazz, method.getMethod().getName());
+        }
+
+        if (!result.isContinue()) {
+            return new AdviceInterceptResult.Skip(result);
+        }
+        return result;
+    }
+
+    /**
+     * @param ret the return value of the origin method, ignored if the origin method is skipped.
+     * @param throwable thrown by the origin method, or null.
+     * @return the new return value.
+     */
+    public Object afterMethod(Class<?> clazz, String signature, AdviceInterceptResult result, Object ret,
+        Throwable throwable) {
+        OriginMethod method = methodCache.get(clazz, signature);
+        StaticMethodsAroundInterceptor interceptor = getInterceptor(clazz);
+        if (throwable != null) {
+            try {
+                interceptor.handleMethodException(clazz, method.getMethod(), result.getAllArguments(), method.getParameterTypes(), throwable);
+            } catch (Throwable t) {
+                logger.error(t, "class[{}] handle static method[{}] exception failure", clazz, method.getMethod().getName());
+            }
+        }
+
+        if (!result.isContinue()) {
+            ret = result._ret();
+        }
+        try {
+            ret = interceptor.afterMethod(clazz, method.getMethod(), result.getAllArguments(), method.getParameterTypes(), ret);
+        } catch (Throwable t) {
+            logger.error(t, "class[{}] after static method[{}] intercept failure", clazz, method.getMethod().getName());
+        }
+        return ret;
+    }
+
+    private StaticMethodsAroundInterceptor getInterceptor(Class<?> clazz) {
+        if (interceptor == null) {
+            try {
+                interceptor = InterceptorInstanceLoader.load(staticMethodsAroundInterceptorClassName, clazz.getClassLoader());
+            } catch (Throwable t) {
+                throw new PluginException("Can't create StaticMethodsAroundInterceptor.", t);
+            }
+        }
+        return interceptor;
+    }
+}
@@ -71,9 +71,10 @@ public class StaticMethodsInter {
         StaticMethodsAroundInterceptor interceptor = InterceptorInstanceLoader
             .load(staticMethodsAroundInterceptorClassName, clazz.getClassLoader());
 
+        Class<?>[] argumentsTypes = method.getParameterTypes();
         MethodInterceptResult result = new MethodInterceptResult();
         try {
-            interceptor.beforeMethod(clazz, method, allArguments, method.getParameterTypes(), result);
+            interceptor.beforeMethod(clazz, method, allArguments, argumentsTypes, result);
         } catch (Throwable t) {
             logger.error(t, "class[{}] before static method[{}] intercept failure", clazz, method.getName());
         }
@@ -87,14 +88,14 @@ public class StaticMethodsInter {
             }
         } catch (Throwable t) {
             try {
-                interceptor.handleMethodException(clazz, method, allArguments, method.getParameterTypes(), t);
+                interceptor.handleMethodException(clazz, method, allArguments, argumentsTypes, t);
             } catch (Throwable t2) {
                 logger.error(t2, "class[{}] handle static method[{}] exception failure", clazz, method.getName(), t2.getMessage());
             }
             throw t;
         } finally {
             try {
-                ret = interceptor.afterMethod(clazz, method, allArguments, method.getParameterTypes(), ret);
+                ret = interceptor.afterMethod(clazz, method, allArguments, argumentsTypes, ret);
             } catch (Throwable t) {
                 logger.error(t, "class[{}] after static method[{}] intercept failure:{}", clazz, method.getName(), t.getMessage());
             }
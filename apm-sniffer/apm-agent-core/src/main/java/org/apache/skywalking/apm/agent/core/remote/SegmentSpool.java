@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.network.language.agent.UpstreamSegment;
+
+/**
+ * A bounded spool of the {@link UpstreamSegment}s, kept in a memory-mapped file while the collector is unreachable.
+ * <p>
+ * The file is a header, followed by a circular data region. Each record is the spool time, followed by the segment
+ * in the length-delimited protobuf framing, same as the OAP buffer files. A record never wraps, the tail of the region
+ * is skipped when the record doesn't fit, marked by {@link #WRAP_MARKER} when there is room for it. The read and write
+ * positions grow forever, the physical position is the remainder of the region size, and both are saved in the header,
+ * so the spool survives restarts.
+ * <p>
+ * The segments are read out as a {@link Batch}, and removed only after {@link #commit(Batch)}, so they are sent at
+ * least once. The segments older than the max age are skipped.
+ * <p>
+ * The file is locked while the spool is open, so it is never shared by two agents. The second one fails to open it.
+ */
+public class SegmentSpool {
+    private static final ILog logger = LogManager.getLogger(SegmentSpool.class);
+
+    private static final int MAGIC = 0x53575350;
+    private static final int HEADER_SIZE = 24;
+    private static final int READ_POSITION_INDEX = 8;
+    private static final int WRITE_POSITION_INDEX = 16;
+    private static final long WRAP_MARKER = -1L;
+    private static final int TIME_SIZE = 8;
+    /**
+     * The max size of the data region, limited by the size of a mapped buffer.
+     */
+    public static final int MAX_CAPACITY = Integer.MAX_VALUE - HEADER_SIZE;
+
+    private final int capacity;
+    private final long maxAge;
+    private final RandomAccessFile randomAccessFile;
+    private final FileLock lock;
+    private final MappedByteBuffer buffer;
+    private long readPosition;
+    private long writePosition;
+
+    /**
+     * @param file the spool file, created if absent. It can't be locked by others.
+     * @param capacity the size of the data region, bytes.
+     * @param maxAge max age of the spooled segments, milliseconds.
+     */
+    public SegmentSpool(File file, int capacity, long maxAge) throws IOException {
+        this.capacity = capacity;
+        this.maxAge = maxAge;
+        File directory = file.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Can't create the directory of the segment spool file: " + file);
+        }
+        randomAccessFile = new RandomAccessFile(file, "rw");
+        boolean opened = false;
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            lock = tryLock(channel);
+            if (lock == null) {
+                throw new IOException("Segment spool file " + file + " is used by another agent.");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + capacity);
+            opened = true;
+        } finally {
+            if (!opened) {
+                randomAccessFile.close();
+            }
+        }
+
+        if (buffer.getInt(0) == MAGIC && buffer.getInt(4) == capacity) {
+            readPosition = buffer.getLong(READ_POSITION_INDEX);
+            writePosition = buffer.getLong(WRITE_POSITION_INDEX);
+            if (readPosition < 0 || readPosition > writePosition || writePosition - readPosition > capacity) {
+                logger.warn("Segment spool file {} is broken, discard it.", file);
+                reset(0);
+            } else if (writePosition > readPosition) {
+                logger.info("{} bytes of the trace segments are found in spool file {}.", writePosition - readPosition, file);
+            }
+        } else {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, capacity);
+            reset(0);
+        }
+    }
+
+    /**
+     * @return null, if the file is locked by another process, or by another spool of this process.
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return false, if there isn't enough space for the segment.
+     */
+    public synchronized boolean append(UpstreamSegment segment) {
+        int serializedSize = segment.getSerializedSize();
+        int frameSize = CodedOutputStream.computeUInt32SizeNoTag(serializedSize) + serializedSize;
+        int recordSize = TIME_SIZE + frameSize;
+
+        int physical = (int)(writePosition % capacity);
+        int tailRoom = capacity - physical;
+        int padding = recordSize > tailRoom ? tailRoom : 0;
+        if (writePosition - readPosition + padding + recordSize > capacity) {
+            return false;
+        }
+
+        if (padding > 0) {
+            if (padding >= TIME_SIZE) {
+                buffer.putLong(HEADER_SIZE + physical, WRAP_MARKER);
+            }
+            physical = 0;
+        }
+
+        byte[] frame = new byte[frameSize];
+        CodedOutputStream output = CodedOutputStream.newInstance(frame);
+        try {
+            output.writeUInt32NoTag(serializedSize);
+            segment.writeTo(output);
+            output.flush();
+        } catch (IOException e) {
+            logger.error(e, "Serialize the trace segment into spool fail.");
+            return false;
+        }
+        buffer.putLong(HEADER_SIZE + physical, System.currentTimeMillis());
+        ByteBuffer target = buffer.duplicate();
+        target.position(HEADER_SIZE + physical + TIME_SIZE);
+        target.put(frame);
+
+        writePosition += padding + recordSize;
+        buffer.putLong(WRITE_POSITION_INDEX, writePosition);
+        return true;
+    }
+
+    /**
+     * Read the oldest segments, without removing them.
+     *
+     * @param max the max count of the segments.
+     */
+    public synchronized Batch read(int max) {
+        Batch batch = new Batch();
+        long position = readPosition;
+        long expireTime = System.currentTimeMillis() - maxAge;
+        while (position < writePosition && batch.segments.size() < max) {
+            int physical = (int)(position % capacity);
+            int tailRoom = capacity - physical;
+            if (tailRoom < TIME_SIZE) {
+                position += tailRoom;
+                continue;
+            }
+            long spoolTime = buffer.getLong(HEADER_SIZE + physical);
+            if (spoolTime == WRAP_MARKER) {
+                position += tailRoom;
+                continue;
+            }
+
+            ByteBuffer source = buffer.duplicate();
+            source.position(HEADER_SIZE + physical + TIME_SIZE);
+            source.limit(HEADER_SIZE + capacity);
+            try {
+                CodedInputStream input = CodedInputStream.newInstance(source);
+                int serializedSize = input.readRawVarint32();
+                byte[] data = input.readRawBytes(serializedSize);
+                if (spoolTime < expireTime) {
+                    batch.expiredCount++;
+                } else {
+                    batch.segments.add(UpstreamSegment.parseFrom(data));
+                }
+                position += TIME_SIZE + input.getTotalBytesRead();
+            } catch (IOException e) {
+                logger.error(e, "The segment spool is broken, discard {} bytes.", writePosition - position);
+                position = writePosition;
+            }
+        }
+        batch.endPosition = position;
+        return batch;
+    }
+
+    /**
+     * Remove the segments of the batch.
+     */
+    public synchronized void commit(Batch batch) {
+        if (batch.endPosition > readPosition) {
+            readPosition = batch.endPosition;
+            buffer.putLong(READ_POSITION_INDEX, readPosition);
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return readPosition == writePosition;
+    }
+
+    /**
+     * Release the file lock. The spooled segments stay in the file, for the next start.
+     */
+    public synchronized void close() throws IOException {
+        try {
+            lock.release();
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    private void reset(long position) {
+        readPosition = position;
+        writePosition = position;
+        buffer.putLong(READ_POSITION_INDEX, position);
+        buffer.putLong(WRITE_POSITION_INDEX, position);
+    }
+
+    public static class Batch {
+        private final List<UpstreamSegment> segments = new ArrayList<UpstreamSegment>();
+        private int expiredCount;
+        private long endPosition;
+
+        public List<UpstreamSegment> getSegments() {
+            return segments;
+        }
+
+        public int getExpiredCount() {
+            return expiredCount;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.network.language.agent.Downstream;
+import org.apache.skywalking.apm.network.language.agent.UpstreamSegment;
+
+/**
+ * One collect stream of the trace segments. The state is changed by the grpc callbacks, the other fields are only
+ * accessed by the sending thread.
+ */
+class SegmentStream implements ClientResponseObserver<UpstreamSegment, Downstream> {
+    private static final ILog logger = LogManager.getLogger(SegmentStream.class);
+
+    static final int OPEN = 0;
+    static final int COMPLETED = 1;
+    static final int FAILED = 2;
+
+    private final long createTime = System.currentTimeMillis();
+    private final Object readyLock = new Object();
+    private volatile int state = OPEN;
+    private volatile boolean cancelled;
+    private ClientCallStreamObserver<UpstreamSegment> requestStream;
+    private long sentCount;
+    /**
+     * The segments kept until the collector acknowledges them, to be spooled if the stream fails.
+     */
+    private final List<UpstreamSegment> keptSegments = new ArrayList<UpstreamSegment>();
+    private long keptSize;
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<UpstreamSegment> requestStream) {
+        this.requestStream = requestStream;
+        requestStream.setOnReadyHandler(new Runnable() {
+            @Override
+            public void run() {
+                wakeUp();
+            }
+        });
+    }
+
+    private void wakeUp() {
+        synchronized (readyLock) {
+            readyLock.notifyAll();
+        }
+    }
+
+    /**
+     * @param timeout max wait time, milliseconds.
+     * @return true, if the stream can accept the next segment without buffering it in grpc.
+     */
+    boolean awaitReady(long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        synchronized (readyLock) {
+            while (!isBroken() && !requestStream.isReady()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    readyLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            }
+        }
+        return !isBroken();
+    }
+
+    /**
+     * Wait until the collector completes or fails the stream.
+     *
+     * @param timeout max wait time, milliseconds.
+     * @return true, if the collector has acknowledged all the segments.
+     */
+    boolean awaitCompleted(long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        synchronized (readyLock) {
+            while (state == OPEN) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    readyLock.wait(remaining);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }
+        return state == COMPLETED;
+    }
+
+    /**
+     * @param keep true, if the segment is kept to be spooled when the stream fails.
+     */
+    void send(UpstreamSegment segment, boolean keep) {
+        requestStream.onNext(segment);
+        sentCount++;
+        if (keep) {
+            keptSegments.add(segment);
+            keptSize += segment.getSerializedSize();
+        }
+    }
+
+    boolean isBroken() {
+        return cancelled || state != OPEN;
+    }
+
+    void complete() {
+        if (!isBroken()) {
+            requestStream.onCompleted();
+        }
+    }
+
+    void cancel() {
+        cancelled = true;
+        requestStream.cancel("Collector doesn't accept segments.", null);
+    }
+
+    int getState() {
+        return state;
+    }
+
+    long getSentCount() {
+        return sentCount;
+    }
+
+    /**
+     * @return the segments kept to be spooled, a part of the sent ones.
+     */
+    List<UpstreamSegment> getKeptSegments() {
+        return keptSegments;
+    }
+
+    /**
+     * @return the serialized size of the kept segments, bytes.
+     */
+    long getKeptSize() {
+        return keptSize;
+    }
+
+    long getCreateTime() {
+        return createTime;
+    }
+
+    @Override
+    public void onNext(Downstream downstream) {
+
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        state = FAILED;
+        wakeUp();
+        if (!cancelled) {
+            if (logger.isErrorEnable()) {
+                logger.error(throwable, "Send UpstreamSegment to collector fail with a grpc internal exception.");
+            }
+            ServiceManager.INSTANCE.findService(GRPCChannelManager.class).reportError(throwable);
+        }
+    }
+
+    @Override
+    public void onCompleted() {
+        state = COMPLETED;
+        wakeUp();
+    }
+}
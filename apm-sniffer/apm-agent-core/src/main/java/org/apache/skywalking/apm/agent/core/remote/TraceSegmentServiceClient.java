@@ -19,27 +19,52 @@
 package org.apache.skywalking.apm.agent.core.remote;
 
 import io.grpc.Channel;
+import io.grpc.stub.ClientCallStreamObserver;
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
-
-import io.grpc.stub.StreamObserver;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.skywalking.apm.agent.core.boot.AgentPackagePath;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
+import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.TracingContext;
 import org.apache.skywalking.apm.agent.core.context.TracingContextListener;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.core.context.trace.TracingObjectPool;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
 import org.apache.skywalking.apm.network.language.agent.*;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.apache.skywalking.apm.util.StringUtil;
 
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.BUFFER_SIZE;
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.CHANNEL_SIZE;
 import static org.apache.skywalking.apm.agent.core.remote.GRPCChannelStatus.CONNECTED;
 
 /**
+ * Send the trace segments through one long-lived stream, rather than a stream per batch. The consumer thread never
+ * waits for the collector response, it only waits for the flow control of the stream, by {@link
+ * ClientCallStreamObserver#isReady()}. The stream is completed and reopened every {@link
+ * Config.Collector#SEGMENT_STREAM_PERIOD} seconds, then the collector acknowledges the segments sent through it. The
+ * expired stream is completed and the terminated ones are settled every second, even if no segment comes.
+ * <p>
+ * When {@link Config.Buffer#SPOOL_SIZE} is set, the segments which can't be sent are kept in a {@link SegmentSpool},
+ * and sent by another thread after reconnecting, at most {@link Config.Buffer#SPOOL_DRAIN_RATE} per second. So are
+ * the segments sent through a failed stream, which are kept in memory until the collector acknowledges them, up to
+ * {@link Config.Buffer#SPOOL_UNACKED_SIZE}. The streams are reopened every {@link Config.Buffer#SPOOL_STREAM_PERIOD}
+ * seconds then, or once the kept segments reach that size, to release them sooner.
+ *
  * @author wusheng
  */
 @DefaultImplementor
@@ -47,12 +72,33 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
     private static final ILog logger = LogManager.getLogger(TraceSegmentServiceClient.class);
     private static final int TIMEOUT = 30 * 1000;
 
-    private long lastLogTime;
-    private long segmentUplinkedCounter;
-    private long segmentAbandonedCounter;
+    private long lastLogTime = System.currentTimeMillis();
+    private final AtomicLong segmentUplinkedCounter = new AtomicLong();
+    private final AtomicLong segmentAbandonedCounter = new AtomicLong();
+    private final AtomicLong segmentInFlightCounter = new AtomicLong();
+    private final AtomicLong segmentSpooledCounter = new AtomicLong();
+    /**
+     * The counters at the last uplink status log, guarded by the stream lock.
+     */
+    private long loggedUplinked;
+    private long loggedAbandoned;
+    private long loggedSpooled;
     private volatile DataCarrier<TraceSegment> carrier;
     private volatile TraceSegmentServiceGrpc.TraceSegmentServiceStub serviceStub;
     private volatile GRPCChannelStatus status = GRPCChannelStatus.DISCONNECT;
+    /**
+     * Guards the streams, held by the consumer thread while sending.
+     */
+    private final ReentrantLock streamLock = new ReentrantLock();
+    private SegmentStream currentStream;
+    private final List<SegmentStream> closingStreams = new LinkedList<SegmentStream>();
+    /**
+     * The serialized size of the segments kept by the open and closing streams, guarded by the stream lock.
+     */
+    private long unackedSize;
+    private volatile SegmentSpool spool;
+    private volatile ScheduledFuture<?> drainSpoolFuture;
+    private volatile ScheduledFuture<?> streamTickFuture;
 
     @Override
     public void prepare() throws Throwable {
@@ -61,12 +107,51 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
 
     @Override
     public void boot() throws Throwable {
-        lastLogTime = System.currentTimeMillis();
-        segmentUplinkedCounter = 0;
-        segmentAbandonedCounter = 0;
         carrier = new DataCarrier<TraceSegment>(CHANNEL_SIZE, BUFFER_SIZE);
         carrier.setBufferStrategy(BufferStrategy.IF_POSSIBLE);
         carrier.consume(this, 1);
+        streamTickFuture = Executors
+            .newSingleThreadScheduledExecutor(new DefaultNamedThreadFactory("TraceSegmentStream"))
+            .scheduleWithFixedDelay(new RunnableWithExceptionProtection(new Runnable() {
+                @Override
+                public void run() {
+                    tick();
+                }
+            }, new RunnableWithExceptionProtection.CallbackWhenException() {
+                @Override
+                public void handle(Throwable t) {
+                    logger.error(t, "Close the expired segment stream fail.");
+                }
+            }), 1, 1, TimeUnit.SECONDS);
+
+        if (Config.Buffer.SPOOL_SIZE > 0) {
+            try {
+                File spoolFile = StringUtil.isEmpty(Config.Buffer.SPOOL_FILE) ?
+                    new File(AgentPackagePath.getPath(), "spool/segment.spool") : new File(Config.Buffer.SPOOL_FILE);
+                long spoolSize = Config.Buffer.SPOOL_SIZE * 1024L * 1024;
+                if (spoolSize > SegmentSpool.MAX_CAPACITY) {
+                    logger.warn("The segment spool size {} MB is too large, use {} bytes instead.", Config.Buffer.SPOOL_SIZE, SegmentSpool.MAX_CAPACITY);
+                    spoolSize = SegmentSpool.MAX_CAPACITY;
+                }
+                spool = new SegmentSpool(spoolFile, (int)spoolSize, TimeUnit.SECONDS.toMillis(Config.Buffer.SPOOL_MAX_AGE));
+            } catch (Throwable t) {
+                logger.error(t, "Create the segment spool fail, the segments will be abandoned when the collector is unreachable.");
+                return;
+            }
+            drainSpoolFuture = Executors
+                .newSingleThreadScheduledExecutor(new DefaultNamedThreadFactory("TraceSegmentSpool"))
+                .scheduleWithFixedDelay(new RunnableWithExceptionProtection(new Runnable() {
+                    @Override
+                    public void run() {
+                        drainSpool();
+                    }
+                }, new RunnableWithExceptionProtection.CallbackWhenException() {
+                    @Override
+                    public void handle(Throwable t) {
+                        logger.error(t, "Send the spooled segments to collector fail.");
+                    }
+                }), 1, 1, TimeUnit.SECONDS);
+        }
     }
 
     @Override
@@ -76,7 +161,16 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
 
     @Override
     public void shutdown() throws Throwable {
+        if (streamTickFuture != null) {
+            streamTickFuture.cancel(true);
+        }
+        if (drainSpoolFuture != null) {
+            drainSpoolFuture.cancel(true);
+        }
         carrier.shutdownConsumers();
+        if (spool != null) {
+            spool.close();
+        }
     }
 
     @Override
@@ -86,63 +180,274 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
 
     @Override
     public void consume(List<TraceSegment> data) {
-        if (CONNECTED.equals(status)) {
-            final GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
-            StreamObserver<UpstreamSegment> upstreamSegmentStreamObserver = serviceStub.collect(new StreamObserver<Downstream>() {
-                @Override
-                public void onNext(Downstream downstream) {
+        streamLock.lock();
+        try {
+            settleClosingStreams();
 
+            if (CONNECTED.equals(status)) {
+                SegmentStream stream = getStream();
+                for (int i = 0; i < data.size(); i++) {
+                    TraceSegment segment = data.get(i);
+                    if (!stream.awaitReady(TIMEOUT)) {
+                        if (!stream.isBroken()) {
+                            logger.warn("Collector traceSegment service doesn't accept segments in {} seconds.", TIMEOUT / 1000);
+                            stream.cancel();
+                        }
+                        spoolOrAbandon(data, i);
+                        break;
+                    }
+                    try {
+                        UpstreamSegment upstreamSegment = segment.transform();
+                        stream.send(upstreamSegment, keepUnacked(upstreamSegment));
+                        segmentInFlightCounter.incrementAndGet();
+                    } catch (Throwable t) {
+                        segmentAbandonedCounter.incrementAndGet();
+                        logger.error(t, "Transform and send UpstreamSegment to collector fail.");
+                        continue;
+                    }
+                    TracingObjectPool.release(segment);
                 }
+            } else {
+                spoolOrAbandon(data, 0);
+            }
 
-                @Override
-                public void onError(Throwable throwable) {
-                    status.finished();
-                    if (logger.isErrorEnable()) {
-                        logger.error(throwable, "Send UpstreamSegment to collector fail with a grpc internal exception.");
-                    }
-                    ServiceManager.INSTANCE.findService(GRPCChannelManager.class).reportError(throwable);
+            printUplinkStatus();
+        } finally {
+            streamLock.unlock();
+        }
+    }
+
+    /**
+     * The segments are released to the {@link TracingObjectPool} only after they have been spooled or abandoned
+     * explicitly. The one failing in the transform is left to GC, as it may be in a broken state.
+     */
+    private void spoolOrAbandon(List<TraceSegment> data, int fromIndex) {
+        SegmentSpool spool = this.spool;
+        if (spool == null) {
+            segmentAbandonedCounter.addAndGet(data.size() - fromIndex);
+            for (int i = fromIndex; i < data.size(); i++) {
+                TracingObjectPool.release(data.get(i));
+            }
+            return;
+        }
+        for (int i = fromIndex; i < data.size(); i++) {
+            TraceSegment segment = data.get(i);
+            try {
+                if (spool.append(segment.transform())) {
+                    segmentSpooledCounter.incrementAndGet();
+                } else {
+                    segmentAbandonedCounter.incrementAndGet();
                 }
+            } catch (Throwable t) {
+                segmentAbandonedCounter.incrementAndGet();
+                logger.error(t, "Transform and spool UpstreamSegment fail.");
+                continue;
+            }
+            TracingObjectPool.release(segment);
+        }
+    }
 
-                @Override
-                public void onCompleted() {
-                    status.finished();
+    /**
+     * @return true, if the sent segment should be kept until the collector acknowledges it, to be spooled if the
+     * stream fails.
+     */
+    private boolean keepUnacked(UpstreamSegment segment) {
+        if (spool == null) {
+            return false;
+        }
+        int size = segment.getSerializedSize();
+        if (unackedSize + size > Config.Buffer.SPOOL_UNACKED_SIZE * 1024L) {
+            return false;
+        }
+        unackedSize += size;
+        return true;
+    }
+
+    /**
+     * Spool the kept segments of the failed stream, the others sent through it are abandoned.
+     */
+    private void spoolOrAbandon(SegmentStream stream) {
+        SegmentSpool spool = this.spool;
+        List<UpstreamSegment> segments = stream.getKeptSegments();
+        segmentAbandonedCounter.addAndGet(stream.getSentCount() - segments.size());
+        if (spool == null) {
+            segmentAbandonedCounter.addAndGet(segments.size());
+            return;
+        }
+        for (UpstreamSegment segment : segments) {
+            try {
+                if (spool.append(segment)) {
+                    segmentSpooledCounter.incrementAndGet();
+                } else {
+                    segmentAbandonedCounter.incrementAndGet();
                 }
-            });
-
-            for (TraceSegment segment : data) {
-                try {
-                    UpstreamSegment upstreamSegment = segment.transform();
-                    upstreamSegmentStreamObserver.onNext(upstreamSegment);
-                } catch (Throwable t) {
-                    logger.error(t, "Transform and send UpstreamSegment to collector fail.");
+            } catch (Throwable t) {
+                segmentAbandonedCounter.incrementAndGet();
+                logger.error(t, "Spool UpstreamSegment fail.");
+            }
+        }
+    }
+
+    /**
+     * Send the oldest spooled segments through a new stream, and remove them from the spool after the collector
+     * acknowledges them. Otherwise, they are sent again in the next round.
+     */
+    private void drainSpool() {
+        if (!CONNECTED.equals(status) || spool.isEmpty()) {
+            return;
+        }
+        SegmentSpool.Batch batch = spool.read(Config.Buffer.SPOOL_DRAIN_RATE);
+        List<UpstreamSegment> segments = batch.getSegments();
+        if (!segments.isEmpty()) {
+            SegmentStream stream = new SegmentStream();
+            serviceStub.collect(stream);
+            for (UpstreamSegment segment : segments) {
+                if (!stream.awaitReady(TIMEOUT)) {
+                    if (!stream.isBroken()) {
+                        stream.cancel();
+                    }
+                    return;
                 }
+                stream.send(segment, false);
+            }
+            stream.complete();
+            if (!stream.awaitCompleted(TIMEOUT)) {
+                return;
             }
-            upstreamSegmentStreamObserver.onCompleted();
+        }
+        spool.commit(batch);
+        segmentUplinkedCounter.addAndGet(segments.size());
+        segmentAbandonedCounter.addAndGet(batch.getExpiredCount());
+    }
 
-            status.wait4Finish();
-            segmentUplinkedCounter += data.size();
-        } else {
-            segmentAbandonedCounter += data.size();
+    /**
+     * Complete the expired stream and settle the terminated ones, without waiting for the next segments. Skipped if
+     * the consumer thread is sending, as it does the same.
+     */
+    void tick() {
+        if (!streamLock.tryLock()) {
+            return;
+        }
+        try {
+            closeCurrentStreamIfExpired();
+            settleClosingStreams();
+            printUplinkStatus();
+        } finally {
+            streamLock.unlock();
+        }
+    }
+
+    /**
+     * Reuse the current stream, unless it is broken or expired.
+     */
+    private SegmentStream getStream() {
+        closeCurrentStreamIfExpired();
+        if (currentStream == null) {
+            currentStream = new SegmentStream();
+            serviceStub.collect(currentStream);
+        }
+        return currentStream;
+    }
+
+    /**
+     * The stream is also completed when its kept segments have used up the unacknowledged size, so they are released
+     * after the acknowledgement.
+     */
+    private void closeCurrentStreamIfExpired() {
+        if (currentStream == null) {
+            return;
         }
+        long streamPeriod = Config.Collector.SEGMENT_STREAM_PERIOD;
+        if (spool != null) {
+            streamPeriod = Math.min(streamPeriod, Config.Buffer.SPOOL_STREAM_PERIOD);
+        }
+        boolean unackedFull = currentStream.getKeptSize() > 0 && unackedSize >= Config.Buffer.SPOOL_UNACKED_SIZE * 1024L;
+        if (currentStream.isBroken() || unackedFull || System.currentTimeMillis() - currentStream.getCreateTime() > TimeUnit.SECONDS.toMillis(streamPeriod)) {
+            currentStream.complete();
+            closingStreams.add(currentStream);
+            currentStream = null;
+        }
+    }
 
-        printUplinkStatus();
+    /**
+     * Move the count of the segments in the terminated streams from in-flight to uplinked, and spool or abandon the
+     * segments of the failed ones.
+     */
+    private void settleClosingStreams() {
+        Iterator<SegmentStream> iterator = closingStreams.iterator();
+        while (iterator.hasNext()) {
+            SegmentStream stream = iterator.next();
+            if (stream.getState() == SegmentStream.OPEN) {
+                continue;
+            }
+            segmentInFlightCounter.addAndGet(-stream.getSentCount());
+            unackedSize -= stream.getKeptSize();
+            if (stream.getState() == SegmentStream.COMPLETED) {
+                segmentUplinkedCounter.addAndGet(stream.getSentCount());
+            } else {
+                spoolOrAbandon(stream);
+            }
+            iterator.remove();
+        }
     }
 
     private void printUplinkStatus() {
         long currentTimeMillis = System.currentTimeMillis();
         if (currentTimeMillis - lastLogTime > 30 * 1000) {
             lastLogTime = currentTimeMillis;
-            if (segmentUplinkedCounter > 0) {
-                logger.debug("{} trace segments have been sent to collector.", segmentUplinkedCounter);
-                segmentUplinkedCounter = 0;
+            long uplinkedCount = segmentUplinkedCounter.get();
+            long uplinked = uplinkedCount - loggedUplinked;
+            loggedUplinked = uplinkedCount;
+            if (uplinked > 0) {
+                logger.debug("{} trace segments have been sent to collector.", uplinked);
+            }
+            long abandonedCount = segmentAbandonedCounter.get();
+            long abandoned = abandonedCount - loggedAbandoned;
+            loggedAbandoned = abandonedCount;
+            if (abandoned > 0) {
+                logger.debug("{} trace segments have been abandoned, cause by no available channel.", abandoned);
+            }
+            long spooledCount = segmentSpooledCounter.get();
+            long spooled = spooledCount - loggedSpooled;
+            loggedSpooled = spooledCount;
+            if (spooled > 0) {
+                logger.debug("{} trace segments have been spooled, cause by no available channel.", spooled);
             }
-            if (segmentAbandonedCounter > 0) {
-                logger.debug("{} trace segments have been abandoned, cause by no available channel.", segmentAbandonedCounter);
-                segmentAbandonedCounter = 0;
+            long inFlight = segmentInFlightCounter.get();
+            if (inFlight > 0) {
+                logger.debug("{} trace segments are waiting for the collector acknowledgement.", inFlight);
             }
         }
     }
 
+    /**
+     * @return the count of the segments acknowledged by the collector, since the agent starts.
+     */
+    public long getSegmentUplinkedCount() {
+        return segmentUplinkedCounter.get();
+    }
+
+    /**
+     * @return the count of the segments abandoned after entering the buffer, since the agent starts.
+     */
+    public long getSegmentAbandonedCount() {
+        return segmentAbandonedCounter.get();
+    }
+
+    /**
+     * @return the count of the segments kept in the spool, since the agent starts.
+     */
+    public long getSegmentSpooledCount() {
+        return segmentSpooledCounter.get();
+    }
+
+    /**
+     * @return the count of the segments sent, and not acknowledged by the collector yet.
+     */
+    public long getSegmentInFlightCount() {
+        return segmentInFlightCounter.get();
+    }
+
     @Override
     public void onError(List<TraceSegment> data, Throwable t) {
         logger.error(t, "Try to send {} trace segments to collector, with unexpected exception.", data.size());
@@ -150,7 +455,15 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
 
     @Override
     public void onExit() {
-
+        streamLock.lock();
+        try {
+            if (currentStream != null) {
+                currentStream.complete();
+                currentStream = null;
+            }
+        } finally {
+            streamLock.unlock();
+        }
     }
 
     @Override
@@ -159,6 +472,7 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
             return;
         }
         if (!carrier.produce(traceSegment)) {
+            segmentAbandonedCounter.incrementAndGet();
             if (logger.isDebugEnable()) {
                 logger.debug("One trace segment has been abandoned, cause by buffer is full.");
             }
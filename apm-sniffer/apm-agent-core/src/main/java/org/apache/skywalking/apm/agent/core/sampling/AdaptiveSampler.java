@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+
+/**
+ * The <code>AdaptiveSampler</code> keeps the sampled segments around {@link Config.Agent#SAMPLE_SEGMENTS_PER_SECOND},
+ * by a token bucket per endpoint, which is refilled every second by {@link #adjust()}.
+ * <p>
+ * The target is shared by the endpoints in max-min fairness, weighted: an endpoint requested less than its share is
+ * sampled fully, the rest is shared by the hot endpoints, which are sampled less. The endpoints having slow or error
+ * segments recently get a larger weight. Every endpoint can be sampled once per second at least, so a rare endpoint
+ * is never missed. The segments sampled by force, which are parts of distributed traces, are taken from the target
+ * first.
+ */
+public class AdaptiveSampler {
+    /**
+     * The endpoints beyond this share one bucket.
+     */
+    private static final int MAX_ENDPOINTS = 1000;
+    private static final String OTHER_ENDPOINTS = "";
+    private static final int SLOW_OR_ERROR_WEIGHT = 4;
+    /**
+     * The idle bucket is removed after this count of adjustments.
+     */
+    private static final int MAX_IDLE_PERIODS = 60;
+
+    private final int targetPerSecond;
+    private final long slowThreshold;
+    private final ConcurrentHashMap<String, EndpointBucket> buckets;
+    private final StripedCounter forcedCounter;
+
+    /**
+     * @param targetPerSecond the count of segments sampled per second.
+     * @param slowThreshold the segments slower than it are slow, milliseconds.
+     */
+    public AdaptiveSampler(int targetPerSecond, long slowThreshold) {
+        this.targetPerSecond = targetPerSecond;
+        this.slowThreshold = slowThreshold;
+        this.buckets = new ConcurrentHashMap<String, EndpointBucket>();
+        this.forcedCounter = new StripedCounter();
+    }
+
+    /**
+     * @return true, if the endpoint still has a token in this second.
+     */
+    public boolean trySampling(String endpointName) {
+        EndpointBucket bucket = buckets.get(endpointName);
+        if (bucket == null) {
+            bucket = createBucket(endpointName);
+        }
+        return bucket.tryAcquire();
+    }
+
+    private EndpointBucket createBucket(String endpointName) {
+        if (buckets.size() >= MAX_ENDPOINTS) {
+            endpointName = OTHER_ENDPOINTS;
+            EndpointBucket bucket = buckets.get(endpointName);
+            if (bucket != null) {
+                return bucket;
+            }
+        }
+        EndpointBucket bucket = new EndpointBucket();
+        EndpointBucket previous = buckets.putIfAbsent(endpointName, bucket);
+        return previous == null ? bucket : previous;
+    }
+
+    public void forceSampled() {
+        forcedCounter.increment();
+    }
+
+    /**
+     * Raise the weight of the endpoint, if the sampled segment is slow or error.
+     *
+     * @param duration milliseconds.
+     */
+    public void afterFinished(String endpointName, long duration, boolean isError) {
+        if (isError || duration >= slowThreshold) {
+            EndpointBucket bucket = buckets.get(endpointName);
+            if (bucket == null) {
+                bucket = buckets.get(OTHER_ENDPOINTS);
+            }
+            if (bucket != null) {
+                bucket.slowOrError = true;
+            }
+        }
+    }
+
+    /**
+     * Refill all buckets, with the quotas based on the requests in the last second. Only called by one thread.
+     */
+    public void adjust() {
+        long budget = Math.max(1, targetPerSecond - forcedCounter.sumThenReset());
+
+        List<EndpointBucket> activeBuckets = new ArrayList<EndpointBucket>(buckets.size());
+        long totalWeight = 0;
+        for (Map.Entry<String, EndpointBucket> entry : buckets.entrySet()) {
+            EndpointBucket bucket = entry.getValue();
+            bucket.demand = bucket.requestCounter.sumThenReset();
+            if (bucket.slowOrError) {
+                bucket.slowOrError = false;
+                bucket.weight = SLOW_OR_ERROR_WEIGHT;
+            } else if (bucket.weight > 1) {
+                bucket.weight--;
+            }
+            if (bucket.demand == 0) {
+                if (++bucket.idlePeriods >= MAX_IDLE_PERIODS) {
+                    buckets.remove(entry.getKey(), bucket);
+                }
+                bucket.refill(1);
+                continue;
+            }
+            bucket.idlePeriods = 0;
+            activeBuckets.add(bucket);
+            totalWeight += bucket.weight;
+        }
+
+        Collections.sort(activeBuckets, new Comparator<EndpointBucket>() {
+            @Override
+            public int compare(EndpointBucket o1, EndpointBucket o2) {
+                return Double.compare((double)o1.demand / o1.weight, (double)o2.demand / o2.weight);
+            }
+        });
+        for (EndpointBucket bucket : activeBuckets) {
+            long share = totalWeight > 0 ? budget * bucket.weight / totalWeight : 0;
+            long quota = Math.max(1, Math.min(bucket.demand, share));
+            bucket.refill((int)Math.min(quota, Integer.MAX_VALUE));
+            budget = Math.max(0, budget - quota);
+            totalWeight -= bucket.weight;
+        }
+    }
+
+    private static class EndpointBucket {
+        private final StripedCounter requestCounter = new StripedCounter();
+        private final AtomicInteger sampledCounter = new AtomicInteger();
+        private volatile int quota = 1;
+        private volatile boolean exhausted = false;
+        private volatile boolean slowOrError = false;
+        /**
+         * Only accessed by {@link #adjust()}.
+         */
+        private long demand;
+        private int weight = 1;
+        private int idlePeriods;
+
+        private boolean tryAcquire() {
+            requestCounter.increment();
+            if (exhausted) {
+                return false;
+            }
+            if (sampledCounter.incrementAndGet() > quota) {
+                exhausted = true;
+                return false;
+            }
+            return true;
+        }
+
+        private void refill(int quota) {
+            this.quota = quota;
+            sampledCounter.set(0);
+            exhausted = false;
+        }
+    }
+}
@@ -23,7 +23,6 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
 import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
@@ -39,6 +38,9 @@ import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
  * send all of them to collector, if SAMPLING is on.
  * <p>
  * By default, SAMPLING is on, and  {@link Config.Agent#SAMPLE_N_PER_3_SECS }
+ * <p>
+ * If {@link Config.Agent#SAMPLE_SEGMENTS_PER_SECOND} is positive, the {@link AdaptiveSampler} is used instead, which
+ * samples by the endpoint.
  *
  * @author wusheng
  */
@@ -47,7 +49,8 @@ public class SamplingService implements BootService {
     private static final ILog logger = LogManager.getLogger(SamplingService.class);
 
     private volatile boolean on = false;
-    private volatile AtomicInteger samplingFactorHolder;
+    private final StripedCounter samplingFactorHolder = new StripedCounter();
+    private volatile AdaptiveSampler adaptiveSampler;
     private volatile ScheduledFuture<?> scheduledFuture;
 
     @Override
@@ -64,7 +67,23 @@ public class SamplingService implements BootService {
              */
             scheduledFuture.cancel(true);
         }
-        if (Config.Agent.SAMPLE_N_PER_3_SECS > 0) {
+        if (Config.Agent.SAMPLE_SEGMENTS_PER_SECOND > 0) {
+            final AdaptiveSampler sampler = new AdaptiveSampler(Config.Agent.SAMPLE_SEGMENTS_PER_SECOND, Config.Agent.SAMPLE_SLOW_THRESHOLD);
+            adaptiveSampler = sampler;
+            ScheduledExecutorService service = Executors
+                .newSingleThreadScheduledExecutor(new DefaultNamedThreadFactory("SamplingService"));
+            scheduledFuture = service.scheduleAtFixedRate(new RunnableWithExceptionProtection(new Runnable() {
+                @Override
+                public void run() {
+                    sampler.adjust();
+                }
+            }, new RunnableWithExceptionProtection.CallbackWhenException() {
+                @Override public void handle(Throwable t) {
+                    logger.error("unexpected exception.", t);
+                }
+            }), 0, 1, TimeUnit.SECONDS);
+            logger.debug("Agent adaptive sampling mechanism started. Sample {} segments per second.", Config.Agent.SAMPLE_SEGMENTS_PER_SECOND);
+        } else if (Config.Agent.SAMPLE_N_PER_3_SECS > 0) {
             on = true;
             this.resetSamplingFactor();
             ScheduledExecutorService service = Executors
@@ -96,34 +115,60 @@ public class SamplingService implements BootService {
     }
 
     /**
+     * The factor is striped, each cell takes a share of the limit, so the threads mostly increase their own cells, and
+     * no more than the limit is sampled. After the limit is reached, the cells are only read until the next reset.
+     *
      * @return true, if sampling mechanism is on, and getDefault the sampling factor successfully.
      */
     public boolean trySampling() {
         if (on) {
-            int factor = samplingFactorHolder.get();
-            if (factor < Config.Agent.SAMPLE_N_PER_3_SECS) {
-                boolean success = samplingFactorHolder.compareAndSet(factor, factor + 1);
-                return success;
-            } else {
-                return false;
-            }
+            return samplingFactorHolder.tryIncrement(Config.Agent.SAMPLE_N_PER_3_SECS);
         }
         return true;
     }
 
+    /**
+     * Same as {@link #trySampling()}, and sampling by the endpoint if the adaptive sampling is on.
+     *
+     * @param endpointName the operation name of the first span.
+     */
+    public boolean trySampling(String endpointName) {
+        AdaptiveSampler sampler = adaptiveSampler;
+        if (sampler != null) {
+            return sampler.trySampling(endpointName);
+        }
+        return trySampling();
+    }
+
     /**
      * Increase the sampling factor by force,
      * to avoid sampling too many traces.
      * If many distributed traces require sampled,
      * the trace beginning at local, has less chance to be sampled.
+     * Nothing is taken after the limit is reached, which is the same.
      */
     public void forceSampled() {
-        if (on) {
-            samplingFactorHolder.incrementAndGet();
+        AdaptiveSampler sampler = adaptiveSampler;
+        if (sampler != null) {
+            sampler.forceSampled();
+        } else if (on) {
+            samplingFactorHolder.tryIncrement(Config.Agent.SAMPLE_N_PER_3_SECS);
+        }
+    }
+
+    /**
+     * Notify the adaptive sampling that a sampled segment finished.
+     *
+     * @param endpointName the endpoint name used in {@link #trySampling(String)}.
+     */
+    public void afterFinished(String endpointName, TraceSegment segment) {
+        AdaptiveSampler sampler = adaptiveSampler;
+        if (sampler != null && endpointName != null) {
+            sampler.afterFinished(endpointName, segment.getDuration(), segment.isErrorOccurred());
         }
     }
 
     private void resetSamplingFactor() {
-        samplingFactorHolder = new AtomicInteger(0);
+        samplingFactorHolder.reset();
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter spread over several cells, each on its own cache line, picked by the current thread. The threads increase
+ * different cells, instead of competing on one CAS. The sum is not atomic, it is good enough for sampling.
+ * <p>
+ * As a bounded counter, each cell takes an even share of the limit, see {@link #tryIncrement(long)}.
+ */
+public class StripedCounter {
+    private static final int MAX_STRIPES = 8;
+    /**
+     * 8 longs, one cache line.
+     */
+    private static final int PADDING_SHIFT = 3;
+
+    private final AtomicLongArray cells;
+    private final int mask;
+
+    public StripedCounter() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int stripes = 1;
+        while (stripes < processors && stripes < MAX_STRIPES) {
+            stripes <<= 1;
+        }
+        this.mask = stripes - 1;
+        this.cells = new AtomicLongArray(stripes << PADDING_SHIFT);
+    }
+
+    public void increment() {
+        cells.incrementAndGet(cellIndex());
+    }
+
+    public long sumThenReset() {
+        long sum = 0;
+        for (int i = 0; i <= mask; i++) {
+            sum += cells.getAndSet(i << PADDING_SHIFT, 0);
+        }
+        return sum;
+    }
+
+    /**
+     * Increase a cell only while it is under its share of the limit, the cell of the current thread first, then the
+     * others. The shares sum up to the limit, so the total never exceeds it, and the threads compete on the same cell
+     * only after their own shares are used up.
+     *
+     * @return false, if all the shares are used up.
+     */
+    public boolean tryIncrement(long limit) {
+        int stripes = mask + 1;
+        int first = cellIndex() >> PADDING_SHIFT;
+        for (int i = 0; i < stripes; i++) {
+            int stripe = (first + i) & mask;
+            long share = limit / stripes + (stripe < limit % stripes ? 1 : 0);
+            int index = stripe << PADDING_SHIFT;
+            long value;
+            while ((value = cells.get(index)) < share) {
+                if (cells.compareAndSet(index, value, value + 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public void reset() {
+        for (int i = 0; i <= mask; i++) {
+            cells.set(i << PADDING_SHIFT, 0);
+        }
+    }
+
+    private int cellIndex() {
+        long threadId = Thread.currentThread().getId();
+        return ((int)(threadId ^ (threadId >>> 16)) & mask) << PADDING_SHIFT;
+    }
+}
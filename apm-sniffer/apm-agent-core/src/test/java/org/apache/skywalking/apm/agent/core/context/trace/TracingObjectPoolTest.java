@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.conf.RemoteDownstreamConfig;
+import org.apache.skywalking.apm.agent.core.context.ids.ID;
+import org.apache.skywalking.apm.agent.core.dictionary.DictionaryUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TracingObjectPoolTest {
+
+    @Before
+    public void setUp() {
+        RemoteDownstreamConfig.Agent.APPLICATION_ID = 1;
+        RemoteDownstreamConfig.Agent.APPLICATION_INSTANCE_ID = 1;
+        TracingObjectPool.init(2);
+    }
+
+    @After
+    public void tearDown() {
+        TracingObjectPool.init(Config.Agent.TRACING_OBJECT_POOL_SIZE);
+    }
+
+    @Test
+    public void testReuseAfterRelease() {
+        TraceSegment segment = TracingObjectPool.newSegment();
+        ID segmentId = segment.getTraceSegmentId();
+        EntrySpan entrySpan = TracingObjectPool.newEntrySpan(0, -1, "/entry", DictionaryUtil.nullValue());
+        LocalSpan localSpan = TracingObjectPool.newLocalSpan(1, 0, "local", DictionaryUtil.nullValue());
+        ExitSpan exitSpan = TracingObjectPool.newExitSpan(2, 0, "exit", DictionaryUtil.nullValue(), "127.0.0.1:8080", DictionaryUtil.nullValue());
+        finish(segment, entrySpan, localSpan, exitSpan);
+
+        TracingObjectPool.release(segment);
+        assertThat(segment.getSpans().size(), is(0));
+
+        TraceSegment reused = TracingObjectPool.newSegment();
+        assertThat(reused, sameInstance(segment));
+        assertThat(reused.getTraceSegmentId(), not(segmentId));
+        assertThat(reused.getRefs(), nullValue());
+        assertThat(reused.isIgnore(), is(false));
+        assertThat(reused.getRelatedGlobalTraces().size(), is(1));
+
+        EntrySpan reusedEntrySpan = TracingObjectPool.newEntrySpan(3, -1, null, 5);
+        assertThat(reusedEntrySpan, sameInstance(entrySpan));
+        assertReset(reusedEntrySpan, 3, -1, null, 5);
+        assertThat(reusedEntrySpan.stackDepth, is(0));
+
+        LocalSpan reusedLocalSpan = TracingObjectPool.newLocalSpan(4, 3, "local2", DictionaryUtil.nullValue());
+        assertThat(reusedLocalSpan, sameInstance(localSpan));
+        assertReset(reusedLocalSpan, 4, 3, "local2", DictionaryUtil.nullValue());
+
+        ExitSpan reusedExitSpan = TracingObjectPool.newExitSpan(5, 3, null, 6, null, 7);
+        assertThat(reusedExitSpan, sameInstance(exitSpan));
+        assertReset(reusedExitSpan, 5, 3, null, 6);
+        assertThat(reusedExitSpan.stackDepth, is(0));
+        assertThat(reusedExitSpan.getPeer(), nullValue());
+        assertThat(reusedExitSpan.getPeerId(), is(7));
+    }
+
+    @Test
+    public void testEntrySpanTagsAfterReuse() {
+        TraceSegment segment = TracingObjectPool.newSegment();
+        finish(segment, TracingObjectPool.newEntrySpan(0, -1, "/entry", DictionaryUtil.nullValue()));
+        TracingObjectPool.release(segment);
+
+        EntrySpan entrySpan = TracingObjectPool.newEntrySpan(0, -1, "/entry2", DictionaryUtil.nullValue());
+        entrySpan.start();
+        entrySpan.tag("key", "value");
+        assertThat(entrySpan.tagCount, is(1));
+        assertThat(entrySpan.tagKeys[0], is("key"));
+    }
+
+    @Test
+    public void testIgnoreChangesAfterRelease() {
+        TraceSegment segment = TracingObjectPool.newSegment();
+        ExitSpan exitSpan = TracingObjectPool.newExitSpan(0, -1, "exit", DictionaryUtil.nullValue(), "127.0.0.1:8080", DictionaryUtil.nullValue());
+        finish(segment, exitSpan);
+        TracingObjectPool.release(segment);
+
+        exitSpan.start();
+        exitSpan.tag("late", "value");
+        exitSpan.log(new RuntimeException("late"));
+        exitSpan.setOperationName("late");
+        assertThat(exitSpan.finish(segment), is(false));
+        assertThat(exitSpan.stackDepth, is(0));
+        assertThat(exitSpan.tagCount, is(1));
+        assertThat(exitSpan.logCount, is(1));
+        assertThat(exitSpan.operationName, is("exit"));
+        assertThat(segment.getSpans().size(), is(0));
+
+        ExitSpan reused = TracingObjectPool.newExitSpan(1, -1, "exit2", DictionaryUtil.nullValue(), "127.0.0.1:8080", DictionaryUtil.nullValue());
+        assertThat(reused, sameInstance(exitSpan));
+        reused.start();
+        reused.tag("key", "value");
+        assertThat(reused.tagCount, is(1));
+    }
+
+    @Test
+    public void testBoundedPool() {
+        TraceSegment[] segments = new TraceSegment[3];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = TracingObjectPool.newSegment();
+        }
+        for (TraceSegment segment : segments) {
+            TracingObjectPool.release(segment);
+        }
+
+        assertThat(TracingObjectPool.newSegment(), sameInstance(segments[0]));
+        assertThat(TracingObjectPool.newSegment(), sameInstance(segments[1]));
+        assertThat(TracingObjectPool.newSegment(), not(sameInstance(segments[2])));
+    }
+
+    @Test
+    public void testPoolOff() {
+        TracingObjectPool.init(0);
+        TraceSegment segment = TracingObjectPool.newSegment();
+        TracingObjectPool.release(segment);
+
+        assertThat(TracingObjectPool.newSegment(), not(sameInstance(segment)));
+    }
+
+    private void finish(TraceSegment segment, AbstractTracingSpan... spans) {
+        for (AbstractTracingSpan span : spans) {
+            span.start();
+            span.tag("key", "value");
+            span.log(new RuntimeException("error"));
+            span.errorOccurred();
+            span.setComponent("component");
+            span.setLayer(SpanLayer.HTTP);
+        }
+        for (int i = spans.length - 1; i >= 0; i--) {
+            spans[i].finish(segment);
+        }
+        assertThat(segment.getSpans().size(), is(spans.length));
+    }
+
+    private void assertReset(AbstractTracingSpan span, int spanId, int parentSpanId, String operationName,
+        int operationId) {
+        assertThat(span.spanId, is(spanId));
+        assertThat(span.parentSpanId, is(parentSpanId));
+        assertThat(span.operationName, is(operationName));
+        assertThat(span.operationId, is(operationId));
+        assertThat(span.layer, nullValue());
+        assertThat(span.startTime, is(0L));
+        assertThat(span.endTime, is(0L));
+        assertThat(span.errorOccurred, is(false));
+        assertThat(span.componentId, is(0));
+        assertThat(span.componentName, nullValue());
+        assertThat(span.refs, nullValue());
+        assertThat(span.tagCount, is(0));
+        assertThat(span.logCount, is(0));
+    }
+}
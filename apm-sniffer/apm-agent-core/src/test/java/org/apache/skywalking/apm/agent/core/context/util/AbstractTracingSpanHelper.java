@@ -19,6 +19,7 @@
 
 package org.apache.skywalking.apm.agent.core.context.util;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractTracingSpan;
@@ -36,7 +37,11 @@ public class AbstractTracingSpanHelper {
 
     public static List<LogDataEntity> getLogs(AbstractTracingSpan tracingSpan) {
         try {
-            return FieldGetter.get2LevelParentFieldValue(tracingSpan, "logs");
+            LogDataEntity[] logs = FieldGetter.get2LevelParentFieldValue(tracingSpan, "logs");
+            int logCount = FieldGetter.get2LevelParentFieldValue(tracingSpan, "logCount");
+            if (logs != null) {
+                return Arrays.asList(logs).subList(0, logCount);
+            }
         } catch (Exception e) {
         }
 
@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.plugin.EnhanceContext;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.ConstructorInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.InstanceMethodsInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.StaticMethodsInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.NameMatch;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.takesArguments;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Enhance {@link Target} in the inline advice mode and in the delegation mode, the interceptors must see the same
+ * calls.
+ */
+public class InlineInterceptorTest {
+    private static final List<String> RECORDS = new ArrayList<String>();
+
+    private boolean inline;
+
+    @Before
+    public void setUp() {
+        inline = Config.Agent.IS_INLINE_INTERCEPTOR;
+        RECORDS.clear();
+    }
+
+    @After
+    public void tearDown() {
+        Config.Agent.IS_INLINE_INTERCEPTOR = inline;
+    }
+
+    @Test
+    public void testInlineAdvice() throws Exception {
+        Config.Agent.IS_INLINE_INTERCEPTOR = true;
+        assertIntercepted(enhance());
+    }
+
+    @Test
+    public void testDelegation() throws Exception {
+        Config.Agent.IS_INLINE_INTERCEPTOR = false;
+        assertIntercepted(enhance());
+    }
+
+    @Test
+    public void testRegistry() {
+        Object first = new Object();
+        Object second = new Object();
+        int firstId = AdviceInterRegistry.register(first);
+        int secondId = AdviceInterRegistry.register(second);
+
+        assertThat(secondId, is(firstId + 1));
+        assertThat(AdviceInterRegistry.get(firstId), is(first));
+        assertThat(AdviceInterRegistry.get(secondId), is(second));
+    }
+
+    private void assertIntercepted(Class<?> enhanced) throws Exception {
+        Object target = enhanced.getConstructor(String.class).newInstance("a");
+        assertThat(target, instanceOf(EnhancedInstance.class));
+        assertThat((String)((EnhancedInstance)target).getSkyWalkingDynamicField(), is("a"));
+
+        assertThat((String)enhanced.getMethod("greet", String.class).invoke(target, "b"), is("a greets b!"));
+        assertThat((Integer)enhanced.getMethod("count", int.class).invoke(target, 1), is(42));
+        assertThat((String)enhanced.getMethod("echo", String.class).invoke(target, "c"), is("overridden"));
+        assertThat(invokeAndCatch(enhanced.getMethod("fail", String.class), target, "oops").getMessage(), is("oops"));
+
+        assertThat((String)enhanced.getMethod("shout", String.class).invoke(null, "d"), is("D!"));
+        assertThat(invokeAndCatch(enhanced.getMethod("staticFail", String.class), null, "boom").getMessage(), is("boom"));
+
+        assertThat(RECORDS, hasItems(
+            "construct a",
+            "before greet b String a", "after greet a greets b",
+            "before count 1 int a", "after count 42",
+            "before fail oops String a", "exception fail oops", "after fail null",
+            "before static shout d String", "after static shout D",
+            "before static staticFail boom String", "exception static staticFail boom", "after static staticFail null"));
+    }
+
+    private Throwable invokeAndCatch(Method method, Object target, String argument) throws Exception {
+        try {
+            method.invoke(target, argument);
+        } catch (InvocationTargetException e) {
+            assertThat(e.getCause(), instanceOf(IllegalStateException.class));
+            return e.getCause();
+        }
+        fail("the exception of " + method.getName() + " is swallowed");
+        return null;
+    }
+
+    private Class<?> enhance() {
+        return new TargetPluginDefine().define(Target.class.getName(), new ByteBuddy().rebase(Target.class),
+            Target.class.getClassLoader(), new EnhanceContext())
+            .make()
+            .load(Target.class.getClassLoader(), ClassLoadingStrategy.Default.CHILD_FIRST)
+            .getLoaded();
+    }
+
+    public static class Target {
+        private final String name;
+
+        public Target(String name) {
+            this.name = name;
+        }
+
+        public String greet(String who) {
+            return name + " greets " + who;
+        }
+
+        public int count(int value) {
+            throw new IllegalStateException("the origin method is not skipped");
+        }
+
+        public String echo(String value) {
+            return value;
+        }
+
+        public String fail(String message) {
+            throw new IllegalStateException(message);
+        }
+
+        public static String shout(String value) {
+            return value.toUpperCase();
+        }
+
+        public static String staticFail(String message) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    public static class TargetPluginDefine extends ClassEnhancePluginDefine {
+        @Override protected ClassMatch enhanceClass() {
+            return NameMatch.byName(Target.class.getName());
+        }
+
+        @Override protected ConstructorInterceptPoint[] getConstructorsInterceptPoints() {
+            return new ConstructorInterceptPoint[] {
+                new ConstructorInterceptPoint() {
+                    @Override public ElementMatcher<MethodDescription> getConstructorMatcher() {
+                        return takesArguments(1);
+                    }
+
+                    @Override public String getConstructorInterceptor() {
+                        return ConstructorRecorder.class.getName();
+                    }
+                }
+            };
+        }
+
+        @Override protected InstanceMethodsInterceptPoint[] getInstanceMethodsInterceptPoints() {
+            return new InstanceMethodsInterceptPoint[] {
+                new InstanceMethodsInterceptPoint() {
+                    @Override public ElementMatcher<MethodDescription> getMethodsMatcher() {
+                        return named("greet").or(named("count")).or(named("fail"));
+                    }
+
+                    @Override public String getMethodsInterceptor() {
+                        return InstanceMethodsRecorder.class.getName();
+                    }
+
+                    @Override public boolean isOverrideArgs() {
+                        return false;
+                    }
+                },
+                new InstanceMethodsInterceptPoint() {
+                    @Override public ElementMatcher<MethodDescription> getMethodsMatcher() {
+                        return named("echo");
+                    }
+
+                    @Override public String getMethodsInterceptor() {
+                        return OverrideArgsInterceptor.class.getName();
+                    }
+
+                    @Override public boolean isOverrideArgs() {
+                        return true;
+                    }
+                }
+            };
+        }
+
+        @Override protected StaticMethodsInterceptPoint[] getStaticMethodsInterceptPoints() {
+            return new StaticMethodsInterceptPoint[] {
+                new StaticMethodsInterceptPoint() {
+                    @Override public ElementMatcher<MethodDescription> getMethodsMatcher() {
+                        return named("shout").or(named("staticFail"));
+                    }
+
+                    @Override public String getMethodsInterceptor() {
+                        return StaticMethodsRecorder.class.getName();
+                    }
+
+                    @Override public boolean isOverrideArgs() {
+                        return false;
+                    }
+                }
+            };
+        }
+    }
+
+    public static class ConstructorRecorder implements InstanceConstructorInterceptor {
+        @Override public void onConstruct(EnhancedInstance objInst, Object[] allArguments) {
+            objInst.setSkyWalkingDynamicField(allArguments[0]);
+            RECORDS.add("construct " + allArguments[0]);
+        }
+    }
+
+    public static class InstanceMethodsRecorder implements InstanceMethodsAroundInterceptor {
+        @Override public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+            Class<?>[] argumentsTypes, MethodInterceptResult result) {
+            RECORDS.add("before " + method.getName() + " " + allArguments[0] + " " + argumentsTypes[0].getSimpleName() + " " + objInst.getSkyWalkingDynamicField());
+            if ("count".equals(method.getName())) {
+                result.defineReturnValue(42);
+            }
+        }
+
+        @Override public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+            Class<?>[] argumentsTypes, Object ret) {
+            RECORDS.add("after " + method.getName() + " " + ret);
+            return ret instanceof String ? ret + "!" : ret;
+        }
+
+        @Override public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+            Class<?>[] argumentsTypes, Throwable t) {
+            RECORDS.add("exception " + method.getName() + " " + t.getMessage());
+        }
+    }
+
+    public static class OverrideArgsInterceptor implements InstanceMethodsAroundInterceptor {
+        @Override public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+            Class<?>[] argumentsTypes, MethodInterceptResult result) {
+            allArguments[0] = "overridden";
+        }
+
+        @Override public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+            Class<?>[] argumentsTypes, Object ret) {
+            return ret;
+        }
+
+        @Override public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+            Class<?>[] argumentsTypes, Throwable t) {
+        }
+    }
+
+    public static class StaticMethodsRecorder implements StaticMethodsAroundInterceptor {
+        @Override public void beforeMethod(Class clazz, Method method, Object[] allArguments, Class<?>[] parameterTypes,
+            MethodInterceptResult result) {
+            RECORDS.add("before static " + method.getName() + " " + allArguments[0] + " " + parameterTypes[0].getSimpleName());
+        }
+
+        @Override public Object afterMethod(Class clazz, Method method, Object[] allArguments, Class<?>[] parameterTypes,
+            Object ret) {
+            RECORDS.add("after static " + method.getName() + " " + ret);
+            return ret instanceof String ? ret + "!" : ret;
+        }
+
+        @Override public void handleMethodException(Class clazz, Method method, Object[] allArguments,
+            Class<?>[] parameterTypes, Throwable t) {
+            RECORDS.add("exception static " + method.getName() + " " + t.getMessage());
+        }
+    }
+}
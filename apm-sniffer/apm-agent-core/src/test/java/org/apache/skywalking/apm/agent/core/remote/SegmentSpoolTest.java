@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import com.google.protobuf.ByteString;
+import java.io.File;
+import java.io.IOException;
+import org.apache.skywalking.apm.network.language.agent.UpstreamSegment;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+public class SegmentSpoolTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private UpstreamSegment segment(int i) {
+        return UpstreamSegment.newBuilder().setSegment(ByteString.copyFromUtf8("segment-" + i)).build();
+    }
+
+    @Test
+    public void testAppendReadAndCommit() throws Exception {
+        SegmentSpool spool = new SegmentSpool(new File(folder.getRoot(), "segment.spool"), 1024, 60 * 1000);
+        assertThat(spool.isEmpty(), is(true));
+        for (int i = 0; i < 10; i++) {
+            assertThat(spool.append(segment(i)), is(true));
+        }
+
+        SegmentSpool.Batch batch = spool.read(4);
+        assertThat(batch.getSegments().size(), is(4));
+        assertThat(batch.getSegments().get(0).getSegment().toStringUtf8(), is("segment-0"));
+        assertThat(spool.read(4).getSegments().get(0).getSegment().toStringUtf8(), is("segment-0"));
+
+        spool.commit(batch);
+        batch = spool.read(100);
+        assertThat(batch.getSegments().size(), is(6));
+        assertThat(batch.getSegments().get(0).getSegment().toStringUtf8(), is("segment-4"));
+        spool.commit(batch);
+        assertThat(spool.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testFullAndWrap() throws Exception {
+        SegmentSpool spool = new SegmentSpool(new File(folder.getRoot(), "segment.spool"), 100, 60 * 1000);
+        int appended = 0;
+        while (spool.append(segment(appended))) {
+            appended++;
+        }
+        assertThat(appended > 0, is(true));
+
+        int rounds = appended * 5;
+        for (int next = 0; next < rounds; next++) {
+            SegmentSpool.Batch batch = spool.read(1);
+            assertThat(batch.getSegments().get(0).getSegment().toStringUtf8(), is("segment-" + next));
+            spool.commit(batch);
+            while (spool.append(segment(appended))) {
+                appended++;
+            }
+        }
+    }
+
+    @Test
+    public void testReopenAndExpire() throws Exception {
+        File file = new File(folder.getRoot(), "segment.spool");
+        SegmentSpool spool = new SegmentSpool(file, 1024, 60 * 1000);
+        spool.append(segment(0));
+        spool.append(segment(1));
+        spool.close();
+
+        spool = new SegmentSpool(file, 1024, 60 * 1000);
+        assertThat(spool.read(100).getSegments().size(), is(2));
+        spool.close();
+
+        spool = new SegmentSpool(file, 1024, -1);
+        SegmentSpool.Batch batch = spool.read(100);
+        assertThat(batch.getSegments().size(), is(0));
+        assertThat(batch.getExpiredCount(), is(2));
+        spool.commit(batch);
+        assertThat(spool.isEmpty(), is(true));
+    }
+
+    @Test
+    public void testLockedFile() throws Exception {
+        File file = new File(folder.getRoot(), "segment.spool");
+        SegmentSpool spool = new SegmentSpool(file, 1024, 60 * 1000);
+        try {
+            new SegmentSpool(file, 1024, 60 * 1000);
+            fail("The spool file locked by another spool is opened.");
+        } catch (IOException e) {
+            assertThat(e.getMessage().contains("used by another agent"), is(true));
+        }
+
+        spool.close();
+        new SegmentSpool(file, 1024, 60 * 1000).close();
+    }
+}
@@ -20,12 +20,15 @@
 package org.apache.skywalking.apm.agent.core.remote;
 
 import com.google.protobuf.InvalidProtocolBufferException;
+import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import io.grpc.testing.GrpcServerRule;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.conf.RemoteDownstreamConfig;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
@@ -33,6 +36,7 @@ import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
 import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
 import org.apache.skywalking.apm.agent.core.test.tools.TracingSegmentRunner;
 import org.junit.*;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.powermock.reflect.Whitebox;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
@@ -60,6 +64,9 @@ public class TraceSegmentServiceClientTest {
     @Rule
     public GrpcServerRule grpcServerRule = new GrpcServerRule().directExecutor();
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @SegmentStoragePoint
     private SegmentStorage storage;
 
@@ -125,6 +132,7 @@ public class TraceSegmentServiceClientTest {
         serviceClient.consume(storage.getTraceSegments());
 
         assertThat(upstreamSegments.size(), is(1));
+        assertThat(serviceClient.getSegmentInFlightCount(), is(1L));
         UpstreamSegment upstreamSegment = upstreamSegments.get(0);
         assertThat(upstreamSegment.getGlobalTraceIdsCount(), is(1));
         TraceSegmentObject traceSegmentObject = TraceSegmentObject.parseFrom(upstreamSegment.getSegment());
@@ -151,9 +159,122 @@ public class TraceSegmentServiceClientTest {
         serviceClient.consume(storage.getTraceSegments());
 
         assertThat(upstreamSegments.size(), is(0));
+        assertThat(serviceClient.getSegmentAbandonedCount(), is(1L));
 
         boolean reconnect = Whitebox.getInternalState(ServiceManager.INSTANCE.findService(GRPCChannelManager.class), "reconnect");
         assertThat(reconnect, is(true));
 
     }
+
+    @Test
+    public void testCompleteExpiredStreamWithoutTraffic() throws InterruptedException {
+        grpcServerRule.getServiceRegistry().addService(serviceImplBase);
+
+        ContextManager.createEntrySpan("/testFirstEntry", null);
+        ContextManager.stopSpan();
+
+        long streamPeriod = Config.Collector.SEGMENT_STREAM_PERIOD;
+        Config.Collector.SEGMENT_STREAM_PERIOD = 0;
+        try {
+            serviceClient.consume(storage.getTraceSegments());
+            assertThat(serviceClient.getSegmentInFlightCount(), is(1L));
+
+            for (int i = 0; i < 100 && serviceClient.getSegmentInFlightCount() > 0; i++) {
+                Thread.sleep(10);
+                serviceClient.tick();
+            }
+        } finally {
+            Config.Collector.SEGMENT_STREAM_PERIOD = streamPeriod;
+        }
+
+        assertThat(upstreamSegments.size(), is(1));
+        assertThat(serviceClient.getSegmentInFlightCount(), is(0L));
+        assertThat(serviceClient.getSegmentUplinkedCount(), is(1L));
+
+        Whitebox.setInternalState(serviceClient, "lastLogTime", 0L);
+        serviceClient.tick();
+        assertThat(serviceClient.getSegmentUplinkedCount(), is(1L));
+    }
+
+    private void addFailingService() {
+        grpcServerRule.getServiceRegistry().addService(new TraceSegmentServiceGrpc.TraceSegmentServiceImplBase() {
+            @Override
+            public StreamObserver<UpstreamSegment> collect(final StreamObserver<Downstream> responseObserver) {
+                return new StreamObserver<UpstreamSegment>() {
+                    @Override
+                    public void onNext(UpstreamSegment value) {
+                        upstreamSegments.add(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        responseObserver.onError(Status.UNAVAILABLE.asException());
+                    }
+                };
+            }
+        });
+    }
+
+    @Test
+    public void testSpoolSegmentsOfFailedStream() throws Exception {
+        addFailingService();
+        SegmentSpool spool = new SegmentSpool(new File(folder.getRoot(), "segment.spool"), 1024 * 1024, 60 * 1000);
+        Whitebox.setInternalState(serviceClient, "spool", spool);
+
+        ContextManager.createEntrySpan("/testFirstEntry", null);
+        ContextManager.stopSpan();
+
+        long streamPeriod = Config.Collector.SEGMENT_STREAM_PERIOD;
+        Config.Collector.SEGMENT_STREAM_PERIOD = 0;
+        try {
+            serviceClient.consume(storage.getTraceSegments());
+            for (int i = 0; i < 100 && serviceClient.getSegmentInFlightCount() > 0; i++) {
+                Thread.sleep(10);
+                serviceClient.tick();
+            }
+        } finally {
+            Config.Collector.SEGMENT_STREAM_PERIOD = streamPeriod;
+        }
+
+        assertThat(upstreamSegments.size(), is(1));
+        assertThat(serviceClient.getSegmentInFlightCount(), is(0L));
+        assertThat(serviceClient.getSegmentSpooledCount(), is(1L));
+        assertThat(serviceClient.getSegmentAbandonedCount(), is(0L));
+        assertThat(spool.read(10).getSegments().get(0), is(upstreamSegments.get(0)));
+    }
+
+    @Test
+    public void testAbandonSegmentsBeyondUnackedSize() throws Exception {
+        addFailingService();
+        SegmentSpool spool = new SegmentSpool(new File(folder.getRoot(), "segment.spool"), 1024 * 1024, 60 * 1000);
+        Whitebox.setInternalState(serviceClient, "spool", spool);
+
+        ContextManager.createEntrySpan("/testFirstEntry", null);
+        ContextManager.stopSpan();
+
+        int unackedSize = Config.Buffer.SPOOL_UNACKED_SIZE;
+        long streamPeriod = Config.Buffer.SPOOL_STREAM_PERIOD;
+        Config.Buffer.SPOOL_UNACKED_SIZE = 0;
+        Config.Buffer.SPOOL_STREAM_PERIOD = 0;
+        try {
+            serviceClient.consume(storage.getTraceSegments());
+            for (int i = 0; i < 100 && serviceClient.getSegmentInFlightCount() > 0; i++) {
+                Thread.sleep(10);
+                serviceClient.tick();
+            }
+        } finally {
+            Config.Buffer.SPOOL_UNACKED_SIZE = unackedSize;
+            Config.Buffer.SPOOL_STREAM_PERIOD = streamPeriod;
+        }
+
+        assertThat(upstreamSegments.size(), is(1));
+        assertThat(serviceClient.getSegmentInFlightCount(), is(0L));
+        assertThat(serviceClient.getSegmentSpooledCount(), is(0L));
+        assertThat(serviceClient.getSegmentAbandonedCount(), is(1L));
+        assertThat(spool.isEmpty(), is(true));
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AdaptiveSamplerTest {
+    private int sample(AdaptiveSampler sampler, String endpointName, int requests) {
+        int sampled = 0;
+        for (int i = 0; i < requests; i++) {
+            if (sampler.trySampling(endpointName)) {
+                sampled++;
+            }
+        }
+        return sampled;
+    }
+
+    @Test
+    public void testRareEndpointSampledFully() {
+        AdaptiveSampler sampler = new AdaptiveSampler(100, 1000);
+        sample(sampler, "/hot", 10000);
+        sample(sampler, "/rare", 5);
+        sampler.adjust();
+
+        assertThat(sample(sampler, "/rare", 5), is(5));
+        assertThat(sample(sampler, "/hot", 10000), is(95));
+    }
+
+    @Test
+    public void testSlowEndpointSampledMore() {
+        AdaptiveSampler sampler = new AdaptiveSampler(100, 1000);
+        sample(sampler, "/fast", 10000);
+        sample(sampler, "/slow", 10000);
+        sampler.adjust();
+        sampler.afterFinished("/slow", 3000, false);
+        sample(sampler, "/fast", 10000);
+        sample(sampler, "/slow", 10000);
+        sampler.adjust();
+
+        assertThat(sample(sampler, "/fast", 10000), is(20));
+        assertThat(sample(sampler, "/slow", 10000), is(80));
+    }
+
+    @Test
+    public void testForcedSamplingTakesTheTarget() {
+        AdaptiveSampler sampler = new AdaptiveSampler(100, 1000);
+        sample(sampler, "/hot", 10000);
+        for (int i = 0; i < 60; i++) {
+            sampler.forceSampled();
+        }
+        sampler.adjust();
+
+        assertThat(sample(sampler, "/hot", 10000), is(40));
+    }
+
+    @Test
+    public void testStripedCounter() {
+        StripedCounter counter = new StripedCounter();
+        for (int i = 0; i < 10; i++) {
+            counter.increment();
+        }
+        assertThat(counter.sumThenReset(), is(10L));
+        assertThat(counter.sumThenReset(), is(0L));
+    }
+
+    @Test
+    public void testStripedCounterLimit() {
+        StripedCounter counter = new StripedCounter();
+        for (int i = 0; i < 5; i++) {
+            assertThat(counter.tryIncrement(5), is(true));
+        }
+        assertThat(counter.tryIncrement(5), is(false));
+        assertThat(counter.sumThenReset(), is(5L));
+        assertThat(counter.tryIncrement(5), is(true));
+
+        counter.reset();
+        assertThat(counter.tryIncrement(0), is(false));
+    }
+}
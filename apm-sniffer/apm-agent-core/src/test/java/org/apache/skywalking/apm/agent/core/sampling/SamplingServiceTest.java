@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class SamplingServiceTest {
+    private int samplePer3Secs;
+
+    @Before
+    public void setUp() {
+        samplePer3Secs = Config.Agent.SAMPLE_N_PER_3_SECS;
+        Config.Agent.SAMPLE_N_PER_3_SECS = 100;
+    }
+
+    @After
+    public void tearDown() {
+        Config.Agent.SAMPLE_N_PER_3_SECS = samplePer3Secs;
+    }
+
+    @Test
+    public void testNoMoreThanLimitSampledConcurrently() throws InterruptedException {
+        final SamplingService service = new SamplingService();
+        Whitebox.setInternalState(service, "on", true);
+        final AtomicInteger sampled = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int j = 0; j < 1000; j++) {
+                        if (service.trySampling()) {
+                            sampled.incrementAndGet();
+                        }
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(sampled.get(), is(100));
+    }
+
+    @Test
+    public void testForceSampledTakesQuota() {
+        SamplingService service = new SamplingService();
+        Whitebox.setInternalState(service, "on", true);
+        for (int i = 0; i < 60; i++) {
+            service.forceSampled();
+        }
+
+        int sampled = 0;
+        for (int i = 0; i < 100; i++) {
+            if (service.trySampling()) {
+                sampled++;
+            }
+        }
+        assertThat(sampled, is(40));
+    }
+}
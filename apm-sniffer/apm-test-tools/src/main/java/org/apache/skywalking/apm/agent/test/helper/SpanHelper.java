@@ -19,6 +19,8 @@
 
 package org.apache.skywalking.apm.agent.test.helper;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
@@ -42,43 +44,40 @@ public class SpanHelper {
     }
 
     public static List<LogDataEntity> getLogs(AbstractSpan tracingSpan) {
-        try {
-            List<LogDataEntity> logs = FieldGetter.get2LevelParentFieldValue(tracingSpan, "logs");
-            if (logs != null) {
-                return logs;
-            }
-        } catch (Exception e) {
-            try {
-                List<LogDataEntity> logs = FieldGetter.getParentFieldValue(tracingSpan, "logs");
-                if (logs != null) {
-                    return logs;
-                }
-            } catch (Exception e1) {
-
-            }
+        LogDataEntity[] logs = getTracingSpanFieldValue(tracingSpan, "logs");
+        if (logs == null) {
+            return Collections.emptyList();
         }
-
-        return Collections.emptyList();
+        Integer logCount = getTracingSpanFieldValue(tracingSpan, "logCount");
+        return Arrays.asList(logs).subList(0, logCount);
     }
 
     public static List<KeyValuePair> getTags(AbstractSpan tracingSpan) {
+        String[] tagKeys = getTracingSpanFieldValue(tracingSpan, "tagKeys");
+        if (tagKeys == null) {
+            return Collections.emptyList();
+        }
+        String[] tagValues = getTracingSpanFieldValue(tracingSpan, "tagValues");
+        Integer tagCount = getTracingSpanFieldValue(tracingSpan, "tagCount");
+        List<KeyValuePair> tags = new ArrayList<KeyValuePair>(tagCount);
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(new KeyValuePair(tagKeys[i], tagValues[i]));
+        }
+        return tags;
+    }
+
+    private static <T> T getTracingSpanFieldValue(AbstractSpan tracingSpan, String fieldName) {
         try {
-            List<KeyValuePair> tags = FieldGetter.get2LevelParentFieldValue(tracingSpan, "tags");
-            if (tags != null) {
-                return tags;
-            }
+            return FieldGetter.get2LevelParentFieldValue(tracingSpan, fieldName);
         } catch (Exception e) {
             try {
-                List<KeyValuePair> tags = FieldGetter.getParentFieldValue(tracingSpan, "tags");
-                if (tags != null) {
-                    return tags;
-                }
+                return FieldGetter.getParentFieldValue(tracingSpan, fieldName);
             } catch (Exception e1) {
 
             }
         }
 
-        return Collections.emptyList();
+        return null;
     }
 
     public static SpanLayer getLayer(AbstractSpan tracingSpan) {
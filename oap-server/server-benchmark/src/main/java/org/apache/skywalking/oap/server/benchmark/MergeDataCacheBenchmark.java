@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.oap.server.benchmark;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.skywalking.oap.server.core.analysis.data.StripedMergeDataCache;
+import org.apache.skywalking.oap.server.core.analysis.generated.service.ServiceRespTimeIndicator;
+import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Indicators merged per second by seven gRPC-like writer threads while one thread keeps flushing, the way the
+ * persistent worker is used. The striped cache is compared with a synchronized map, which is what a thread-safe
+ * version of the replaced single-writer cache would be.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MergeDataCacheBenchmark {
+
+    @Param({"100", "10000"})
+    private int entityNum;
+
+    private String[] entityIds;
+    private StripedMergeDataCache<Indicator> stripedCache;
+    private SynchronizedMergeCache synchronizedCache;
+
+    @Setup
+    public void setup() {
+        entityIds = new String[entityNum];
+        for (int i = 0; i < entityNum; i++) {
+            entityIds[i] = String.valueOf(i);
+        }
+        stripedCache = new StripedMergeDataCache<>(8);
+        synchronizedCache = new SynchronizedMergeCache();
+    }
+
+    @Benchmark
+    @Group("striped")
+    @GroupThreads(7)
+    public boolean stripedMerge() {
+        return stripedCache.merge(newIndicator());
+    }
+
+    @Benchmark
+    @Group("striped")
+    public void stripedFlush(Blackhole blackhole) {
+        blackhole.consume(stripedCache.flush());
+    }
+
+    @Benchmark
+    @Group("synchronized")
+    @GroupThreads(7)
+    public boolean synchronizedMerge() {
+        return synchronizedCache.merge(newIndicator());
+    }
+
+    @Benchmark
+    @Group("synchronized")
+    public void synchronizedFlush(Blackhole blackhole) {
+        blackhole.consume(synchronizedCache.flush());
+    }
+
+    private Indicator newIndicator() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ServiceRespTimeIndicator indicator = new ServiceRespTimeIndicator();
+        indicator.setEntityId(entityIds[random.nextInt(entityNum)]);
+        indicator.setTimeBucket(201810171230L);
+        indicator.combine(random.nextInt(1000), 1);
+        return indicator;
+    }
+
+    private static class SynchronizedMergeCache {
+        private Map<Indicator, Indicator> data = new HashMap<>();
+
+        private synchronized boolean merge(Indicator indicator) {
+            Indicator cached = data.putIfAbsent(indicator, indicator);
+            if (cached != null) {
+                cached.combine(indicator);
+            }
+            return true;
+        }
+
+        private synchronized Collection<Indicator> flush() {
+            Collection<Indicator> indicators = data.values();
+            data = new HashMap<>();
+            return indicators;
+        }
+    }
+}
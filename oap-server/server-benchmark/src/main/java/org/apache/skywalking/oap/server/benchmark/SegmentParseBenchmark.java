@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package org.apache.skywalking.oap.server.benchmark;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.skywalking.apm.network.language.agent.*;
+import org.apache.skywalking.oap.server.receiver.trace.provider.parser.*;
+import org.apache.skywalking.oap.server.receiver.trace.provider.parser.decorator.*;
+import org.apache.skywalking.oap.server.receiver.trace.provider.parser.listener.*;
+import org.apache.skywalking.oap.server.receiver.trace.provider.parser.sampling.*;
+import org.apache.skywalking.oap.server.receiver.trace.provider.parser.standardization.*;
+import org.objenesis.ObjenesisStd;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Segments parsed per second, from the binary upstream segment to the sampled segment, on one thread and on all the
+ * cores. Every segment has 20 spans, an entry span with a reference, then local and exit spans, with all the ids
+ * exchanged already like most segments of a running agent. So the id exchangers never touch the inventories and are
+ * created without them.
+ *
+ * The listener reads the span fields the analysis listeners read, instead of generating the sources, which would need
+ * the whole core module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SegmentParseBenchmark {
+
+    private static final int SPAN_NUM = 20;
+
+    private SegmentParse.Producer producer;
+    private UpstreamSegment segment;
+    private final LongAdder persisted = new LongAdder();
+
+    @Setup
+    public void setup() throws Exception {
+        ObjenesisStd objenesis = new ObjenesisStd();
+        setExchanger(SpanIdExchanger.class, objenesis.newInstance(SpanIdExchanger.class));
+        setExchanger(ReferenceIdExchanger.class, objenesis.newInstance(ReferenceIdExchanger.class));
+
+        SegmentParserListenerManager listenerManager = new SegmentParserListenerManager();
+        listenerManager.add(moduleManager -> new ReadingSpanListener());
+
+        producer = new SegmentParse.Producer(null, listenerManager);
+        producer.setSamplingWorker(new TraceTailSamplerWorker(0, new TraceTailSampler(0, 3000, 0, 100, sampled -> persisted.increment())));
+
+        segment = segment();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        setExchanger(SpanIdExchanger.class, null);
+        setExchanger(ReferenceIdExchanger.class, null);
+    }
+
+    @Benchmark
+    public boolean parse() {
+        return producer.send(segment, SegmentParse.Source.Agent);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean parseOnAllCores() {
+        return producer.send(segment, SegmentParse.Source.Agent);
+    }
+
+    private void setExchanger(Class<?> exchangerClass, Object exchanger) throws Exception {
+        Field field = exchangerClass.getDeclaredField("EXCHANGER");
+        field.setAccessible(true);
+        field.set(null, exchanger);
+    }
+
+    private UpstreamSegment segment() {
+        long startTime = 1539763200000L;
+
+        TraceSegmentObject.Builder segment = TraceSegmentObject.newBuilder();
+        segment.setTraceSegmentId(UniqueId.newBuilder().addIdParts(2).addIdParts(2).addIdParts(startTime));
+        segment.setApplicationId(2);
+        segment.setApplicationInstanceId(2);
+
+        for (int spanId = 0; spanId < SPAN_NUM; spanId++) {
+            SpanObject.Builder span = SpanObject.newBuilder();
+            span.setSpanId(spanId);
+            span.setParentSpanId(spanId - 1);
+            span.setStartTime(startTime + spanId);
+            span.setEndTime(startTime + 100 - spanId);
+            span.setOperationNameId(spanId + 1);
+            span.setOperationName("/benchmark/" + spanId);
+            span.setComponentId(1);
+            span.addTags(KeyWithStringValue.newBuilder().setKey("db.statement").setValue("select * from benchmark where id = ?"));
+
+            if (spanId == 0) {
+                span.setSpanType(SpanType.Entry);
+                span.setSpanLayer(SpanLayer.Http);
+                span.addRefs(TraceSegmentReference.newBuilder()
+                    .setRefType(RefType.CrossProcess)
+                    .setParentTraceSegmentId(UniqueId.newBuilder().addIdParts(1).addIdParts(1).addIdParts(startTime))
+                    .setParentSpanId(1)
+                    .setParentApplicationInstanceId(1)
+                    .setEntryApplicationInstanceId(1)
+                    .setParentServiceId(1)
+                    .setEntryServiceId(1)
+                    .setNetworkAddressId(1));
+            } else if (spanId % 2 == 0) {
+                span.setSpanType(SpanType.Exit);
+                span.setSpanLayer(SpanLayer.Database);
+                span.setPeerId(1);
+            } else {
+                span.setSpanType(SpanType.Local);
+            }
+            segment.addSpans(span);
+        }
+
+        UpstreamSegment.Builder upstreamSegment = UpstreamSegment.newBuilder();
+        upstreamSegment.addGlobalTraceIds(UniqueId.newBuilder().addIdParts(1).addIdParts(1).addIdParts(startTime));
+        upstreamSegment.setSegment(segment.build().toByteString());
+        return upstreamSegment.build();
+    }
+
+    private static class ReadingSpanListener implements EntrySpanListener, ExitSpanListener, LocalSpanListener, FirstSpanListener, GlobalTraceIdsListener {
+
+        private long traceIdHash;
+        private long latency;
+        private long peerIds;
+        private int operationNameIds;
+
+        @Override public void parseGlobalTraceId(UniqueId uniqueId, SegmentCoreInfo segmentCoreInfo) {
+            traceIdHash += uniqueId.hashCode();
+        }
+
+        @Override public void parseEntry(SpanDecorator spanDecorator, SegmentCoreInfo segmentCoreInfo) {
+            read(spanDecorator);
+            for (int i = 0; i < spanDecorator.getRefsCount(); i++) {
+                peerIds += spanDecorator.getRefs(i).getNetworkAddressId();
+            }
+        }
+
+        @Override public void parseExit(SpanDecorator spanDecorator, SegmentCoreInfo segmentCoreInfo) {
+            read(spanDecorator);
+            peerIds += spanDecorator.getPeerId();
+        }
+
+        @Override public void parseLocal(SpanDecorator spanDecorator, SegmentCoreInfo segmentCoreInfo) {
+            read(spanDecorator);
+        }
+
+        @Override public void parseFirst(SpanDecorator spanDecorator, SegmentCoreInfo segmentCoreInfo) {
+            read(spanDecorator);
+        }
+
+        private void read(SpanDecorator spanDecorator) {
+            latency += spanDecorator.getEndTime() - spanDecorator.getStartTime();
+            operationNameIds += spanDecorator.getOperationNameId();
+        }
+
+        @Override public void build() {
+        }
+
+        @Override public void reset() {
+            traceIdHash = 0;
+            latency = 0;
+            peerIds = 0;
+            operationNameIds = 0;
+        }
+
+        @Override public boolean containsPoint(Point point) {
+            return true;
+        }
+    }
+}
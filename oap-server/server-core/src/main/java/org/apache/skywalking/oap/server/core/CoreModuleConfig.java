@@ -30,4 +30,45 @@ public class CoreModuleConfig extends ModuleConfig {
     @Setter @Getter private String restContextPath;
     @Setter @Getter private String gRPCHost;
     @Setter @Getter private int gRPCPort;
+    /**
+     * Persisted indicators of the recent time buckets are kept in memory, so the persistent workers don't read them
+     * back from the storage in every persistence cycle. Set max size to 0 to disable it.
+     */
+    @Setter @Getter private int indicatorCacheExpiredMinutes = 3;
+    @Setter @Getter private int indicatorCacheMaxSize = 100000;
+    /**
+     * The max number of indicators waiting for persistence in every persistent worker. The persistence rounds are
+     * skipped while the storage is overloaded, the indicators with new ids are dropped beyond this size.
+     */
+    @Setter @Getter private int persistentMaxCacheSize = 200000;
+    /**
+     * The buffer channels and the consumer threads of the aggregate worker of every indicator. The indicators are
+     * partitioned into the channels by hash code, and one channel is only consumed by one thread.
+     */
+    @Setter @Getter private int aggregateChannelSize = 1;
+    @Setter @Getter private int aggregateConsumerThreads = 1;
+    /**
+     * Override the consumer threads of the busy indicators, e.g. endpoint_p99:4,service_p99:2
+     */
+    @Setter @Getter private String aggregateConsumerThreadsOfIndicators = "";
+    /**
+     * Aggregate the indicators of the same scope and entity as one fused record, which is split before persistence.
+     * All the OAP nodes of a cluster must use the same setting, because it changes the worker ids.
+     */
+    @Setter @Getter private boolean fusedDispatch = false;
+    /**
+     * The stream data sent to another OAP node are batched, and at most max in flight messages wait for the
+     * acknowledgement of each node, the senders are blocked beyond that.
+     */
+    @Setter @Getter private int remoteBatchSize = 500;
+    @Setter @Getter private int remoteMaxInFlightMessages = 10000;
+    /**
+     * Virtual nodes of every OAP node in the hash ring, which decides the target node of the indicators.
+     */
+    @Setter @Getter private int remoteVirtualNodes = 160;
+    /**
+     * Every worker receiving the stream data from other OAP nodes has a bounded queue, consumed by its own threads.
+     */
+    @Setter @Getter private int remoteInboundBufferSize = 10000;
+    @Setter @Getter private int remoteInboundConsumerThreads = 1;
 }
@@ -20,11 +20,14 @@ package org.apache.skywalking.oap.server.core;
 
 import java.io.IOException;
 import org.apache.skywalking.oap.server.core.analysis.indicator.annotation.IndicatorTypeListener;
+import org.apache.skywalking.oap.server.core.analysis.manual.endpoint.EndpointLatencyFusedIndicator;
+import org.apache.skywalking.oap.server.core.analysis.record.annotation.RecordTypeListener;
+import org.apache.skywalking.oap.server.core.analysis.worker.IndicatorProcess;
 import org.apache.skywalking.oap.server.core.annotation.AnnotationScan;
 import org.apache.skywalking.oap.server.core.cache.*;
 import org.apache.skywalking.oap.server.core.cluster.*;
 import org.apache.skywalking.oap.server.core.config.*;
-import org.apache.skywalking.oap.server.core.query.TopologyQueryService;
+import org.apache.skywalking.oap.server.core.query.*;
 import org.apache.skywalking.oap.server.core.register.annotation.InventoryTypeListener;
 import org.apache.skywalking.oap.server.core.register.service.*;
 import org.apache.skywalking.oap.server.core.remote.*;
@@ -90,7 +93,7 @@ public class CoreModuleProvider extends ModuleProvider {
 
         this.registerServiceImplementation(IComponentLibraryCatalogService.class, new ComponentLibraryCatalogService());
 
-        this.registerServiceImplementation(SourceReceiver.class, new SourceReceiverImpl());
+        this.registerServiceImplementation(SourceReceiver.class, new SourceReceiverImpl(moduleConfig.isFusedDispatch()));
 
         this.registerServiceImplementation(StreamDataClassGetter.class, streamDataAnnotationContainer);
 
@@ -110,23 +113,28 @@ public class CoreModuleProvider extends ModuleProvider {
         this.registerServiceImplementation(INetworkAddressInventoryRegister.class, new NetworkAddressInventoryRegister(getManager()));
 
         this.registerServiceImplementation(TopologyQueryService.class, new TopologyQueryService(getManager()));
+        this.registerServiceImplementation(TraceQueryService.class, new TraceQueryService(getManager()));
 
         annotationScan.registerListener(storageAnnotationListener);
         annotationScan.registerListener(streamAnnotationListener);
-        annotationScan.registerListener(new IndicatorTypeListener(getManager()));
+        annotationScan.registerListener(new IndicatorTypeListener(getManager(), moduleConfig));
+        annotationScan.registerListener(new RecordTypeListener(getManager()));
         annotationScan.registerListener(new InventoryTypeListener(getManager()));
 
-        this.remoteClientManager = new RemoteClientManager(getManager());
+        this.remoteClientManager = new RemoteClientManager(getManager(), moduleConfig.getRemoteBatchSize(), moduleConfig.getRemoteMaxInFlightMessages(), moduleConfig.getRemoteVirtualNodes());
         this.registerServiceImplementation(RemoteClientManager.class, remoteClientManager);
     }
 
     @Override public void start() throws ModuleStartException {
-        grpcServer.addHandler(new RemoteServiceHandler(getManager()));
+        grpcServer.addHandler(new RemoteServiceHandler(getManager(), moduleConfig.getRemoteInboundBufferSize(), moduleConfig.getRemoteInboundConsumerThreads()));
         remoteClientManager.start();
 
         try {
             annotationScan.scan(() -> {
                 streamDataAnnotationContainer.generate(streamAnnotationListener.getStreamClasses());
+                if (moduleConfig.isFusedDispatch()) {
+                    IndicatorProcess.INSTANCE.createFused(getManager(), moduleConfig, EndpointLatencyFusedIndicator.class);
+                }
             });
         } catch (IOException e) {
             throw new ModuleStartException(e.getMessage(), e);
@@ -30,7 +30,9 @@ import org.apache.skywalking.oap.server.core.analysis.generated.serviceinstancej
 import org.apache.skywalking.oap.server.core.analysis.generated.serviceinstancejvmmemorypool.ServiceInstanceJVMMemoryPoolDispatcher;
 import org.apache.skywalking.oap.server.core.analysis.generated.serviceinstancerelation.ServiceInstanceRelationDispatcher;
 import org.apache.skywalking.oap.server.core.analysis.generated.servicerelation.ServiceRelationDispatcher;
+import org.apache.skywalking.oap.server.core.analysis.manual.endpoint.EndpointFusedDispatcher;
 import org.apache.skywalking.oap.server.core.analysis.manual.endpointrelation.EndpointCallRelationDispatcher;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentDispatcher;
 import org.apache.skywalking.oap.server.core.analysis.manual.service.*;
 import org.apache.skywalking.oap.server.core.analysis.manual.servicerelation.ServiceCallRelationDispatcher;
 import org.apache.skywalking.oap.server.core.source.*;
@@ -45,14 +47,21 @@ public class DispatcherManager {
 
     private Map<Scope, SourceDispatcher[]> dispatcherMap;
 
-    public DispatcherManager() {
+    /**
+     * @param fusedDispatch dispatch the fused indicators instead of the generated ones, if there are.
+     */
+    public DispatcherManager(boolean fusedDispatch) {
         this.dispatcherMap = new HashMap<>();
 
         this.dispatcherMap.put(Scope.All, new SourceDispatcher[] {new AllDispatcher()});
 
         this.dispatcherMap.put(Scope.Service, new SourceDispatcher[] {new ServiceDispatcher()});
         this.dispatcherMap.put(Scope.ServiceInstance, new SourceDispatcher[] {new ServiceInstanceDispatcher()});
-        this.dispatcherMap.put(Scope.Endpoint, new SourceDispatcher[] {new EndpointDispatcher()});
+        if (fusedDispatch) {
+            this.dispatcherMap.put(Scope.Endpoint, new SourceDispatcher[] {new EndpointFusedDispatcher()});
+        } else {
+            this.dispatcherMap.put(Scope.Endpoint, new SourceDispatcher[] {new EndpointDispatcher()});
+        }
 
         this.dispatcherMap.put(Scope.ServiceComponent, new SourceDispatcher[] {new ServiceComponentDispatcher()});
         this.dispatcherMap.put(Scope.ServiceMapping, new SourceDispatcher[] {new ServiceMappingDispatcher()});
@@ -65,6 +74,8 @@ public class DispatcherManager {
         this.dispatcherMap.put(Scope.ServiceInstanceJVMGC, new SourceDispatcher[] {new ServiceInstanceJVMGCDispatcher()});
         this.dispatcherMap.put(Scope.ServiceInstanceJVMMemory, new SourceDispatcher[] {new ServiceInstanceJVMMemoryDispatcher()});
         this.dispatcherMap.put(Scope.ServiceInstanceJVMMemoryPool, new SourceDispatcher[] {new ServiceInstanceJVMMemoryPoolDispatcher()});
+
+        this.dispatcherMap.put(Scope.Segment, new SourceDispatcher[] {new SegmentDispatcher()});
     }
 
     public void forward(Source source) {
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.data;
+
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+import org.apache.skywalking.oap.server.core.query.entity.Step;
+import org.joda.time.format.*;
+
+/**
+ * Cache the last persisted value of the indicators, grouped by time bucket, so the persistent worker could combine the
+ * new data with it instead of reading the storage. The hash code selector makes one OAP node persist all the data of
+ * an entity, so the cached value is the same as the stored one in a stable cluster.
+ *
+ * The indicators are removed when their time bucket is older than the expired minutes, and no more indicators are
+ * cached when the max size is reached. The persistent worker also removes the ones failed to be written, and clears
+ * the cache when the cluster membership changes, because the entities may have been persisted by other OAP nodes.
+ *
+ * This class is not thread safe, it is only accessed by the thread which is building the batch of the persistent
+ * worker.
+ */
+public class PersistedIndicatorCache {
+
+    private final DateTimeFormatter timeBucketFormatter;
+    private final int expiredMinutes;
+    private final int maxSize;
+    private final Map<Long, Map<String, Indicator>> timeBuckets;
+    private long minTimeBucket;
+    private int size;
+
+    /**
+     * @param step the time bucket dimensionality of the cached indicators.
+     */
+    public PersistedIndicatorCache(Step step, int expiredMinutes, int maxSize) {
+        this.timeBucketFormatter = timeBucketFormatter(step);
+        this.expiredMinutes = expiredMinutes;
+        this.maxSize = maxSize;
+        this.timeBuckets = new HashMap<>();
+        this.minTimeBucket = 0;
+        this.size = 0;
+    }
+
+    public Indicator get(Indicator indicator) {
+        Map<String, Indicator> indicators = timeBuckets.get(indicator.getTimeBucket());
+        if (indicators == null) {
+            return null;
+        }
+        return indicators.get(indicator.id());
+    }
+
+    public void put(Indicator indicator) {
+        if (indicator.getTimeBucket() < minTimeBucket) {
+            return;
+        }
+
+        Map<String, Indicator> indicators = timeBuckets.computeIfAbsent(indicator.getTimeBucket(), timeBucket -> new HashMap<>());
+        if (indicators.containsKey(indicator.id())) {
+            indicators.put(indicator.id(), indicator);
+        } else if (size < maxSize) {
+            indicators.put(indicator.id(), indicator);
+            size++;
+        }
+    }
+
+    /**
+     * Remove the indicator of the given id, such as the one which failed to be written into the storage.
+     */
+    public void remove(String id) {
+        for (Map<String, Indicator> indicators : timeBuckets.values()) {
+            if (indicators.remove(id) != null) {
+                size--;
+                return;
+            }
+        }
+    }
+
+    public void clear() {
+        timeBuckets.clear();
+        size = 0;
+    }
+
+    /**
+     * Remove the indicators whose time bucket ended more than the expired minutes before the given time.
+     */
+    public void removeExpired(long currentTimeMillis) {
+        minTimeBucket = Long.valueOf(timeBucketFormatter.print(currentTimeMillis - expiredMinutes * 60 * 1000L));
+
+        Iterator<Map.Entry<Long, Map<String, Indicator>>> iterator = timeBuckets.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Map<String, Indicator>> entry = iterator.next();
+            if (entry.getKey() < minTimeBucket) {
+                size -= entry.getValue().size();
+                iterator.remove();
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private DateTimeFormatter timeBucketFormatter(Step step) {
+        switch (step) {
+            case MONTH:
+                return DateTimeFormat.forPattern("yyyyMM");
+            case DAY:
+                return DateTimeFormat.forPattern("yyyyMMdd");
+            case HOUR:
+                return DateTimeFormat.forPattern("yyyyMMddHH");
+            case MINUTE:
+                return DateTimeFormat.forPattern("yyyyMMddHHmm");
+            default:
+                throw new IllegalArgumentException("Unsupported step: " + step.name());
+        }
+    }
+}
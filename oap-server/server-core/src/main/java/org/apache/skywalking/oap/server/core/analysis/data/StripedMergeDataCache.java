@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.data;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+
+/**
+ * Merge cache which could be written by many threads at the same time. The indicators are spread into stripes by hash
+ * code, every stripe has its own buffer and the count of the threads writing it. Flush swaps the buffer of every stripe
+ * with an empty one, and only waits for the writes which had entered the old buffer before the swap, which are just
+ * a few combines. Writers never wait for the flush.
+ *
+ * Only one thread could flush at a time.
+ *
+ * The cache could be bounded, then every stripe holds at most its share of the max size, and the indicators with a
+ * new key are rejected when their stripe is full, the ones already cached are still combined. The size could go a
+ * little over the limit when several threads add new keys into the same stripe at the same time.
+ */
+public class StripedMergeDataCache<INDICATOR extends Indicator> {
+
+    private final Stripe<INDICATOR>[] stripes;
+    private final int mask;
+    private final int maxStripeSize;
+
+    /**
+     * @param concurrency the expected number of writing threads, rounded up to a power of two as the stripe number.
+     */
+    public StripedMergeDataCache(int concurrency) {
+        this(concurrency, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param concurrency the expected number of writing threads, rounded up to a power of two as the stripe number.
+     * @param maxSize the max number of the cached indicators.
+     */
+    @SuppressWarnings("unchecked")
+    public StripedMergeDataCache(int concurrency, int maxSize) {
+        int stripeNum = 1;
+        while (stripeNum < concurrency) {
+            stripeNum <<= 1;
+        }
+        this.stripes = new Stripe[stripeNum];
+        for (int i = 0; i < stripeNum; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        this.mask = stripeNum - 1;
+        this.maxStripeSize = Math.max(maxSize / stripeNum, 1);
+    }
+
+    /**
+     * Combine the indicator into the one cached with the same key, or cache it when absent.
+     *
+     * @return false if the key is absent and the cache is full, the indicator isn't cached.
+     */
+    public boolean merge(INDICATOR indicator) {
+        int hash = indicator.hashCode();
+        Stripe<INDICATOR> stripe = stripes[(hash ^ (hash >>> 16)) & mask];
+
+        Buffer<INDICATOR> buffer = stripe.enter();
+        try {
+            if (buffer.data.size() >= maxStripeSize) {
+                return buffer.data.computeIfPresent(indicator, (key, cached) -> {
+                    cached.combine(indicator);
+                    return cached;
+                }) != null;
+            }
+            buffer.data.merge(indicator, indicator, (cached, input) -> {
+                cached.combine(input);
+                return cached;
+            });
+            return true;
+        } finally {
+            buffer.writers.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of the indicators cached since the last flush.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe<INDICATOR> stripe : stripes) {
+            size += stripe.current.data.size();
+        }
+        return size;
+    }
+
+    /**
+     * Swap out all the cached indicators. Must not be called by more than one thread at the same time.
+     */
+    public List<INDICATOR> flush() {
+        List<Buffer<INDICATOR>> buffers = new ArrayList<>(stripes.length);
+        int size = 0;
+        for (Stripe<INDICATOR> stripe : stripes) {
+            Buffer<INDICATOR> buffer = stripe.current;
+            if (!buffer.data.isEmpty()) {
+                stripe.current = new Buffer<>();
+                buffers.add(buffer);
+            }
+        }
+
+        for (Buffer<INDICATOR> buffer : buffers) {
+            while (buffer.writers.get() > 0) {
+                Thread.yield();
+            }
+            size += buffer.data.size();
+        }
+
+        List<INDICATOR> indicators = new ArrayList<>(size);
+        buffers.forEach(buffer -> indicators.addAll(buffer.data.values()));
+        return indicators;
+    }
+
+    private static class Stripe<INDICATOR> {
+        private volatile Buffer<INDICATOR> current = new Buffer<>();
+
+        /**
+         * Register the writer to the current buffer. Retry when the buffer has been swapped before the registration
+         * is visible, because the flush thread may have finished waiting for it already.
+         */
+        private Buffer<INDICATOR> enter() {
+            while (true) {
+                Buffer<INDICATOR> buffer = current;
+                buffer.writers.incrementAndGet();
+                if (buffer == current) {
+                    return buffer;
+                }
+                buffer.writers.decrementAndGet();
+            }
+        }
+    }
+
+    private static class Buffer<INDICATOR> {
+        private final ConcurrentHashMap<INDICATOR, INDICATOR> data = new ConcurrentHashMap<>();
+        private final AtomicInteger writers = new AtomicInteger(0);
+    }
+}
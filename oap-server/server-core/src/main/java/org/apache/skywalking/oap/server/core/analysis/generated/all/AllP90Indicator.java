@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.generated.all;
 
+import java.io.IOException;
 import java.util.*;
 import org.apache.skywalking.oap.server.core.alarm.AlarmMeta;
 import org.apache.skywalking.oap.server.core.alarm.AlarmSupported;
@@ -27,6 +28,7 @@ import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.source.Scope;
 
 /**
@@ -76,12 +78,12 @@ public class AllP90Indicator extends P90Indicator implements AlarmSupported {
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
 
-        remoteBuilder.setDataLongs(0, getTimeBucket());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
 
-        remoteBuilder.setDataIntegers(0, getValue());
-        remoteBuilder.setDataIntegers(1, getPrecision());
-        getDetailGroup().forEach(element -> remoteBuilder.addDataIntLongPairList(element.serialize()));
+        remoteBuilder.addDataIntegers(getValue());
+        remoteBuilder.addDataIntegers(getPrecision());
+        remoteBuilder.addDataBytes(com.google.protobuf.ByteString.copyFrom(getDetailGroup().toBytes()));
 
         return remoteBuilder;
     }
@@ -94,10 +96,8 @@ public class AllP90Indicator extends P90Indicator implements AlarmSupported {
         setValue(remoteData.getDataIntegers(0));
         setPrecision(remoteData.getDataIntegers(1));
 
-        setDetailGroup(new IntKeyLongValueArray(30));
-        remoteData.getDataIntLongPairListList().forEach(element -> {
-            getDetailGroup().add(new IntKeyLongValue(element.getKey(), element.getValue()));
-        });
+        setDetailGroup(new IntKeyLongValueHistogram());
+        getDetailGroup().fromBytes(remoteData.getDataBytes(0).toByteArray());
 
     }
 
@@ -111,8 +111,7 @@ public class AllP90Indicator extends P90Indicator implements AlarmSupported {
         indicator.setTimeBucket(toTimeBucketInHour());
         indicator.setValue(this.getValue());
         indicator.setPrecision(this.getPrecision());
-        indicator.setDetailGroup(this.getDetailGroup());
-        indicator.setTimeBucket(this.getTimeBucket());
+        indicator.setDetailGroup(this.getDetailGroup().copy());
         return indicator;
     }
 
@@ -122,8 +121,7 @@ public class AllP90Indicator extends P90Indicator implements AlarmSupported {
         indicator.setTimeBucket(toTimeBucketInDay());
         indicator.setValue(this.getValue());
         indicator.setPrecision(this.getPrecision());
-        indicator.setDetailGroup(this.getDetailGroup());
-        indicator.setTimeBucket(this.getTimeBucket());
+        indicator.setDetailGroup(this.getDetailGroup().copy());
         return indicator;
     }
 
@@ -133,8 +131,7 @@ public class AllP90Indicator extends P90Indicator implements AlarmSupported {
         indicator.setTimeBucket(toTimeBucketInMonth());
         indicator.setValue(this.getValue());
         indicator.setPrecision(this.getPrecision());
-        indicator.setDetailGroup(this.getDetailGroup());
-        indicator.setTimeBucket(this.getTimeBucket());
+        indicator.setDetailGroup(this.getDetailGroup().copy());
         return indicator;
     }
 
@@ -149,11 +146,18 @@ public class AllP90Indicator extends P90Indicator implements AlarmSupported {
             return map;
         }
 
+        @Override public void data2Stream(AllP90Indicator storageData, StorageDataStream stream) throws IOException {
+            stream.write("value", storageData.getValue());
+            stream.write("precision", storageData.getPrecision());
+            stream.write("detail_group", storageData.getDetailGroup().toBytes());
+            stream.write("time_bucket", storageData.getTimeBucket());
+        }
+
         @Override public AllP90Indicator map2Data(Map<String, Object> dbMap) {
             AllP90Indicator indicator = new AllP90Indicator();
             indicator.setValue(((Number)dbMap.get("value")).intValue());
             indicator.setPrecision(((Number)dbMap.get("precision")).intValue());
-            indicator.setDetailGroup((org.apache.skywalking.oap.server.core.analysis.indicator.IntKeyLongValueArray)dbMap.get("detail_group"));
+            indicator.setDetailGroup(new org.apache.skywalking.oap.server.core.analysis.indicator.IntKeyLongValueHistogram((String)dbMap.get("detail_group")));
             indicator.setTimeBucket(((Number)dbMap.get("time_bucket")).longValue());
             return indicator;
         }
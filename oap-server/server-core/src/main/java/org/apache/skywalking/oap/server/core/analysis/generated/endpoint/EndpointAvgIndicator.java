@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.generated.endpoint;
 
+import java.io.IOException;
 import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.Const;
@@ -29,6 +30,7 @@ import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.source.Scope;
 
 /**
@@ -74,7 +76,7 @@ public class EndpointAvgIndicator extends LongAvgIndicator implements AlarmSuppo
             return false;
 
         EndpointAvgIndicator indicator = (EndpointAvgIndicator)obj;
-        if (entityId != indicator.entityId)
+        if (!entityId.equals(indicator.entityId))
             return false;
 
         if (getTimeBucket() != indicator.getTimeBucket())
@@ -85,16 +87,16 @@ public class EndpointAvgIndicator extends LongAvgIndicator implements AlarmSuppo
 
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
-        remoteBuilder.setDataStrings(0, getEntityId());
+        remoteBuilder.addDataStrings(getEntityId());
 
-        remoteBuilder.setDataLongs(0, getSummation());
-        remoteBuilder.setDataLongs(1, getValue());
-        remoteBuilder.setDataLongs(2, getTimeBucket());
+        remoteBuilder.addDataLongs(getSummation());
+        remoteBuilder.addDataLongs(getValue());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
 
-        remoteBuilder.setDataIntegers(0, getServiceId());
-        remoteBuilder.setDataIntegers(1, getServiceInstanceId());
-        remoteBuilder.setDataIntegers(2, getCount());
+        remoteBuilder.addDataIntegers(getServiceId());
+        remoteBuilder.addDataIntegers(getServiceInstanceId());
+        remoteBuilder.addDataIntegers(getCount());
 
         return remoteBuilder;
     }
@@ -128,7 +130,6 @@ public class EndpointAvgIndicator extends LongAvgIndicator implements AlarmSuppo
         indicator.setSummation(this.getSummation());
         indicator.setCount(this.getCount());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -142,7 +143,6 @@ public class EndpointAvgIndicator extends LongAvgIndicator implements AlarmSuppo
         indicator.setSummation(this.getSummation());
         indicator.setCount(this.getCount());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -156,7 +156,6 @@ public class EndpointAvgIndicator extends LongAvgIndicator implements AlarmSuppo
         indicator.setSummation(this.getSummation());
         indicator.setCount(this.getCount());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -174,6 +173,16 @@ public class EndpointAvgIndicator extends LongAvgIndicator implements AlarmSuppo
             return map;
         }
 
+        @Override public void data2Stream(EndpointAvgIndicator storageData, StorageDataStream stream) throws IOException {
+            stream.write("entity_id", storageData.getEntityId());
+            stream.write("service_id", storageData.getServiceId());
+            stream.write("service_instance_id", storageData.getServiceInstanceId());
+            stream.write("summation", storageData.getSummation());
+            stream.write("count", storageData.getCount());
+            stream.write("value", storageData.getValue());
+            stream.write("time_bucket", storageData.getTimeBucket());
+        }
+
         @Override public EndpointAvgIndicator map2Data(Map<String, Object> dbMap) {
             EndpointAvgIndicator indicator = new EndpointAvgIndicator();
             indicator.setEntityId((String)dbMap.get("entity_id"));
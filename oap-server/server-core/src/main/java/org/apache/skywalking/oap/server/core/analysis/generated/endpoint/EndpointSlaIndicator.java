@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.generated.endpoint;
 
+import java.io.IOException;
 import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.Const;
@@ -29,6 +30,7 @@ import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.source.Scope;
 
 /**
@@ -74,7 +76,7 @@ public class EndpointSlaIndicator extends PercentIndicator implements AlarmSuppo
             return false;
 
         EndpointSlaIndicator indicator = (EndpointSlaIndicator)obj;
-        if (entityId != indicator.entityId)
+        if (!entityId.equals(indicator.entityId))
             return false;
 
         if (getTimeBucket() != indicator.getTimeBucket())
@@ -85,16 +87,16 @@ public class EndpointSlaIndicator extends PercentIndicator implements AlarmSuppo
 
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
-        remoteBuilder.setDataStrings(0, getEntityId());
+        remoteBuilder.addDataStrings(getEntityId());
 
-        remoteBuilder.setDataLongs(0, getTotal());
-        remoteBuilder.setDataLongs(1, getMatch());
-        remoteBuilder.setDataLongs(2, getTimeBucket());
+        remoteBuilder.addDataLongs(getTotal());
+        remoteBuilder.addDataLongs(getMatch());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
 
-        remoteBuilder.setDataIntegers(0, getServiceId());
-        remoteBuilder.setDataIntegers(1, getServiceInstanceId());
-        remoteBuilder.setDataIntegers(2, getPercentage());
+        remoteBuilder.addDataIntegers(getServiceId());
+        remoteBuilder.addDataIntegers(getServiceInstanceId());
+        remoteBuilder.addDataIntegers(getPercentage());
 
         return remoteBuilder;
     }
@@ -128,7 +130,6 @@ public class EndpointSlaIndicator extends PercentIndicator implements AlarmSuppo
         indicator.setTotal(this.getTotal());
         indicator.setPercentage(this.getPercentage());
         indicator.setMatch(this.getMatch());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -142,7 +143,6 @@ public class EndpointSlaIndicator extends PercentIndicator implements AlarmSuppo
         indicator.setTotal(this.getTotal());
         indicator.setPercentage(this.getPercentage());
         indicator.setMatch(this.getMatch());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -156,7 +156,6 @@ public class EndpointSlaIndicator extends PercentIndicator implements AlarmSuppo
         indicator.setTotal(this.getTotal());
         indicator.setPercentage(this.getPercentage());
         indicator.setMatch(this.getMatch());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -174,6 +173,16 @@ public class EndpointSlaIndicator extends PercentIndicator implements AlarmSuppo
             return map;
         }
 
+        @Override public void data2Stream(EndpointSlaIndicator storageData, StorageDataStream stream) throws IOException {
+            stream.write("entity_id", storageData.getEntityId());
+            stream.write("service_id", storageData.getServiceId());
+            stream.write("service_instance_id", storageData.getServiceInstanceId());
+            stream.write("total", storageData.getTotal());
+            stream.write("percentage", storageData.getPercentage());
+            stream.write("match", storageData.getMatch());
+            stream.write("time_bucket", storageData.getTimeBucket());
+        }
+
         @Override public EndpointSlaIndicator map2Data(Map<String, Object> dbMap) {
             EndpointSlaIndicator indicator = new EndpointSlaIndicator();
             indicator.setEntityId((String)dbMap.get("entity_id"));
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.generated.endpointrelation;
 
+import java.io.IOException;
 import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.Const;
@@ -29,6 +30,7 @@ import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.source.Scope;
 
 /**
@@ -76,7 +78,7 @@ public class EndpointRelationCpmIndicator extends CPMIndicator implements AlarmS
             return false;
 
         EndpointRelationCpmIndicator indicator = (EndpointRelationCpmIndicator)obj;
-        if (entityId != indicator.entityId)
+        if (!entityId.equals(indicator.entityId))
             return false;
 
         if (getTimeBucket() != indicator.getTimeBucket())
@@ -87,17 +89,17 @@ public class EndpointRelationCpmIndicator extends CPMIndicator implements AlarmS
 
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
-        remoteBuilder.setDataStrings(0, getEntityId());
+        remoteBuilder.addDataStrings(getEntityId());
 
-        remoteBuilder.setDataLongs(0, getValue());
-        remoteBuilder.setDataLongs(1, getTotal());
-        remoteBuilder.setDataLongs(2, getTimeBucket());
+        remoteBuilder.addDataLongs(getValue());
+        remoteBuilder.addDataLongs(getTotal());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
 
-        remoteBuilder.setDataIntegers(0, getServiceId());
-        remoteBuilder.setDataIntegers(1, getChildServiceId());
-        remoteBuilder.setDataIntegers(2, getServiceInstanceId());
-        remoteBuilder.setDataIntegers(3, getChildServiceInstanceId());
+        remoteBuilder.addDataIntegers(getServiceId());
+        remoteBuilder.addDataIntegers(getChildServiceId());
+        remoteBuilder.addDataIntegers(getServiceInstanceId());
+        remoteBuilder.addDataIntegers(getChildServiceInstanceId());
 
         return remoteBuilder;
     }
@@ -133,7 +135,6 @@ public class EndpointRelationCpmIndicator extends CPMIndicator implements AlarmS
         indicator.setChildServiceInstanceId(this.getChildServiceInstanceId());
         indicator.setValue(this.getValue());
         indicator.setTotal(this.getTotal());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -148,7 +149,6 @@ public class EndpointRelationCpmIndicator extends CPMIndicator implements AlarmS
         indicator.setChildServiceInstanceId(this.getChildServiceInstanceId());
         indicator.setValue(this.getValue());
         indicator.setTotal(this.getTotal());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -163,7 +163,6 @@ public class EndpointRelationCpmIndicator extends CPMIndicator implements AlarmS
         indicator.setChildServiceInstanceId(this.getChildServiceInstanceId());
         indicator.setValue(this.getValue());
         indicator.setTotal(this.getTotal());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -182,6 +181,17 @@ public class EndpointRelationCpmIndicator extends CPMIndicator implements AlarmS
             return map;
         }
 
+        @Override public void data2Stream(EndpointRelationCpmIndicator storageData, StorageDataStream stream) throws IOException {
+            stream.write("entity_id", storageData.getEntityId());
+            stream.write("service_id", storageData.getServiceId());
+            stream.write("child_service_id", storageData.getChildServiceId());
+            stream.write("service_instance_id", storageData.getServiceInstanceId());
+            stream.write("child_service_instance_id", storageData.getChildServiceInstanceId());
+            stream.write("value", storageData.getValue());
+            stream.write("total", storageData.getTotal());
+            stream.write("time_bucket", storageData.getTimeBucket());
+        }
+
         @Override public EndpointRelationCpmIndicator map2Data(Map<String, Object> dbMap) {
             EndpointRelationCpmIndicator indicator = new EndpointRelationCpmIndicator();
             indicator.setEntityId((String)dbMap.get("entity_id"));
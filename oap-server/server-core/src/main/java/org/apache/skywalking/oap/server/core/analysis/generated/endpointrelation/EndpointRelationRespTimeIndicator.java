@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.generated.endpointrelation;
 
+import java.io.IOException;
 import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.Const;
@@ -29,6 +30,7 @@ import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.source.Scope;
 
 /**
@@ -76,7 +78,7 @@ public class EndpointRelationRespTimeIndicator extends LongAvgIndicator implemen
             return false;
 
         EndpointRelationRespTimeIndicator indicator = (EndpointRelationRespTimeIndicator)obj;
-        if (entityId != indicator.entityId)
+        if (!entityId.equals(indicator.entityId))
             return false;
 
         if (getTimeBucket() != indicator.getTimeBucket())
@@ -87,18 +89,18 @@ public class EndpointRelationRespTimeIndicator extends LongAvgIndicator implemen
 
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
-        remoteBuilder.setDataStrings(0, getEntityId());
+        remoteBuilder.addDataStrings(getEntityId());
 
-        remoteBuilder.setDataLongs(0, getSummation());
-        remoteBuilder.setDataLongs(1, getValue());
-        remoteBuilder.setDataLongs(2, getTimeBucket());
+        remoteBuilder.addDataLongs(getSummation());
+        remoteBuilder.addDataLongs(getValue());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
 
-        remoteBuilder.setDataIntegers(0, getServiceId());
-        remoteBuilder.setDataIntegers(1, getChildServiceId());
-        remoteBuilder.setDataIntegers(2, getServiceInstanceId());
-        remoteBuilder.setDataIntegers(3, getChildServiceInstanceId());
-        remoteBuilder.setDataIntegers(4, getCount());
+        remoteBuilder.addDataIntegers(getServiceId());
+        remoteBuilder.addDataIntegers(getChildServiceId());
+        remoteBuilder.addDataIntegers(getServiceInstanceId());
+        remoteBuilder.addDataIntegers(getChildServiceInstanceId());
+        remoteBuilder.addDataIntegers(getCount());
 
         return remoteBuilder;
     }
@@ -136,7 +138,6 @@ public class EndpointRelationRespTimeIndicator extends LongAvgIndicator implemen
         indicator.setSummation(this.getSummation());
         indicator.setCount(this.getCount());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -152,7 +153,6 @@ public class EndpointRelationRespTimeIndicator extends LongAvgIndicator implemen
         indicator.setSummation(this.getSummation());
         indicator.setCount(this.getCount());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -168,7 +168,6 @@ public class EndpointRelationRespTimeIndicator extends LongAvgIndicator implemen
         indicator.setSummation(this.getSummation());
         indicator.setCount(this.getCount());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -188,6 +187,18 @@ public class EndpointRelationRespTimeIndicator extends LongAvgIndicator implemen
             return map;
         }
 
+        @Override public void data2Stream(EndpointRelationRespTimeIndicator storageData, StorageDataStream stream) throws IOException {
+            stream.write("entity_id", storageData.getEntityId());
+            stream.write("service_id", storageData.getServiceId());
+            stream.write("child_service_id", storageData.getChildServiceId());
+            stream.write("service_instance_id", storageData.getServiceInstanceId());
+            stream.write("child_service_instance_id", storageData.getChildServiceInstanceId());
+            stream.write("summation", storageData.getSummation());
+            stream.write("count", storageData.getCount());
+            stream.write("value", storageData.getValue());
+            stream.write("time_bucket", storageData.getTimeBucket());
+        }
+
         @Override public EndpointRelationRespTimeIndicator map2Data(Map<String, Object> dbMap) {
             EndpointRelationRespTimeIndicator indicator = new EndpointRelationRespTimeIndicator();
             indicator.setEntityId((String)dbMap.get("entity_id"));
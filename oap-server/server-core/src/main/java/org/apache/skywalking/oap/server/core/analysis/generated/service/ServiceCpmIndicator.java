@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.generated.service;
 
+import java.io.IOException;
 import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.Const;
@@ -29,6 +30,7 @@ import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.source.Scope;
 
 /**
@@ -72,7 +74,7 @@ public class ServiceCpmIndicator extends CPMIndicator implements AlarmSupported
             return false;
 
         ServiceCpmIndicator indicator = (ServiceCpmIndicator)obj;
-        if (entityId != indicator.entityId)
+        if (!entityId.equals(indicator.entityId))
             return false;
 
         if (getTimeBucket() != indicator.getTimeBucket())
@@ -83,11 +85,11 @@ public class ServiceCpmIndicator extends CPMIndicator implements AlarmSupported
 
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
-        remoteBuilder.setDataStrings(0, getEntityId());
+        remoteBuilder.addDataStrings(getEntityId());
 
-        remoteBuilder.setDataLongs(0, getValue());
-        remoteBuilder.setDataLongs(1, getTotal());
-        remoteBuilder.setDataLongs(2, getTimeBucket());
+        remoteBuilder.addDataLongs(getValue());
+        remoteBuilder.addDataLongs(getTotal());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
 
 
@@ -117,7 +119,6 @@ public class ServiceCpmIndicator extends CPMIndicator implements AlarmSupported
         indicator.setEntityId(this.getEntityId());
         indicator.setValue(this.getValue());
         indicator.setTotal(this.getTotal());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -128,7 +129,6 @@ public class ServiceCpmIndicator extends CPMIndicator implements AlarmSupported
         indicator.setEntityId(this.getEntityId());
         indicator.setValue(this.getValue());
         indicator.setTotal(this.getTotal());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -139,7 +139,6 @@ public class ServiceCpmIndicator extends CPMIndicator implements AlarmSupported
         indicator.setEntityId(this.getEntityId());
         indicator.setValue(this.getValue());
         indicator.setTotal(this.getTotal());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -154,6 +153,13 @@ public class ServiceCpmIndicator extends CPMIndicator implements AlarmSupported
             return map;
         }
 
+        @Override public void data2Stream(ServiceCpmIndicator storageData, StorageDataStream stream) throws IOException {
+            stream.write("entity_id", storageData.getEntityId());
+            stream.write("value", storageData.getValue());
+            stream.write("total", storageData.getTotal());
+            stream.write("time_bucket", storageData.getTimeBucket());
+        }
+
         @Override public ServiceCpmIndicator map2Data(Map<String, Object> dbMap) {
             ServiceCpmIndicator indicator = new ServiceCpmIndicator();
             indicator.setEntityId((String)dbMap.get("entity_id"));
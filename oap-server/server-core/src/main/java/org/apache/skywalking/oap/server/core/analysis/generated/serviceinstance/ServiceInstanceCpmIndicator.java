@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.generated.serviceinstance;
 
+import java.io.IOException;
 import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.Const;
@@ -29,6 +30,7 @@ import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.source.Scope;
 
 /**
@@ -73,7 +75,7 @@ public class ServiceInstanceCpmIndicator extends CPMIndicator implements AlarmSu
             return false;
 
         ServiceInstanceCpmIndicator indicator = (ServiceInstanceCpmIndicator)obj;
-        if (entityId != indicator.entityId)
+        if (!entityId.equals(indicator.entityId))
             return false;
 
         if (getTimeBucket() != indicator.getTimeBucket())
@@ -84,14 +86,14 @@ public class ServiceInstanceCpmIndicator extends CPMIndicator implements AlarmSu
 
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
-        remoteBuilder.setDataStrings(0, getEntityId());
+        remoteBuilder.addDataStrings(getEntityId());
 
-        remoteBuilder.setDataLongs(0, getValue());
-        remoteBuilder.setDataLongs(1, getTotal());
-        remoteBuilder.setDataLongs(2, getTimeBucket());
+        remoteBuilder.addDataLongs(getValue());
+        remoteBuilder.addDataLongs(getTotal());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
 
-        remoteBuilder.setDataIntegers(0, getServiceId());
+        remoteBuilder.addDataIntegers(getServiceId());
 
         return remoteBuilder;
     }
@@ -121,7 +123,6 @@ public class ServiceInstanceCpmIndicator extends CPMIndicator implements AlarmSu
         indicator.setServiceId(this.getServiceId());
         indicator.setValue(this.getValue());
         indicator.setTotal(this.getTotal());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -133,7 +134,6 @@ public class ServiceInstanceCpmIndicator extends CPMIndicator implements AlarmSu
         indicator.setServiceId(this.getServiceId());
         indicator.setValue(this.getValue());
         indicator.setTotal(this.getTotal());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -145,7 +145,6 @@ public class ServiceInstanceCpmIndicator extends CPMIndicator implements AlarmSu
         indicator.setServiceId(this.getServiceId());
         indicator.setValue(this.getValue());
         indicator.setTotal(this.getTotal());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -161,6 +160,14 @@ public class ServiceInstanceCpmIndicator extends CPMIndicator implements AlarmSu
             return map;
         }
 
+        @Override public void data2Stream(ServiceInstanceCpmIndicator storageData, StorageDataStream stream) throws IOException {
+            stream.write("entity_id", storageData.getEntityId());
+            stream.write("service_id", storageData.getServiceId());
+            stream.write("value", storageData.getValue());
+            stream.write("total", storageData.getTotal());
+            stream.write("time_bucket", storageData.getTimeBucket());
+        }
+
         @Override public ServiceInstanceCpmIndicator map2Data(Map<String, Object> dbMap) {
             ServiceInstanceCpmIndicator indicator = new ServiceInstanceCpmIndicator();
             indicator.setEntityId((String)dbMap.get("entity_id"));
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.generated.serviceinstance;
 
+import java.io.IOException;
 import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.Const;
@@ -29,6 +30,7 @@ import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.source.Scope;
 
 /**
@@ -73,7 +75,7 @@ public class ServiceInstanceRespTimeIndicator extends LongAvgIndicator implement
             return false;
 
         ServiceInstanceRespTimeIndicator indicator = (ServiceInstanceRespTimeIndicator)obj;
-        if (entityId != indicator.entityId)
+        if (!entityId.equals(indicator.entityId))
             return false;
 
         if (getTimeBucket() != indicator.getTimeBucket())
@@ -84,15 +86,15 @@ public class ServiceInstanceRespTimeIndicator extends LongAvgIndicator implement
 
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
-        remoteBuilder.setDataStrings(0, getEntityId());
+        remoteBuilder.addDataStrings(getEntityId());
 
-        remoteBuilder.setDataLongs(0, getSummation());
-        remoteBuilder.setDataLongs(1, getValue());
-        remoteBuilder.setDataLongs(2, getTimeBucket());
+        remoteBuilder.addDataLongs(getSummation());
+        remoteBuilder.addDataLongs(getValue());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
 
-        remoteBuilder.setDataIntegers(0, getServiceId());
-        remoteBuilder.setDataIntegers(1, getCount());
+        remoteBuilder.addDataIntegers(getServiceId());
+        remoteBuilder.addDataIntegers(getCount());
 
         return remoteBuilder;
     }
@@ -124,7 +126,6 @@ public class ServiceInstanceRespTimeIndicator extends LongAvgIndicator implement
         indicator.setSummation(this.getSummation());
         indicator.setCount(this.getCount());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -137,7 +138,6 @@ public class ServiceInstanceRespTimeIndicator extends LongAvgIndicator implement
         indicator.setSummation(this.getSummation());
         indicator.setCount(this.getCount());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -150,7 +150,6 @@ public class ServiceInstanceRespTimeIndicator extends LongAvgIndicator implement
         indicator.setSummation(this.getSummation());
         indicator.setCount(this.getCount());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -167,6 +166,15 @@ public class ServiceInstanceRespTimeIndicator extends LongAvgIndicator implement
             return map;
         }
 
+        @Override public void data2Stream(ServiceInstanceRespTimeIndicator storageData, StorageDataStream stream) throws IOException {
+            stream.write("entity_id", storageData.getEntityId());
+            stream.write("service_id", storageData.getServiceId());
+            stream.write("summation", storageData.getSummation());
+            stream.write("count", storageData.getCount());
+            stream.write("value", storageData.getValue());
+            stream.write("time_bucket", storageData.getTimeBucket());
+        }
+
         @Override public ServiceInstanceRespTimeIndicator map2Data(Map<String, Object> dbMap) {
             ServiceInstanceRespTimeIndicator indicator = new ServiceInstanceRespTimeIndicator();
             indicator.setEntityId((String)dbMap.get("entity_id"));
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.generated.serviceinstancejvmcpu;
 
+import java.io.IOException;
 import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.Const;
@@ -29,6 +30,7 @@ import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.source.Scope;
 
 /**
@@ -73,7 +75,7 @@ public class InstanceJvmCpuIndicator extends DoubleAvgIndicator implements Alarm
             return false;
 
         InstanceJvmCpuIndicator indicator = (InstanceJvmCpuIndicator)obj;
-        if (entityId != indicator.entityId)
+        if (!entityId.equals(indicator.entityId))
             return false;
 
         if (getTimeBucket() != indicator.getTimeBucket())
@@ -84,15 +86,15 @@ public class InstanceJvmCpuIndicator extends DoubleAvgIndicator implements Alarm
 
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
-        remoteBuilder.setDataStrings(0, getEntityId());
+        remoteBuilder.addDataStrings(getEntityId());
 
-        remoteBuilder.setDataLongs(0, getTimeBucket());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
-        remoteBuilder.setDataDoubles(0, getSummation());
-        remoteBuilder.setDataDoubles(1, getValue());
+        remoteBuilder.addDataDoubles(getSummation());
+        remoteBuilder.addDataDoubles(getValue());
 
-        remoteBuilder.setDataIntegers(0, getServiceInstanceId());
-        remoteBuilder.setDataIntegers(1, getCount());
+        remoteBuilder.addDataIntegers(getServiceInstanceId());
+        remoteBuilder.addDataIntegers(getCount());
 
         return remoteBuilder;
     }
@@ -124,7 +126,6 @@ public class InstanceJvmCpuIndicator extends DoubleAvgIndicator implements Alarm
         indicator.setSummation(this.getSummation());
         indicator.setCount(this.getCount());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -137,7 +138,6 @@ public class InstanceJvmCpuIndicator extends DoubleAvgIndicator implements Alarm
         indicator.setSummation(this.getSummation());
         indicator.setCount(this.getCount());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -150,7 +150,6 @@ public class InstanceJvmCpuIndicator extends DoubleAvgIndicator implements Alarm
         indicator.setSummation(this.getSummation());
         indicator.setCount(this.getCount());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -167,6 +166,15 @@ public class InstanceJvmCpuIndicator extends DoubleAvgIndicator implements Alarm
             return map;
         }
 
+        @Override public void data2Stream(InstanceJvmCpuIndicator storageData, StorageDataStream stream) throws IOException {
+            stream.write("entity_id", storageData.getEntityId());
+            stream.write("service_instance_id", storageData.getServiceInstanceId());
+            stream.write("summation", storageData.getSummation());
+            stream.write("count", storageData.getCount());
+            stream.write("value", storageData.getValue());
+            stream.write("time_bucket", storageData.getTimeBucket());
+        }
+
         @Override public InstanceJvmCpuIndicator map2Data(Map<String, Object> dbMap) {
             InstanceJvmCpuIndicator indicator = new InstanceJvmCpuIndicator();
             indicator.setEntityId((String)dbMap.get("entity_id"));
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.generated.serviceinstancejvmgc;
 
+import java.io.IOException;
 import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.Const;
@@ -29,6 +30,7 @@ import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.source.Scope;
 
 /**
@@ -73,7 +75,7 @@ public class InstanceJvmOldGcCountIndicator extends SumIndicator implements Alar
             return false;
 
         InstanceJvmOldGcCountIndicator indicator = (InstanceJvmOldGcCountIndicator)obj;
-        if (entityId != indicator.entityId)
+        if (!entityId.equals(indicator.entityId))
             return false;
 
         if (getTimeBucket() != indicator.getTimeBucket())
@@ -84,13 +86,13 @@ public class InstanceJvmOldGcCountIndicator extends SumIndicator implements Alar
 
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
-        remoteBuilder.setDataStrings(0, getEntityId());
+        remoteBuilder.addDataStrings(getEntityId());
 
-        remoteBuilder.setDataLongs(0, getValue());
-        remoteBuilder.setDataLongs(1, getTimeBucket());
+        remoteBuilder.addDataLongs(getValue());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
 
-        remoteBuilder.setDataIntegers(0, getServiceInstanceId());
+        remoteBuilder.addDataIntegers(getServiceInstanceId());
 
         return remoteBuilder;
     }
@@ -118,7 +120,6 @@ public class InstanceJvmOldGcCountIndicator extends SumIndicator implements Alar
         indicator.setEntityId(this.getEntityId());
         indicator.setServiceInstanceId(this.getServiceInstanceId());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -129,7 +130,6 @@ public class InstanceJvmOldGcCountIndicator extends SumIndicator implements Alar
         indicator.setEntityId(this.getEntityId());
         indicator.setServiceInstanceId(this.getServiceInstanceId());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -140,7 +140,6 @@ public class InstanceJvmOldGcCountIndicator extends SumIndicator implements Alar
         indicator.setEntityId(this.getEntityId());
         indicator.setServiceInstanceId(this.getServiceInstanceId());
         indicator.setValue(this.getValue());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -155,6 +154,13 @@ public class InstanceJvmOldGcCountIndicator extends SumIndicator implements Alar
             return map;
         }
 
+        @Override public void data2Stream(InstanceJvmOldGcCountIndicator storageData, StorageDataStream stream) throws IOException {
+            stream.write("entity_id", storageData.getEntityId());
+            stream.write("service_instance_id", storageData.getServiceInstanceId());
+            stream.write("value", storageData.getValue());
+            stream.write("time_bucket", storageData.getTimeBucket());
+        }
+
         @Override public InstanceJvmOldGcCountIndicator map2Data(Map<String, Object> dbMap) {
             InstanceJvmOldGcCountIndicator indicator = new InstanceJvmOldGcCountIndicator();
             indicator.setEntityId((String)dbMap.get("entity_id"));
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.generated.servicerelation;
 
+import java.io.IOException;
 import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.Const;
@@ -29,6 +30,7 @@ import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.source.Scope;
 
 /**
@@ -72,7 +74,7 @@ public class ServiceRelationClientCallSlaIndicator extends PercentIndicator impl
             return false;
 
         ServiceRelationClientCallSlaIndicator indicator = (ServiceRelationClientCallSlaIndicator)obj;
-        if (entityId != indicator.entityId)
+        if (!entityId.equals(indicator.entityId))
             return false;
 
         if (getTimeBucket() != indicator.getTimeBucket())
@@ -83,14 +85,14 @@ public class ServiceRelationClientCallSlaIndicator extends PercentIndicator impl
 
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
-        remoteBuilder.setDataStrings(0, getEntityId());
+        remoteBuilder.addDataStrings(getEntityId());
 
-        remoteBuilder.setDataLongs(0, getTotal());
-        remoteBuilder.setDataLongs(1, getMatch());
-        remoteBuilder.setDataLongs(2, getTimeBucket());
+        remoteBuilder.addDataLongs(getTotal());
+        remoteBuilder.addDataLongs(getMatch());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
 
-        remoteBuilder.setDataIntegers(0, getPercentage());
+        remoteBuilder.addDataIntegers(getPercentage());
 
         return remoteBuilder;
     }
@@ -120,7 +122,6 @@ public class ServiceRelationClientCallSlaIndicator extends PercentIndicator impl
         indicator.setTotal(this.getTotal());
         indicator.setPercentage(this.getPercentage());
         indicator.setMatch(this.getMatch());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -132,7 +133,6 @@ public class ServiceRelationClientCallSlaIndicator extends PercentIndicator impl
         indicator.setTotal(this.getTotal());
         indicator.setPercentage(this.getPercentage());
         indicator.setMatch(this.getMatch());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -144,7 +144,6 @@ public class ServiceRelationClientCallSlaIndicator extends PercentIndicator impl
         indicator.setTotal(this.getTotal());
         indicator.setPercentage(this.getPercentage());
         indicator.setMatch(this.getMatch());
-        indicator.setTimeBucket(this.getTimeBucket());
         return indicator;
     }
 
@@ -160,6 +159,14 @@ public class ServiceRelationClientCallSlaIndicator extends PercentIndicator impl
             return map;
         }
 
+        @Override public void data2Stream(ServiceRelationClientCallSlaIndicator storageData, StorageDataStream stream) throws IOException {
+            stream.write("source_service_id", storageData.getEntityId());
+            stream.write("total", storageData.getTotal());
+            stream.write("percentage", storageData.getPercentage());
+            stream.write("match", storageData.getMatch());
+            stream.write("time_bucket", storageData.getTimeBucket());
+        }
+
         @Override public ServiceRelationClientCallSlaIndicator map2Data(Map<String, Object> dbMap) {
             ServiceRelationClientCallSlaIndicator indicator = new ServiceRelationClientCallSlaIndicator();
             indicator.setEntityId((String)dbMap.get("source_service_id"));
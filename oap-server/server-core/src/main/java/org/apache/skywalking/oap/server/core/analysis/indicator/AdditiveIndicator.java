@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.indicator;
+
+import java.util.Map;
+
+/**
+ * The indicator whose {@link Indicator#combine(Indicator)} only sums its additive columns, and whose {@link
+ * Indicator#calculate()} derives at most one column from the sums. So the storage could add the increments of one
+ * persistence cycle to the stored data by itself, instead of the data being read, combined and written back.
+ */
+public interface AdditiveIndicator {
+
+    /**
+     * @return the additive columns and their values in this indicator, which are the increments to the stored ones.
+     */
+    Map<String, Object> increments();
+
+    /**
+     * @return how the derived column is calculated from the sums, null if there isn't one.
+     */
+    DerivedColumn derivedColumn();
+}
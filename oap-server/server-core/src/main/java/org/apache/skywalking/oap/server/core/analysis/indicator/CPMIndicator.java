@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.indicator;
 
+import java.util.*;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.skywalking.oap.server.core.analysis.indicator.annotation.ConstOne;
@@ -29,7 +30,7 @@ import org.apache.skywalking.oap.server.core.storage.annotation.Column;
  * @author wusheng
  */
 @IndicatorOperator
-public abstract class CPMIndicator extends Indicator implements LongValueHolder {
+public abstract class CPMIndicator extends Indicator implements LongValueHolder, AdditiveIndicator {
 
     protected static final String VALUE = "value";
     protected static final String TOTAL = "total";
@@ -54,5 +55,12 @@ public abstract class CPMIndicator extends Indicator implements LongValueHolder
     @Override public long getValue() {
         return value;
     }
-}
 
+    @Override public Map<String, Object> increments() {
+        return Collections.singletonMap(TOTAL, total);
+    }
+
+    @Override public DerivedColumn derivedColumn() {
+        return new DerivedColumn(VALUE, TOTAL, getDurationInMinute());
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.indicator;
 
+import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.analysis.indicator.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.annotation.Column;
@@ -26,7 +27,7 @@ import org.apache.skywalking.oap.server.core.storage.annotation.Column;
  * @author peng-yongsheng
  */
 @IndicatorOperator
-public abstract class CountIndicator extends Indicator implements LongValueHolder {
+public abstract class CountIndicator extends Indicator implements LongValueHolder, AdditiveIndicator {
 
     protected static final String VALUE = "value";
 
@@ -48,4 +49,12 @@ public abstract class CountIndicator extends Indicator implements LongValueHolde
     @Override public long getValue() {
         return value;
     }
+
+    @Override public Map<String, Object> increments() {
+        return Collections.singletonMap(VALUE, value);
+    }
+
+    @Override public DerivedColumn derivedColumn() {
+        return null;
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.indicator;
+
+import lombok.Getter;
+
+/**
+ * The column calculated by <code>numeratorColumn * multiplier / denominator</code> in {@link Indicator#calculate()},
+ * the denominator is another column, or a constant when the denominator column is null. The division follows the
+ * types of the columns, integer division for the integer columns.
+ */
+@Getter
+public class DerivedColumn {
+
+    private final String columnName;
+    private final String numeratorColumn;
+    private final long multiplier;
+    private final String denominatorColumn;
+    private final long denominator;
+
+    public DerivedColumn(String columnName, String numeratorColumn, long multiplier, String denominatorColumn) {
+        this.columnName = columnName;
+        this.numeratorColumn = numeratorColumn;
+        this.multiplier = multiplier;
+        this.denominatorColumn = denominatorColumn;
+        this.denominator = 0;
+    }
+
+    public DerivedColumn(String columnName, String numeratorColumn, long denominator) {
+        this.columnName = columnName;
+        this.numeratorColumn = numeratorColumn;
+        this.multiplier = 1;
+        this.denominatorColumn = null;
+        this.denominator = denominator;
+    }
+}
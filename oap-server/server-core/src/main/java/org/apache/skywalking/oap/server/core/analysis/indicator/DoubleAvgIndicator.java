@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.indicator;
 
+import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.analysis.indicator.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.annotation.Column;
@@ -26,7 +27,7 @@ import org.apache.skywalking.oap.server.core.storage.annotation.Column;
  * @author peng-yongsheng
  */
 @IndicatorOperator
-public abstract class DoubleAvgIndicator extends Indicator implements DoubleValueHolder {
+public abstract class DoubleAvgIndicator extends Indicator implements DoubleValueHolder, AdditiveIndicator {
 
     protected static final String SUMMATION = "summation";
     protected static final String COUNT = "count";
@@ -54,4 +55,15 @@ public abstract class DoubleAvgIndicator extends Indicator implements DoubleValu
     @Override public double getValue() {
         return value;
     }
+
+    @Override public Map<String, Object> increments() {
+        Map<String, Object> increments = new HashMap<>(4);
+        increments.put(SUMMATION, summation);
+        increments.put(COUNT, count);
+        return increments;
+    }
+
+    @Override public DerivedColumn derivedColumn() {
+        return new DerivedColumn(VALUE, SUMMATION, 1, COUNT);
+    }
 }
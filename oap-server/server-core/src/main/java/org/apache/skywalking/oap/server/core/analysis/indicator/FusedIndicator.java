@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.indicator;
+
+import java.util.List;
+
+/**
+ * Several indicators of the same scope and entity aggregated as one record, so they share one dispatch, one
+ * aggregation and one remote transport. It is split into the real indicators before persistence, so the fused
+ * indicator itself is never stored.
+ */
+public abstract class FusedIndicator extends Indicator {
+
+    /**
+     * @return the real indicators, with the entity and time bucket of this indicator.
+     */
+    public abstract List<Indicator> split();
+
+    @Override public final void calculate() {
+    }
+
+    /**
+     * The fused indicator goes to a {@link org.apache.skywalking.oap.server.core.analysis.worker.FusedIndicatorSplitWorker}
+     * after the remote transport, never to a persistent worker, so it is never downsampled itself. The split indicators
+     * are downsampled by their own persistent workers.
+     */
+    @Override public final Indicator toHour() {
+        throw new UnsupportedOperationException("Fused indicator is split before persistence");
+    }
+
+    @Override public final Indicator toDay() {
+        throw new UnsupportedOperationException("Fused indicator is split before persistence");
+    }
+
+    @Override public final Indicator toMonth() {
+        throw new UnsupportedOperationException("Fused indicator is split before persistence");
+    }
+}
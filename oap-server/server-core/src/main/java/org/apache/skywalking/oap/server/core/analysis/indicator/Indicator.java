@@ -96,8 +96,8 @@ public abstract class Indicator extends StreamData implements StorageData {
              * In month time bucket status.
              * Usually after {@link #toTimeBucketInMonth()} called.
              */
-            int dayOfMonth = TIME_BUCKET_MONTH_FORMATTER.parseLocalDate(timeBucket + "").getDayOfMonth();
-            return dayOfMonth * 24 * 60;
+            int daysOfMonth = TIME_BUCKET_MONTH_FORMATTER.parseLocalDate(timeBucket + "").dayOfMonth().getMaximumValue();
+            return daysOfMonth * 24 * 60;
         }
     }
 
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.indicator;
+
+import java.util.*;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataType;
+
+/**
+ * Histogram of the fixed buckets, the key is the bucket index, the value is the count in the bucket. The keys and the
+ * values are kept in two primitive arrays sorted by key, so merging two histograms doesn't allocate objects, and the
+ * percentile is found by scanning the buckets in order, without sorting.
+ *
+ * It is encoded as bytes in the remote data, and as the base64 of the same bytes in the storage. The keys are encoded
+ * as the delta from the previous key, the keys and values are all in var-int.
+ */
+public class IntKeyLongValueHistogram implements StorageDataType {
+
+    private int[] keys;
+    private long[] values;
+    private int size;
+
+    public IntKeyLongValueHistogram() {
+        this(16);
+    }
+
+    public IntKeyLongValueHistogram(int initialCapacity) {
+        this.keys = new int[initialCapacity];
+        this.values = new long[initialCapacity];
+        this.size = 0;
+    }
+
+    /**
+     * @param storageData the data of {@link #toStorageData()}, nullable.
+     */
+    public IntKeyLongValueHistogram(String storageData) {
+        this(16);
+        if (storageData != null && !storageData.isEmpty()) {
+            toObject(storageData);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int keyAt(int index) {
+        return keys[index];
+    }
+
+    public long valueAt(int index) {
+        return values[index];
+    }
+
+    public void add(int key, long value) {
+        int index = Arrays.binarySearch(keys, 0, size, key);
+        if (index >= 0) {
+            values[index] += value;
+        } else {
+            index = -index - 1;
+            ensureCapacity(size + 1);
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            keys[index] = key;
+            values[index] = value;
+            size++;
+        }
+    }
+
+    /**
+     * Add the counts of the given histogram into this one. Only grows the arrays when the union of the keys doesn't
+     * fit, the merge is done from the tail so no temporary array is needed.
+     */
+    public void merge(IntKeyLongValueHistogram histogram) {
+        int unionSize = size;
+        for (int i = 0, j = 0; j < histogram.size; ) {
+            if (i < size && keys[i] < histogram.keys[j]) {
+                i++;
+            } else if (i < size && keys[i] == histogram.keys[j]) {
+                i++;
+                j++;
+            } else {
+                unionSize++;
+                j++;
+            }
+        }
+        ensureCapacity(unionSize);
+
+        int i = size - 1;
+        int j = histogram.size - 1;
+        for (int target = unionSize - 1; j >= 0; target--) {
+            if (i >= 0 && keys[i] > histogram.keys[j]) {
+                keys[target] = keys[i];
+                values[target] = values[i];
+                i--;
+            } else if (i >= 0 && keys[i] == histogram.keys[j]) {
+                keys[target] = keys[i];
+                values[target] = values[i] + histogram.values[j];
+                i--;
+                j--;
+            } else {
+                keys[target] = histogram.keys[j];
+                values[target] = histogram.values[j];
+                j--;
+            }
+        }
+        size = unionSize;
+    }
+
+    public long total() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += values[i];
+        }
+        return total;
+    }
+
+    /**
+     * @param percentileRank in [0, 100]
+     * @return the key of the first bucket at which the accumulated count reaches the rank, or -1 if it is empty.
+     */
+    public int percentileKey(int percentileRank) {
+        long roof = Math.round(total() * percentileRank * 1.0 / 100);
+
+        long count = 0;
+        for (int i = 0; i < size; i++) {
+            count += values[i];
+            if (count >= roof) {
+                return keys[i];
+            }
+        }
+        return -1;
+    }
+
+    public IntKeyLongValueHistogram copy() {
+        IntKeyLongValueHistogram copy = new IntKeyLongValueHistogram(Math.max(size, 1));
+        System.arraycopy(keys, 0, copy.keys, 0, size);
+        System.arraycopy(values, 0, copy.values, 0, size);
+        copy.size = size;
+        return copy;
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[5 + size * 15];
+        int position = writeVarLong(bytes, 0, size);
+        int previousKey = 0;
+        for (int i = 0; i < size; i++) {
+            position = writeVarLong(bytes, position, zigZag(keys[i] - previousKey));
+            position = writeVarLong(bytes, position, values[i]);
+            previousKey = keys[i];
+        }
+        return Arrays.copyOf(bytes, position);
+    }
+
+    /**
+     * Replace the buckets of this histogram by the ones encoded in the bytes of {@link #toBytes()}.
+     */
+    public void fromBytes(byte[] bytes) {
+        int[] position = new int[1];
+        int bucketSize = (int)readVarLong(bytes, position);
+        size = 0;
+        ensureCapacity(bucketSize);
+
+        int previousKey = 0;
+        for (int i = 0; i < bucketSize; i++) {
+            previousKey += unZigZag(readVarLong(bytes, position));
+            keys[i] = previousKey;
+            values[i] = readVarLong(bytes, position);
+        }
+        size = bucketSize;
+    }
+
+    @Override public String toStorageData() {
+        return Base64.getEncoder().encodeToString(toBytes());
+    }
+
+    @Override public void toObject(String data) {
+        fromBytes(Base64.getDecoder().decode(data));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > keys.length) {
+            int newCapacity = Math.max(capacity, keys.length * 2);
+            keys = Arrays.copyOf(keys, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+    }
+
+    private static long zigZag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    private static int unZigZag(long value) {
+        return (int)(value >>> 1) ^ -(int)(value & 1);
+    }
+
+    private static int writeVarLong(byte[] bytes, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            bytes[position++] = (byte)((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[position++] = (byte)value;
+        return position;
+    }
+
+    private static long readVarLong(byte[] bytes, int[] position) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = bytes[position[0]++];
+            value |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+}
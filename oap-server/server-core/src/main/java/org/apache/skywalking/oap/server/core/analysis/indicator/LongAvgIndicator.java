@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.indicator;
 
+import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.analysis.indicator.annotation.*;
 import org.apache.skywalking.oap.server.core.query.sql.Function;
@@ -27,7 +28,7 @@ import org.apache.skywalking.oap.server.core.storage.annotation.Column;
  * @author peng-yongsheng
  */
 @IndicatorOperator
-public abstract class LongAvgIndicator extends Indicator implements LongValueHolder {
+public abstract class LongAvgIndicator extends Indicator implements LongValueHolder, AdditiveIndicator {
 
     protected static final String SUMMATION = "summation";
     protected static final String COUNT = "count";
@@ -55,4 +56,15 @@ public abstract class LongAvgIndicator extends Indicator implements LongValueHol
     @Override public long getValue() {
         return value;
     }
+
+    @Override public Map<String, Object> increments() {
+        Map<String, Object> increments = new HashMap<>(4);
+        increments.put(SUMMATION, summation);
+        increments.put(COUNT, count);
+        return increments;
+    }
+
+    @Override public DerivedColumn derivedColumn() {
+        return new DerivedColumn(VALUE, SUMMATION, 1, COUNT);
+    }
 }
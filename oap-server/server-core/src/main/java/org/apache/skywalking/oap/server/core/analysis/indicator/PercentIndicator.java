@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.indicator;
 
+import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.analysis.indicator.annotation.*;
 import org.apache.skywalking.oap.server.core.analysis.indicator.expression.EqualMatch;
@@ -27,7 +28,7 @@ import org.apache.skywalking.oap.server.core.storage.annotation.Column;
  * @author wusheng
  */
 @IndicatorOperator
-public abstract class PercentIndicator extends Indicator implements IntValueHolder {
+public abstract class PercentIndicator extends Indicator implements IntValueHolder, AdditiveIndicator {
     protected static final String TOTAL = "total";
     protected static final String MATCH = "match";
     protected static final String PERCENTAGE = "percentage";
@@ -59,4 +60,15 @@ public abstract class PercentIndicator extends Indicator implements IntValueHold
     @Override public int getValue() {
         return percentage;
     }
+
+    @Override public Map<String, Object> increments() {
+        Map<String, Object> increments = new HashMap<>(4);
+        increments.put(TOTAL, total);
+        increments.put(MATCH, match);
+        return increments;
+    }
+
+    @Override public DerivedColumn derivedColumn() {
+        return new DerivedColumn(PERCENTAGE, MATCH, 100, TOTAL);
+    }
 }
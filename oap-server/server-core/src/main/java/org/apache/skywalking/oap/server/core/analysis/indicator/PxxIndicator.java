@@ -18,7 +18,6 @@
 
 package org.apache.skywalking.oap.server.core.analysis.indicator;
 
-import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.analysis.indicator.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.annotation.Column;
@@ -40,78 +39,33 @@ public abstract class PxxIndicator extends Indicator implements IntValueHolder {
 
     @Getter @Setter @Column(columnName = VALUE) private int value;
     @Getter @Setter @Column(columnName = PRECISION) private int precision;
-    @Getter @Setter @Column(columnName = DETAIL_GROUP) private IntKeyLongValueArray detailGroup;
+    @Getter @Setter @Column(columnName = DETAIL_GROUP) private IntKeyLongValueHistogram detailGroup;
 
     private final int percentileRank;
-    private Map<Integer, IntKeyLongValue> detailIndex;
 
     public PxxIndicator(int percentileRank) {
         this.percentileRank = percentileRank;
-        detailGroup = new IntKeyLongValueArray(30);
+        detailGroup = new IntKeyLongValueHistogram();
     }
 
     @Entrance
     public final void combine(@SourceFrom int value, @Arg int precision) {
         this.precision = precision;
 
-        this.indexCheckAndInit();
-
-        int index = value / precision;
-        IntKeyLongValue element = detailIndex.get(index);
-        if (element == null) {
-            element = new IntKeyLongValue();
-            element.setKey(index);
-            element.setValue(1);
-            addElement(element);
-        } else {
-            element.addValue(1);
-        }
+        detailGroup.add(value / precision, 1);
     }
 
     @Override
     public void combine(Indicator indicator) {
         PxxIndicator pxxIndicator = (PxxIndicator)indicator;
-        this.indexCheckAndInit();
-        pxxIndicator.indexCheckAndInit();
-
-        pxxIndicator.detailIndex.forEach((key, element) -> {
-            IntKeyLongValue existingElement = this.detailIndex.get(key);
-            if (existingElement == null) {
-                existingElement = new IntKeyLongValue();
-                existingElement.setKey(key);
-                existingElement.setValue(element.getValue());
-                addElement(element);
-            } else {
-                existingElement.addValue(element.getValue());
-            }
-        });
+        detailGroup.merge(pxxIndicator.detailGroup);
     }
 
     @Override
     public final void calculate() {
-        Collections.sort(detailGroup);
-        int total = detailGroup.stream().mapToInt(element -> (int)element.getValue()).sum();
-        int roof = Math.round(total * percentileRank * 1.0f / 100);
-
-        int count = 0;
-        for (IntKeyLongValue element : detailGroup) {
-            count += element.getValue();
-            if (count >= roof) {
-                value = element.getKey() * precision;
-                return;
-            }
-        }
-    }
-
-    private void addElement(IntKeyLongValue element) {
-        detailGroup.add(element);
-        detailIndex.put(element.getKey(), element);
-    }
-
-    private void indexCheckAndInit() {
-        if (detailIndex == null) {
-            detailIndex = new HashMap<>();
-            detailGroup.forEach(element -> detailIndex.put(element.getKey(), element));
+        int key = detailGroup.percentileKey(percentileRank);
+        if (key >= 0) {
+            value = key * precision;
         }
     }
 }
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.indicator;
 
+import java.util.*;
 import lombok.Getter;
 import lombok.Setter;
 import org.apache.skywalking.oap.server.core.analysis.indicator.annotation.Entrance;
@@ -29,7 +30,7 @@ import org.apache.skywalking.oap.server.core.storage.annotation.Column;
  * @author wusheng
  */
 @IndicatorOperator
-public abstract class SumIndicator extends Indicator implements LongValueHolder {
+public abstract class SumIndicator extends Indicator implements LongValueHolder, AdditiveIndicator {
 
     protected static final String VALUE = "value";
 
@@ -51,4 +52,12 @@ public abstract class SumIndicator extends Indicator implements LongValueHolder
     @Override public long getValue() {
         return value;
     }
+
+    @Override public Map<String, Object> increments() {
+        return Collections.singletonMap(VALUE, value);
+    }
+
+    @Override public DerivedColumn derivedColumn() {
+        return null;
+    }
 }
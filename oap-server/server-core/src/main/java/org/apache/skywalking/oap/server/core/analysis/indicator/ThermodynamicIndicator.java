@@ -18,7 +18,6 @@
 
 package org.apache.skywalking.oap.server.core.analysis.indicator;
 
-import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.analysis.indicator.annotation.*;
 import org.apache.skywalking.oap.server.core.storage.annotation.Column;
@@ -41,9 +40,7 @@ public abstract class ThermodynamicIndicator extends Indicator {
 
     @Getter @Setter @Column(columnName = STEP) private int step = 0;
     @Getter @Setter @Column(columnName = NUM_OF_STEPS) private int numOfSteps = 0;
-    @Getter @Setter @Column(columnName = DETAIL_GROUP) private IntKeyLongValueArray detailGroup = new IntKeyLongValueArray(30);
-
-    private Map<Integer, IntKeyLongValue> detailIndex;
+    @Getter @Setter @Column(columnName = DETAIL_GROUP) private IntKeyLongValueHistogram detailGroup = new IntKeyLongValueHistogram();
 
     /**
      * Data will be grouped in
@@ -64,40 +61,17 @@ public abstract class ThermodynamicIndicator extends Indicator {
             this.numOfSteps = maxNumOfSteps + 1;
         }
 
-        indexCheckAndInit();
-
         int index = value / step;
         if (index > maxNumOfSteps) {
             index = numOfSteps;
         }
-        IntKeyLongValue element = detailIndex.get(index);
-        if (element == null) {
-            element = new IntKeyLongValue();
-            element.setKey(index);
-            element.setValue(1);
-            addElement(element);
-        } else {
-            element.addValue(1);
-        }
+        detailGroup.add(index, 1);
     }
 
     @Override
     public void combine(Indicator indicator) {
         ThermodynamicIndicator thermodynamicIndicator = (ThermodynamicIndicator)indicator;
-        this.indexCheckAndInit();
-        thermodynamicIndicator.indexCheckAndInit();
-
-        thermodynamicIndicator.detailIndex.forEach((key, element) -> {
-            IntKeyLongValue existingElement = this.detailIndex.get(key);
-            if (existingElement == null) {
-                existingElement = new IntKeyLongValue();
-                existingElement.setKey(key);
-                existingElement.setValue(element.getValue());
-                addElement(element);
-            } else {
-                existingElement.addValue(element.getValue());
-            }
-        });
+        detailGroup.merge(thermodynamicIndicator.detailGroup);
     }
 
     /**
@@ -107,16 +81,4 @@ public abstract class ThermodynamicIndicator extends Indicator {
     public final void calculate() {
 
     }
-
-    private void addElement(IntKeyLongValue element) {
-        detailGroup.add(element);
-        detailIndex.put(element.getKey(), element);
-    }
-
-    private void indexCheckAndInit() {
-        if (detailIndex == null) {
-            detailIndex = new HashMap<>();
-            detailGroup.forEach(element -> detailIndex.put(element.getKey(), element));
-        }
-    }
 }
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.manual.endpoint;
+
+import com.google.protobuf.ByteString;
+import java.util.*;
+import lombok.*;
+import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.analysis.generated.endpoint.*;
+import org.apache.skywalking.oap.server.core.analysis.indicator.*;
+import org.apache.skywalking.oap.server.core.analysis.indicator.expression.EqualMatch;
+import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+
+/**
+ * Fuse endpoint_avg, endpoint_sla and endpoint_p99/p95/p90/p75/p50 of one endpoint. The five percentile indicators
+ * share one latency histogram, which is copied into each of them when split.
+ */
+@StreamData
+public class EndpointLatencyFusedIndicator extends FusedIndicator {
+
+    private static final int PRECISION = 10;
+
+    @Setter @Getter private String entityId;
+    @Setter @Getter private int serviceId;
+    @Setter @Getter private int serviceInstanceId;
+
+    private final EndpointAvgIndicator avg;
+    private final EndpointSlaIndicator sla;
+    private final EndpointP99Indicator latencyHistogram;
+
+    public EndpointLatencyFusedIndicator() {
+        this.avg = new EndpointAvgIndicator();
+        this.sla = new EndpointSlaIndicator();
+        this.latencyHistogram = new EndpointP99Indicator();
+    }
+
+    public void combine(int latency, boolean status) {
+        avg.combine(latency, 1);
+        sla.combine(new EqualMatch(), status, true);
+        latencyHistogram.combine(latency, PRECISION);
+    }
+
+    @Override public void combine(Indicator indicator) {
+        EndpointLatencyFusedIndicator fusedIndicator = (EndpointLatencyFusedIndicator)indicator;
+        avg.combine(fusedIndicator.avg);
+        sla.combine(fusedIndicator.sla);
+        latencyHistogram.combine(fusedIndicator.latencyHistogram);
+    }
+
+    @Override public List<Indicator> split() {
+        List<Indicator> indicators = new ArrayList<>(7);
+
+        fillComponents();
+        indicators.add(avg);
+        indicators.add(sla);
+
+        EndpointP95Indicator p95 = new EndpointP95Indicator();
+        p95.setTimeBucket(getTimeBucket());
+        p95.setEntityId(entityId);
+        p95.setServiceId(serviceId);
+        p95.setServiceInstanceId(serviceInstanceId);
+        p95.setPrecision(latencyHistogram.getPrecision());
+        p95.setDetailGroup(latencyHistogram.getDetailGroup().copy());
+        indicators.add(p95);
+
+        EndpointP90Indicator p90 = new EndpointP90Indicator();
+        p90.setTimeBucket(getTimeBucket());
+        p90.setEntityId(entityId);
+        p90.setServiceId(serviceId);
+        p90.setServiceInstanceId(serviceInstanceId);
+        p90.setPrecision(latencyHistogram.getPrecision());
+        p90.setDetailGroup(latencyHistogram.getDetailGroup().copy());
+        indicators.add(p90);
+
+        EndpointP75Indicator p75 = new EndpointP75Indicator();
+        p75.setTimeBucket(getTimeBucket());
+        p75.setEntityId(entityId);
+        p75.setServiceId(serviceId);
+        p75.setServiceInstanceId(serviceInstanceId);
+        p75.setPrecision(latencyHistogram.getPrecision());
+        p75.setDetailGroup(latencyHistogram.getDetailGroup().copy());
+        indicators.add(p75);
+
+        EndpointP50Indicator p50 = new EndpointP50Indicator();
+        p50.setTimeBucket(getTimeBucket());
+        p50.setEntityId(entityId);
+        p50.setServiceId(serviceId);
+        p50.setServiceInstanceId(serviceInstanceId);
+        p50.setPrecision(latencyHistogram.getPrecision());
+        p50.setDetailGroup(latencyHistogram.getDetailGroup().copy());
+        indicators.add(p50);
+
+        indicators.add(latencyHistogram);
+
+        return indicators;
+    }
+
+    /**
+     * The components only hold the values until the entity and time bucket of this indicator are copied into them.
+     */
+    private void fillComponents() {
+        avg.setTimeBucket(getTimeBucket());
+        avg.setEntityId(entityId);
+        avg.setServiceId(serviceId);
+        avg.setServiceInstanceId(serviceInstanceId);
+
+        sla.setTimeBucket(getTimeBucket());
+        sla.setEntityId(entityId);
+        sla.setServiceId(serviceId);
+        sla.setServiceInstanceId(serviceInstanceId);
+
+        latencyHistogram.setTimeBucket(getTimeBucket());
+        latencyHistogram.setEntityId(entityId);
+        latencyHistogram.setServiceId(serviceId);
+        latencyHistogram.setServiceInstanceId(serviceInstanceId);
+    }
+
+    @Override public String id() {
+        String splitJointId = String.valueOf(getTimeBucket());
+        splitJointId += Const.ID_SPLIT + entityId;
+        return splitJointId;
+    }
+
+    @Override public int hashCode() {
+        int result = 17;
+        result = 31 * result + entityId.hashCode();
+        result = 31 * result + (int)getTimeBucket();
+        return result;
+    }
+
+    /**
+     * Same as the split indicators, so they are persisted by the same OAP node in both modes.
+     */
+    @Override public int remoteHashCode() {
+        int result = 17;
+        result = 31 * result + entityId.hashCode();
+        return result;
+    }
+
+    @Override public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+
+        EndpointLatencyFusedIndicator indicator = (EndpointLatencyFusedIndicator)obj;
+        if (!entityId.equals(indicator.entityId))
+            return false;
+
+        if (getTimeBucket() != indicator.getTimeBucket())
+            return false;
+
+        return true;
+    }
+
+    @Override public RemoteData.Builder serialize() {
+        RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
+        remoteBuilder.addDataStrings(getEntityId());
+
+        remoteBuilder.addDataLongs(getTimeBucket());
+        remoteBuilder.addDataLongs(avg.getSummation());
+        remoteBuilder.addDataLongs(sla.getMatch());
+        remoteBuilder.addDataLongs(sla.getTotal());
+
+        remoteBuilder.addDataIntegers(getServiceId());
+        remoteBuilder.addDataIntegers(getServiceInstanceId());
+        remoteBuilder.addDataIntegers(avg.getCount());
+        remoteBuilder.addDataIntegers(latencyHistogram.getPrecision());
+        remoteBuilder.addDataBytes(ByteString.copyFrom(latencyHistogram.getDetailGroup().toBytes()));
+
+        return remoteBuilder;
+    }
+
+    @Override public void deserialize(RemoteData remoteData) {
+        setEntityId(remoteData.getDataStrings(0));
+
+        setTimeBucket(remoteData.getDataLongs(0));
+        avg.setSummation(remoteData.getDataLongs(1));
+        sla.setMatch(remoteData.getDataLongs(2));
+        sla.setTotal(remoteData.getDataLongs(3));
+
+        setServiceId(remoteData.getDataIntegers(0));
+        setServiceInstanceId(remoteData.getDataIntegers(1));
+        avg.setCount(remoteData.getDataIntegers(2));
+        latencyHistogram.setPrecision(remoteData.getDataIntegers(3));
+
+        latencyHistogram.setDetailGroup(new IntKeyLongValueHistogram());
+        latencyHistogram.getDetailGroup().fromBytes(remoteData.getDataBytes(0).toByteArray());
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.manual.endpointrelation;
 
+import java.io.IOException;
 import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.Const;
@@ -26,6 +27,7 @@ import org.apache.skywalking.oap.server.core.analysis.indicator.annotation.Indic
 import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
 
 @IndicatorType
@@ -95,9 +97,9 @@ public class EndpointRelationServerSideIndicator extends Indicator {
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
 
-        remoteBuilder.setDataIntegers(0, getSourceEndpointId());
-        remoteBuilder.setDataIntegers(1, getDestEndpointId());
-        remoteBuilder.setDataLongs(0, getTimeBucket());
+        remoteBuilder.addDataIntegers(getSourceEndpointId());
+        remoteBuilder.addDataIntegers(getDestEndpointId());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
         return remoteBuilder;
     }
@@ -147,5 +149,11 @@ public class EndpointRelationServerSideIndicator extends Indicator {
             map.put(TIME_BUCKET, storageData.getTimeBucket());
             return map;
         }
+
+        @Override public void data2Stream(EndpointRelationServerSideIndicator storageData, StorageDataStream stream) throws IOException {
+            stream.write(SOURCE_ENDPOINT_ID, storageData.getSourceEndpointId());
+            stream.write(DEST_ENDPOINT_ID, storageData.getDestEndpointId());
+            stream.write(TIME_BUCKET, storageData.getTimeBucket());
+        }
     }
 }
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.manual.segment;
+
+import java.io.IOException;
+import java.util.*;
+import lombok.*;
+import org.apache.skywalking.oap.server.core.analysis.record.Record;
+import org.apache.skywalking.oap.server.core.analysis.record.annotation.RecordType;
+import org.apache.skywalking.oap.server.core.storage.*;
+import org.apache.skywalking.oap.server.core.storage.annotation.*;
+import org.apache.skywalking.oap.server.library.util.StringUtils;
+
+/**
+ * The segment with the index columns of the trace query, the segment itself is kept in the data binary column as it
+ * was received, so one segment is written by one storage operation. A segment joins several traces when it is
+ * triggered by a batch of messages, the global trace ids column holds all of them, so the segment is found by any.
+ */
+@RecordType
+@StorageEntity(name = SegmentRecord.INDEX_NAME, builder = SegmentRecord.Builder.class)
+public class SegmentRecord extends Record {
+
+    public static final String INDEX_NAME = "segment";
+    public static final String SEGMENT_ID = "segment_id";
+    public static final String TRACE_ID = "trace_id";
+    public static final String GLOBAL_TRACE_IDS = "global_trace_ids";
+    public static final String SERVICE_ID = "service_id";
+    public static final String ENDPOINT_NAME = "endpoint_name";
+    public static final String START_TIME = "start_time";
+    public static final String END_TIME = "end_time";
+    public static final String LATENCY = "latency";
+    public static final String IS_ERROR = "is_error";
+    public static final String DATA_BINARY = "data_binary";
+
+    @Setter @Getter @Column(columnName = SEGMENT_ID) private String segmentId;
+    @Setter @Getter @Column(columnName = TRACE_ID) private String traceId;
+    @Setter @Getter @Column(columnName = GLOBAL_TRACE_IDS) private List<String> globalTraceIds;
+    @Setter @Getter @Column(columnName = SERVICE_ID) private int serviceId;
+    @Setter @Getter @Column(columnName = ENDPOINT_NAME) private String endpointName;
+    @Setter @Getter @Column(columnName = START_TIME) private long startTime;
+    @Setter @Getter @Column(columnName = END_TIME) private long endTime;
+    @Setter @Getter @Column(columnName = LATENCY) private int latency;
+    @Setter @Getter @Column(columnName = IS_ERROR) private int isError;
+    @Setter @Getter @Column(columnName = DATA_BINARY) private byte[] dataBinary;
+
+    @Override public String id() {
+        return segmentId;
+    }
+
+    public static class Builder implements StorageBuilder<SegmentRecord> {
+
+        @Override public Map<String, Object> data2Map(SegmentRecord storageData) {
+            Map<String, Object> map = new HashMap<>();
+            map.put(SEGMENT_ID, storageData.getSegmentId());
+            map.put(TRACE_ID, storageData.getTraceId());
+            map.put(GLOBAL_TRACE_IDS, globalTraceIds(storageData));
+            map.put(SERVICE_ID, storageData.getServiceId());
+            map.put(ENDPOINT_NAME, storageData.getEndpointName());
+            map.put(START_TIME, storageData.getStartTime());
+            map.put(END_TIME, storageData.getEndTime());
+            map.put(LATENCY, storageData.getLatency());
+            map.put(IS_ERROR, storageData.getIsError());
+            map.put(TIME_BUCKET, storageData.getTimeBucket());
+            if (storageData.getDataBinary() == null) {
+                map.put(DATA_BINARY, new byte[] {});
+            } else {
+                map.put(DATA_BINARY, storageData.getDataBinary());
+            }
+            return map;
+        }
+
+        @Override public void data2Stream(SegmentRecord storageData, StorageDataStream stream) throws IOException {
+            stream.write(SEGMENT_ID, storageData.getSegmentId());
+            stream.write(TRACE_ID, storageData.getTraceId());
+            stream.write(GLOBAL_TRACE_IDS, globalTraceIds(storageData));
+            stream.write(SERVICE_ID, storageData.getServiceId());
+            stream.write(ENDPOINT_NAME, storageData.getEndpointName());
+            stream.write(START_TIME, storageData.getStartTime());
+            stream.write(END_TIME, storageData.getEndTime());
+            stream.write(LATENCY, storageData.getLatency());
+            stream.write(IS_ERROR, storageData.getIsError());
+            stream.write(TIME_BUCKET, storageData.getTimeBucket());
+            stream.write(DATA_BINARY, storageData.getDataBinary() == null ? new byte[] {} : storageData.getDataBinary());
+        }
+
+        /**
+         * The segments without global trace ids are found by the trace id only.
+         */
+        private List<String> globalTraceIds(SegmentRecord storageData) {
+            if (storageData.getGlobalTraceIds() == null || storageData.getGlobalTraceIds().isEmpty()) {
+                return storageData.getTraceId() == null ? Collections.emptyList() : Collections.singletonList(storageData.getTraceId());
+            }
+            return storageData.getGlobalTraceIds();
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override public SegmentRecord map2Data(Map<String, Object> dbMap) {
+            SegmentRecord record = new SegmentRecord();
+            record.setSegmentId((String)dbMap.get(SEGMENT_ID));
+            record.setTraceId((String)dbMap.get(TRACE_ID));
+            Object globalTraceIds = dbMap.get(GLOBAL_TRACE_IDS);
+            if (globalTraceIds instanceof List) {
+                record.setGlobalTraceIds((List<String>)globalTraceIds);
+            } else if (globalTraceIds instanceof String) {
+                record.setGlobalTraceIds(Collections.singletonList((String)globalTraceIds));
+            }
+            record.setServiceId(((Number)dbMap.get(SERVICE_ID)).intValue());
+            record.setEndpointName((String)dbMap.get(ENDPOINT_NAME));
+            record.setStartTime(((Number)dbMap.get(START_TIME)).longValue());
+            record.setEndTime(((Number)dbMap.get(END_TIME)).longValue());
+            record.setLatency(((Number)dbMap.get(LATENCY)).intValue());
+            record.setIsError(((Number)dbMap.get(IS_ERROR)).intValue());
+            record.setTimeBucket(((Number)dbMap.get(TIME_BUCKET)).longValue());
+
+            Object dataBinary = dbMap.get(DATA_BINARY);
+            if (dataBinary instanceof byte[]) {
+                record.setDataBinary((byte[])dataBinary);
+            } else if (dataBinary instanceof String && StringUtils.isNotEmpty((String)dataBinary)) {
+                record.setDataBinary(Base64.getDecoder().decode((String)dataBinary));
+            } else {
+                record.setDataBinary(new byte[] {});
+            }
+            return record;
+        }
+    }
+}
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.manual.service;
 
+import java.io.IOException;
 import java.util.*;
 import lombok.*;
 import org.apache.skywalking.oap.server.core.Const;
@@ -26,6 +27,7 @@ import org.apache.skywalking.oap.server.core.analysis.indicator.annotation.Indic
 import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.storage.annotation.*;
 
 /**
@@ -81,10 +83,10 @@ public class ServiceComponentIndicator extends Indicator {
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
 
-        remoteBuilder.setDataLongs(0, getTimeBucket());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
-        remoteBuilder.setDataIntegers(0, getServiceId());
-        remoteBuilder.setDataIntegers(1, getComponentId());
+        remoteBuilder.addDataIntegers(getServiceId());
+        remoteBuilder.addDataIntegers(getComponentId());
 
         return remoteBuilder;
     }
@@ -146,6 +148,12 @@ public class ServiceComponentIndicator extends Indicator {
             return map;
         }
 
+        @Override public void data2Stream(ServiceComponentIndicator storageData, StorageDataStream stream) throws IOException {
+            stream.write(SERVICE_ID, storageData.getServiceId());
+            stream.write(COMPONENT_ID, storageData.getComponentId());
+            stream.write(TIME_BUCKET, storageData.getTimeBucket());
+        }
+
         @Override public ServiceComponentIndicator map2Data(Map<String, Object> dbMap) {
             ServiceComponentIndicator indicator = new ServiceComponentIndicator();
             indicator.setServiceId(((Number)dbMap.get(SERVICE_ID)).intValue());
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.analysis.manual.service;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.Getter;
@@ -28,6 +29,7 @@ import org.apache.skywalking.oap.server.core.analysis.indicator.annotation.Indic
 import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
 import org.apache.skywalking.oap.server.core.storage.annotation.Column;
 import org.apache.skywalking.oap.server.core.storage.annotation.StorageEntity;
 
@@ -84,10 +86,10 @@ public class ServiceMappingIndicator extends Indicator {
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
 
-        remoteBuilder.setDataLongs(0, getTimeBucket());
+        remoteBuilder.addDataLongs(getTimeBucket());
 
-        remoteBuilder.setDataIntegers(0, getServiceId());
-        remoteBuilder.setDataIntegers(1, getMappingServiceId());
+        remoteBuilder.addDataIntegers(getServiceId());
+        remoteBuilder.addDataIntegers(getMappingServiceId());
 
         return remoteBuilder;
     }
@@ -149,6 +151,12 @@ public class ServiceMappingIndicator extends Indicator {
             return map;
         }
 
+        @Override public void data2Stream(ServiceMappingIndicator storageData, StorageDataStream stream) throws IOException {
+            stream.write(SERVICE_ID, storageData.getServiceId());
+            stream.write(MAPPING_SERVICE_ID, storageData.getMappingServiceId());
+            stream.write(TIME_BUCKET, storageData.getTimeBucket());
+        }
+
         @Override public ServiceMappingIndicator map2Data(Map<String, Object> dbMap) {
             ServiceMappingIndicator indicator = new ServiceMappingIndicator();
             indicator.setServiceId(((Number)dbMap.get(SERVICE_ID)).intValue());
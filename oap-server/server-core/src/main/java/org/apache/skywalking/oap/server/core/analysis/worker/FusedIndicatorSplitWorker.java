@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.util.Map;
+import org.apache.skywalking.oap.server.core.analysis.indicator.*;
+import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
+import org.slf4j.*;
+
+/**
+ * Split the fused indicators into the real indicators, and send them to their own persistent workers.
+ */
+public class FusedIndicatorSplitWorker extends AbstractWorker<Indicator> {
+
+    private static final Logger logger = LoggerFactory.getLogger(FusedIndicatorSplitWorker.class);
+
+    private final Map<Class<? extends Indicator>, IndicatorPersistentWorker> persistentWorkers;
+
+    FusedIndicatorSplitWorker(int workerId, Map<Class<? extends Indicator>, IndicatorPersistentWorker> persistentWorkers) {
+        super(workerId);
+        this.persistentWorkers = persistentWorkers;
+    }
+
+    @Override public void in(Indicator indicator) {
+        for (Indicator splitIndicator : ((FusedIndicator)indicator).split()) {
+            IndicatorPersistentWorker persistentWorker = persistentWorkers.get(splitIndicator.getClass());
+            if (persistentWorker == null) {
+                logger.error("Persistent worker of indicator {} not found.", splitIndicator.getClass().getName());
+            } else {
+                persistentWorker.in(splitIndicator);
+            }
+        }
+    }
+}
@@ -19,8 +19,10 @@
 package org.apache.skywalking.oap.server.core.analysis.worker;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.apm.commons.datacarrier.partition.HashCodePartitioner;
 import org.apache.skywalking.oap.server.core.analysis.data.*;
 import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
@@ -35,15 +37,23 @@ public class IndicatorAggregateWorker extends AbstractWorker<Indicator> {
 
     private AbstractWorker<Indicator> nextWorker;
     private final DataCarrier<Indicator> dataCarrier;
-    private final MergeDataCache<Indicator> mergeDataCache;
-    private int messageNum;
-
-    IndicatorAggregateWorker(int workerId, AbstractWorker<Indicator> nextWorker) {
+    private final StripedMergeDataCache<Indicator> mergeDataCache;
+    private final AtomicInteger messageNum;
+
+    /**
+     * The indicators are partitioned into the channels by hash code, and every channel is consumed by only one thread,
+     * so the indicators with the same key are always aggregated in the same thread.
+     *
+     * @param channelSize raised to the consumer threads number when less than it.
+     */
+    IndicatorAggregateWorker(int workerId, AbstractWorker<Indicator> nextWorker, int channelSize, int consumerThreads) {
         super(workerId);
         this.nextWorker = nextWorker;
-        this.mergeDataCache = new MergeDataCache<>();
-        this.dataCarrier = new DataCarrier<>(1, 10000);
-        this.dataCarrier.consume(new AggregatorConsumer(this), 1);
+        this.mergeDataCache = new StripedMergeDataCache<>(consumerThreads);
+        this.messageNum = new AtomicInteger(0);
+        this.dataCarrier = new DataCarrier<>(Math.max(channelSize, consumerThreads), 10000);
+        this.dataCarrier.setPartitioner(new HashCodePartitioner<>());
+        this.dataCarrier.consume(new AggregatorConsumer(this), consumerThreads);
     }
 
     @Override public final void in(Indicator indicator) {
@@ -52,43 +62,30 @@ public class IndicatorAggregateWorker extends AbstractWorker<Indicator> {
     }
 
     private void onWork(Indicator indicator) {
-        messageNum++;
         aggregate(indicator);
 
-        if (messageNum >= 1000 || indicator.getEndOfBatchContext().isEndOfBatch()) {
+        if (messageNum.incrementAndGet() >= 1000 || indicator.getEndOfBatchContext().isEndOfBatch()) {
+            messageNum.set(0);
             sendToNext();
-            messageNum = 0;
         }
     }
 
-    private void sendToNext() {
-        mergeDataCache.switchPointer();
-        while (mergeDataCache.getLast().isWriting()) {
-            try {
-                Thread.sleep(10);
-            } catch (InterruptedException e) {
-                logger.error(e.getMessage(), e);
-            }
-        }
-
-        mergeDataCache.getLast().collection().forEach((Indicator key, Indicator data) -> {
+    /**
+     * Synchronized because the cache only supports one flushing thread, the other consumer threads keep aggregating
+     * into the new buffers.
+     */
+    private synchronized void sendToNext() {
+        mergeDataCache.flush().forEach(data -> {
             if (logger.isDebugEnabled()) {
                 logger.debug(data.toString());
             }
 
             nextWorker.in(data);
         });
-        mergeDataCache.finishReadingLast();
     }
 
     private void aggregate(Indicator indicator) {
-        mergeDataCache.writing();
-        if (mergeDataCache.containsKey(indicator)) {
-            mergeDataCache.get(indicator).combine(indicator);
-        } else {
-            mergeDataCache.put(indicator);
-        }
-        mergeDataCache.finishWriting();
+        mergeDataCache.merge(indicator);
     }
 
     private class AggregatorConsumer implements IConsumer<Indicator> {
@@ -19,14 +19,20 @@
 package org.apache.skywalking.oap.server.core.analysis.worker;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.*;
+import lombok.Getter;
+import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.analysis.data.*;
-import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+import org.apache.skywalking.oap.server.core.analysis.indicator.*;
+import org.apache.skywalking.oap.server.core.remote.client.RemoteClientManager;
+import org.apache.skywalking.oap.server.core.remote.selector.ConsistentHashRing;
 import org.apache.skywalking.oap.server.core.storage.*;
 import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.slf4j.*;
 
-import static java.util.Objects.nonNull;
+import static java.util.Objects.*;
 
 /**
  * @author peng-yongsheng
@@ -35,113 +41,295 @@ public class IndicatorPersistentWorker extends AbstractWorker<Indicator> {
 
     private static final Logger logger = LoggerFactory.getLogger(IndicatorPersistentWorker.class);
 
-    private final String modelName;
-    private final MergeDataCache<Indicator> mergeDataCache;
-    private final IBatchDAO batchDAO;
+    /**
+     * The max number of indicators read from the storage in one round trip.
+     */
+    private static final int STORAGE_READ_BATCH_SIZE = 1000;
+
+    /**
+     * The max number of persistence cycles in a row that an indicator failed to be read from the storage, it is
+     * dropped after that, not to grow the cache every round when a partition or an id keeps failing.
+     */
+    private static final int MAX_READ_ATTEMPTS = 3;
+
+    @Getter private final String modelName;
+    private final ModuleManager moduleManager;
+    private final StripedMergeDataCache<Indicator> mergeDataCache;
+    private final AtomicBoolean flushing;
+    private final AtomicBoolean flushRequested;
     private final IIndicatorDAO indicatorDAO;
     private final int blockBatchPersistenceSize;
     private final AbstractWorker<Indicator> nextWorker;
+    private final IndicatorTransWorker transWorker;
+    private final PersistedIndicatorCache persistedCache;
+    /**
+     * The ids of the indicators failed to be written, removed from the persisted cache by the next flush.
+     */
+    private final Queue<String> invalidatedIds;
+    /**
+     * The read attempts of the indicators which failed to be read, only accessed by the flushing thread.
+     */
+    private final Map<String, Integer> readAttempts;
+    private RemoteClientManager remoteClientManager;
+    private ConsistentHashRing persistedHashRing;
+    /**
+     * Upsert the additive indicators instead of reading and combining them, when the storage supports it and no next
+     * worker needs the combined value.
+     */
+    private final boolean upsertEnabled;
+    /**
+     * The number of indicators read from the storage in the last persistence cycle, and the time cost in millis.
+     */
+    @Getter private volatile int storageReadCount;
+    @Getter private volatile long storageReadDuration;
+    /**
+     * The number of indicators dropped because they failed to be read in {@link #MAX_READ_ATTEMPTS} cycles.
+     */
+    @Getter private volatile long readFailedDropCount;
+    /**
+     * The number of indicators dropped because the cache was full, when the storage falls behind.
+     */
+    private final AtomicLong overflowDropCount;
 
+    /**
+     * @param nextWorker receives the indicators after they have been combined with the storage data, nullable.
+     * @param transWorker receives the increments of this persistence cycle before combining with the storage data,
+     * nullable.
+     * @param persistedCache used instead of reading the storage when it has the indicator, nullable.
+     * @param maxCacheSize the max number of indicators waiting for persistence, the indicators with new ids are dropped
+     * beyond that, because the persistence rounds are skipped while the storage is overloaded.
+     */
     IndicatorPersistentWorker(int workerId, String modelName, int batchSize, ModuleManager moduleManager,
-        IIndicatorDAO indicatorDAO, AbstractWorker<Indicator> nextWorker) {
+        IIndicatorDAO indicatorDAO, AbstractWorker<Indicator> nextWorker, IndicatorTransWorker transWorker,
+        PersistedIndicatorCache persistedCache, int maxCacheSize) {
         super(workerId);
         this.modelName = modelName;
+        this.moduleManager = moduleManager;
         this.blockBatchPersistenceSize = batchSize;
-        this.mergeDataCache = new MergeDataCache<>();
-        this.batchDAO = moduleManager.find(StorageModule.NAME).getService(IBatchDAO.class);
+        this.mergeDataCache = new StripedMergeDataCache<>(Runtime.getRuntime().availableProcessors(), maxCacheSize);
+        this.flushing = new AtomicBoolean(false);
+        this.flushRequested = new AtomicBoolean(false);
         this.indicatorDAO = indicatorDAO;
         this.nextWorker = nextWorker;
+        this.transWorker = transWorker;
+        this.persistedCache = persistedCache;
+        this.invalidatedIds = new ConcurrentLinkedQueue<>();
+        this.readAttempts = new HashMap<>();
+        this.overflowDropCount = new AtomicLong(0);
+        this.upsertEnabled = indicatorDAO.isUpsertSupported() && isNull(nextWorker);
     }
 
-    public final Window<MergeDataCollection<Indicator>> getCache() {
-        return mergeDataCache;
-    }
-
+    /**
+     * Called by the gRPC threads of the remote service and the local remote worker concurrently. When the cache is
+     * full, ask the persistence timer to flush this worker ahead of the next round, the callers never wait for the
+     * storage.
+     */
     @Override public final void in(Indicator input) {
-        if (getCache().currentCollectionSize() >= blockBatchPersistenceSize) {
-            try {
-                if (getCache().trySwitchPointer()) {
-                    getCache().switchPointer();
-
-                    List<?> collection = buildBatchCollection();
-                    batchDAO.batchPersistence(collection);
-                }
-            } finally {
-                getCache().trySwitchPointerFinally();
+        if (!mergeDataCache.merge(input)) {
+            overflowDropped();
+            return;
+        }
+        if (mergeDataCache.size() >= blockBatchPersistenceSize && flushRequested.compareAndSet(false, true)) {
+            if (!PersistenceTimer.INSTANCE.flush(this)) {
+                flushRequested.set(false);
             }
         }
-        cacheData(input);
     }
 
-    public boolean flushAndSwitch() {
-        boolean isSwitch;
+    /**
+     * Flush the cached indicators and build the batch to persist them. Return an empty batch when another thread is
+     * doing it, the indicators are flushed in its or the next round.
+     */
+    public final List<?> flushAndBuildBatchCollection() {
+        if (!flushing.compareAndSet(false, true)) {
+            return Collections.emptyList();
+        }
+        flushRequested.set(false);
         try {
-            if (isSwitch = getCache().trySwitchPointer()) {
-                getCache().switchPointer();
-            }
+            return prepareBatch(mergeDataCache.flush());
         } finally {
-            getCache().trySwitchPointerFinally();
+            flushing.set(false);
         }
-        return isSwitch;
     }
 
-    public final List<?> buildBatchCollection() {
-        List<?> batchCollection = new LinkedList<>();
-        try {
-            while (getCache().getLast().isWriting()) {
-                try {
-                    Thread.sleep(10);
-                } catch (InterruptedException e) {
-                    logger.warn("thread wake up");
+    private List<Object> prepareBatch(List<Indicator> indicators) {
+        List<Object> batchCollection = new LinkedList<>();
+
+        if (upsertEnabled) {
+            List<Indicator> notAdditiveIndicators = new ArrayList<>(indicators.size());
+            indicators.forEach(data -> {
+                if (data instanceof AdditiveIndicator) {
+                    upsert(data, batchCollection);
+                } else {
+                    notAdditiveIndicators.add(data);
                 }
-            }
+            });
+            indicators = notAdditiveIndicators;
+        }
 
-            if (getCache().getLast().collection() != null) {
-                batchCollection = prepareBatch(getCache().getLast());
-            }
-        } finally {
-            getCache().finishReadingLast();
+        if (nonNull(persistedCache)) {
+            invalidatePersistedCache();
+            persistedCache.removeExpired(System.currentTimeMillis());
         }
-        return batchCollection;
-    }
 
-    private List<Object> prepareBatch(MergeDataCollection<Indicator> collection) {
-        List<Object> batchCollection = new LinkedList<>();
-        collection.collection().forEach((id, data) -> {
-            Indicator dbData = null;
-            try {
-                dbData = indicatorDAO.get(modelName, data);
-            } catch (Throwable t) {
-                logger.error(t.getMessage(), t);
-            }
-            try {
-                if (nonNull(dbData)) {
-                    data.combine(dbData);
-                    batchCollection.add(indicatorDAO.prepareBatchUpdate(modelName, data));
+        int readCount = 0;
+        long readDuration = 0;
+        for (int i = 0; i < indicators.size(); i += STORAGE_READ_BATCH_SIZE) {
+            List<Indicator> indicatorsInBatch = indicators.subList(i, Math.min(i + STORAGE_READ_BATCH_SIZE, indicators.size()));
+
+            Map<String, Indicator> dbDataMap = new HashMap<>();
+            List<Indicator> notCachedIndicators = new ArrayList<>(indicatorsInBatch.size());
+            indicatorsInBatch.forEach(data -> {
+                Indicator cachedData = nonNull(persistedCache) ? persistedCache.get(data) : null;
+                if (nonNull(cachedData)) {
+                    dbDataMap.put(data.id(), cachedData);
                 } else {
-                    batchCollection.add(indicatorDAO.prepareBatchInsert(modelName, data));
+                    notCachedIndicators.add(data);
                 }
+            });
 
-                nextWorker.in(data);
-            } catch (Throwable t) {
-                logger.error(t.getMessage(), t);
+            Set<String> failedIds = new HashSet<>();
+            if (!notCachedIndicators.isEmpty()) {
+                long startTime = System.currentTimeMillis();
+                dbDataMap.putAll(multiGet(notCachedIndicators, failedIds));
+                readDuration += System.currentTimeMillis() - startTime;
+                readCount += notCachedIndicators.size();
+            }
+
+            int dropped = 0;
+            for (Indicator data : indicatorsInBatch) {
+                if (failedIds.contains(data.id())) {
+                    if (readAttempts.merge(data.id(), 1, Integer::sum) < MAX_READ_ATTEMPTS) {
+                        if (!mergeDataCache.merge(data)) {
+                            readAttempts.remove(data.id());
+                            overflowDropped();
+                        }
+                    } else {
+                        readAttempts.remove(data.id());
+                        dropped++;
+                    }
+                } else {
+                    if (!readAttempts.isEmpty()) {
+                        readAttempts.remove(data.id());
+                    }
+                    prepare(data, dbDataMap.get(data.id()), batchCollection);
+                }
+            }
+            if (!failedIds.isEmpty()) {
+                readFailedDropCount += dropped;
+                logger.warn("model: {}, {} indicators failed to be read from storage, persist them in the next round, {} dropped after {} attempts, {} dropped in total.",
+                    modelName, failedIds.size() - dropped, dropped, MAX_READ_ATTEMPTS, readFailedDropCount);
             }
-        });
+        }
 
+        this.storageReadCount = readCount;
+        this.storageReadDuration = readDuration;
         return batchCollection;
     }
 
-    private void cacheData(Indicator input) {
-        mergeDataCache.writing();
-        if (mergeDataCache.containsKey(input)) {
-            Indicator indicator = mergeDataCache.get(input);
-            indicator.combine(input);
-            indicator.calculate();
-        } else {
-            input.calculate();
-            mergeDataCache.put(input);
+    /**
+     * Logs the first drop and then one of every thousand, not to flood the log while the storage is overloaded.
+     */
+    private void overflowDropped() {
+        long dropped = overflowDropCount.incrementAndGet();
+        if (dropped % 1000 == 1) {
+            logger.warn("model: {}, the persistence cache is full, drop the indicator, {} indicators dropped in total.", modelName, dropped);
         }
+    }
+
+    public long getOverflowDropCount() {
+        return overflowDropCount.get();
+    }
 
-        mergeDataCache.finishWriting();
+    /**
+     * Called by the storage threads when the indicator failed to be written.
+     */
+    void invalidate(String id) {
+        if (nonNull(persistedCache)) {
+            invalidatedIds.offer(id);
+        }
+    }
+
+    /**
+     * Remove the indicators failed to be written, and clear all when the hash ring has changed, because the entities
+     * which moved away and back may have been persisted by other OAP nodes in the meantime.
+     */
+    private void invalidatePersistedCache() {
+        ConsistentHashRing hashRing = getRemoteClientManager().getHashRing();
+        if (hashRing != persistedHashRing) {
+            persistedCache.clear();
+            invalidatedIds.clear();
+            persistedHashRing = hashRing;
+            return;
+        }
+
+        String id;
+        while ((id = invalidatedIds.poll()) != null) {
+            persistedCache.remove(id);
+        }
+    }
+
+    private RemoteClientManager getRemoteClientManager() {
+        if (isNull(remoteClientManager)) {
+            remoteClientManager = moduleManager.find(CoreModule.NAME).getService(RemoteClientManager.class);
+        }
+        return remoteClientManager;
+    }
+
+    /**
+     * The indicators failed to be read are put into the failed ids, instead of being taken as absent in the storage,
+     * otherwise they would be inserted and overwrite the stored data.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Indicator> multiGet(List<Indicator> indicators, Set<String> failedIds) {
+        Map<String, Indicator> dbDataMap = new HashMap<>();
+        try {
+            List<Indicator> dbIndicators = indicatorDAO.multiGet(modelName, indicators, failedIds);
+            dbIndicators.forEach(dbData -> dbDataMap.put(dbData.id(), dbData));
+        } catch (Throwable t) {
+            logger.error(t.getMessage(), t);
+            indicators.forEach(data -> failedIds.add(data.id()));
+        }
+        return dbDataMap;
+    }
+
+    private void upsert(Indicator data, List<Object> batchCollection) {
+        if (nonNull(transWorker)) {
+            transWorker.in(data);
+        }
+
+        try {
+            data.calculate();
+            batchCollection.add(indicatorDAO.prepareBatchUpsert(modelName, data));
+        } catch (Throwable t) {
+            logger.error(t.getMessage(), t);
+        }
+    }
+
+    private void prepare(Indicator data, Indicator dbData, List<Object> batchCollection) {
+        if (nonNull(transWorker)) {
+            transWorker.in(data);
+        }
+
+        try {
+            if (nonNull(dbData)) {
+                data.combine(dbData);
+                data.calculate();
+                batchCollection.add(indicatorDAO.prepareBatchUpdate(modelName, data));
+            } else {
+                data.calculate();
+                batchCollection.add(indicatorDAO.prepareBatchInsert(modelName, data));
+            }
+
+            if (nonNull(persistedCache)) {
+                persistedCache.put(data);
+            }
+
+            if (nonNull(nextWorker)) {
+                nextWorker.in(data);
+            }
+        } catch (Throwable t) {
+            logger.error(t.getMessage(), t);
+        }
     }
 }
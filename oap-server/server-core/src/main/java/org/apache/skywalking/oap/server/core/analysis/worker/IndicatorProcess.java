@@ -20,8 +20,10 @@ package org.apache.skywalking.oap.server.core.analysis.worker;
 
 import java.util.*;
 import lombok.Getter;
-import org.apache.skywalking.oap.server.core.UnexpectedException;
-import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+import org.apache.skywalking.oap.server.core.*;
+import org.apache.skywalking.oap.server.core.analysis.data.PersistedIndicatorCache;
+import org.apache.skywalking.oap.server.core.analysis.indicator.*;
+import org.apache.skywalking.oap.server.core.query.entity.Step;
 import org.apache.skywalking.oap.server.core.storage.*;
 import org.apache.skywalking.oap.server.core.storage.annotation.StorageEntityAnnotationUtils;
 import org.apache.skywalking.oap.server.core.worker.*;
@@ -34,13 +36,16 @@ public enum IndicatorProcess {
     INSTANCE;
 
     private Map<Class<? extends Indicator>, IndicatorAggregateWorker> entryWorkers = new HashMap<>();
+    private Map<Class<? extends Indicator>, IndicatorPersistentWorker> persistentEntryWorkers = new HashMap<>();
+    private Map<String, IndicatorPersistentWorker> modelPersistentWorkers = new HashMap<>();
     @Getter private List<IndicatorPersistentWorker> persistentWorkers = new ArrayList<>();
 
     public void in(Indicator indicator) {
         entryWorkers.get(indicator.getClass()).in(indicator);
     }
 
-    public void create(ModuleManager moduleManager, Class<? extends Indicator> indicatorClass) {
+    public void create(ModuleManager moduleManager, CoreModuleConfig moduleConfig,
+        Class<? extends Indicator> indicatorClass) {
         String modelName = StorageEntityAnnotationUtils.getModelName(indicatorClass);
         Class<? extends StorageBuilder> builderClass = StorageEntityAnnotationUtils.getBuilder(indicatorClass);
 
@@ -55,17 +60,99 @@ public enum IndicatorProcess {
         AlarmNotifyWorker alarmNotifyWorker = new AlarmNotifyWorker(WorkerIdGenerator.INSTANCES.generate(), moduleManager);
         WorkerInstances.INSTANCES.put(alarmNotifyWorker.getWorkerId(), alarmNotifyWorker);
 
+        IndicatorPersistentWorker hourPersistentWorker = persistentWorker(moduleManager, moduleConfig, indicatorDAO, Step.HOUR, TimePyramidTableNameBuilder.build(Step.HOUR, modelName));
+        IndicatorPersistentWorker dayPersistentWorker = persistentWorker(moduleManager, moduleConfig, indicatorDAO, Step.DAY, TimePyramidTableNameBuilder.build(Step.DAY, modelName));
+        IndicatorPersistentWorker monthPersistentWorker = persistentWorker(moduleManager, moduleConfig, indicatorDAO, Step.MONTH, TimePyramidTableNameBuilder.build(Step.MONTH, modelName));
+
+        IndicatorTransWorker transWorker = new IndicatorTransWorker(WorkerIdGenerator.INSTANCES.generate(), hourPersistentWorker, dayPersistentWorker, monthPersistentWorker);
+        WorkerInstances.INSTANCES.put(transWorker.getWorkerId(), transWorker);
+
         IndicatorPersistentWorker persistentWorker = new IndicatorPersistentWorker(WorkerIdGenerator.INSTANCES.generate(), modelName,
-            1000, moduleManager, indicatorDAO, alarmNotifyWorker);
+            1000, moduleManager, indicatorDAO, alarmNotifyWorker, transWorker, persistedCache(moduleConfig, Step.MINUTE),
+            moduleConfig.getPersistentMaxCacheSize());
         WorkerInstances.INSTANCES.put(persistentWorker.getWorkerId(), persistentWorker);
+
+        /*
+         * The minute persistent worker must be flushed before the time pyramid workers in the same persistence cycle,
+         * because it feeds them.
+         */
+        persistentEntryWorkers.put(indicatorClass, persistentWorker);
+        modelPersistentWorkers.put(modelName, persistentWorker);
         persistentWorkers.add(persistentWorker);
+        persistentWorkers.add(hourPersistentWorker);
+        persistentWorkers.add(dayPersistentWorker);
+        persistentWorkers.add(monthPersistentWorker);
 
         IndicatorRemoteWorker remoteWorker = new IndicatorRemoteWorker(WorkerIdGenerator.INSTANCES.generate(), moduleManager, persistentWorker);
         WorkerInstances.INSTANCES.put(remoteWorker.getWorkerId(), remoteWorker);
 
-        IndicatorAggregateWorker aggregateWorker = new IndicatorAggregateWorker(WorkerIdGenerator.INSTANCES.generate(), remoteWorker);
+        IndicatorAggregateWorker aggregateWorker = new IndicatorAggregateWorker(WorkerIdGenerator.INSTANCES.generate(), remoteWorker,
+            moduleConfig.getAggregateChannelSize(), aggregateConsumerThreads(moduleConfig, modelName));
         WorkerInstances.INSTANCES.put(aggregateWorker.getWorkerId(), aggregateWorker);
 
         entryWorkers.put(indicatorClass, aggregateWorker);
     }
+
+    /**
+     * Create the workers of a fused indicator after all the indicators have been created, the split indicators go to
+     * the persistent workers of their own. No storage model, because the fused indicator is never stored.
+     */
+    public void createFused(ModuleManager moduleManager, CoreModuleConfig moduleConfig,
+        Class<? extends FusedIndicator> fusedIndicatorClass) {
+        FusedIndicatorSplitWorker splitWorker = new FusedIndicatorSplitWorker(WorkerIdGenerator.INSTANCES.generate(), persistentEntryWorkers);
+        WorkerInstances.INSTANCES.put(splitWorker.getWorkerId(), splitWorker);
+
+        IndicatorRemoteWorker remoteWorker = new IndicatorRemoteWorker(WorkerIdGenerator.INSTANCES.generate(), moduleManager, splitWorker);
+        WorkerInstances.INSTANCES.put(remoteWorker.getWorkerId(), remoteWorker);
+
+        IndicatorAggregateWorker aggregateWorker = new IndicatorAggregateWorker(WorkerIdGenerator.INSTANCES.generate(), remoteWorker,
+            moduleConfig.getAggregateChannelSize(), moduleConfig.getAggregateConsumerThreads());
+        WorkerInstances.INSTANCES.put(aggregateWorker.getWorkerId(), aggregateWorker);
+
+        entryWorkers.put(fusedIndicatorClass, aggregateWorker);
+    }
+
+    private IndicatorPersistentWorker persistentWorker(ModuleManager moduleManager, CoreModuleConfig moduleConfig,
+        IIndicatorDAO indicatorDAO, Step step, String modelName) {
+        IndicatorPersistentWorker persistentWorker = new IndicatorPersistentWorker(WorkerIdGenerator.INSTANCES.generate(), modelName,
+            1000, moduleManager, indicatorDAO, null, null, persistedCache(moduleConfig, step), moduleConfig.getPersistentMaxCacheSize());
+        WorkerInstances.INSTANCES.put(persistentWorker.getWorkerId(), persistentWorker);
+        modelPersistentWorkers.put(modelName, persistentWorker);
+        return persistentWorker;
+    }
+
+    /**
+     * Called by the storage when the indicator failed to be written, the persistent worker must not combine the next
+     * data with its unsaved value.
+     */
+    public void persistenceFailed(String modelName, String id) {
+        IndicatorPersistentWorker persistentWorker = modelPersistentWorkers.get(modelName);
+        if (persistentWorker != null) {
+            persistentWorker.invalidate(id);
+        }
+    }
+
+    private PersistedIndicatorCache persistedCache(CoreModuleConfig moduleConfig, Step step) {
+        if (moduleConfig.getIndicatorCacheMaxSize() <= 0) {
+            return null;
+        }
+        return new PersistedIndicatorCache(step, moduleConfig.getIndicatorCacheExpiredMinutes(), moduleConfig.getIndicatorCacheMaxSize());
+    }
+
+    /**
+     * @return the consumer threads of the given indicator in {@link CoreModuleConfig#getAggregateConsumerThreadsOfIndicators()},
+     * or the default one.
+     */
+    private int aggregateConsumerThreads(CoreModuleConfig moduleConfig, String modelName) {
+        String threadsOfIndicators = moduleConfig.getAggregateConsumerThreadsOfIndicators();
+        if (threadsOfIndicators != null) {
+            for (String threadsOfIndicator : threadsOfIndicators.split(",")) {
+                String[] nameAndThreads = threadsOfIndicator.trim().split(":");
+                if (nameAndThreads.length == 2 && nameAndThreads[0].trim().equals(modelName)) {
+                    return Integer.parseInt(nameAndThreads[1].trim());
+                }
+            }
+        }
+        return moduleConfig.getAggregateConsumerThreads();
+    }
 }
@@ -44,7 +44,7 @@ public class IndicatorRemoteWorker extends AbstractWorker<Indicator> {
 
     @Override public final void in(Indicator indicator) {
         try {
-            remoteSender.send(nextWorker.getWorkerId(), indicator, Selector.HashCode);
+            remoteSender.send(nextWorker.getWorkerId(), indicator, Selector.ConsistentHash);
         } catch (Throwable e) {
             logger.error(e.getMessage(), e);
         }
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.Getter;
+import org.apache.skywalking.oap.server.core.analysis.record.Record;
+import org.apache.skywalking.oap.server.core.storage.*;
+import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
+import org.slf4j.*;
+
+/**
+ * Buffer the records and write them into the storage by batch. The records are insert only, so there is no storage
+ * read in the persistence cycle.
+ */
+public class RecordPersistentWorker extends AbstractWorker<Record> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecordPersistentWorker.class);
+
+    @Getter private final String modelName;
+    private final AtomicBoolean flushRequested;
+    private final IRecordDAO recordDAO;
+    private final int blockBatchPersistenceSize;
+    private List<Record> records;
+
+    RecordPersistentWorker(int workerId, String modelName, int batchSize, IRecordDAO recordDAO) {
+        super(workerId);
+        this.modelName = modelName;
+        this.blockBatchPersistenceSize = batchSize;
+        this.flushRequested = new AtomicBoolean(false);
+        this.recordDAO = recordDAO;
+        this.records = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Called by the receiver threads concurrently. When the buffer is full, ask the persistence timer to flush this
+     * worker ahead of the next round, the callers never wait for the storage.
+     */
+    @Override public final void in(Record record) {
+        boolean full;
+        synchronized (this) {
+            records.add(record);
+            full = records.size() >= blockBatchPersistenceSize;
+        }
+
+        if (full && flushRequested.compareAndSet(false, true)) {
+            if (!PersistenceTimer.INSTANCE.flush(this)) {
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    public final List<?> flushAndBuildBatchCollection() {
+        flushRequested.set(false);
+        List<Record> flushedRecords;
+        synchronized (this) {
+            flushedRecords = swap();
+        }
+        return prepareBatch(flushedRecords);
+    }
+
+    private List<Record> swap() {
+        List<Record> flushedRecords = records;
+        records = new ArrayList<>(blockBatchPersistenceSize);
+        return flushedRecords;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> prepareBatch(List<Record> flushedRecords) {
+        List<Object> batchCollection = new ArrayList<>(flushedRecords.size());
+        for (Record record : flushedRecords) {
+            try {
+                batchCollection.add(recordDAO.prepareBatchInsert(modelName, record));
+            } catch (Throwable t) {
+                logger.error(t.getMessage(), t);
+            }
+        }
+        return batchCollection;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.query;
+
+import java.io.IOException;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.query.entity.*;
+import org.apache.skywalking.oap.server.core.storage.StorageModule;
+import org.apache.skywalking.oap.server.core.storage.query.ITraceQueryDAO;
+import org.apache.skywalking.oap.server.library.module.*;
+import org.apache.skywalking.oap.server.library.module.Service;
+import org.slf4j.*;
+
+public class TraceQueryService implements Service {
+
+    private static final Logger logger = LoggerFactory.getLogger(TraceQueryService.class);
+
+    private final ModuleManager moduleManager;
+    private ITraceQueryDAO traceQueryDAO;
+
+    public TraceQueryService(ModuleManager moduleManager) {
+        this.moduleManager = moduleManager;
+    }
+
+    private ITraceQueryDAO getTraceQueryDAO() {
+        if (traceQueryDAO == null) {
+            this.traceQueryDAO = moduleManager.find(StorageModule.NAME).getService(ITraceQueryDAO.class);
+        }
+        return traceQueryDAO;
+    }
+
+    /**
+     * @param startSecondTB 0 means no limit, ignored with the trace id.
+     * @param endSecondTB 0 means no limit, ignored with the trace id.
+     * @param pageNum starts from 1.
+     */
+    public TraceBrief queryBasicTraces(final int serviceId, final String traceId, final String endpointName,
+        final long startSecondTB, final long endSecondTB, final long minTraceDuration, final long maxTraceDuration,
+        final TraceState traceState, final QueryOrder queryOrder, final int pageNum,
+        final int pageSize) throws IOException {
+        int limit = pageSize > 0 ? pageSize : 20;
+        int from = pageNum > 1 ? (pageNum - 1) * limit : 0;
+
+        /*
+         * The segments are indexed by the minute time bucket.
+         */
+        long startMinuteTB = startSecondTB / 100;
+        long endMinuteTB = endSecondTB / 100;
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("query basic traces, service id: {}, trace id: {}, endpoint name: {}, start: {}, end: {}, from: {}, limit: {}",
+                serviceId, traceId, endpointName, startMinuteTB, endMinuteTB, from, limit);
+        }
+        return getTraceQueryDAO().queryBasicTraces(startMinuteTB, endMinuteTB, minTraceDuration, maxTraceDuration,
+            endpointName, serviceId, traceId, limit, from, traceState, queryOrder);
+    }
+
+    /**
+     * @return the segments of the trace in the order of the start time.
+     */
+    public List<SegmentRecord> queryTraceSegments(final String traceId) throws IOException {
+        List<SegmentRecord> segments = new ArrayList<>(getTraceQueryDAO().queryByTraceId(traceId));
+        segments.sort(Comparator.comparingLong(SegmentRecord::getStartTime));
+        return segments;
+    }
+}
@@ -16,11 +16,14 @@
  *
  */
 
-package org.apache.skywalking.oap.query.graphql.type;
+package org.apache.skywalking.oap.server.core.query.entity;
 
-import java.util.List;
+import java.util.*;
+import lombok.*;
 
+@Getter
+@Setter
 public class LogEntity {
     private long time;
-    private List<KeyValue> data;
+    private final List<KeyValue> data = new ArrayList<>();
 }
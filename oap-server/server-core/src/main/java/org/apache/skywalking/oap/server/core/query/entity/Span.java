@@ -16,16 +16,19 @@
  *
  */
 
-package org.apache.skywalking.oap.query.graphql.type;
+package org.apache.skywalking.oap.server.core.query.entity;
 
-import java.util.List;
+import java.util.*;
+import lombok.*;
 
+@Getter
+@Setter
 public class Span {
     private String traceId;
     private String segmentId;
     private int spanId;
     private int parentSpanId;
-    private List<Ref> refs;
+    private final List<Ref> refs = new ArrayList<>();
     private String applicationCode;
     private long startTime;
     private long endTime;
@@ -35,7 +38,7 @@ public class Span {
     private String component;
     private boolean isError;
     private String layer;
-    private List<KeyValue> tags;
-    private List<LogEntity> logs;
+    private final List<KeyValue> tags = new ArrayList<>();
+    private final List<LogEntity> logs = new ArrayList<>();
     private String serviceCode;
 }
@@ -16,10 +16,12 @@
  *
  */
 
-package org.apache.skywalking.oap.query.graphql.type;
+package org.apache.skywalking.oap.server.core.query.entity;
 
-import java.util.List;
+import java.util.*;
+import lombok.Getter;
 
+@Getter
 public class Trace {
-    private List<Span> spans;
+    private final List<Span> spans = new ArrayList<>();
 }
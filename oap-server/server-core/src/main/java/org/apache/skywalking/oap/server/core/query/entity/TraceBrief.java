@@ -16,11 +16,14 @@
  *
  */
 
-package org.apache.skywalking.oap.query.graphql.type;
+package org.apache.skywalking.oap.server.core.query.entity;
 
-import java.util.List;
+import java.util.*;
+import lombok.*;
 
+@Getter
+@Setter
 public class TraceBrief {
-    private List<BasicTrace> traces;
+    private final List<BasicTrace> traces = new ArrayList<>();
     private int total;
 }
@@ -107,19 +107,19 @@ public class ServiceInstanceInventory extends RegisterSource {
 
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
-        remoteBuilder.setDataIntegers(0, getSequence());
-        remoteBuilder.setDataIntegers(1, serviceId);
-        remoteBuilder.setDataIntegers(2, isAddress);
-        remoteBuilder.setDataIntegers(3, addressId);
-        remoteBuilder.setDataIntegers(4, processNo);
-
-        remoteBuilder.setDataLongs(0, getRegisterTime());
-        remoteBuilder.setDataLongs(1, getHeartbeatTime());
-
-        remoteBuilder.setDataStrings(0, name);
-        remoteBuilder.setDataStrings(1, osName);
-        remoteBuilder.setDataStrings(2, hostName);
-        remoteBuilder.setDataStrings(3, ipv4s);
+        remoteBuilder.addDataIntegers(getSequence());
+        remoteBuilder.addDataIntegers(serviceId);
+        remoteBuilder.addDataIntegers(isAddress);
+        remoteBuilder.addDataIntegers(addressId);
+        remoteBuilder.addDataIntegers(processNo);
+
+        remoteBuilder.addDataLongs(getRegisterTime());
+        remoteBuilder.addDataLongs(getHeartbeatTime());
+
+        remoteBuilder.addDataStrings(name);
+        remoteBuilder.addDataStrings(osName);
+        remoteBuilder.addDataStrings(hostName);
+        remoteBuilder.addDataStrings(ipv4s);
         return remoteBuilder;
     }
 
@@ -92,14 +92,14 @@ public class ServiceInventory extends RegisterSource {
 
     @Override public RemoteData.Builder serialize() {
         RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
-        remoteBuilder.setDataIntegers(0, getSequence());
-        remoteBuilder.setDataIntegers(1, isAddress);
-        remoteBuilder.setDataIntegers(2, addressId);
+        remoteBuilder.addDataIntegers(getSequence());
+        remoteBuilder.addDataIntegers(isAddress);
+        remoteBuilder.addDataIntegers(addressId);
 
-        remoteBuilder.setDataLongs(0, getRegisterTime());
-        remoteBuilder.setDataLongs(1, getHeartbeatTime());
+        remoteBuilder.addDataLongs(getRegisterTime());
+        remoteBuilder.addDataLongs(getHeartbeatTime());
 
-        remoteBuilder.setDataStrings(0, name);
+        remoteBuilder.addDataStrings(name);
         return remoteBuilder;
     }
 
@@ -19,17 +19,29 @@
 package org.apache.skywalking.oap.server.core.remote;
 
 import io.grpc.stub.StreamObserver;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
+import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.remote.annotation.StreamDataClassGetter;
 import org.apache.skywalking.oap.server.core.remote.data.StreamData;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.*;
-import org.apache.skywalking.oap.server.core.worker.WorkerInstances;
+import org.apache.skywalking.oap.server.core.worker.*;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.apache.skywalking.oap.server.library.server.grpc.GRPCHandler;
 import org.slf4j.*;
 
 /**
+ * The received messages are put into the bounded queue of their next worker, then deserialized and handed to the
+ * worker by the consumer threads of that queue. The messages of the same stream data always go to the same consumer
+ * thread. When the queue is full, the gRPC thread waits for a free slot, so the acknowledgement of a batch is only sent
+ * once all its messages are queued and a slow worker holds back the sender at its max in flight messages. Messages for
+ * an unknown worker are dropped and never acknowledged, the sender counts them as lost when the ack times out.
+ *
  * @author peng-yongsheng
  */
 public class RemoteServiceHandler extends RemoteServiceGrpc.RemoteServiceImplBase implements GRPCHandler {
@@ -37,31 +49,47 @@ public class RemoteServiceHandler extends RemoteServiceGrpc.RemoteServiceImplBas
     private static final Logger logger = LoggerFactory.getLogger(RemoteServiceHandler.class);
 
     private final ModuleManager moduleManager;
+    private final int inboundBufferSize;
+    private final int inboundConsumerThreads;
+    private final Map<Integer, DataCarrier<RemoteMessage>> inboundQueues;
+    private final AtomicLong droppedMessages;
     private StreamDataClassGetter streamDataClassGetter;
 
-    public RemoteServiceHandler(ModuleManager moduleManager) {
+    public RemoteServiceHandler(ModuleManager moduleManager, int inboundBufferSize, int inboundConsumerThreads) {
         this.moduleManager = moduleManager;
+        this.inboundBufferSize = inboundBufferSize;
+        this.inboundConsumerThreads = inboundConsumerThreads;
+        this.inboundQueues = new ConcurrentHashMap<>();
+        this.droppedMessages = new AtomicLong(0);
     }
 
     @Override public StreamObserver<RemoteMessage> call(StreamObserver<Empty> responseObserver) {
-        if (Objects.isNull(streamDataClassGetter)) {
-            streamDataClassGetter = moduleManager.find(CoreModule.NAME).getService(StreamDataClassGetter.class);
-        }
-
         return new StreamObserver<RemoteMessage>() {
             @Override public void onNext(RemoteMessage message) {
-                int streamDataId = message.getStreamDataId();
-                int nextWorkerId = message.getNextWorkerId();
-                RemoteData remoteData = message.getRemoteData();
+                enqueue(message);
+            }
 
-                Class<StreamData> streamDataClass = streamDataClassGetter.findClassById(streamDataId);
-                try {
-                    StreamData streamData = streamDataClass.newInstance();
-                    streamData.deserialize(remoteData);
-                    WorkerInstances.INSTANCES.get(nextWorkerId).in(streamData);
-                } catch (InstantiationException | IllegalAccessException e) {
-                    logger.warn(e.getMessage());
+            @Override public void onError(Throwable throwable) {
+                logger.error(throwable.getMessage(), throwable);
+            }
+
+            @Override public void onCompleted() {
+                responseObserver.onNext(Empty.newBuilder().build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override public StreamObserver<RemoteMessageBatch> batchCall(StreamObserver<RemoteMessageAck> responseObserver) {
+        return new StreamObserver<RemoteMessageBatch>() {
+            @Override public void onNext(RemoteMessageBatch batch) {
+                int queued = 0;
+                for (RemoteMessage message : batch.getMessagesList()) {
+                    if (enqueue(message)) {
+                        queued++;
+                    }
                 }
+                responseObserver.onNext(RemoteMessageAck.newBuilder().setCount(queued).build());
             }
 
             @Override public void onError(Throwable throwable) {
@@ -69,9 +97,106 @@ public class RemoteServiceHandler extends RemoteServiceGrpc.RemoteServiceImplBas
             }
 
             @Override public void onCompleted() {
-                responseObserver.onNext(Empty.newBuilder().build());
                 responseObserver.onCompleted();
             }
         };
     }
+
+    public long getDroppedMessages() {
+        return droppedMessages.get();
+    }
+
+    /**
+     * @return true when the message is queued, blocking until the queue of its next worker has a free slot.
+     */
+    private boolean enqueue(RemoteMessage message) {
+        int nextWorkerId = message.getNextWorkerId();
+        DataCarrier<RemoteMessage> inboundQueue = inboundQueues.get(nextWorkerId);
+        if (Objects.isNull(inboundQueue)) {
+            AbstractWorker nextWorker = WorkerInstances.INSTANCES.get(nextWorkerId);
+            if (Objects.isNull(nextWorker)) {
+                dropped("unknown worker id: " + nextWorkerId);
+                return false;
+            }
+            inboundQueue = inboundQueues.computeIfAbsent(nextWorkerId, id -> createInboundQueue(nextWorker));
+        }
+
+        if (!inboundQueue.produce(message)) {
+            dropped("inbound queue of worker " + nextWorkerId + " is shut down");
+            return false;
+        }
+        return true;
+    }
+
+    private DataCarrier<RemoteMessage> createInboundQueue(AbstractWorker nextWorker) {
+        DataCarrier<RemoteMessage> inboundQueue = new DataCarrier<>(inboundConsumerThreads, inboundBufferSize, true);
+        inboundQueue.setPartitioner(new DataHashCodePartitioner());
+        inboundQueue.setBufferStrategy(BufferStrategy.BLOCKING);
+        inboundQueue.consume(new InboundConsumer(nextWorker), inboundConsumerThreads);
+        return inboundQueue;
+    }
+
+    /**
+     * Logs the first drop and then one of every thousand, not to flood the log when the workers fall behind.
+     */
+    private void dropped(String reason) {
+        long dropped = droppedMessages.incrementAndGet();
+        if (dropped % 1000 == 1) {
+            logger.warn("Drop the remote message, {}, {} messages dropped in total.", reason, dropped);
+        }
+    }
+
+    private StreamDataClassGetter getStreamDataClassGetter() {
+        if (Objects.isNull(streamDataClassGetter)) {
+            streamDataClassGetter = moduleManager.find(CoreModule.NAME).getService(StreamDataClassGetter.class);
+        }
+        return streamDataClassGetter;
+    }
+
+    /**
+     * Partitions the messages by the hash code of their stream data rather than of the whole message, which changes
+     * with the values of the indicator.
+     */
+    private static class DataHashCodePartitioner implements IDataPartitioner<RemoteMessage> {
+
+        @Override public int partition(int total, RemoteMessage message) {
+            return Math.abs(message.getDataHashCode() % total);
+        }
+
+        @Override public int maxRetryCount() {
+            return 1;
+        }
+    }
+
+    private class InboundConsumer implements IConsumer<RemoteMessage> {
+
+        private final AbstractWorker nextWorker;
+
+        private InboundConsumer(AbstractWorker nextWorker) {
+            this.nextWorker = nextWorker;
+        }
+
+        @Override public void init() {
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override public void consume(List<RemoteMessage> messages) {
+            for (RemoteMessage message : messages) {
+                try {
+                    StreamData streamData = getStreamDataClassGetter().newInstanceById(message.getStreamDataId());
+                    streamData.deserialize(message.getRemoteData());
+                    nextWorker.in(streamData);
+                } catch (Throwable t) {
+                    logger.error(t.getMessage(), t);
+                }
+            }
+        }
+
+        @Override public void onError(List<RemoteMessage> messages, Throwable t) {
+            logger.error(t.getMessage(), t);
+        }
+
+        @Override public void onExit() {
+        }
+    }
 }
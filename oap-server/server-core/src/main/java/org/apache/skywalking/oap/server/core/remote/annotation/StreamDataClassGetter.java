@@ -29,4 +29,9 @@ public interface StreamDataClassGetter extends Service {
     int findIdByClass(Class streamDataClass);
 
     Class<StreamData> findClassById(int id);
+
+    /**
+     * Create the stream data by the factory registered with the class, no reflection per call.
+     */
+    StreamData newInstanceById(int id);
 }
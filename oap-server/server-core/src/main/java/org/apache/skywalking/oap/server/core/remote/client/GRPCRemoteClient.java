@@ -18,8 +18,11 @@
 
 package org.apache.skywalking.oap.server.core.remote.client;
 
+import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
@@ -31,20 +34,43 @@ import org.apache.skywalking.oap.server.library.client.grpc.GRPCClient;
 import org.slf4j.*;
 
 /**
+ * Send the stream data to another OAP node through one long-lived stream. The messages are sent in batches, and at
+ * most max in flight messages are not acknowledged by the receiver, otherwise the consumer thread of the carrier waits,
+ * then the carrier blocks the producers.
+ *
+ * The batch which failed to be written into a broken stream is sent again by a new stream. The messages sent but not
+ * acknowledged when the stream breaks are counted as lost, not sent again, because the receiver may have merged them.
+ *
+ * When the client is closed, the consumer thread sends the messages left in the carrier, completes the stream after the
+ * receiver acknowledged them, then shuts down the channel.
+ *
  * @author peng-yongsheng
  */
 public class GRPCRemoteClient implements RemoteClient, Comparable<GRPCRemoteClient> {
 
     private static final Logger logger = LoggerFactory.getLogger(GRPCRemoteClient.class);
 
+    /**
+     * Max wait time of the acknowledgements, in seconds. The stream is considered broken after that.
+     */
+    private static final int ACK_TIMEOUT = 30;
+
     private final GRPCClient client;
     private final DataCarrier<RemoteMessage> carrier;
     private final StreamDataClassGetter streamDataClassGetter;
+    private final int batchSize;
+    private final Semaphore inFlightMessages;
+    private final AtomicLong lostMessages;
+    private BatchStream batchStream;
 
     public GRPCRemoteClient(StreamDataClassGetter streamDataClassGetter, RemoteInstance remoteInstance, int channelSize,
-        int bufferSize) {
+        int bufferSize, int batchSize, int maxInFlightMessages) {
         this.streamDataClassGetter = streamDataClassGetter;
         this.client = new GRPCClient(remoteInstance.getHost(), remoteInstance.getPort());
+        this.client.initialize();
+        this.batchSize = batchSize;
+        this.inFlightMessages = new Semaphore(Math.max(maxInFlightMessages, batchSize));
+        this.lostMessages = new AtomicLong(0);
         this.carrier = new DataCarrier<>(channelSize, bufferSize);
         this.carrier.setBufferStrategy(BufferStrategy.BLOCKING);
         this.carrier.consume(new RemoteMessageConsumer(), 1);
@@ -56,6 +82,7 @@ public class GRPCRemoteClient implements RemoteClient, Comparable<GRPCRemoteClie
         builder.setNextWorkerId(nextWorkerId);
         builder.setStreamDataId(streamDataId);
         builder.setRemoteData(streamData.serialize());
+        builder.setDataHashCode(streamData.hashCode());
 
         this.carrier.produce(builder.build());
     }
@@ -65,11 +92,17 @@ public class GRPCRemoteClient implements RemoteClient, Comparable<GRPCRemoteClie
         }
 
         @Override public void consume(List<RemoteMessage> remoteMessages) {
-            StreamObserver<RemoteMessage> streamObserver = createStreamObserver();
+            RemoteMessageBatch.Builder batch = RemoteMessageBatch.newBuilder();
             for (RemoteMessage remoteMessage : remoteMessages) {
-                streamObserver.onNext(remoteMessage);
+                batch.addMessages(remoteMessage);
+                if (batch.getMessagesCount() >= batchSize) {
+                    send(batch.build());
+                    batch = RemoteMessageBatch.newBuilder();
+                }
+            }
+            if (batch.getMessagesCount() > 0) {
+                send(batch.build());
             }
-            streamObserver.onCompleted();
         }
 
         @Override public void onError(List<RemoteMessage> remoteMessages, Throwable t) {
@@ -77,69 +110,175 @@ public class GRPCRemoteClient implements RemoteClient, Comparable<GRPCRemoteClie
         }
 
         @Override public void onExit() {
+            if (batchStream != null && !batchStream.isBroken()) {
+                batchStream.close();
+            }
+            client.shutdown();
         }
     }
 
-    private StreamObserver<RemoteMessage> createStreamObserver() {
-        RemoteServiceGrpc.RemoteServiceStub stub = RemoteServiceGrpc.newStub(client.getChannel());
+    @Override public void close() {
+        carrier.shutdownConsumers();
+    }
 
-        StreamStatus status = new StreamStatus(false);
-        return stub.call(new StreamObserver<Empty>() {
-            @Override public void onNext(Empty empty) {
+    /**
+     * Only called by the single consumer thread.
+     */
+    private void send(RemoteMessageBatch batch) {
+        int count = batch.getMessagesCount();
+        try {
+            if (!inFlightMessages.tryAcquire(count, ACK_TIMEOUT, TimeUnit.SECONDS)) {
+                logger.warn("No acknowledgement from remote {} in {} seconds, reopen the stream.", client, ACK_TIMEOUT);
+                if (batchStream != null) {
+                    batchStream.abort();
+                }
+                inFlightMessages.acquire(count);
             }
+        } catch (InterruptedException e) {
+            logger.error(e.getMessage(), e);
+            return;
+        }
 
-            @Override public void onError(Throwable throwable) {
-                logger.error(throwable.getMessage(), throwable);
+        if (batchStream == null || batchStream.isBroken()) {
+            batchStream = new BatchStream();
+        }
+        if (!batchStream.send(batch)) {
+            batchStream = new BatchStream();
+            if (!batchStream.send(batch)) {
+                inFlightMessages.release(count);
+                lost(count);
             }
+        }
+    }
 
-            @Override public void onCompleted() {
-                status.finished();
-            }
-        });
+    private void lost(int count) {
+        lostMessages.addAndGet(count);
+        logger.error("{} messages to remote {} are lost, {} in total.", count, client, lostMessages.get());
     }
 
-    class StreamStatus {
+    /**
+     * @return the number of the messages which are not acknowledged by the remote when the stream breaks, or failed to
+     * be sent.
+     */
+    public long getLostMessages() {
+        return lostMessages.get();
+    }
 
-        private final Logger logger = LoggerFactory.getLogger(StreamStatus.class);
+    /**
+     * One stream to the remote, the messages not acknowledged are released and counted as lost when the stream
+     * breaks.
+     */
+    private class BatchStream {
+        private final AtomicInteger unacknowledged;
+        private final StreamObserver<RemoteMessageBatch> streamObserver;
+        private final CountDownLatch completed;
+        private volatile boolean broken;
 
-        private volatile boolean status;
+        private BatchStream() {
+            this.unacknowledged = new AtomicInteger(0);
+            this.completed = new CountDownLatch(1);
+            this.broken = false;
 
-        StreamStatus(boolean status) {
-            this.status = status;
-        }
+            RemoteServiceGrpc.RemoteServiceStub stub = RemoteServiceGrpc.newStub(client.getChannel());
+            this.streamObserver = stub.batchCall(new StreamObserver<RemoteMessageAck>() {
+                @Override public void onNext(RemoteMessageAck ack) {
+                    release(ack.getCount());
+                }
+
+                @Override public void onError(Throwable throwable) {
+                    logger.error("Stream to remote {} broken: {}", client, throwable.getMessage());
+                    broken();
+                }
 
-        public boolean isFinish() {
-            return status;
+                @Override public void onCompleted() {
+                    broken();
+                }
+            });
         }
 
-        void finished() {
-            this.status = true;
+        private boolean isBroken() {
+            return broken;
         }
 
         /**
-         * @param maxTimeout max wait time, milliseconds.
+         * @return false if the batch failed to be written, it isn't sent and its permits are still held by the caller.
          */
-        public void wait4Finish(long maxTimeout) {
-            long time = 0;
-            while (!status) {
-                if (time > maxTimeout) {
-                    break;
+        private boolean send(RemoteMessageBatch batch) {
+            if (broken) {
+                return false;
+            }
+            unacknowledged.addAndGet(batch.getMessagesCount());
+            try {
+                streamObserver.onNext(batch);
+                return true;
+            } catch (Throwable t) {
+                logger.error(t.getMessage(), t);
+                int notSent = take(batch.getMessagesCount());
+                abort();
+                if (notSent < batch.getMessagesCount()) {
+                    // Released by the break in the meantime, hold them again for sending the batch by a new stream.
+                    inFlightMessages.acquireUninterruptibly(batch.getMessagesCount() - notSent);
                 }
-                try2Sleep(5);
-                time += 5;
+                return false;
             }
         }
 
         /**
-         * Try to sleep, and ignore the {@link InterruptedException}
-         *
-         * @param millis the length of time to sleep in milliseconds
+         * Complete the stream and wait for the remote to complete it too, after the acknowledgements of all the
+         * messages it received.
          */
-        private void try2Sleep(long millis) {
+        private void close() {
+            try {
+                streamObserver.onCompleted();
+                if (!completed.await(ACK_TIMEOUT, TimeUnit.SECONDS)) {
+                    abort();
+                }
+            } catch (Throwable t) {
+                logger.error(t.getMessage(), t);
+                abort();
+            }
+        }
+
+        private void abort() {
             try {
-                Thread.sleep(millis);
-            } catch (InterruptedException e) {
-                logger.error(e.getMessage(), e);
+                streamObserver.onError(Status.CANCELLED.withDescription("acknowledgement timeout").asException());
+            } catch (Throwable t) {
+                logger.warn(t.getMessage());
+            }
+            broken();
+        }
+
+        private void broken() {
+            broken = true;
+            int unacknowledgedCount = release(Integer.MAX_VALUE);
+            if (unacknowledgedCount > 0) {
+                lost(unacknowledgedCount);
+            }
+            completed.countDown();
+        }
+
+        /**
+         * Never release more than the unacknowledged messages of this stream, in case the acknowledgements arrive after
+         * the stream is considered broken.
+         */
+        private int release(int count) {
+            int released = take(count);
+            if (released > 0) {
+                inFlightMessages.release(released);
+            }
+            return released;
+        }
+
+        /**
+         * Remove at most the given count from the unacknowledged messages, without releasing the permits.
+         */
+        private int take(int count) {
+            while (true) {
+                int current = unacknowledged.get();
+                int taken = Math.min(current, count);
+                if (unacknowledged.compareAndSet(current, current - taken)) {
+                    return taken;
+                }
             }
         }
     }
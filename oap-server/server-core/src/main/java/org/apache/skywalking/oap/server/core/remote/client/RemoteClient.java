@@ -30,4 +30,10 @@ public interface RemoteClient {
     int getPort();
 
     void push(int nextWorkerId, StreamData streamData);
+
+    /**
+     * Release the resources of the client after it is removed from the cluster, the stream data pushed after that is
+     * not sent.
+     */
+    void close();
 }
@@ -23,6 +23,7 @@ import java.util.concurrent.*;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.cluster.*;
 import org.apache.skywalking.oap.server.core.remote.annotation.StreamDataClassGetter;
+import org.apache.skywalking.oap.server.core.remote.selector.ConsistentHashRing;
 import org.apache.skywalking.oap.server.library.module.*;
 import org.slf4j.*;
 
@@ -34,17 +35,24 @@ public class RemoteClientManager implements Service {
     private static final Logger logger = LoggerFactory.getLogger(RemoteClientManager.class);
 
     private final ModuleManager moduleManager;
+    private final int remoteBatchSize;
+    private final int remoteMaxInFlightMessages;
     private StreamDataClassGetter streamDataClassGetter;
     private ClusterNodesQuery clusterNodesQuery;
     private final List<RemoteClient> clientsA;
     private final List<RemoteClient> clientsB;
-    private List<RemoteClient> usingClients;
+    private volatile List<RemoteClient> usingClients;
+    private volatile ConsistentHashRing hashRing;
 
-    public RemoteClientManager(ModuleManager moduleManager) {
+    public RemoteClientManager(ModuleManager moduleManager, int remoteBatchSize, int remoteMaxInFlightMessages,
+        int remoteVirtualNodes) {
         this.moduleManager = moduleManager;
+        this.remoteBatchSize = remoteBatchSize;
+        this.remoteMaxInFlightMessages = remoteMaxInFlightMessages;
         this.clientsA = new LinkedList<>();
         this.clientsB = new LinkedList<>();
         this.usingClients = clientsA;
+        this.hashRing = new ConsistentHashRing(remoteVirtualNodes);
     }
 
     public void start() {
@@ -69,6 +77,10 @@ public class RemoteClientManager implements Service {
         return usingClients;
     }
 
+    public ConsistentHashRing getHashRing() {
+        return hashRing;
+    }
+
     private List<RemoteClient> getFreeClients() {
         if (usingClients.equals(clientsA)) {
             return clientsB;
@@ -93,22 +105,31 @@ public class RemoteClientManager implements Service {
             currentClientsMap.put(address(remoteClient.getHost(), remoteClient.getPort()), remoteClient);
         });
 
+        List<RemoteClient> addedClients = new LinkedList<>();
         remoteInstances.forEach(remoteInstance -> {
             String address = address(remoteInstance.getHost(), remoteInstance.getPort());
             RemoteClient client;
             if (currentClientsMap.containsKey(address)) {
-                client = currentClientsMap.get(address);
+                client = currentClientsMap.remove(address);
             } else {
                 if (remoteInstance.isSelf()) {
                     client = new SelfRemoteClient(remoteInstance.getHost(), remoteInstance.getPort());
                 } else {
-                    client = new GRPCRemoteClient(streamDataClassGetter, remoteInstance, 1, 3000);
+                    client = new GRPCRemoteClient(streamDataClassGetter, remoteInstance, 1, 3000, remoteBatchSize, remoteMaxInFlightMessages);
                 }
+                addedClients.add(client);
             }
             getFreeClients().add(client);
         });
 
+        /*
+         * The clients left in the map are removed, only the points of the removed and added clients change, so the
+         * entities of the other clients keep their target nodes.
+         */
+        hashRing = hashRing.update(currentClientsMap.values(), addedClients);
         switchCurrentClients();
+
+        currentClientsMap.values().forEach(RemoteClient::close);
     }
 
     private boolean compare(List<RemoteInstance> remoteInstances) {
@@ -45,4 +45,7 @@ public class SelfRemoteClient implements RemoteClient {
     @Override public void push(int nextWorkerId, StreamData streamData) {
         WorkerInstances.INSTANCES.get(nextWorkerId).in(streamData);
     }
+
+    @Override public void close() {
+    }
 }
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.remote.selector;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.remote.client.RemoteClient;
+
+/**
+ * An immutable ring of virtual nodes, each remote client owns {@link #virtualNodes} points of it, addressed by the hash
+ * of its host and port, so that every OAP node builds the same ring. A key belongs to the client owning the first
+ * point clockwise from the key hash, then a client joining or leaving only moves the keys of its own points.
+ */
+public class ConsistentHashRing {
+
+    private final int virtualNodes;
+    private final int[] points;
+    private final RemoteClient[] owners;
+
+    public ConsistentHashRing(int virtualNodes) {
+        this(virtualNodes, new int[0], new RemoteClient[0]);
+    }
+
+    private ConsistentHashRing(int virtualNodes, int[] points, RemoteClient[] owners) {
+        this.virtualNodes = virtualNodes;
+        this.points = points;
+        this.owners = owners;
+    }
+
+    public boolean isEmpty() {
+        return points.length == 0;
+    }
+
+    public int size() {
+        return points.length;
+    }
+
+    public RemoteClient select(int keyHashCode) {
+        if (points.length == 0) {
+            return null;
+        }
+        int hash = mix(keyHashCode);
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+            if (index == points.length) {
+                index = 0;
+            }
+        } else {
+            while (index > 0 && points[index - 1] == hash) {
+                index--;
+            }
+        }
+        return owners[index];
+    }
+
+    /**
+     * Build a new ring from this one, keeping the points of the unchanged clients, without hashing them again.
+     */
+    public ConsistentHashRing update(Collection<RemoteClient> removed, Collection<RemoteClient> added) {
+        Set<RemoteClient> removedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        removedSet.addAll(removed);
+
+        int keepCount = 0;
+        for (RemoteClient owner : owners) {
+            if (!removedSet.contains(owner)) {
+                keepCount++;
+            }
+        }
+
+        Point[] addedPoints = new Point[added.size() * virtualNodes];
+        int i = 0;
+        for (RemoteClient client : added) {
+            String address = address(client);
+            for (int v = 0; v < virtualNodes; v++) {
+                addedPoints[i++] = new Point(hash(address + "#" + v), address, client);
+            }
+        }
+        Arrays.sort(addedPoints);
+
+        int[] newPoints = new int[keepCount + addedPoints.length];
+        RemoteClient[] newOwners = new RemoteClient[newPoints.length];
+        int oldIndex = 0;
+        int addedIndex = 0;
+        for (int n = 0; n < newPoints.length; n++) {
+            while (oldIndex < owners.length && removedSet.contains(owners[oldIndex])) {
+                oldIndex++;
+            }
+            boolean takeOld;
+            if (oldIndex == owners.length) {
+                takeOld = false;
+            } else if (addedIndex == addedPoints.length) {
+                takeOld = true;
+            } else {
+                Point point = addedPoints[addedIndex];
+                takeOld = compare(points[oldIndex], address(owners[oldIndex]), point.hash, point.address) <= 0;
+            }
+
+            if (takeOld) {
+                newPoints[n] = points[oldIndex];
+                newOwners[n] = owners[oldIndex++];
+            } else {
+                newPoints[n] = addedPoints[addedIndex].hash;
+                newOwners[n] = addedPoints[addedIndex++].client;
+            }
+        }
+        return new ConsistentHashRing(virtualNodes, newPoints, newOwners);
+    }
+
+    private static String address(RemoteClient client) {
+        return client.getHost() + ":" + client.getPort();
+    }
+
+    /**
+     * Points with the same hash are ordered by address, then the owner of them doesn't depend on the adding order.
+     */
+    private static int compare(int hash1, String address1, int hash2, String address2) {
+        int result = Integer.compare(hash1, hash2);
+        return result != 0 ? result : address1.compareTo(address2);
+    }
+
+    /**
+     * FNV-1a hash of the UTF-8 bytes, same on all OAP nodes, unlike the identity hash of the clients.
+     */
+    private static int hash(String value) {
+        int hash = 0x811C9DC5;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x01000193;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * The finalization step of MurmurHash3, spreads the remote hash codes of the similar ids over the whole ring.
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static class Point implements Comparable<Point> {
+        private final int hash;
+        private final String address;
+        private final RemoteClient client;
+
+        private Point(int hash, String address, RemoteClient client) {
+            this.hash = hash;
+            this.address = address;
+            this.client = client;
+        }
+
+        @Override public int compareTo(Point other) {
+            return compare(hash, address, other.hash, other.address);
+        }
+    }
+}
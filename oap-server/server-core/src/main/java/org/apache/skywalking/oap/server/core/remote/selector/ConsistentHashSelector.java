@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.remote.selector;
+
+import java.util.*;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.remote.client.*;
+import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+
+/**
+ * Select by the hash ring maintained by {@link RemoteClientManager}, which has the same clients as the given list.
+ */
+public class ConsistentHashSelector implements RemoteClientSelector {
+
+    private final ModuleManager moduleManager;
+    private RemoteClientManager remoteClientManager;
+
+    public ConsistentHashSelector(ModuleManager moduleManager) {
+        this.moduleManager = moduleManager;
+    }
+
+    @Override public RemoteClient select(List<RemoteClient> clients, StreamData streamData) {
+        RemoteClient remoteClient = getRemoteClientManager().getHashRing().select(streamData.remoteHashCode());
+        if (Objects.isNull(remoteClient)) {
+            return clients.get(0);
+        }
+        return remoteClient;
+    }
+
+    private RemoteClientManager getRemoteClientManager() {
+        if (Objects.isNull(remoteClientManager)) {
+            remoteClientManager = moduleManager.find(CoreModule.NAME).getService(RemoteClientManager.class);
+        }
+        return remoteClientManager;
+    }
+}
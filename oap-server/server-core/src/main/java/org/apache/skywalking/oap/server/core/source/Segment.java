@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.source;
+
+import java.util.List;
+import lombok.*;
+
+public class Segment extends Source {
+    @Override public Scope scope() {
+        return Scope.Segment;
+    }
+
+    @Override public String getEntityId() {
+        return segmentId;
+    }
+
+    @Getter @Setter private String segmentId;
+    @Getter @Setter private String traceId;
+    @Getter @Setter private List<String> globalTraceIds;
+    @Getter @Setter private int serviceId;
+    @Getter @Setter private String endpointName;
+    @Getter @Setter private long startTime;
+    @Getter @Setter private long endTime;
+    @Getter @Setter private int latency;
+    @Getter @Setter private int isError;
+    @Getter @Setter private byte[] dataBinary;
+}
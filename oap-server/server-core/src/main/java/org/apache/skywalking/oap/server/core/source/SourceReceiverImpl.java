@@ -27,8 +27,8 @@ public class SourceReceiverImpl implements SourceReceiver {
 
     private final DispatcherManager dispatcherManager;
 
-    public SourceReceiverImpl() {
-        this.dispatcherManager = new DispatcherManager();
+    public SourceReceiverImpl(boolean fusedDispatch) {
+        this.dispatcherManager = new DispatcherManager(fusedDispatch);
     }
 
     @Override public void receive(Source source) {
@@ -26,4 +26,25 @@ import java.util.List;
 public interface IBatchDAO extends DAO {
 
     void batchPersistence(List<?> batchCollection);
+
+    /**
+     * @param listener notified with the data which failed to be written, maybe after {@link
+     * #batchPersistence(List)} has returned when the storage writes asynchronously.
+     */
+    default void setFailureListener(BatchFailureListener listener) {
+    }
+
+    /**
+     * @return the number of the requests waiting to be written into the storage.
+     */
+    default int getQueueDepth() {
+        return 0;
+    }
+
+    /**
+     * @return true when the storage falls behind, the persistence should slow down.
+     */
+    default boolean isOverloaded() {
+        return false;
+    }
 }
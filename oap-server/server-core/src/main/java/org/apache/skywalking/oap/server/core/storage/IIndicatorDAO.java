@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.core.storage;
 
 import java.io.IOException;
+import java.util.*;
 import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
 
 /**
@@ -28,9 +29,36 @@ public interface IIndicatorDAO<INSERT, UPDATE> extends DAO {
 
     Indicator get(String modelName, Indicator indicator) throws IOException;
 
+    /**
+     * Read the stored data of the given indicators in one storage round trip.
+     *
+     * @param failedIds collects the ids of the indicators which failed to be read, they may exist in the storage.
+     * @return the stored indicators, the ones which don't exist in the storage or failed to be read are absent.
+     * @throws IOException when the whole read fails.
+     */
+    List<Indicator> multiGet(String modelName, List<Indicator> indicators, Set<String> failedIds) throws IOException;
+
     INSERT prepareBatchInsert(String modelName, Indicator indicator) throws IOException;
 
     UPDATE prepareBatchUpdate(String modelName, Indicator indicator) throws IOException;
 
+    /**
+     * @return true if the storage supports {@link #prepareBatchUpsert(String, Indicator)}.
+     */
+    default boolean isUpsertSupported() {
+        return false;
+    }
+
+    /**
+     * Add the increments of the additive indicator to the stored one and calculate its derived column again, or insert
+     * it when it doesn't exist, by the storage itself in one operation.
+     *
+     * @param indicator an {@link org.apache.skywalking.oap.server.core.analysis.indicator.AdditiveIndicator} holding
+     * the increments of one persistence cycle, calculated.
+     */
+    default UPDATE prepareBatchUpsert(String modelName, Indicator indicator) throws IOException {
+        throw new UnsupportedOperationException("upsert is not supported by the storage.");
+    }
+
     void deleteHistory(String modelName, Long timeBucketBefore);
 }
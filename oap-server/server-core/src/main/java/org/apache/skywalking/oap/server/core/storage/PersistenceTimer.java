@@ -20,8 +20,9 @@ package org.apache.skywalking.oap.server.core.storage;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Supplier;
 import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
-import org.apache.skywalking.oap.server.core.analysis.worker.IndicatorProcess;
+import org.apache.skywalking.oap.server.core.analysis.worker.*;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
 import org.slf4j.*;
 
@@ -35,6 +36,8 @@ public enum PersistenceTimer {
 
     private Boolean isStarted = false;
     private final Boolean debug;
+    private volatile ScheduledExecutorService executor;
+    private volatile IBatchDAO batchDAO;
 
     PersistenceTimer() {
         this.debug = System.getProperty("debug") != null;
@@ -46,22 +49,73 @@ public enum PersistenceTimer {
 //        final long timeInterval = EsConfig.Es.Persistence.Timer.VALUE * 1000;
         final long timeInterval = 3;
         IBatchDAO batchDAO = moduleManager.find(StorageModule.NAME).getService(IBatchDAO.class);
+        batchDAO.setFailureListener(IndicatorProcess.INSTANCE::persistenceFailed);
 
         if (!isStarted) {
-            Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+            executor.scheduleAtFixedRate(
                 new RunnableWithExceptionProtection(() -> extractDataAndSave(batchDAO),
                     t -> logger.error("Extract data and save failure.", t)), 1, timeInterval, TimeUnit.SECONDS);
 
+            this.batchDAO = batchDAO;
+            this.executor = executor;
             this.isStarted = true;
         }
     }
 
+    /**
+     * Persist the given worker on the timer thread ahead of the next round, called when its cache is full.
+     *
+     * @return false if the timer hasn't started, the worker is persisted by the first round.
+     */
+    public boolean flush(IndicatorPersistentWorker worker) {
+        return flush(worker.getModelName(), worker::flushAndBuildBatchCollection, true);
+    }
+
+    /**
+     * Persist the given worker on the timer thread ahead of the next round, called when its buffer is full. The
+     * records are never merged, so the flush isn't skipped while the storage is overloaded, the batch DAO holds them
+     * back instead of the buffer growing.
+     *
+     * @return false if the timer hasn't started, the worker is persisted by the first round.
+     */
+    public boolean flush(RecordPersistentWorker worker) {
+        return flush(worker.getModelName(), worker::flushAndBuildBatchCollection, false);
+    }
+
+    private boolean flush(String modelName, Supplier<List<?>> batchBuilder, boolean skipWhenOverloaded) {
+        ScheduledExecutorService executor = this.executor;
+        if (executor == null) {
+            return false;
+        }
+        executor.execute(new RunnableWithExceptionProtection(() -> {
+            if (skipWhenOverloaded && batchDAO.isOverloaded()) {
+                return;
+            }
+            List<?> batchCollection = batchBuilder.get();
+            if (!batchCollection.isEmpty()) {
+                batchDAO.batchPersistence(batchCollection);
+            }
+        }, t -> logger.error("Flush {} failure.", modelName, t)));
+        return true;
+    }
+
     @SuppressWarnings("unchecked")
     private void extractDataAndSave(IBatchDAO batchDAO) {
         if (logger.isDebugEnabled()) {
             logger.debug("Extract data and save");
         }
 
+        /*
+         * Skip this round when the storage falls behind, the indicators keep being merged in the caches of the workers,
+         * so the next round writes fewer documents. The caches are bounded, the indicators with new ids are dropped
+         * when they are full, so a long stall of the storage doesn't run out of memory.
+         */
+        if (batchDAO.isOverloaded()) {
+            logger.warn("storage is overloaded, queue depth: {}, skip this persistence round.", batchDAO.getQueueDepth());
+            return;
+        }
+
         long startTime = System.currentTimeMillis();
         try {
             List batchAllCollection = new LinkedList();
@@ -70,14 +124,24 @@ public enum PersistenceTimer {
                     logger.debug("extract {} worker data and save", worker.getClass().getName());
                 }
 
-                if (worker.flushAndSwitch()) {
-                    List<?> batchCollection = worker.buildBatchCollection();
+                List<?> batchCollection = worker.flushAndBuildBatchCollection();
 
-                    if (logger.isDebugEnabled()) {
-                        logger.debug("extract {} worker data size: {}", worker.getClass().getName(), batchCollection.size());
-                    }
-                    batchAllCollection.addAll(batchCollection);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("extract {} worker data size: {}", worker.getClass().getName(), batchCollection.size());
+                }
+                if (debug) {
+                    logger.info("model: {}, read {} indicators from storage, duration: {} ms", worker.getModelName(), worker.getStorageReadCount(), worker.getStorageReadDuration());
+                }
+                batchAllCollection.addAll(batchCollection);
+            });
+
+            RecordProcess.INSTANCE.getPersistentWorkers().forEach(worker -> {
+                List<?> batchCollection = worker.flushAndBuildBatchCollection();
+
+                if (logger.isDebugEnabled()) {
+                    logger.debug("extract {} records, size: {}", worker.getModelName(), batchCollection.size());
                 }
+                batchAllCollection.addAll(batchCollection);
             });
 
             if (debug) {
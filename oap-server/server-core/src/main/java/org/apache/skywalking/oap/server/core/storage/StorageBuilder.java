@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.core.storage;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -28,4 +29,14 @@ public interface StorageBuilder<T extends StorageData> {
     T map2Data(Map<String, Object> dbMap);
 
     Map<String, Object> data2Map(T storageData);
+
+    /**
+     * Write the columns of the data into the stream, the hot path of the persistence. The builders of the indicators
+     * and records override it to skip the map, the others fall back to {@link #data2Map(StorageData)}.
+     */
+    default void data2Stream(T storageData, StorageDataStream stream) throws IOException {
+        for (Map.Entry<String, Object> entry : data2Map(storageData).entrySet()) {
+            stream.writeObject(entry.getKey(), entry.getValue());
+        }
+    }
 }
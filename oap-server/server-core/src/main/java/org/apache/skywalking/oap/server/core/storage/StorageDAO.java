@@ -19,6 +19,7 @@
 package org.apache.skywalking.oap.server.core.storage;
 
 import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+import org.apache.skywalking.oap.server.core.analysis.record.Record;
 import org.apache.skywalking.oap.server.core.register.RegisterSource;
 import org.apache.skywalking.oap.server.library.module.Service;
 
@@ -30,4 +31,6 @@ public interface StorageDAO extends Service {
     IIndicatorDAO newIndicatorDao(StorageBuilder<Indicator> storageBuilder);
 
     IRegisterDAO newRegisterDao(StorageBuilder<RegisterSource> storageBuilder);
+
+    IRecordDAO newRecordDao(StorageBuilder<Record> storageBuilder);
 }
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.storage;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receive the columns of one storage data one by one, so the storage implementor encodes them straight into its own
+ * document, without boxing them into the map of {@link StorageBuilder#data2Map(StorageData)}.
+ */
+public interface StorageDataStream {
+
+    void write(String columnName, int value) throws IOException;
+
+    void write(String columnName, long value) throws IOException;
+
+    void write(String columnName, double value) throws IOException;
+
+    void write(String columnName, String value) throws IOException;
+
+    void write(String columnName, byte[] value) throws IOException;
+
+    /**
+     * A multi-valued string column, the storage finds the data by any of the values.
+     */
+    void write(String columnName, List<String> values) throws IOException;
+
+    /**
+     * For the builders which don't stream their columns, the values of {@link StorageBuilder#data2Map(StorageData)}.
+     */
+    void writeObject(String columnName, Object value) throws IOException;
+}
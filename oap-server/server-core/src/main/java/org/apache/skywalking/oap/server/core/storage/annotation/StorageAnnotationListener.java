@@ -22,7 +22,11 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.*;
 import lombok.Getter;
+import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+import org.apache.skywalking.oap.server.core.analysis.record.Record;
 import org.apache.skywalking.oap.server.core.annotation.AnnotationListener;
+import org.apache.skywalking.oap.server.core.query.entity.Step;
+import org.apache.skywalking.oap.server.core.storage.*;
 import org.apache.skywalking.oap.server.core.storage.model.*;
 import org.slf4j.*;
 
@@ -51,7 +55,16 @@ public class StorageAnnotationListener implements AnnotationListener, IModelGett
         List<ModelColumn> modelColumns = new LinkedList<>();
         retrieval(aClass, modelName, modelColumns);
 
-        models.add(new Model(modelName, modelColumns));
+        if (Indicator.class.isAssignableFrom(aClass)) {
+            models.add(new Model(modelName, modelColumns, TimePyramid.Minute, false));
+            models.add(new Model(TimePyramidTableNameBuilder.build(Step.HOUR, modelName), modelColumns, TimePyramid.Hour, false));
+            models.add(new Model(TimePyramidTableNameBuilder.build(Step.DAY, modelName), modelColumns, TimePyramid.Day, false));
+            models.add(new Model(TimePyramidTableNameBuilder.build(Step.MONTH, modelName), modelColumns, TimePyramid.Month, false));
+        } else if (Record.class.isAssignableFrom(aClass)) {
+            models.add(new Model(modelName, modelColumns, TimePyramid.Minute, true));
+        } else {
+            models.add(new Model(modelName, modelColumns));
+        }
     }
 
     private void retrieval(Class clazz, String modelName, List<ModelColumn> modelColumns) {
@@ -20,6 +20,7 @@ package org.apache.skywalking.oap.server.core.storage.model;
 
 import java.util.List;
 import lombok.Getter;
+import org.apache.skywalking.oap.server.core.storage.TimePyramid;
 
 /**
  * @author peng-yongsheng
@@ -27,9 +28,24 @@ import lombok.Getter;
 public class Model {
     @Getter private final String name;
     @Getter private final List<ModelColumn> columns;
+    /**
+     * The time granularity of the time bucket column, null when the model is not a time series, such as inventory.
+     */
+    @Getter private final TimePyramid timePyramid;
+    @Getter private final boolean record;
 
     public Model(String name, List<ModelColumn> columns) {
+        this(name, columns, null, false);
+    }
+
+    public Model(String name, List<ModelColumn> columns, TimePyramid timePyramid, boolean record) {
         this.name = name;
         this.columns = columns;
+        this.timePyramid = timePyramid;
+        this.record = record;
+    }
+
+    public boolean isTimeSeries() {
+        return timePyramid != null;
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.storage.query;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.query.entity.*;
+import org.apache.skywalking.oap.server.library.module.Service;
+
+public interface ITraceQueryDAO extends Service {
+
+    /**
+     * Query the segments by the index columns only, the data binary is not read.
+     *
+     * @param startMinuteTB the segments start in or after this minute time bucket, 0 means no limit.
+     * @param endMinuteTB the segments start in or before this minute time bucket, 0 means no limit.
+     * @param minDuration 0 means no limit.
+     * @param maxDuration 0 means no limit.
+     * @param endpointName nullable.
+     * @param serviceId 0 means all the services.
+     * @param traceId nullable.
+     */
+    TraceBrief queryBasicTraces(long startMinuteTB, long endMinuteTB, long minDuration, long maxDuration,
+        String endpointName, int serviceId, String traceId, int limit, int from, TraceState traceState,
+        QueryOrder queryOrder) throws IOException;
+
+    List<SegmentRecord> queryByTraceId(String traceId) throws IOException;
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.data;
+
+import java.util.*;
+import java.util.concurrent.*;
+import org.apache.skywalking.oap.server.core.analysis.indicator.*;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.junit.*;
+
+public class StripedMergeDataCacheTest {
+
+    @Test
+    public void testMerge() {
+        StripedMergeDataCache<Indicator> cache = new StripedMergeDataCache<>(4);
+        cache.merge(new CountIndicatorMocker(1, 5));
+        cache.merge(new CountIndicatorMocker(1, 6));
+        cache.merge(new CountIndicatorMocker(2, 7));
+        Assert.assertEquals(2, cache.size());
+
+        Map<Integer, Long> values = toValues(cache.flush());
+        Assert.assertEquals(11, (long)values.get(1));
+        Assert.assertEquals(7, (long)values.get(2));
+
+        Assert.assertEquals(0, cache.size());
+        Assert.assertTrue(cache.flush().isEmpty());
+    }
+
+    @Test
+    public void testRejectNewKeysWhenFull() {
+        StripedMergeDataCache<Indicator> cache = new StripedMergeDataCache<>(1, 2);
+        Assert.assertTrue(cache.merge(new CountIndicatorMocker(1, 5)));
+        Assert.assertTrue(cache.merge(new CountIndicatorMocker(2, 7)));
+        Assert.assertFalse(cache.merge(new CountIndicatorMocker(3, 1)));
+        Assert.assertTrue(cache.merge(new CountIndicatorMocker(1, 6)));
+        Assert.assertEquals(2, cache.size());
+
+        Map<Integer, Long> values = toValues(cache.flush());
+        Assert.assertEquals(11, (long)values.get(1));
+        Assert.assertFalse(values.containsKey(3));
+
+        Assert.assertTrue(cache.merge(new CountIndicatorMocker(3, 1)));
+    }
+
+    @Test
+    public void testConcurrentMergeAndFlush() throws InterruptedException, ExecutionException {
+        int threadNum = 8;
+        int loop = 100000;
+        int entityNum = 100;
+
+        StripedMergeDataCache<Indicator> cache = new StripedMergeDataCache<>(threadNum);
+        ExecutorService executor = Executors.newFixedThreadPool(threadNum);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threadNum; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < loop; j++) {
+                    cache.merge(new CountIndicatorMocker(j % entityNum, 1));
+                }
+            }));
+        }
+
+        long total = 0;
+        boolean finished = false;
+        while (!finished) {
+            finished = futures.stream().allMatch(Future::isDone);
+            for (Indicator indicator : cache.flush()) {
+                total += ((CountIndicator)indicator).getValue();
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Assert.assertEquals((long)threadNum * loop, total);
+    }
+
+    private Map<Integer, Long> toValues(List<Indicator> indicators) {
+        Map<Integer, Long> values = new HashMap<>();
+        indicators.forEach(indicator -> values.put(((CountIndicatorMocker)indicator).entityId, ((CountIndicatorMocker)indicator).getValue()));
+        return values;
+    }
+
+    private class CountIndicatorMocker extends CountIndicator {
+
+        private final int entityId;
+
+        private CountIndicatorMocker(int entityId, long count) {
+            this.entityId = entityId;
+            combine(count);
+        }
+
+        @Override public String id() {
+            return String.valueOf(entityId);
+        }
+
+        @Override public Indicator toHour() {
+            return null;
+        }
+
+        @Override public Indicator toDay() {
+            return null;
+        }
+
+        @Override public Indicator toMonth() {
+            return null;
+        }
+
+        @Override public void deserialize(RemoteData remoteData) {
+        }
+
+        @Override public RemoteData.Builder serialize() {
+            return null;
+        }
+
+        @Override public int remoteHashCode() {
+            return entityId;
+        }
+
+        @Override public int hashCode() {
+            return entityId;
+        }
+
+        @Override public boolean equals(Object obj) {
+            return obj instanceof CountIndicatorMocker && ((CountIndicatorMocker)obj).entityId == entityId;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.indicator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntKeyLongValueHistogramTest {
+
+    @Test
+    public void testAddAndMerge() {
+        IntKeyLongValueHistogram histogram = new IntKeyLongValueHistogram(1);
+        histogram.add(5, 1);
+        histogram.add(1, 2);
+        histogram.add(5, 3);
+
+        IntKeyLongValueHistogram other = new IntKeyLongValueHistogram();
+        other.add(0, 1);
+        other.add(5, 1);
+        other.add(9, 4);
+
+        histogram.merge(other);
+
+        Assert.assertEquals(4, histogram.size());
+        Assert.assertArrayEquals(new int[] {0, 1, 5, 9}, keys(histogram));
+        Assert.assertEquals(1, histogram.valueAt(0));
+        Assert.assertEquals(2, histogram.valueAt(1));
+        Assert.assertEquals(5, histogram.valueAt(2));
+        Assert.assertEquals(4, histogram.valueAt(3));
+        Assert.assertEquals(12, histogram.total());
+
+        Assert.assertEquals(3, other.size());
+        Assert.assertEquals(1, other.valueAt(1));
+    }
+
+    @Test
+    public void testPercentileKey() {
+        IntKeyLongValueHistogram histogram = new IntKeyLongValueHistogram();
+        Assert.assertEquals(-1, histogram.percentileKey(99));
+
+        for (int key = 1; key <= 100; key++) {
+            histogram.add(key, 1);
+        }
+        Assert.assertEquals(50, histogram.percentileKey(50));
+        Assert.assertEquals(99, histogram.percentileKey(99));
+        Assert.assertEquals(100, histogram.percentileKey(100));
+    }
+
+    @Test
+    public void testSerialize() {
+        IntKeyLongValueHistogram histogram = new IntKeyLongValueHistogram();
+        histogram.add(-3, 1);
+        histogram.add(0, Long.MAX_VALUE);
+        histogram.add(Integer.MAX_VALUE, 7);
+        histogram.add(Integer.MIN_VALUE, 2);
+
+        IntKeyLongValueHistogram deserialized = new IntKeyLongValueHistogram(histogram.toStorageData());
+        Assert.assertArrayEquals(keys(histogram), keys(deserialized));
+        for (int i = 0; i < histogram.size(); i++) {
+            Assert.assertEquals(histogram.valueAt(i), deserialized.valueAt(i));
+        }
+
+        Assert.assertEquals(0, new IntKeyLongValueHistogram("").size());
+    }
+
+    private int[] keys(IntKeyLongValueHistogram histogram) {
+        int[] keys = new int[histogram.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = histogram.keyAt(i);
+        }
+        return keys;
+    }
+}
@@ -93,6 +93,24 @@ public class PxxIndicatorTest {
         Assert.assertEquals(70, indicatorMocker.getValue());
     }
 
+    @Test
+    public void combineTest() {
+        PxxIndicatorMocker indicatorMocker = new PxxIndicatorMocker(50);
+        indicatorMocker.combine(50, precision);
+
+        PxxIndicatorMocker otherIndicatorMocker = new PxxIndicatorMocker(50);
+        otherIndicatorMocker.combine(100, precision);
+        otherIndicatorMocker.combine(100, precision);
+
+        indicatorMocker.combine(otherIndicatorMocker);
+        indicatorMocker.combine(otherIndicatorMocker);
+        indicatorMocker.calculate();
+
+        Assert.assertEquals(100, indicatorMocker.getValue());
+        // The combined indicator must not share the elements with the other one.
+        Assert.assertEquals(2, otherIndicatorMocker.getDetailGroup().valueAt(0));
+    }
+
     public class PxxIndicatorMocker extends PxxIndicator {
 
         public PxxIndicatorMocker(int percentileRank) {
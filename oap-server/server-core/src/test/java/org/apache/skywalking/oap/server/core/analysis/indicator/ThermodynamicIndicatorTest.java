@@ -18,11 +18,9 @@
 
 package org.apache.skywalking.oap.server.core.analysis.indicator;
 
-import java.util.Map;
 import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
 import org.junit.Assert;
 import org.junit.Test;
-import org.powermock.reflect.Whitebox;
 
 /**
  * @author wusheng
@@ -49,14 +47,19 @@ public class ThermodynamicIndicatorTest {
         indicatorMocker.combine(100, step, maxNumOfSteps);
         indicatorMocker.combine(100, step, maxNumOfSteps);
 
-        Map<Integer, IntKeyLongValue> index = Whitebox.getInternalState(indicatorMocker, "detailIndex");
-        Assert.assertEquals(5, index.size());
-
-        Assert.assertEquals(1, index.get(2).getValue());
-        Assert.assertEquals(3, index.get(5).getValue());
-        Assert.assertEquals(1, index.get(6).getValue());
-        Assert.assertEquals(6, index.get(10).getValue());
-        Assert.assertEquals(2, index.get(11).getValue());
+        IntKeyLongValueHistogram detailGroup = indicatorMocker.getDetailGroup();
+        Assert.assertEquals(5, detailGroup.size());
+
+        Assert.assertEquals(2, detailGroup.keyAt(0));
+        Assert.assertEquals(1, detailGroup.valueAt(0));
+        Assert.assertEquals(5, detailGroup.keyAt(1));
+        Assert.assertEquals(3, detailGroup.valueAt(1));
+        Assert.assertEquals(6, detailGroup.keyAt(2));
+        Assert.assertEquals(1, detailGroup.valueAt(2));
+        Assert.assertEquals(10, detailGroup.keyAt(3));
+        Assert.assertEquals(6, detailGroup.valueAt(3));
+        Assert.assertEquals(11, detailGroup.keyAt(4));
+        Assert.assertEquals(2, detailGroup.valueAt(4));
     }
 
     @Test
@@ -82,14 +85,19 @@ public class ThermodynamicIndicatorTest {
 
         indicatorMocker.combine(indicatorMocker2);
 
-        Map<Integer, IntKeyLongValue> index = Whitebox.getInternalState(indicatorMocker, "detailIndex");
-        Assert.assertEquals(5, index.size());
-
-        Assert.assertEquals(1, index.get(2).getValue());
-        Assert.assertEquals(3, index.get(5).getValue());
-        Assert.assertEquals(1, index.get(6).getValue());
-        Assert.assertEquals(6, index.get(10).getValue());
-        Assert.assertEquals(2, index.get(11).getValue());
+        IntKeyLongValueHistogram detailGroup = indicatorMocker.getDetailGroup();
+        Assert.assertEquals(5, detailGroup.size());
+
+        Assert.assertEquals(2, detailGroup.keyAt(0));
+        Assert.assertEquals(1, detailGroup.valueAt(0));
+        Assert.assertEquals(5, detailGroup.keyAt(1));
+        Assert.assertEquals(3, detailGroup.valueAt(1));
+        Assert.assertEquals(6, detailGroup.keyAt(2));
+        Assert.assertEquals(1, detailGroup.valueAt(2));
+        Assert.assertEquals(10, detailGroup.keyAt(3));
+        Assert.assertEquals(6, detailGroup.valueAt(3));
+        Assert.assertEquals(11, detailGroup.keyAt(4));
+        Assert.assertEquals(2, detailGroup.valueAt(4));
     }
 
     public class ThermodynamicIndicatorMocker extends ThermodynamicIndicator {
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.manual.endpoint;
+
+import java.util.List;
+import org.apache.skywalking.oap.server.core.analysis.generated.endpoint.*;
+import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+import org.junit.*;
+
+public class EndpointLatencyFusedIndicatorTest {
+
+    @Test
+    public void testCombineAndSplit() {
+        EndpointLatencyFusedIndicator fusedIndicator = fusedIndicator(100, true);
+        for (int latency = 110; latency <= 1000; latency += 10) {
+            fusedIndicator.combine(fusedIndicator(latency, latency % 100 != 0));
+        }
+
+        EndpointLatencyFusedIndicator deserialized = new EndpointLatencyFusedIndicator();
+        deserialized.deserialize(fusedIndicator.serialize().build());
+
+        List<Indicator> indicators = deserialized.split();
+        Assert.assertEquals(7, indicators.size());
+        indicators.forEach(indicator -> {
+            Assert.assertEquals(201810160301L, indicator.getTimeBucket());
+            Assert.assertEquals(deserialized.id(), indicator.id());
+            indicator.calculate();
+        });
+
+        Assert.assertEquals(550, ((EndpointAvgIndicator)indicators.get(0)).getValue());
+        Assert.assertEquals(90, ((EndpointSlaIndicator)indicators.get(1)).getValue());
+        Assert.assertEquals(950, ((EndpointP95Indicator)indicators.get(2)).getValue());
+        Assert.assertEquals(910, ((EndpointP90Indicator)indicators.get(3)).getValue());
+        Assert.assertEquals(770, ((EndpointP75Indicator)indicators.get(4)).getValue());
+        Assert.assertEquals(550, ((EndpointP50Indicator)indicators.get(5)).getValue());
+        Assert.assertEquals(990, ((EndpointP99Indicator)indicators.get(6)).getValue());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testNotDownsampledBeforeSplit() {
+        fusedIndicator(100, true).toHour();
+    }
+
+    private EndpointLatencyFusedIndicator fusedIndicator(int latency, boolean status) {
+        EndpointLatencyFusedIndicator indicator = new EndpointLatencyFusedIndicator();
+        indicator.setTimeBucket(201810160301L);
+        indicator.setEntityId("1");
+        indicator.setServiceId(2);
+        indicator.setServiceInstanceId(3);
+        indicator.combine(latency, status);
+        return indicator;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.manual.segment;
+
+import java.util.*;
+import org.junit.*;
+
+public class SegmentRecordTest {
+
+    @Test
+    public void testDataBinaryFromStorage() {
+        SegmentRecord record = new SegmentRecord();
+        record.setSegmentId("1.2.3");
+        record.setTraceId("4.5.6");
+        record.setServiceId(2);
+        record.setEndpointName("/users");
+        record.setStartTime(1000);
+        record.setEndTime(1500);
+        record.setLatency(500);
+        record.setIsError(1);
+        record.setTimeBucket(201810170000L);
+        record.setDataBinary(new byte[] {1, 2, 3});
+
+        SegmentRecord.Builder builder = new SegmentRecord.Builder();
+        Map<String, Object> dbMap = builder.data2Map(record);
+
+        SegmentRecord copy = builder.map2Data(dbMap);
+        Assert.assertEquals("1.2.3", copy.id());
+        Assert.assertEquals(500, copy.getLatency());
+        Assert.assertArrayEquals(new byte[] {1, 2, 3}, copy.getDataBinary());
+
+        /*
+         * The storage returns the binary column in base64.
+         */
+        dbMap.put(SegmentRecord.DATA_BINARY, Base64.getEncoder().encodeToString(new byte[] {1, 2, 3}));
+        copy = builder.map2Data(dbMap);
+        Assert.assertArrayEquals(new byte[] {1, 2, 3}, copy.getDataBinary());
+        Assert.assertEquals("/users", copy.getEndpointName());
+        Assert.assertEquals(201810170000L, copy.getTimeBucket());
+    }
+
+    @Test
+    public void testGlobalTraceIds() {
+        SegmentRecord record = new SegmentRecord();
+        record.setSegmentId("1.2.3");
+        record.setTraceId("4.5.6");
+
+        SegmentRecord.Builder builder = new SegmentRecord.Builder();
+        Assert.assertEquals(Collections.singletonList("4.5.6"), builder.data2Map(record).get(SegmentRecord.GLOBAL_TRACE_IDS));
+
+        record.setGlobalTraceIds(Arrays.asList("4.5.6", "7.8.9"));
+        Assert.assertEquals(Arrays.asList("4.5.6", "7.8.9"), builder.data2Map(record).get(SegmentRecord.GLOBAL_TRACE_IDS));
+    }
+}
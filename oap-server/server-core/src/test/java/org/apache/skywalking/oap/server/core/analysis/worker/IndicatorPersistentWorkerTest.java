@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.skywalking.oap.server.core.analysis.generated.service.ServiceRespTimeIndicator;
+import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+import org.apache.skywalking.oap.server.core.storage.IIndicatorDAO;
+import org.junit.*;
+
+public class IndicatorPersistentWorkerTest {
+
+    @Test
+    public void testDropAfterMaxReadAttempts() {
+        AtomicInteger reads = new AtomicInteger(0);
+        IndicatorPersistentWorker worker = new IndicatorPersistentWorker(1, "service_resp_time", 100, null, new FailingReadDAO(reads), null, null, null, 100);
+
+        ServiceRespTimeIndicator indicator = new ServiceRespTimeIndicator();
+        indicator.setEntityId("1");
+        indicator.setTimeBucket(201810170000L);
+        worker.in(indicator);
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(0, worker.flushAndBuildBatchCollection().size());
+        }
+        Assert.assertEquals(3, reads.get());
+        Assert.assertEquals(1, worker.getReadFailedDropCount());
+
+        Assert.assertEquals(0, worker.flushAndBuildBatchCollection().size());
+        Assert.assertEquals(3, reads.get());
+    }
+
+    private static class FailingReadDAO implements IIndicatorDAO<Object, Object> {
+
+        private final AtomicInteger reads;
+
+        private FailingReadDAO(AtomicInteger reads) {
+            this.reads = reads;
+        }
+
+        @Override public Indicator get(String modelName, Indicator indicator) throws IOException {
+            throw new IOException("read failure");
+        }
+
+        @Override public List<Indicator> multiGet(String modelName, List<Indicator> indicators,
+            Set<String> failedIds) throws IOException {
+            reads.incrementAndGet();
+            throw new IOException("read failure");
+        }
+
+        @Override public Object prepareBatchInsert(String modelName, Indicator indicator) {
+            return indicator;
+        }
+
+        @Override public Object prepareBatchUpdate(String modelName, Indicator indicator) {
+            return indicator;
+        }
+
+        @Override public void deleteHistory(String modelName, Long timeBucketBefore) {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.analysis.worker;
+
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.*;
+import org.apache.skywalking.oap.server.core.analysis.record.Record;
+import org.apache.skywalking.oap.server.core.source.Segment;
+import org.apache.skywalking.oap.server.core.storage.IRecordDAO;
+import org.junit.*;
+import org.powermock.reflect.Whitebox;
+
+public class RecordPersistentWorkerTest {
+
+    private RecordPersistentWorker segmentWorker;
+
+    @Before
+    public void setUp() {
+        IRecordDAO<Record> recordDAO = (modelName, record) -> record;
+        segmentWorker = new RecordPersistentWorker(1, SegmentRecord.INDEX_NAME, 2, recordDAO);
+
+        workers().put(SegmentRecord.class, segmentWorker);
+    }
+
+    @After
+    public void tearDown() {
+        workers().remove(SegmentRecord.class);
+    }
+
+    private Map<Class<? extends Record>, RecordPersistentWorker> workers() {
+        return Whitebox.getInternalState(RecordProcess.INSTANCE, "workers");
+    }
+
+    @Test
+    public void testIndexSegmentByAllGlobalTraceIds() {
+        Segment segment = new Segment();
+        segment.setSegmentId("s1");
+        segment.setTraceId("t1");
+        segment.setGlobalTraceIds(Arrays.asList("t1", "t2"));
+        segment.setTimeBucket(201810170000L);
+        segment.setDataBinary(new byte[] {1});
+        new SegmentDispatcher().dispatch(segment);
+
+        List<?> segments = segmentWorker.flushAndBuildBatchCollection();
+        Assert.assertEquals(1, segments.size());
+        SegmentRecord record = (SegmentRecord)segments.get(0);
+        Assert.assertEquals("s1", record.getSegmentId());
+        Assert.assertEquals("t1", record.getTraceId());
+        Assert.assertEquals(Arrays.asList("t1", "t2"), record.getGlobalTraceIds());
+        Assert.assertEquals(201810170000L, record.getTimeBucket());
+    }
+
+    @Test
+    public void testKeepFullBufferForPersistenceTimer() {
+        /*
+         * The persistence timer isn't started, the full buffer is never written by the caller, but kept for the first
+         * round.
+         */
+        for (int i = 0; i < 5; i++) {
+            SegmentRecord record = new SegmentRecord();
+            record.setSegmentId("s" + i);
+            segmentWorker.in(record);
+        }
+        Assert.assertEquals(5, segmentWorker.flushAndBuildBatchCollection().size());
+        Assert.assertEquals(0, segmentWorker.flushAndBuildBatchCollection().size());
+    }
+}
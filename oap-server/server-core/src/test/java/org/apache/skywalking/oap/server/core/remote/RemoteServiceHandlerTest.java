@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.remote;
+
+import io.grpc.stub.StreamObserver;
+import java.util.*;
+import java.util.concurrent.*;
+import org.apache.skywalking.oap.server.core.analysis.generated.service.ServiceRespTimeIndicator;
+import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+import org.apache.skywalking.oap.server.core.remote.annotation.StreamDataClassGetter;
+import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.*;
+import org.apache.skywalking.oap.server.core.worker.*;
+import org.junit.*;
+import org.powermock.reflect.Whitebox;
+
+public class RemoteServiceHandlerTest {
+
+    private static final int WORKER_ID = 9001;
+    private static final int BLOCKED_WORKER_ID = 9002;
+    private static final int UNKNOWN_WORKER_ID = 9003;
+
+    @Test
+    public void testSameIndicatorSameThread() throws InterruptedException {
+        RecordWorker worker = new RecordWorker(WORKER_ID, null);
+        WorkerInstances.INSTANCES.put(WORKER_ID, worker);
+        RemoteServiceHandler handler = handler(4, 100);
+        List<RemoteMessageAck> acks = new ArrayList<>();
+
+        RemoteMessageBatch.Builder batch = RemoteMessageBatch.newBuilder();
+        for (int i = 0; i < 20; i++) {
+            batch.addMessages(message(WORKER_ID, String.valueOf(i % 5)));
+        }
+        batch.addMessages(message(UNKNOWN_WORKER_ID, "0"));
+        handler.batchCall(new AckObserver(acks)).onNext(batch.build());
+
+        Assert.assertEquals(1, acks.size());
+        Assert.assertEquals(20, acks.get(0).getCount());
+        Assert.assertEquals(1, handler.getDroppedMessages());
+
+        for (int i = 0; i < 100 && worker.received() < 20; i++) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(20, worker.received());
+        Assert.assertEquals(5, worker.threads.size());
+        worker.threads.values().forEach(threads -> Assert.assertEquals(1, threads.size()));
+    }
+
+    @Test
+    public void testHoldBackAckWhenQueueFull() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        RecordWorker worker = new RecordWorker(BLOCKED_WORKER_ID, latch);
+        WorkerInstances.INSTANCES.put(BLOCKED_WORKER_ID, worker);
+        RemoteServiceHandler handler = handler(1, 10);
+        List<RemoteMessageAck> acks = Collections.synchronizedList(new ArrayList<>());
+
+        RemoteMessageBatch.Builder batch = RemoteMessageBatch.newBuilder();
+        for (int i = 0; i < 100; i++) {
+            batch.addMessages(message(BLOCKED_WORKER_ID, String.valueOf(i)));
+        }
+        StreamObserver<RemoteMessageBatch> stream = handler.batchCall(new AckObserver(acks));
+        Thread sender = new Thread(() -> stream.onNext(batch.build()));
+        sender.start();
+
+        sender.join(500);
+        Assert.assertTrue(sender.isAlive());
+        Assert.assertEquals(0, acks.size());
+
+        latch.countDown();
+        sender.join(5000);
+        Assert.assertFalse(sender.isAlive());
+        Assert.assertEquals(1, acks.size());
+        Assert.assertEquals(100, acks.get(0).getCount());
+        Assert.assertEquals(0, handler.getDroppedMessages());
+
+        for (int i = 0; i < 100 && worker.received() < 100; i++) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(100, worker.received());
+    }
+
+    private RemoteServiceHandler handler(int consumerThreads, int bufferSize) {
+        RemoteServiceHandler handler = new RemoteServiceHandler(null, bufferSize, consumerThreads);
+        Whitebox.setInternalState(handler, "streamDataClassGetter", new IndicatorClassGetter());
+        return handler;
+    }
+
+    private RemoteMessage message(int nextWorkerId, String entityId) {
+        ServiceRespTimeIndicator indicator = new ServiceRespTimeIndicator();
+        indicator.setEntityId(entityId);
+        indicator.setTimeBucket(201810302359L);
+
+        RemoteMessage.Builder builder = RemoteMessage.newBuilder();
+        builder.setNextWorkerId(nextWorkerId);
+        builder.setStreamDataId(1);
+        builder.setRemoteData(indicator.serialize());
+        builder.setDataHashCode(indicator.hashCode());
+        return builder.build();
+    }
+
+    private static class RecordWorker extends AbstractWorker<Indicator> {
+
+        private final CountDownLatch latch;
+        private final Map<String, Set<Thread>> threads = new ConcurrentHashMap<>();
+        private final List<Indicator> indicators = Collections.synchronizedList(new ArrayList<>());
+
+        private RecordWorker(int workerId, CountDownLatch latch) {
+            super(workerId);
+            this.latch = latch;
+        }
+
+        @Override public void in(Indicator indicator) {
+            if (Objects.nonNull(latch)) {
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            threads.computeIfAbsent(indicator.id(), id -> ConcurrentHashMap.newKeySet()).add(Thread.currentThread());
+            indicators.add(indicator);
+        }
+
+        private int received() {
+            return indicators.size();
+        }
+    }
+
+    private static class AckObserver implements StreamObserver<RemoteMessageAck> {
+
+        private final List<RemoteMessageAck> acks;
+
+        private AckObserver(List<RemoteMessageAck> acks) {
+            this.acks = acks;
+        }
+
+        @Override public void onNext(RemoteMessageAck ack) {
+            acks.add(ack);
+        }
+
+        @Override public void onError(Throwable throwable) {
+        }
+
+        @Override public void onCompleted() {
+        }
+    }
+
+    private static class IndicatorClassGetter implements StreamDataClassGetter {
+        @Override public int findIdByClass(Class streamDataClass) {
+            return 1;
+        }
+
+        @Override public Class<StreamData> findClassById(int id) {
+            return null;
+        }
+
+        @Override public StreamData newInstanceById(int id) {
+            return new ServiceRespTimeIndicator();
+        }
+    }
+}
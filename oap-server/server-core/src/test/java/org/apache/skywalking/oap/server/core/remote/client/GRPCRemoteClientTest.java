@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.remote.client;
+
+import io.grpc.*;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.skywalking.oap.server.core.analysis.generated.service.ServiceRespTimeIndicator;
+import org.apache.skywalking.oap.server.core.cluster.RemoteInstance;
+import org.apache.skywalking.oap.server.core.remote.annotation.StreamDataClassGetter;
+import org.apache.skywalking.oap.server.core.remote.data.StreamData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.*;
+import org.apache.skywalking.oap.server.library.client.grpc.GRPCClient;
+import org.junit.*;
+import org.powermock.reflect.Whitebox;
+
+public class GRPCRemoteClientTest {
+
+    private Server server;
+    private final AtomicInteger streams = new AtomicInteger(0);
+    private final List<RemoteMessage> received = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void setUp() throws IOException {
+        server = ServerBuilder.forPort(0).addService(new RemoteServiceGrpc.RemoteServiceImplBase() {
+            @Override public StreamObserver<RemoteMessageBatch> batchCall(StreamObserver<RemoteMessageAck> responseObserver) {
+                boolean failed = streams.incrementAndGet() == 1;
+                return new StreamObserver<RemoteMessageBatch>() {
+                    @Override public void onNext(RemoteMessageBatch batch) {
+                        if (failed) {
+                            responseObserver.onError(Status.UNAVAILABLE.asException());
+                        } else {
+                            received.addAll(batch.getMessagesList());
+                            responseObserver.onNext(RemoteMessageAck.newBuilder().setCount(batch.getMessagesCount()).build());
+                        }
+                    }
+
+                    @Override public void onError(Throwable throwable) {
+                    }
+
+                    @Override public void onCompleted() {
+                        responseObserver.onCompleted();
+                    }
+                };
+            }
+        }).build().start();
+    }
+
+    @After
+    public void tearDown() {
+        server.shutdownNow();
+    }
+
+    @Test
+    public void testNewStreamAfterError() throws InterruptedException {
+        GRPCRemoteClient client = new GRPCRemoteClient(new OneClassGetter(), new RemoteInstance("127.0.0.1", server.getPort(), false), 1, 100, 10, 100);
+
+        client.push(1, indicator("1"));
+        for (int i = 0; i < 100 && client.getLostMessages() < 1; i++) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(1, client.getLostMessages());
+
+        client.push(1, indicator("2"));
+        for (int i = 0; i < 100 && received.isEmpty(); i++) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(2, streams.get());
+        Assert.assertEquals(1, received.size());
+        Assert.assertEquals("2", received.get(0).getRemoteData().getDataStrings(0));
+        Assert.assertEquals(1, client.getLostMessages());
+    }
+
+    @Test
+    public void testCloseCompletesStream() throws InterruptedException {
+        GRPCRemoteClient client = new GRPCRemoteClient(new OneClassGetter(), new RemoteInstance("127.0.0.1", server.getPort(), false), 1, 100, 10, 100);
+        client.push(1, indicator("1"));
+        for (int i = 0; i < 100 && client.getLostMessages() < 1; i++) {
+            Thread.sleep(50);
+        }
+
+        for (int i = 0; i < 5; i++) {
+            client.push(1, indicator(String.valueOf(i)));
+        }
+        client.close();
+
+        ManagedChannel channel = ((GRPCClient)Whitebox.getInternalState(client, "client")).getChannel();
+        for (int i = 0; i < 100 && !channel.isShutdown(); i++) {
+            Thread.sleep(50);
+        }
+        Assert.assertTrue(channel.isShutdown());
+        Assert.assertEquals(5, received.size());
+        Assert.assertEquals(1, client.getLostMessages());
+    }
+
+    private ServiceRespTimeIndicator indicator(String entityId) {
+        ServiceRespTimeIndicator indicator = new ServiceRespTimeIndicator();
+        indicator.setEntityId(entityId);
+        indicator.setTimeBucket(201810302359L);
+        return indicator;
+    }
+
+    private static class OneClassGetter implements StreamDataClassGetter {
+        @Override public int findIdByClass(Class streamDataClass) {
+            return 1;
+        }
+
+        @Override public Class<StreamData> findClassById(int id) {
+            return null;
+        }
+
+        @Override public StreamData newInstanceById(int id) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.core.remote.selector;
+
+import java.util.*;
+import org.apache.skywalking.oap.server.core.remote.client.*;
+import org.junit.*;
+
+public class ConsistentHashRingTest {
+
+    private static final int KEYS = 10000;
+
+    @Test
+    public void testEmpty() {
+        Assert.assertNull(new ConsistentHashRing(10).select(1));
+    }
+
+    @Test
+    public void testMinimalReshuffle() {
+        List<RemoteClient> clients = clients(4);
+        ConsistentHashRing ring = new ConsistentHashRing(160).update(Collections.emptyList(), clients);
+        Assert.assertEquals(4 * 160, ring.size());
+
+        RemoteClient newClient = new SelfRemoteClient("10.0.0.5", 11800);
+        ConsistentHashRing joined = ring.update(Collections.emptyList(), Collections.singletonList(newClient));
+
+        int moved = 0;
+        for (int key = 0; key < KEYS; key++) {
+            RemoteClient before = ring.select(key);
+            RemoteClient after = joined.select(key);
+            if (before != after) {
+                Assert.assertSame(newClient, after);
+                moved++;
+            }
+        }
+        Assert.assertTrue(moved > KEYS / 10);
+        Assert.assertTrue(moved < KEYS * 3 / 10);
+
+        ConsistentHashRing left = joined.update(Collections.singletonList(newClient), Collections.emptyList());
+        for (int key = 0; key < KEYS; key++) {
+            Assert.assertSame(ring.select(key), left.select(key));
+        }
+    }
+
+    @Test
+    public void testSameRingOnEveryNode() {
+        List<RemoteClient> clients = clients(3);
+        ConsistentHashRing incremental = new ConsistentHashRing(160)
+            .update(Collections.emptyList(), clients.subList(2, 3))
+            .update(Collections.emptyList(), clients.subList(0, 2));
+        ConsistentHashRing full = new ConsistentHashRing(160).update(Collections.emptyList(), clients);
+
+        for (int key = 0; key < KEYS; key++) {
+            Assert.assertSame(full.select(key), incremental.select(key));
+        }
+    }
+
+    private List<RemoteClient> clients(int size) {
+        List<RemoteClient> clients = new ArrayList<>();
+        for (int i = 1; i <= size; i++) {
+            clients.add(new SelfRemoteClient("10.0.0." + i, 11800));
+        }
+        return clients;
+    }
+}
@@ -33,12 +33,13 @@ import org.elasticsearch.action.bulk.*;
 import org.elasticsearch.action.get.*;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.search.*;
-import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.action.support.*;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.client.*;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.settings.Settings;
-import org.elasticsearch.common.unit.*;
-import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.*;
+import org.elasticsearch.script.Script;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.slf4j.*;
 
@@ -50,6 +51,10 @@ public class ElasticSearchClient implements Client {
     private static final Logger logger = LoggerFactory.getLogger(ElasticSearchClient.class);
 
     private static final String TYPE = "type";
+    /**
+     * Searches across time series partitions skip the partitions which have not been created or have been deleted.
+     */
+    private static final IndicesOptions LENIENT_INDICES_OPTIONS = IndicesOptions.fromOptions(true, true, true, false);
     private final String clusterNodes;
     private final NameSpace namespace;
     private RestHighLevelClient client;
@@ -114,6 +119,78 @@ public class ElasticSearchClient implements Client {
         return client.indices().exists(request);
     }
 
+    /**
+     * Create an index template which applies the settings and mapping to every index named by
+     * <code>indexName-*</code>, and joins those indexes into the alias named by <code>indexName</code>.
+     */
+    public boolean createTemplate(String indexName, Settings settings,
+        XContentBuilder mappingBuilder) throws IOException {
+        indexName = formatIndexName(indexName);
+
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        builder.array("index_patterns", indexName + "-*");
+        builder.startObject("settings");
+        settings.toXContent(builder, ToXContent.EMPTY_PARAMS);
+        builder.endObject();
+        builder.startObject("mappings")
+            .field(TYPE, XContentHelper.convertToMap(BytesReference.bytes(mappingBuilder), false, XContentType.JSON).v2())
+            .endObject();
+        builder.startObject("aliases").startObject(indexName).endObject().endObject();
+        builder.endObject();
+
+        HttpEntity entity = new NStringEntity(BytesReference.bytes(builder).utf8ToString(), ContentType.APPLICATION_JSON);
+        Response response = client.getLowLevelClient().performRequest("PUT", "/_template/" + indexName, Collections.emptyMap(), entity);
+        int statusCode = response.getStatusLine().getStatusCode();
+        logger.info("create {} index template finished, status code: {}", indexName, statusCode);
+        return statusCode == HttpStatus.SC_OK;
+    }
+
+    public boolean deleteTemplate(String indexName) throws IOException {
+        indexName = formatIndexName(indexName);
+        Response response = client.getLowLevelClient().performRequest("DELETE", "/_template/" + indexName);
+        int statusCode = response.getStatusLine().getStatusCode();
+        logger.info("delete {} index template finished, status code: {}", indexName, statusCode);
+        return statusCode == HttpStatus.SC_OK;
+    }
+
+    public boolean isExistsTemplate(String indexName) throws IOException {
+        indexName = formatIndexName(indexName);
+        Response response = client.getLowLevelClient().performRequest("HEAD", "/_template/" + indexName);
+        return response.getStatusLine().getStatusCode() == HttpStatus.SC_OK;
+    }
+
+    /**
+     * @return the names, without namespace, of the indexes joined into the given alias.
+     */
+    public List<String> retrievalIndexByAlias(String aliasName) throws IOException {
+        aliasName = formatIndexName(aliasName);
+        Map<String, String> params = Collections.singletonMap("ignore", "404");
+        Response response = client.getLowLevelClient().performRequest("GET", "/_alias/" + aliasName, params);
+
+        List<String> indexNames = new ArrayList<>();
+        if (response.getStatusLine().getStatusCode() == HttpStatus.SC_OK) {
+            Map<String, Object> indexes = XContentHelper.convertToMap(XContentType.JSON.xContent(), response.getEntity().getContent(), false);
+            indexes.keySet().forEach(indexName -> indexNames.add(unformatIndexName(indexName)));
+        }
+        return indexNames;
+    }
+
+    /**
+     * Search across several indexes, such as the time series partitions of one model, the indexes not exist are
+     * ignored.
+     */
+    public SearchResponse search(List<String> indexNames, SearchSourceBuilder searchSourceBuilder) throws IOException {
+        String[] formattedIndexNames = new String[indexNames.size()];
+        for (int i = 0; i < indexNames.size(); i++) {
+            formattedIndexNames[i] = formatIndexName(indexNames.get(i));
+        }
+        SearchRequest searchRequest = new SearchRequest(formattedIndexNames);
+        searchRequest.indicesOptions(LENIENT_INDICES_OPTIONS);
+        searchRequest.types(TYPE);
+        searchRequest.source(searchSourceBuilder);
+        return client.search(searchRequest);
+    }
+
     public SearchResponse search(String indexName, SearchSourceBuilder searchSourceBuilder) throws IOException {
         indexName = formatIndexName(indexName);
         SearchRequest searchRequest = new SearchRequest(indexName);
@@ -135,6 +212,17 @@ public class ElasticSearchClient implements Client {
         return client.multiGet(request);
     }
 
+    /**
+     * Get the documents of the given ids, each one from the index at the same position of the index names.
+     */
+    public MultiGetResponse multiGet(List<String> indexNames, List<String> ids) throws IOException {
+        MultiGetRequest request = new MultiGetRequest();
+        for (int i = 0; i < ids.size(); i++) {
+            request.add(formatIndexName(indexNames.get(i)), TYPE, ids.get(i));
+        }
+        return client.multiGet(request);
+    }
+
     public void forceInsert(String indexName, String id, XContentBuilder source) throws IOException {
         IndexRequest request = prepareInsert(indexName, id, source);
         request.setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
@@ -166,6 +254,15 @@ public class ElasticSearchClient implements Client {
         return new UpdateRequest(indexName, TYPE, id).doc(source);
     }
 
+    /**
+     * Update the document by the script, or insert the upsert document when it doesn't exist. Retry on the version
+     * conflict, as the bulk requests are executed concurrently.
+     */
+    public UpdateRequest prepareUpsert(String indexName, String id, Script script, XContentBuilder upsert) {
+        indexName = formatIndexName(indexName);
+        return new UpdateRequest(indexName, TYPE, id).script(script).upsert(upsert).retryOnConflict(3);
+    }
+
     public void delete(String indexName, String timeBucketColumnName, long startTimeBucket,
         long endTimeBucket) throws IOException {
         indexName = formatIndexName(indexName);
@@ -191,32 +288,28 @@ public class ElasticSearchClient implements Client {
         return indexName;
     }
 
-    public BulkProcessor createBulkProcessor(int bulkActions, int bulkSize, int flushInterval,
-        int concurrentRequests) {
-        BulkProcessor.Listener listener = new BulkProcessor.Listener() {
-            @Override
-            public void beforeBulk(long executionId, BulkRequest request) {
-
+    /**
+     * @return the index name without the namespace, the reverse of the formatting of the requests.
+     */
+    public String trimIndexName(String indexName) {
+        if (Objects.nonNull(namespace) && StringUtils.isNotEmpty(namespace.getNameSpace())) {
+            String prefix = namespace.getNameSpace() + "_";
+            if (indexName.startsWith(prefix)) {
+                return indexName.substring(prefix.length());
             }
+        }
+        return indexName;
+    }
 
-            @Override
-            public void afterBulk(long executionId, BulkRequest request,
-                BulkResponse response) {
-
-            }
+    private String unformatIndexName(String indexName) {
+        if (Objects.nonNull(namespace) && StringUtils.isNotEmpty(namespace.getNameSpace())
+            && indexName.startsWith(namespace.getNameSpace() + "_")) {
+            return indexName.substring(namespace.getNameSpace().length() + 1);
+        }
+        return indexName;
+    }
 
-            @Override
-            public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
-                logger.error("{} data bulk failed, reason: {}", request.numberOfActions(), failure);
-            }
-        };
-
-        return BulkProcessor.builder(client::bulkAsync, listener)
-            .setBulkActions(bulkActions)
-            .setBulkSize(new ByteSizeValue(bulkSize, ByteSizeUnit.MB))
-            .setFlushInterval(TimeValue.timeValueSeconds(flushInterval))
-            .setConcurrentRequests(concurrentRequests)
-            .setBackoffPolicy(BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(100), 3))
-            .build();
+    public BulkResponse bulk(BulkRequest request) throws IOException {
+        return client.bulk(request);
     }
 }
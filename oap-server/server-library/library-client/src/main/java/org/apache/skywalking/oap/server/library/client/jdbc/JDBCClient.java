@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.library.client.jdbc;
+
+import java.sql.*;
+import org.apache.commons.dbcp.BasicDataSource;
+import org.apache.skywalking.oap.server.library.client.Client;
+import org.slf4j.*;
+
+/**
+ * A JDBC client backed by a connection pool. Every connection of the pool caches its prepared statements, so the
+ * statements of the same SQL are prepared once per connection instead of once per execution.
+ */
+public class JDBCClient implements Client {
+
+    private static final Logger logger = LoggerFactory.getLogger(JDBCClient.class);
+
+    private final String driverClassName;
+    private final String url;
+    private final String userName;
+    private final String password;
+    private final int maxActive;
+    private final int maxOpenPreparedStatements;
+    private BasicDataSource dataSource;
+
+    /**
+     * @param maxActive the max number of the connections in the pool.
+     * @param maxOpenPreparedStatements the max number of the cached prepared statements of one connection.
+     */
+    public JDBCClient(String driverClassName, String url, String userName, String password, int maxActive,
+        int maxOpenPreparedStatements) {
+        this.driverClassName = driverClassName;
+        this.url = url;
+        this.userName = userName;
+        this.password = password;
+        this.maxActive = maxActive;
+        this.maxOpenPreparedStatements = maxOpenPreparedStatements;
+    }
+
+    @Override public void initialize() throws JDBCClientException {
+        dataSource = new BasicDataSource();
+        dataSource.setDriverClassName(driverClassName);
+        dataSource.setUrl(url);
+        dataSource.setUsername(userName);
+        dataSource.setPassword(password);
+        dataSource.setMaxActive(maxActive);
+        dataSource.setMaxIdle(maxActive);
+        dataSource.setPoolPreparedStatements(true);
+        dataSource.setMaxOpenPreparedStatements(maxOpenPreparedStatements);
+        dataSource.setDefaultAutoCommit(true);
+
+        try (Connection connection = dataSource.getConnection()) {
+            logger.info("connected to {}, database: {} {}", url, connection.getMetaData().getDatabaseProductName(), connection.getMetaData().getDatabaseProductVersion());
+        } catch (SQLException e) {
+            logger.error("connect to {} failure, the JDBC driver {} must be in the class path.", url, driverClassName);
+            throw new JDBCClientException(e.getMessage(), e);
+        }
+    }
+
+    @Override public void shutdown() {
+        try {
+            dataSource.close();
+        } catch (SQLException e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The caller must close the connection to return it to the pool.
+     */
+    public Connection getConnection() throws JDBCClientException {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new JDBCClientException(e.getMessage(), e);
+        }
+    }
+
+    public void execute(String sql) throws JDBCClientException {
+        logger.debug("execute sql: {}", sql);
+        try (Connection connection = getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new JDBCClientException(e.getMessage(), e);
+        }
+    }
+
+    public <T> T executeQuery(String sql, ResultSetHandler<T> handler, Object... params) throws JDBCClientException {
+        logger.debug("execute query with result: {}", sql);
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            setParameters(statement, params);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return handler.handle(resultSet);
+            }
+        } catch (SQLException e) {
+            throw new JDBCClientException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return the number of the updated rows.
+     */
+    public int executeUpdate(String sql, Object... params) throws JDBCClientException {
+        logger.debug("execute insert/update/delete: {}", sql);
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            setParameters(statement, params);
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new JDBCClientException(e.getMessage(), e);
+        }
+    }
+
+    public static void setParameters(PreparedStatement statement, Object... params) throws SQLException {
+        for (int i = 0; i < params.length; i++) {
+            statement.setObject(i + 1, params[i]);
+        }
+    }
+}
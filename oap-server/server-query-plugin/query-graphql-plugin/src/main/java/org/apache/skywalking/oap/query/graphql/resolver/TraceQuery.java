@@ -19,16 +19,193 @@
 package org.apache.skywalking.oap.query.graphql.resolver;
 
 import com.coxautodev.graphql.tools.GraphQLQueryResolver;
-import org.apache.skywalking.oap.query.graphql.type.Trace;
-import org.apache.skywalking.oap.query.graphql.type.TraceBrief;
-import org.apache.skywalking.oap.query.graphql.type.TraceQueryCondition;
+import java.io.IOException;
+import java.util.List;
+import org.apache.skywalking.apm.network.language.agent.*;
+import org.apache.skywalking.oap.query.graphql.type.*;
+import org.apache.skywalking.oap.server.core.*;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.cache.*;
+import org.apache.skywalking.oap.server.core.config.IComponentLibraryCatalogService;
+import org.apache.skywalking.oap.server.core.query.*;
+import org.apache.skywalking.oap.server.core.query.entity.*;
+import org.apache.skywalking.oap.server.core.query.entity.RefType;
+import org.apache.skywalking.oap.server.core.register.*;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.library.util.StringUtils;
+
+import static java.util.Objects.*;
 
 public class TraceQuery implements GraphQLQueryResolver {
-    public TraceBrief queryBasicTraces(final TraceQueryCondition condition) {
-        return new TraceBrief();
+
+    private final ModuleManager moduleManager;
+    private TraceQueryService queryService;
+    private ServiceInventoryCache serviceInventoryCache;
+    private EndpointInventoryCache endpointInventoryCache;
+    private NetworkAddressInventoryCache networkAddressInventoryCache;
+    private IComponentLibraryCatalogService componentLibraryCatalogService;
+
+    public TraceQuery(ModuleManager moduleManager) {
+        this.moduleManager = moduleManager;
+    }
+
+    private TraceQueryService getQueryService() {
+        if (queryService == null) {
+            this.queryService = moduleManager.find(CoreModule.NAME).getService(TraceQueryService.class);
+        }
+        return queryService;
+    }
+
+    private ServiceInventoryCache getServiceInventoryCache() {
+        if (serviceInventoryCache == null) {
+            this.serviceInventoryCache = moduleManager.find(CoreModule.NAME).getService(ServiceInventoryCache.class);
+        }
+        return serviceInventoryCache;
+    }
+
+    private EndpointInventoryCache getEndpointInventoryCache() {
+        if (endpointInventoryCache == null) {
+            this.endpointInventoryCache = moduleManager.find(CoreModule.NAME).getService(EndpointInventoryCache.class);
+        }
+        return endpointInventoryCache;
+    }
+
+    private NetworkAddressInventoryCache getNetworkAddressInventoryCache() {
+        if (networkAddressInventoryCache == null) {
+            this.networkAddressInventoryCache = moduleManager.find(CoreModule.NAME).getService(NetworkAddressInventoryCache.class);
+        }
+        return networkAddressInventoryCache;
+    }
+
+    private IComponentLibraryCatalogService getComponentLibraryCatalogService() {
+        if (componentLibraryCatalogService == null) {
+            this.componentLibraryCatalogService = moduleManager.find(CoreModule.NAME).getService(IComponentLibraryCatalogService.class);
+        }
+        return componentLibraryCatalogService;
+    }
+
+    public TraceBrief queryBasicTraces(final TraceQueryCondition condition) throws IOException {
+        String traceId = Const.EMPTY_STRING;
+        long startSecondTB = 0;
+        long endSecondTB = 0;
+
+        if (StringUtils.isNotEmpty(condition.getTraceId())) {
+            traceId = condition.getTraceId();
+        } else if (nonNull(condition.getQueryDuration())) {
+            Duration duration = condition.getQueryDuration();
+            startSecondTB = DurationUtils.INSTANCE.startTimeDurationToSecondTimeBucket(duration.getStep(), duration.getStart());
+            endSecondTB = DurationUtils.INSTANCE.endTimeDurationToSecondTimeBucket(duration.getStep(), duration.getEnd());
+        } else {
+            throw new UnexpectedException("The condition must contains either queryDuration or traceId.");
+        }
+
+        int pageNum = 1;
+        int pageSize = 0;
+        if (nonNull(condition.getPaging())) {
+            pageNum = condition.getPaging().getPageNum();
+            pageSize = condition.getPaging().getPageSize();
+        }
+
+        return getQueryService().queryBasicTraces(condition.getApplicationId(), traceId, condition.getOperationName(),
+            startSecondTB, endSecondTB, condition.getMinTraceDuration(), condition.getMaxTraceDuration(),
+            condition.getTraceState(), condition.getQueryOrder(), pageNum, pageSize);
+    }
+
+    public Trace queryTrace(final String traceId) throws IOException {
+        Trace trace = new Trace();
+
+        List<SegmentRecord> segments = getQueryService().queryTraceSegments(traceId);
+        for (SegmentRecord segment : segments) {
+            if (isNull(segment.getDataBinary()) || segment.getDataBinary().length == 0) {
+                continue;
+            }
+
+            TraceSegmentObject segmentObject = TraceSegmentObject.parseFrom(segment.getDataBinary());
+            String serviceCode = serviceName(segmentObject.getApplicationId());
+            for (SpanObject spanObject : segmentObject.getSpansList()) {
+                trace.getSpans().add(buildSpan(traceId, segment.getSegmentId(), serviceCode, spanObject));
+            }
+        }
+        return trace;
+    }
+
+    private Span buildSpan(String traceId, String segmentId, String serviceCode, SpanObject spanObject) {
+        Span span = new Span();
+        span.setTraceId(traceId);
+        span.setSegmentId(segmentId);
+        span.setSpanId(spanObject.getSpanId());
+        span.setParentSpanId(spanObject.getParentSpanId());
+        span.setStartTime(spanObject.getStartTime());
+        span.setEndTime(spanObject.getEndTime());
+        span.setError(spanObject.getIsError());
+        span.setLayer(spanObject.getSpanLayer().name());
+        span.setType(spanObject.getSpanType().name());
+        span.setServiceCode(serviceCode);
+        span.setApplicationCode(serviceCode);
+
+        if (spanObject.getOperationNameId() != 0) {
+            EndpointInventory endpointInventory = getEndpointInventoryCache().get(spanObject.getOperationNameId());
+            span.setOperationName(nonNull(endpointInventory) ? endpointInventory.getName() : Const.EMPTY_STRING);
+        } else {
+            span.setOperationName(spanObject.getOperationName());
+        }
+
+        if (spanObject.getPeerId() != 0) {
+            NetworkAddressInventory networkAddressInventory = getNetworkAddressInventoryCache().get(spanObject.getPeerId());
+            span.setPeer(nonNull(networkAddressInventory) ? networkAddressInventory.getName() : Const.EMPTY_STRING);
+        } else {
+            span.setPeer(spanObject.getPeer());
+        }
+
+        if (spanObject.getComponentId() != 0) {
+            span.setComponent(getComponentLibraryCatalogService().getComponentName(spanObject.getComponentId()));
+        } else {
+            span.setComponent(spanObject.getComponent());
+        }
+
+        for (TraceSegmentReference reference : spanObject.getRefsList()) {
+            Ref ref = new Ref();
+            ref.setTraceId(traceId);
+            ref.setParentSegmentId(toIdString(reference.getParentTraceSegmentId()));
+            ref.setParentSpanId(reference.getParentSpanId());
+            ref.setType(reference.getRefTypeValue() == 0 ? RefType.CROSS_PROCESS : RefType.CROSS_THREAD);
+            span.getRefs().add(ref);
+        }
+
+        for (KeyWithStringValue tag : spanObject.getTagsList()) {
+            KeyValue keyValue = new KeyValue();
+            keyValue.setKey(tag.getKey());
+            keyValue.setValue(tag.getValue());
+            span.getTags().add(keyValue);
+        }
+
+        for (LogMessage log : spanObject.getLogsList()) {
+            LogEntity logEntity = new LogEntity();
+            logEntity.setTime(log.getTime());
+            for (KeyWithStringValue data : log.getDataList()) {
+                KeyValue keyValue = new KeyValue();
+                keyValue.setKey(data.getKey());
+                keyValue.setValue(data.getValue());
+                logEntity.getData().add(keyValue);
+            }
+            span.getLogs().add(logEntity);
+        }
+        return span;
+    }
+
+    private String serviceName(int serviceId) {
+        ServiceInventory serviceInventory = getServiceInventoryCache().get(serviceId);
+        return nonNull(serviceInventory) ? serviceInventory.getName() : Const.EMPTY_STRING;
     }
 
-    public Trace queryTrace(final String traceId) {
-        return new Trace();
+    private String toIdString(UniqueId uniqueId) {
+        StringBuilder idBuilder = new StringBuilder();
+        for (int i = 0; i < uniqueId.getIdPartsList().size(); i++) {
+            if (i > 0) {
+                idBuilder.append(".");
+            }
+            idBuilder.append(uniqueId.getIdPartsList().get(i));
+        }
+        return idBuilder.toString();
     }
 }
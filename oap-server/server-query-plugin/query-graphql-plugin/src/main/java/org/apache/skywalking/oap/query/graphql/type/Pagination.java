@@ -18,6 +18,9 @@
 
 package org.apache.skywalking.oap.query.graphql.type;
 
+import lombok.Getter;
+
+@Getter
 public class Pagination {
     private int pageNum;
     private int pageSize;
@@ -19,14 +19,17 @@
 package org.apache.skywalking.oap.server.receiver.trace.provider;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.oap.server.core.CoreModule;
 import org.apache.skywalking.oap.server.core.server.GRPCHandlerRegister;
+import org.apache.skywalking.oap.server.core.worker.*;
 import org.apache.skywalking.oap.server.library.module.*;
 import org.apache.skywalking.oap.server.receiver.trace.module.TraceModule;
 import org.apache.skywalking.oap.server.receiver.trace.provider.handler.TraceSegmentServiceHandler;
 import org.apache.skywalking.oap.server.receiver.trace.provider.parser.*;
 import org.apache.skywalking.oap.server.receiver.trace.provider.parser.listener.endpoint.MultiScopesSpanListener;
 import org.apache.skywalking.oap.server.receiver.trace.provider.parser.listener.service.*;
+import org.apache.skywalking.oap.server.receiver.trace.provider.parser.sampling.*;
 import org.apache.skywalking.oap.server.receiver.trace.provider.parser.standardization.SegmentStandardizationWorker;
 
 /**
@@ -63,11 +66,31 @@ public class TraceModuleProvider extends ModuleProvider {
 
         GRPCHandlerRegister grpcHandlerRegister = getManager().find(CoreModule.NAME).getService(GRPCHandlerRegister.class);
         try {
-            SegmentParse segmentParse = new SegmentParse(getManager(), listenerManager);
-            grpcHandlerRegister.addHandler(new TraceSegmentServiceHandler(segmentParse));
+            SegmentParse.Producer segmentProducer = new SegmentParse.Producer(getManager(), listenerManager);
+            grpcHandlerRegister.addHandler(new TraceSegmentServiceHandler(segmentProducer));
 
-            SegmentStandardizationWorker standardizationWorker = new SegmentStandardizationWorker(segmentParse, moduleConfig.getBufferPath(), moduleConfig.getBufferOffsetMaxFileSize(), moduleConfig.getBufferDataMaxFileSize(), moduleConfig.isBufferFileCleanWhenRestart());
-            segmentParse.setStandardizationWorker(standardizationWorker);
+            TraceTailSampler tailSampler = new TraceTailSampler(TimeUnit.SECONDS.toMillis(moduleConfig.getTailSamplingWindow()),
+                moduleConfig.getTailSamplingSlowThreshold(), moduleConfig.getTailSamplingBaselineRate(),
+                moduleConfig.getTailSamplingMaxBufferedSegments(), new SegmentPersistence(getManager()));
+            tailSampler.start();
+
+            TraceTailSamplerWorker samplerWorker = new TraceTailSamplerWorker(WorkerIdGenerator.INSTANCES.generate(), tailSampler);
+            WorkerInstances.INSTANCES.put(samplerWorker.getWorkerId(), samplerWorker);
+
+            TraceTailSamplerRemoteWorker samplerRemoteWorker = new TraceTailSamplerRemoteWorker(WorkerIdGenerator.INSTANCES.generate(), getManager(), samplerWorker);
+            WorkerInstances.INSTANCES.put(samplerRemoteWorker.getWorkerId(), samplerRemoteWorker);
+
+            /*
+             * Without the tail sampling, the segments are persisted at once, no need to route them.
+             */
+            if (moduleConfig.getTailSamplingWindow() > 0) {
+                segmentProducer.setSamplingWorker(samplerRemoteWorker);
+            } else {
+                segmentProducer.setSamplingWorker(samplerWorker);
+            }
+
+            SegmentStandardizationWorker standardizationWorker = new SegmentStandardizationWorker(segmentProducer, moduleConfig.getBufferPath(), moduleConfig.getBufferOffsetMaxFileSize(), moduleConfig.getBufferDataMaxFileSize(), moduleConfig.isBufferFileCleanWhenRestart());
+            segmentProducer.setStandardizationWorker(standardizationWorker);
         } catch (IOException e) {
             throw new ModuleStartException(e.getMessage(), e);
         }
@@ -29,4 +29,19 @@ public class TraceServiceModuleConfig extends ModuleConfig {
     @Setter @Getter private int bufferOffsetMaxFileSize;
     @Setter @Getter private int bufferDataMaxFileSize;
     @Setter @Getter private boolean bufferFileCleanWhenRestart;
+    /**
+     * Unit is second. Zero means the tail sampling is off, all segments are persisted. The traces are decided by the
+     * OAP node owning their trace id, so the tail sampling settings must be the same in all nodes, see {@link
+     * org.apache.skywalking.oap.server.receiver.trace.provider.parser.sampling.TraceTailSampler}.
+     */
+    @Setter @Getter private int tailSamplingWindow = 0;
+    /**
+     * Unit is millisecond.
+     */
+    @Setter @Getter private int tailSamplingSlowThreshold = 3000;
+    /**
+     * The traces persisted anyway, per 10000.
+     */
+    @Setter @Getter private int tailSamplingBaselineRate = 100;
+    @Setter @Getter private int tailSamplingMaxBufferedSegments = 100000;
 }
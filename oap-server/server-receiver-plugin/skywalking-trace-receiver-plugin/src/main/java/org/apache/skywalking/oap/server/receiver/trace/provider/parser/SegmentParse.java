@@ -22,42 +22,48 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import java.util.*;
 import lombok.Setter;
 import org.apache.skywalking.apm.network.language.agent.*;
+import org.apache.skywalking.oap.server.core.*;
+import org.apache.skywalking.oap.server.core.cache.EndpointInventoryCache;
+import org.apache.skywalking.oap.server.core.register.EndpointInventory;
+import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
 import org.apache.skywalking.oap.server.library.buffer.DataStreamReader;
 import org.apache.skywalking.oap.server.library.module.ModuleManager;
-import org.apache.skywalking.oap.server.library.util.TimeBucketUtils;
+import org.apache.skywalking.oap.server.library.util.*;
 import org.apache.skywalking.oap.server.receiver.trace.provider.parser.decorator.*;
 import org.apache.skywalking.oap.server.receiver.trace.provider.parser.listener.*;
+import org.apache.skywalking.oap.server.receiver.trace.provider.parser.sampling.*;
 import org.apache.skywalking.oap.server.receiver.trace.provider.parser.standardization.*;
 import org.slf4j.*;
 
+import static java.util.Objects.isNull;
+
 /**
+ * Parse one segment at a time, so one instance per thread, see {@link Producer}. The span listeners are created once
+ * and reset for every segment.
+ *
  * @author peng-yongsheng
  */
-public class SegmentParse implements DataStreamReader.CallBack<UpstreamSegment> {
+public class SegmentParse {
 
     private static final Logger logger = LoggerFactory.getLogger(SegmentParse.class);
 
     private final ModuleManager moduleManager;
     private final List<SpanListener> spanListeners;
-    private final SegmentParserListenerManager listenerManager;
     private final SegmentCoreInfo segmentCoreInfo;
-    @Setter private SegmentStandardizationWorker standardizationWorker;
+    private final Producer producer;
+    private EndpointInventoryCache endpointInventoryCache;
 
-    public SegmentParse(ModuleManager moduleManager, SegmentParserListenerManager listenerManager) {
+    private SegmentParse(ModuleManager moduleManager, SegmentParserListenerManager listenerManager,
+        Producer producer) {
         this.moduleManager = moduleManager;
-        this.listenerManager = listenerManager;
-        this.spanListeners = new LinkedList<>();
+        this.producer = producer;
+        this.spanListeners = new ArrayList<>();
         this.segmentCoreInfo = new SegmentCoreInfo();
-        this.segmentCoreInfo.setStartTime(Long.MAX_VALUE);
-        this.segmentCoreInfo.setEndTime(Long.MIN_VALUE);
-    }
-
-    @Override public boolean call(UpstreamSegment segment) {
-        return parse(segment, Source.Buffer);
+        listenerManager.getSpanListenerFactories().forEach(spanListenerFactory -> spanListeners.add(spanListenerFactory.create(moduleManager)));
     }
 
-    public boolean parse(UpstreamSegment segment, Source source) {
-        createSpanListeners();
+    private boolean parse(UpstreamSegment segment, Source source) {
+        reset();
 
         try {
             List<UniqueId> traceIds = segment.getGlobalTraceIdsList();
@@ -80,7 +86,7 @@ public class SegmentParse implements DataStreamReader.CallBack<UpstreamSegment>
                 }
 
                 notifyListenerToBuild();
-                buildSegment(segmentCoreInfo.getSegmentId(), segmentDecorator.toByteArray());
+                buildSegment(segmentCoreInfo.getSegmentId(), traceIds, segmentDecorator.toByteArray());
                 return true;
             }
         } catch (Throwable e) {
@@ -114,10 +120,14 @@ public class SegmentParse implements DataStreamReader.CallBack<UpstreamSegment>
 
         for (int i = 0; i < segmentDecorator.getSpansCount(); i++) {
             SpanDecorator spanDecorator = segmentDecorator.getSpans(i);
+            String operationName = spanDecorator.getOperationName();
 
             if (!SpanIdExchanger.getInstance(moduleManager).exchange(spanDecorator, segmentCoreInfo.getApplicationId())) {
                 return false;
             } else {
+                if (spanDecorator.getSpanId() == 0) {
+                    segmentCoreInfo.setEndpointName(firstSpanEndpointName(operationName, spanDecorator.getOperationNameId()));
+                }
                 for (int j = 0; j < spanDecorator.getRefsCount(); j++) {
                     ReferenceDecorator referenceDecorator = spanDecorator.getRefs(j);
                     if (!ReferenceIdExchanger.getInstance(moduleManager).exchange(referenceDecorator, segmentCoreInfo.getApplicationId())) {
@@ -159,11 +169,41 @@ public class SegmentParse implements DataStreamReader.CallBack<UpstreamSegment>
         return true;
     }
 
-    private void buildSegment(String id, byte[] dataBinary) {
-//        Segment segment = new Segment();
-//        segment.setId(id);
-//        segment.setDataBinary(dataBinary);
-//        segment.setTimeBucket(segmentCoreInfo.getMinuteTimeBucket());
+    /**
+     * The operation name is cleared by the id exchange, read it back from the inventory if the agent sent the id only.
+     */
+    private String firstSpanEndpointName(String operationName, int operationNameId) {
+        if (StringUtils.isNotEmpty(operationName)) {
+            return operationName;
+        }
+        if (isNull(endpointInventoryCache)) {
+            endpointInventoryCache = moduleManager.find(CoreModule.NAME).getService(EndpointInventoryCache.class);
+        }
+        EndpointInventory endpointInventory = endpointInventoryCache.get(operationNameId);
+        return isNull(endpointInventory) ? Const.EMPTY_STRING : endpointInventory.getName();
+    }
+
+    private void buildSegment(String id, List<UniqueId> traceIds, byte[] dataBinary) {
+        List<String> globalTraceIds = new ArrayList<>(traceIds.size());
+        for (UniqueId uniqueId : traceIds) {
+            globalTraceIds.add(toIdString(uniqueId));
+        }
+
+        SampledSegment segment = new SampledSegment(id, globalTraceIds, segmentCoreInfo.getApplicationId(),
+            segmentCoreInfo.getEndpointName(), segmentCoreInfo.getStartTime(), segmentCoreInfo.getEndTime(), segmentCoreInfo.isError(),
+            segmentCoreInfo.getMinuteTimeBucket(), dataBinary);
+        producer.samplingWorker.in(segment);
+    }
+
+    private String toIdString(UniqueId uniqueId) {
+        StringBuilder idBuilder = new StringBuilder();
+        for (int i = 0; i < uniqueId.getIdPartsList().size(); i++) {
+            if (i > 0) {
+                idBuilder.append(".");
+            }
+            idBuilder.append(uniqueId.getIdPartsList().get(i));
+        }
+        return idBuilder.toString();
     }
 
     private void writeToBufferFile(String id, UpstreamSegment upstreamSegment) {
@@ -174,7 +214,7 @@ public class SegmentParse implements DataStreamReader.CallBack<UpstreamSegment>
         SegmentStandardization standardization = new SegmentStandardization(id);
         standardization.setUpstreamSegment(upstreamSegment);
 
-        standardizationWorker.in(standardization);
+        producer.standardizationWorker.in(standardization);
     }
 
     private void notifyListenerToBuild() {
@@ -221,11 +261,35 @@ public class SegmentParse implements DataStreamReader.CallBack<UpstreamSegment>
         });
     }
 
-    private void createSpanListeners() {
-        listenerManager.getSpanListenerFactories().forEach(spanListenerFactory -> spanListeners.add(spanListenerFactory.create(moduleManager)));
+    private void reset() {
+        segmentCoreInfo.reset();
+        spanListeners.forEach(SpanListener::reset);
     }
 
     public enum Source {
         Agent, Buffer
     }
+
+    /**
+     * The entry of the segment parsing, shared by the gRPC threads and the buffer file reader. Each thread parses with
+     * its own {@link SegmentParse}, so the segments are parsed in parallel without locks.
+     */
+    public static class Producer implements DataStreamReader.CallBack<UpstreamSegment> {
+
+        private final ThreadLocal<SegmentParse> segmentParses;
+        @Setter private SegmentStandardizationWorker standardizationWorker;
+        @Setter private AbstractWorker<SampledSegment> samplingWorker;
+
+        public Producer(ModuleManager moduleManager, SegmentParserListenerManager listenerManager) {
+            this.segmentParses = ThreadLocal.withInitial(() -> new SegmentParse(moduleManager, listenerManager, this));
+        }
+
+        public boolean send(UpstreamSegment segment, Source source) {
+            return segmentParses.get().parse(segment, source);
+        }
+
+        @Override public boolean call(UpstreamSegment segment) {
+            return send(segment, Source.Buffer);
+        }
+    }
 }
@@ -26,6 +26,7 @@ public class SegmentCoreInfo {
     private String traceId;
     private int applicationId;
     private int applicationInstanceId;
+    private String endpointName;
     private long startTime;
     private long endTime;
     private boolean isError;
@@ -94,4 +95,27 @@ public class SegmentCoreInfo {
     public void setTraceId(String traceId) {
         this.traceId = traceId;
     }
+
+    public String getEndpointName() {
+        return endpointName;
+    }
+
+    public void setEndpointName(String endpointName) {
+        this.endpointName = endpointName;
+    }
+
+    /**
+     * Clear the info of the last segment, the instance is reused by the parser.
+     */
+    public void reset() {
+        this.segmentId = null;
+        this.traceId = null;
+        this.applicationId = 0;
+        this.applicationInstanceId = 0;
+        this.endpointName = null;
+        this.startTime = Long.MAX_VALUE;
+        this.endTime = Long.MIN_VALUE;
+        this.isError = false;
+        this.minuteTimeBucket = 0;
+    }
 }
@@ -24,6 +24,11 @@ package org.apache.skywalking.oap.server.receiver.trace.provider.parser.listener
 public interface SpanListener {
     void build();
 
+    /**
+     * Clear the state of the last segment, the listener is reused by the parser of the same thread.
+     */
+    void reset();
+
     boolean containsPoint(Point point);
 
     enum Point {
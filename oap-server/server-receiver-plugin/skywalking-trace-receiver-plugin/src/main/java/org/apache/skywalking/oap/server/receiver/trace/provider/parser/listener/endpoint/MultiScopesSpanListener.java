@@ -58,8 +58,8 @@ public class MultiScopesSpanListener implements EntrySpanListener, ExitSpanListe
 
     private MultiScopesSpanListener(ModuleManager moduleManager) {
         this.sourceReceiver = moduleManager.find(CoreModule.NAME).getService(SourceReceiver.class);
-        this.entrySourceBuilders = new LinkedList<>();
-        this.exitSourceBuilders = new LinkedList<>();
+        this.entrySourceBuilders = new ArrayList<>();
+        this.exitSourceBuilders = new ArrayList<>();
         this.instanceInventoryCache = moduleManager.find(CoreModule.NAME).getService(ServiceInstanceInventoryCache.class);
         this.serviceInventoryCache = moduleManager.find(CoreModule.NAME).getService(ServiceInventoryCache.class);
         this.endpointInventoryCache = moduleManager.find(CoreModule.NAME).getService(EndpointInventoryCache.class);
@@ -189,6 +189,13 @@ public class MultiScopesSpanListener implements EntrySpanListener, ExitSpanListe
         });
     }
 
+    @Override public void reset() {
+        entrySourceBuilders.clear();
+        exitSourceBuilders.clear();
+        entrySpanDecorator = null;
+        minuteTimeBucket = 0;
+    }
+
     public static class Factory implements SpanListenerFactory {
 
         @Override public SpanListener create(ModuleManager moduleManager) {
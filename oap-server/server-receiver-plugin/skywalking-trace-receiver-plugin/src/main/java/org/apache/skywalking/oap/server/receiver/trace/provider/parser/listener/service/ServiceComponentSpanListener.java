@@ -33,7 +33,7 @@ public class ServiceComponentSpanListener implements EntrySpanListener, ExitSpan
 
     private final SourceReceiver sourceReceiver;
     private final ServiceInventoryCache serviceInventoryCache;
-    private final List<ServiceComponent> serviceComponents = new LinkedList<>();
+    private final List<ServiceComponent> serviceComponents = new ArrayList<>();
 
     private ServiceComponentSpanListener(ModuleManager moduleManager) {
         this.sourceReceiver = moduleManager.find(CoreModule.NAME).getService(SourceReceiver.class);
@@ -68,6 +68,10 @@ public class ServiceComponentSpanListener implements EntrySpanListener, ExitSpan
         serviceComponents.forEach(sourceReceiver::receive);
     }
 
+    @Override public void reset() {
+        serviceComponents.clear();
+    }
+
     public static class Factory implements SpanListenerFactory {
 
         @Override public SpanListener create(ModuleManager moduleManager) {
@@ -37,7 +37,7 @@ public class ServiceMappingSpanListener implements EntrySpanListener {
 
     private final SourceReceiver sourceReceiver;
     private final ServiceInventoryCache serviceInventoryCache;
-    private List<ServiceMapping> serviceMappings = new LinkedList<>();
+    private final List<ServiceMapping> serviceMappings = new ArrayList<>();
 
     private ServiceMappingSpanListener(ModuleManager moduleManager) {
         this.sourceReceiver = moduleManager.find(CoreModule.NAME).getService(SourceReceiver.class);
@@ -77,6 +77,10 @@ public class ServiceMappingSpanListener implements EntrySpanListener {
         serviceMappings.forEach(sourceReceiver::receive);
     }
 
+    @Override public void reset() {
+        serviceMappings.clear();
+    }
+
     public static class Factory implements SpanListenerFactory {
 
         @Override public SpanListener create(ModuleManager moduleManager) {
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.parser.sampling;
+
+import com.google.protobuf.ByteString;
+import java.util.*;
+import lombok.Getter;
+import org.apache.skywalking.oap.server.core.remote.annotation.StreamData;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+
+/**
+ * A parsed segment, waiting for the tail sampling decision of its trace. It is sent to the OAP node owning its trace id
+ * in the hash ring, so all segments of a trace are decided in the same node.
+ */
+@Getter
+@StreamData
+public class SampledSegment extends org.apache.skywalking.oap.server.core.remote.data.StreamData {
+    private String segmentId;
+    private List<String> traceIds;
+    private int applicationId;
+    private String endpointName;
+    private long startTime;
+    private long endTime;
+    private boolean isError;
+    private long timeBucket;
+    private byte[] dataBinary;
+
+    public SampledSegment() {
+    }
+
+    public SampledSegment(String segmentId, List<String> traceIds, int applicationId, String endpointName,
+        long startTime, long endTime, boolean isError, long timeBucket, byte[] dataBinary) {
+        this.segmentId = segmentId;
+        this.traceIds = traceIds;
+        this.applicationId = applicationId;
+        this.endpointName = endpointName;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.isError = isError;
+        this.timeBucket = timeBucket;
+        this.dataBinary = dataBinary;
+    }
+
+    /**
+     * The segments are sampled by the first global trace id.
+     */
+    public String getTraceId() {
+        return traceIds.isEmpty() ? segmentId : traceIds.get(0);
+    }
+
+    public long getLatency() {
+        return endTime - startTime;
+    }
+
+    @Override public int remoteHashCode() {
+        return getTraceId().hashCode();
+    }
+
+    @Override public RemoteData.Builder serialize() {
+        RemoteData.Builder remoteBuilder = RemoteData.newBuilder();
+        remoteBuilder.addDataStrings(segmentId);
+        remoteBuilder.addDataStrings(endpointName);
+        remoteBuilder.addAllDataStrings(traceIds);
+
+        remoteBuilder.addDataLongs(startTime);
+        remoteBuilder.addDataLongs(endTime);
+        remoteBuilder.addDataLongs(timeBucket);
+
+        remoteBuilder.addDataIntegers(applicationId);
+        remoteBuilder.addDataIntegers(isError ? 1 : 0);
+
+        remoteBuilder.addDataBytes(ByteString.copyFrom(dataBinary));
+        return remoteBuilder;
+    }
+
+    @Override public void deserialize(RemoteData remoteData) {
+        segmentId = remoteData.getDataStrings(0);
+        endpointName = remoteData.getDataStrings(1);
+        traceIds = new ArrayList<>(remoteData.getDataStringsList().subList(2, remoteData.getDataStringsCount()));
+
+        startTime = remoteData.getDataLongs(0);
+        endTime = remoteData.getDataLongs(1);
+        timeBucket = remoteData.getDataLongs(2);
+
+        applicationId = remoteData.getDataIntegers(0);
+        isError = remoteData.getDataIntegers(1) == 1;
+
+        dataBinary = remoteData.getDataBytes(0).toByteArray();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.parser.sampling;
+
+import java.util.Collections;
+import java.util.function.Consumer;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.source.*;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.slf4j.*;
+
+/**
+ * Persist the segments kept by the {@link TraceTailSampler}.
+ */
+public class SegmentPersistence implements Consumer<SampledSegment> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentPersistence.class);
+
+    private final ModuleManager moduleManager;
+    private SourceReceiver sourceReceiver;
+
+    public SegmentPersistence(ModuleManager moduleManager) {
+        this.moduleManager = moduleManager;
+    }
+
+    private SourceReceiver getSourceReceiver() {
+        if (sourceReceiver == null) {
+            sourceReceiver = moduleManager.find(CoreModule.NAME).getService(SourceReceiver.class);
+        }
+        return sourceReceiver;
+    }
+
+    @Override public void accept(SampledSegment sampledSegment) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("persist segment, id: {}", sampledSegment.getSegmentId());
+        }
+
+        Segment segment = new Segment();
+        segment.setSegmentId(sampledSegment.getSegmentId());
+        segment.setTraceId(sampledSegment.getTraceId());
+        /*
+         * Index the segment under all of its global trace ids, or under the trace id it is sampled by when it has none.
+         */
+        if (sampledSegment.getTraceIds().isEmpty()) {
+            segment.setGlobalTraceIds(Collections.singletonList(sampledSegment.getTraceId()));
+        } else {
+            segment.setGlobalTraceIds(sampledSegment.getTraceIds());
+        }
+        segment.setServiceId(sampledSegment.getApplicationId());
+        segment.setEndpointName(sampledSegment.getEndpointName());
+        segment.setStartTime(sampledSegment.getStartTime());
+        segment.setEndTime(sampledSegment.getEndTime());
+        segment.setLatency((int)sampledSegment.getLatency());
+        segment.setIsError(sampledSegment.isError() ? 1 : 0);
+        segment.setDataBinary(sampledSegment.getDataBinary());
+        segment.setTimeBucket(sampledSegment.getTimeBucket());
+
+        getSourceReceiver().receive(segment);
+    }
+}
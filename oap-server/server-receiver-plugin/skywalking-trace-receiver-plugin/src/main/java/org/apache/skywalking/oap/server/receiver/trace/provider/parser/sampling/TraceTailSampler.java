@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.parser.sampling;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.slf4j.*;
+
+/**
+ * Tail sampling of the traces. The segments are buffered by the global trace id for a window, after they have been
+ * analyzed by the span listeners, so the indicators are exact. When the window of a trace ends, all of its segments are
+ * persisted, only if any of them is error or slower than the threshold, or the trace is in the baseline.
+ * <p>
+ * The baseline is decided by the hash of the trace id, so the decision is the same for the late segments and in all
+ * OAP nodes. The late segments of a persisted trace are persisted directly, for another window. When the buffered
+ * segments reach the max count, the new segments are decided alone.
+ * <p>
+ * The segments are sent to the OAP node owning their trace id in the consistent hash ring of the cluster, by the {@link
+ * TraceTailSamplerRemoteWorker}, so the segments of a trace reported to different nodes are decided together. When the
+ * ring changes, the segments buffered in the former owner are decided there, by the segments it has received.
+ */
+public class TraceTailSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(TraceTailSampler.class);
+
+    private static final int BASELINE_SCALE = 10000;
+
+    private final long window;
+    private final long slowThreshold;
+    private final int baselineRate;
+    private final int maxBufferedSegments;
+    private final Consumer<SampledSegment> persistence;
+    private final ConcurrentHashMap<String, PendingTrace> pendingTraces;
+    private final ConcurrentHashMap<String, Long> persistedTraces;
+    private final AtomicInteger bufferedSegments;
+
+    /**
+     * @param window the buffering time of a trace, milliseconds. Zero or negative means off, all segments are
+     * persisted.
+     * @param slowThreshold milliseconds.
+     * @param baselineRate the traces persisted anyway, per 10000.
+     * @param persistence to persist the sampled segments.
+     */
+    public TraceTailSampler(long window, long slowThreshold, int baselineRate, int maxBufferedSegments,
+        Consumer<SampledSegment> persistence) {
+        this.window = window;
+        this.slowThreshold = slowThreshold;
+        this.baselineRate = baselineRate;
+        this.maxBufferedSegments = maxBufferedSegments;
+        this.persistence = persistence;
+        this.pendingTraces = new ConcurrentHashMap<>();
+        this.persistedTraces = new ConcurrentHashMap<>();
+        this.bufferedSegments = new AtomicInteger(0);
+    }
+
+    public void start() {
+        if (window <= 0) {
+            return;
+        }
+        Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setDaemon(true).setNameFormat("TraceTailSampler-%s").build()).scheduleWithFixedDelay(
+            new RunnableWithExceptionProtection(() -> flush(System.currentTimeMillis()),
+                t -> logger.error("Trace tail sampling failure.", t)), 1, 1, TimeUnit.SECONDS);
+    }
+
+    public void receive(SampledSegment segment) {
+        if (window <= 0) {
+            persistence.accept(segment);
+            return;
+        }
+
+        String traceId = segment.getTraceId();
+        if (persistedTraces.containsKey(traceId)) {
+            persistence.accept(segment);
+            return;
+        }
+
+        if (bufferedSegments.get() >= maxBufferedSegments) {
+            if (isInteresting(segment) || isBaseline(traceId)) {
+                persistence.accept(segment);
+            }
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        pendingTraces.compute(traceId, (id, trace) -> {
+            if (trace == null) {
+                trace = new PendingTrace(now);
+            }
+            trace.add(segment, isInteresting(segment));
+            return trace;
+        });
+        bufferedSegments.incrementAndGet();
+    }
+
+    /**
+     * Decide the traces whose window ended.
+     */
+    void flush(long now) {
+        int persisted = 0;
+        int abandoned = 0;
+        for (String traceId : pendingTraces.keySet()) {
+            List<PendingTrace> ended = new ArrayList<>(1);
+            pendingTraces.computeIfPresent(traceId, (id, trace) -> {
+                if (now - trace.createTime < window) {
+                    return trace;
+                }
+                ended.add(trace);
+                if (trace.interesting || isBaseline(id) || persistedTraces.containsKey(id)) {
+                    trace.persist = true;
+                    persistedTraces.put(id, now + window);
+                }
+                return null;
+            });
+
+            for (PendingTrace trace : ended) {
+                bufferedSegments.addAndGet(-trace.segments.size());
+                if (trace.persist) {
+                    trace.segments.forEach(persistence);
+                    persisted += trace.segments.size();
+                } else {
+                    abandoned += trace.segments.size();
+                }
+            }
+        }
+
+        persistedTraces.entrySet().removeIf(entry -> entry.getValue() < now);
+
+        if (logger.isDebugEnabled() && (persisted > 0 || abandoned > 0)) {
+            logger.debug("Tail sampling persisted {} segments, abandoned {} segments.", persisted, abandoned);
+        }
+    }
+
+    int getBufferedSegments() {
+        return bufferedSegments.get();
+    }
+
+    private boolean isInteresting(SampledSegment segment) {
+        return segment.isError() || segment.getLatency() >= slowThreshold;
+    }
+
+    private boolean isBaseline(String traceId) {
+        return (traceId.hashCode() & Integer.MAX_VALUE) % BASELINE_SCALE < baselineRate;
+    }
+
+    private static class PendingTrace {
+        private final long createTime;
+        private final List<SampledSegment> segments;
+        private boolean interesting;
+        private boolean persist;
+
+        private PendingTrace(long createTime) {
+            this.createTime = createTime;
+            this.segments = new LinkedList<>();
+        }
+
+        private void add(SampledSegment segment, boolean interesting) {
+            segments.add(segment);
+            this.interesting = this.interesting || interesting;
+        }
+    }
+}
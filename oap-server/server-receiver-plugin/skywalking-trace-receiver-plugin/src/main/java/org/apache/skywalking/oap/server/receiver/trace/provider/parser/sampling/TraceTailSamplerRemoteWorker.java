@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.parser.sampling;
+
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.remote.RemoteSenderService;
+import org.apache.skywalking.oap.server.core.remote.selector.Selector;
+import org.apache.skywalking.oap.server.core.worker.AbstractWorker;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.slf4j.*;
+
+/**
+ * Send the parsed segments to the OAP node owning their trace id in the consistent hash ring, so the segments reported
+ * to different nodes are sampled together.
+ */
+public class TraceTailSamplerRemoteWorker extends AbstractWorker<SampledSegment> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TraceTailSamplerRemoteWorker.class);
+
+    private final ModuleManager moduleManager;
+    private final AbstractWorker<SampledSegment> nextWorker;
+    private RemoteSenderService remoteSender;
+
+    public TraceTailSamplerRemoteWorker(int workerId, ModuleManager moduleManager,
+        AbstractWorker<SampledSegment> nextWorker) {
+        super(workerId);
+        this.moduleManager = moduleManager;
+        this.nextWorker = nextWorker;
+    }
+
+    private RemoteSenderService getRemoteSender() {
+        if (remoteSender == null) {
+            remoteSender = moduleManager.find(CoreModule.NAME).getService(RemoteSenderService.class);
+        }
+        return remoteSender;
+    }
+
+    @Override public void in(SampledSegment segment) {
+        try {
+            getRemoteSender().send(nextWorker.getWorkerId(), segment, Selector.ConsistentHash);
+        } catch (Throwable e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.parser;
+
+import java.util.*;
+import org.apache.skywalking.apm.network.language.agent.*;
+import org.apache.skywalking.oap.server.receiver.trace.provider.parser.decorator.*;
+import org.apache.skywalking.oap.server.receiver.trace.provider.parser.listener.*;
+import org.apache.skywalking.oap.server.receiver.trace.provider.parser.sampling.*;
+import org.apache.skywalking.oap.server.receiver.trace.provider.parser.standardization.SpanIdExchanger;
+import org.junit.*;
+import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
+
+import static org.mockito.Matchers.*;
+
+public class SegmentParseTest {
+
+    private List<SampledSegment> sampled;
+    private List<String> built;
+    private int createdListeners;
+    private SegmentParse.Producer producer;
+
+    @Before
+    public void setUp() {
+        SpanIdExchanger exchanger = Mockito.mock(SpanIdExchanger.class);
+        Mockito.when(exchanger.exchange(any(SpanDecorator.class), anyInt())).thenReturn(true);
+        Whitebox.setInternalState(SpanIdExchanger.class, "EXCHANGER", exchanger);
+
+        sampled = new ArrayList<>();
+        built = new ArrayList<>();
+
+        SegmentParserListenerManager listenerManager = new SegmentParserListenerManager();
+        listenerManager.add(moduleManager -> {
+            createdListeners++;
+            return new RecordingSpanListener(built);
+        });
+
+        producer = new SegmentParse.Producer(null, listenerManager);
+        producer.setSamplingWorker(new TraceTailSamplerWorker(0, new TraceTailSampler(0, 3000, 0, 100, sampled::add)));
+    }
+
+    @After
+    public void tearDown() {
+        Whitebox.setInternalState(SpanIdExchanger.class, "EXCHANGER", (SpanIdExchanger)null);
+    }
+
+    @Test
+    public void testNoStateLeaksBetweenSegmentsOfOneThread() {
+        TraceSegmentObject.Builder first = segment(1, 1000);
+        first.addSpans(span(0, SpanType.Entry, "/first", 1000, 3000, true));
+        first.addSpans(span(1, SpanType.Exit, "/first/exit", 1100, 2000, false));
+        Assert.assertTrue(producer.send(upstream(first, 1), SegmentParse.Source.Agent));
+
+        TraceSegmentObject.Builder second = segment(2, 5000);
+        second.addSpans(span(0, SpanType.Entry, "/second", 5000, 5100, false));
+        Assert.assertTrue(producer.send(upstream(second, 2), SegmentParse.Source.Agent));
+
+        Assert.assertEquals(1, createdListeners);
+        Assert.assertEquals(2, sampled.size());
+
+        SampledSegment firstSegment = sampled.get(0);
+        Assert.assertEquals("1.1.1000", firstSegment.getSegmentId());
+        Assert.assertEquals(1000, firstSegment.getStartTime());
+        Assert.assertEquals(3000, firstSegment.getEndTime());
+        Assert.assertTrue(firstSegment.isError());
+
+        SampledSegment secondSegment = sampled.get(1);
+        Assert.assertEquals("2.2.5000", secondSegment.getSegmentId());
+        Assert.assertEquals(Collections.singletonList("2.2.2"), secondSegment.getTraceIds());
+        Assert.assertEquals(2, secondSegment.getApplicationId());
+        Assert.assertEquals("/second", secondSegment.getEndpointName());
+        Assert.assertEquals(5000, secondSegment.getStartTime());
+        Assert.assertEquals(5100, secondSegment.getEndTime());
+        Assert.assertFalse(secondSegment.isError());
+
+        Assert.assertEquals(Arrays.asList(
+            "traces: [1.1.1], entries: [0], exits: [1], first: /first, segment: 1.1.1000",
+            "traces: [2.2.2], entries: [0], exits: [], first: /second, segment: 2.2.5000"), built);
+    }
+
+    private UpstreamSegment upstream(TraceSegmentObject.Builder segment, long traceId) {
+        UpstreamSegment.Builder upstreamSegment = UpstreamSegment.newBuilder();
+        upstreamSegment.addGlobalTraceIds(UniqueId.newBuilder().addIdParts(traceId).addIdParts(traceId).addIdParts(traceId));
+        upstreamSegment.setSegment(segment.build().toByteString());
+        return upstreamSegment.build();
+    }
+
+    private TraceSegmentObject.Builder segment(int applicationId, long startTime) {
+        TraceSegmentObject.Builder segment = TraceSegmentObject.newBuilder();
+        segment.setTraceSegmentId(UniqueId.newBuilder().addIdParts(applicationId).addIdParts(applicationId).addIdParts(startTime));
+        segment.setApplicationId(applicationId);
+        segment.setApplicationInstanceId(applicationId);
+        return segment;
+    }
+
+    private SpanObject.Builder span(int spanId, SpanType spanType, String operationName, long startTime, long endTime,
+        boolean isError) {
+        SpanObject.Builder span = SpanObject.newBuilder();
+        span.setSpanId(spanId);
+        span.setParentSpanId(spanId - 1);
+        span.setSpanType(spanType);
+        span.setSpanLayer(SpanLayer.Http);
+        span.setOperationName(operationName);
+        span.setStartTime(startTime);
+        span.setEndTime(endTime);
+        span.setIsError(isError);
+        return span;
+    }
+
+    /**
+     * Describe everything it is told about a segment when it is built.
+     */
+    private static class RecordingSpanListener implements EntrySpanListener, ExitSpanListener, FirstSpanListener, GlobalTraceIdsListener {
+
+        private final List<String> built;
+        private final List<String> traceIds = new ArrayList<>();
+        private final List<Integer> entrySpanIds = new ArrayList<>();
+        private final List<Integer> exitSpanIds = new ArrayList<>();
+        private String firstOperationName;
+        private String segmentId;
+
+        private RecordingSpanListener(List<String> built) {
+            this.built = built;
+        }
+
+        @Override public void parseGlobalTraceId(UniqueId uniqueId, SegmentCoreInfo segmentCoreInfo) {
+            StringBuilder traceId = new StringBuilder();
+            for (Long idPart : uniqueId.getIdPartsList()) {
+                traceId.append(traceId.length() == 0 ? "" : ".").append(idPart);
+            }
+            traceIds.add(traceId.toString());
+        }
+
+        @Override public void parseEntry(SpanDecorator spanDecorator, SegmentCoreInfo segmentCoreInfo) {
+            entrySpanIds.add(spanDecorator.getSpanId());
+        }
+
+        @Override public void parseExit(SpanDecorator spanDecorator, SegmentCoreInfo segmentCoreInfo) {
+            exitSpanIds.add(spanDecorator.getSpanId());
+        }
+
+        @Override public void parseFirst(SpanDecorator spanDecorator, SegmentCoreInfo segmentCoreInfo) {
+            firstOperationName = spanDecorator.getOperationName();
+            segmentId = segmentCoreInfo.getSegmentId();
+        }
+
+        @Override public void build() {
+            built.add("traces: " + traceIds + ", entries: " + entrySpanIds + ", exits: " + exitSpanIds + ", first: " + firstOperationName + ", segment: " + segmentId);
+        }
+
+        @Override public void reset() {
+            traceIds.clear();
+            entrySpanIds.clear();
+            exitSpanIds.clear();
+            firstOperationName = null;
+            segmentId = null;
+        }
+
+        @Override public boolean containsPoint(Point point) {
+            return Point.Entry.equals(point) || Point.Exit.equals(point) || Point.First.equals(point) || Point.GlobalTraceIds.equals(point);
+        }
+    }
+}
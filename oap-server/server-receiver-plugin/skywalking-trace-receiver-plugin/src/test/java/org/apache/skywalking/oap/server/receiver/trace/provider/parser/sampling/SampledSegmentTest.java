@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.parser.sampling;
+
+import java.util.*;
+import org.apache.skywalking.oap.server.core.remote.grpc.proto.RemoteData;
+import org.junit.*;
+
+public class SampledSegmentTest {
+
+    @Test
+    public void testSerialize() {
+        SampledSegment segment = new SampledSegment("s1", Arrays.asList("t1", "t2"), 2, "/endpoint", 1000, 1500, true, 201810170000L, new byte[] {1, 2, 3});
+        RemoteData remoteData = segment.serialize().build();
+
+        SampledSegment received = new SampledSegment();
+        received.deserialize(remoteData);
+        Assert.assertEquals("s1", received.getSegmentId());
+        Assert.assertEquals(Arrays.asList("t1", "t2"), received.getTraceIds());
+        Assert.assertEquals(2, received.getApplicationId());
+        Assert.assertEquals("/endpoint", received.getEndpointName());
+        Assert.assertEquals(500, received.getLatency());
+        Assert.assertTrue(received.isError());
+        Assert.assertEquals(201810170000L, received.getTimeBucket());
+        Assert.assertArrayEquals(new byte[] {1, 2, 3}, received.getDataBinary());
+    }
+
+    @Test
+    public void testRoutedByTraceId() {
+        SampledSegment first = new SampledSegment("s1", Arrays.asList("t1", "t2"), 1, "/a", 0, 1, false, 0, new byte[0]);
+        SampledSegment second = new SampledSegment("s2", Collections.singletonList("t1"), 2, "/b", 0, 1, false, 0, new byte[0]);
+        Assert.assertEquals(first.remoteHashCode(), second.remoteHashCode());
+
+        SampledSegment noTrace = new SampledSegment("s3", Collections.emptyList(), 2, "/b", 0, 1, false, 0, new byte[0]);
+        Assert.assertEquals("s3".hashCode(), noTrace.remoteHashCode());
+    }
+}
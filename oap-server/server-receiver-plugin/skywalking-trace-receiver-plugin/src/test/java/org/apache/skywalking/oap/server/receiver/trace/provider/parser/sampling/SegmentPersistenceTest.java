@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.parser.sampling;
+
+import java.util.*;
+import org.apache.skywalking.oap.server.core.source.*;
+import org.junit.*;
+import org.powermock.reflect.Whitebox;
+
+public class SegmentPersistenceTest {
+
+    private List<Segment> received;
+    private SegmentPersistence persistence;
+
+    @Before
+    public void setUp() {
+        received = new ArrayList<>();
+        persistence = new SegmentPersistence(null);
+        SourceReceiver sourceReceiver = source -> received.add((Segment)source);
+        Whitebox.setInternalState(persistence, "sourceReceiver", sourceReceiver);
+    }
+
+    @Test
+    public void testPersistSampledTraceByAllGlobalTraceIds() {
+        TraceTailSampler sampler = new TraceTailSampler(10000, 3000, 0, 100, persistence);
+        sampler.receive(new SampledSegment("s1", Arrays.asList("t1", "t2"), 2, "/batch", 1000, 1100, true, 201810170000L, new byte[] {1}));
+        sampler.receive(new SampledSegment("s2", Collections.singletonList("t3"), 2, "/users", 1000, 1100, false, 201810170000L, new byte[] {2}));
+        sampler.flush(System.currentTimeMillis() + 10000);
+
+        Assert.assertEquals(1, received.size());
+        Segment segment = received.get(0);
+        Assert.assertEquals("s1", segment.getSegmentId());
+        Assert.assertEquals("t1", segment.getTraceId());
+        Assert.assertEquals(Arrays.asList("t1", "t2"), segment.getGlobalTraceIds());
+        Assert.assertEquals(2, segment.getServiceId());
+        Assert.assertEquals("/batch", segment.getEndpointName());
+        Assert.assertEquals(100, segment.getLatency());
+        Assert.assertEquals(1, segment.getIsError());
+        Assert.assertEquals(201810170000L, segment.getTimeBucket());
+        Assert.assertArrayEquals(new byte[] {1}, segment.getDataBinary());
+    }
+
+    @Test
+    public void testPersistSegmentWithoutGlobalTraceId() {
+        TraceTailSampler sampler = new TraceTailSampler(0, 3000, 0, 100, persistence);
+        sampler.receive(new SampledSegment("s1", Collections.emptyList(), 2, "/users", 1000, 1100, false, 201810170000L, new byte[0]));
+
+        Assert.assertEquals(1, received.size());
+        Assert.assertEquals("s1", received.get(0).getTraceId());
+        Assert.assertEquals(Collections.singletonList("s1"), received.get(0).getGlobalTraceIds());
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.receiver.trace.provider.parser.sampling;
+
+import java.util.*;
+import org.junit.*;
+
+public class TraceTailSamplerTest {
+
+    private List<SampledSegment> persisted;
+
+    @Before
+    public void setUp() {
+        persisted = new ArrayList<>();
+    }
+
+    private SampledSegment segment(String segmentId, String traceId, long latency, boolean isError) {
+        return new SampledSegment(segmentId, Collections.singletonList(traceId), 1, "/endpoint", 1000, 1000 + latency, isError, 201810170000L, new byte[0]);
+    }
+
+    @Test
+    public void testPersistInterestingTraces() {
+        TraceTailSampler sampler = new TraceTailSampler(10000, 3000, 0, 100, persisted::add);
+        sampler.receive(segment("s1", "t1", 10, false));
+        sampler.receive(segment("s2", "t1", 10, true));
+        sampler.receive(segment("s3", "t2", 5000, false));
+        sampler.receive(segment("s4", "t3", 10, false));
+        Assert.assertEquals(4, sampler.getBufferedSegments());
+
+        long now = System.currentTimeMillis();
+        sampler.flush(now);
+        Assert.assertEquals(0, persisted.size());
+
+        sampler.flush(now + 10000);
+        Assert.assertEquals(0, sampler.getBufferedSegments());
+        Assert.assertEquals(3, persisted.size());
+        Set<String> segmentIds = new HashSet<>();
+        persisted.forEach(segment -> segmentIds.add(segment.getSegmentId()));
+        Assert.assertTrue(segmentIds.containsAll(Arrays.asList("s1", "s2", "s3")));
+
+        sampler.receive(segment("s5", "t1", 10, false));
+        Assert.assertEquals(4, persisted.size());
+    }
+
+    @Test
+    public void testBaselineAndOff() {
+        TraceTailSampler sampler = new TraceTailSampler(10000, 3000, 10000, 100, persisted::add);
+        sampler.receive(segment("s1", "t1", 10, false));
+        sampler.flush(System.currentTimeMillis() + 10000);
+        Assert.assertEquals(1, persisted.size());
+
+        sampler = new TraceTailSampler(0, 3000, 0, 100, persisted::add);
+        sampler.receive(segment("s2", "t2", 10, false));
+        Assert.assertEquals(2, persisted.size());
+    }
+
+    @Test
+    public void testDecideAloneWhenFull() {
+        TraceTailSampler sampler = new TraceTailSampler(10000, 3000, 0, 1, persisted::add);
+        sampler.receive(segment("s1", "t1", 10, false));
+        sampler.receive(segment("s2", "t2", 10, false));
+        sampler.receive(segment("s3", "t3", 10, true));
+        Assert.assertEquals(1, sampler.getBufferedSegments());
+        Assert.assertEquals(1, persisted.size());
+        Assert.assertEquals("s3", persisted.get(0).getSegmentId());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.LocalDateTime;
+import java.util.concurrent.*;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.storage.model.*;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.*;
+import org.slf4j.*;
+
+/**
+ * Keep the time series models in their TTL, by dropping the partitions whose whole time range is out of the TTL. So
+ * the data lives at least as long as the TTL, at most one partition longer.
+ */
+public class DataTTLKeeperTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataTTLKeeperTimer.class);
+
+    private final ModuleManager moduleManager;
+    private final HistoryDeleteEsDAO historyDeleteDAO;
+    private final StorageModuleElasticsearchConfig config;
+
+    public DataTTLKeeperTimer(ModuleManager moduleManager, HistoryDeleteEsDAO historyDeleteDAO,
+        StorageModuleElasticsearchConfig config) {
+        this.moduleManager = moduleManager;
+        this.historyDeleteDAO = historyDeleteDAO;
+        this.config = config;
+    }
+
+    public void start() {
+        Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setDaemon(true).setNameFormat("DataTTLKeeperTimer-%s").build()).scheduleAtFixedRate(
+            new RunnableWithExceptionProtection(this::delete,
+                t -> logger.error("Remove data in background failure.", t)), 1, 60, TimeUnit.MINUTES);
+    }
+
+    private void delete() {
+        IModelGetter modelGetter = moduleManager.find(CoreModule.NAME).getService(IModelGetter.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Model model : modelGetter.getModels()) {
+            if (model.isTimeSeries()) {
+                long partitionKeyBefore = TimeSeriesUtils.partitionKey(model.getTimePyramid(), expiredTime(model, now));
+                logger.info("delete the partitions of {} before {}", model.getName(), partitionKeyBefore);
+                historyDeleteDAO.deleteHistory(model.getName(), partitionKeyBefore);
+            }
+        }
+    }
+
+    private LocalDateTime expiredTime(Model model, LocalDateTime now) {
+        if (model.isRecord()) {
+            return now.minusMinutes(config.getTraceDataTTL());
+        }
+        switch (model.getTimePyramid()) {
+            case Hour:
+                return now.minusHours(config.getHourMetricDataTTL());
+            case Day:
+                return now.minusDays(config.getDayMetricDataTTL());
+            case Month:
+                return now.minusMonths(config.getMonthMetricDataTTL());
+            default:
+                return now.minusMinutes(config.getMinuteMetricDataTTL());
+        }
+    }
+}
@@ -40,6 +40,8 @@ public class StorageModuleElasticsearchConfig extends ModuleConfig {
     private int bulkSize = 20;
     private int flushInterval = 10;
     private int concurrentRequests = 2;
+    private int bulkQueueSize = 20000;
+    private int bulkTargetLatency = 1000;
 
     int getIndexShardsNumber() {
         return indexShardsNumber;
@@ -136,4 +138,20 @@ public class StorageModuleElasticsearchConfig extends ModuleConfig {
     public void setConcurrentRequests(int concurrentRequests) {
         this.concurrentRequests = concurrentRequests == 0 ? 2 : concurrentRequests;
     }
+
+    public int getBulkQueueSize() {
+        return bulkQueueSize;
+    }
+
+    public void setBulkQueueSize(int bulkQueueSize) {
+        this.bulkQueueSize = bulkQueueSize == 0 ? 20000 : bulkQueueSize;
+    }
+
+    public int getBulkTargetLatency() {
+        return bulkTargetLatency;
+    }
+
+    public void setBulkTargetLatency(int bulkTargetLatency) {
+        this.bulkTargetLatency = bulkTargetLatency == 0 ? 1000 : bulkTargetLatency;
+    }
 }
@@ -0,0 +1,335 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import org.apache.skywalking.oap.server.core.storage.BatchFailureListener;
+import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.*;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.rest.RestStatus;
+import org.slf4j.*;
+
+/**
+ * Write the requests into Elasticsearch by bulks, from a bounded queue.
+ *
+ * The number of the requests in one bulk starts from the configured bulk actions, it is halved when a bulk is rejected
+ * by the cluster or slower than the target latency, and grows by a step when a full bulk is faster than half of the
+ * target latency. The requests failed by the rejection or the unavailability of the cluster are retried with a backoff,
+ * for a bounded number of times. When the whole bulk fails, e.g. by a timeout, the cluster may have applied some of it,
+ * so only the idempotent requests are retried, the scripted upserts are reported as failed instead of being counted
+ * twice.
+ *
+ * The queue is the backpressure, {@link #add(List)} waits for a while when it is full, then drops the requests. The
+ * dropped and failed requests are reported to the {@link BatchFailureListener}. The metrics are logged every minute.
+ */
+public class AdaptiveBulkWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveBulkWriter.class);
+
+    private static final int MAX_RETRIES = 3;
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+    private static final long ADD_TIMEOUT_MILLIS = 5000;
+    private static final long METRICS_LOG_INTERVAL_MILLIS = 60000;
+
+    private final ElasticSearchClient client;
+    private final BlockingQueue<DocWriteRequest> queue;
+    private final int queueCapacity;
+    private final int minActions;
+    private final int maxActions;
+    private final long maxBytes;
+    private final long flushIntervalMillis;
+    private final long targetLatency;
+    private final int concurrentRequests;
+    private final AtomicBoolean started;
+    private final Boolean debug;
+    private volatile int bulkActions;
+    private volatile BatchFailureListener failureListener;
+
+    private final AtomicLong bulkCount = new AtomicLong();
+    private final AtomicLong bulkItems = new AtomicLong();
+    private final AtomicLong bulkBytes = new AtomicLong();
+    private final AtomicLong bulkLatency = new AtomicLong();
+    private final AtomicLong retriedItems = new AtomicLong();
+    private final AtomicLong droppedItems = new AtomicLong();
+    private final AtomicLong nextMetricsLogTime = new AtomicLong(System.currentTimeMillis() + METRICS_LOG_INTERVAL_MILLIS);
+
+    /**
+     * @param bulkActions the initial number of the requests in one bulk, it is tuned in [bulkActions / 10, bulkActions
+     * * 4].
+     * @param bulkSize the max size of one bulk, in MB.
+     * @param flushInterval in seconds, how long a bulk waits for the first request.
+     * @param targetLatency in millis.
+     */
+    public AdaptiveBulkWriter(ElasticSearchClient client, int bulkActions, int bulkSize, int flushInterval,
+        int concurrentRequests, int queueCapacity, long targetLatency) {
+        this.client = client;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.queueCapacity = queueCapacity;
+        this.bulkActions = bulkActions;
+        this.minActions = Math.max(1, bulkActions / 10);
+        this.maxActions = bulkActions * 4;
+        this.maxBytes = bulkSize * 1024L * 1024L;
+        this.flushIntervalMillis = TimeUnit.SECONDS.toMillis(flushInterval);
+        this.targetLatency = targetLatency;
+        this.concurrentRequests = concurrentRequests;
+        this.started = new AtomicBoolean(false);
+        this.debug = System.getProperty("debug") != null;
+    }
+
+    /**
+     * Put the requests into the queue, wait at most {@link #ADD_TIMEOUT_MILLIS} in total when it is full, then drop the
+     * rest and report them as failed.
+     */
+    public void add(List<DocWriteRequest> requests) {
+        start();
+
+        long deadline = System.currentTimeMillis() + ADD_TIMEOUT_MILLIS;
+        List<DocWriteRequest> dropped = new ArrayList<>();
+        for (DocWriteRequest request : requests) {
+            try {
+                long timeout = Math.max(0, deadline - System.currentTimeMillis());
+                if (!queue.offer(request, timeout, TimeUnit.MILLISECONDS)) {
+                    dropped.add(request);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.add(request);
+            }
+        }
+
+        if (!dropped.isEmpty()) {
+            droppedItems.addAndGet(dropped.size());
+            logger.error("bulk queue is full, {} requests are dropped, queue depth: {}", dropped.size(), queue.size());
+            failed(dropped);
+        }
+    }
+
+    /**
+     * @param listener notified with the requests which failed or were dropped.
+     */
+    public void setFailureListener(BatchFailureListener listener) {
+        this.failureListener = listener;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return true when more than half of the queue is used, the producers should slow down.
+     */
+    public boolean isOverloaded() {
+        return queue.size() >= queueCapacity / 2;
+    }
+
+    public int getBulkActions() {
+        return bulkActions;
+    }
+
+    public long getBulkCount() {
+        return bulkCount.get();
+    }
+
+    public long getBulkItems() {
+        return bulkItems.get();
+    }
+
+    public long getBulkBytes() {
+        return bulkBytes.get();
+    }
+
+    /**
+     * @return the sum of the latency of all bulks, in millis.
+     */
+    public long getBulkLatency() {
+        return bulkLatency.get();
+    }
+
+    public long getRetriedItems() {
+        return retriedItems.get();
+    }
+
+    public long getDroppedItems() {
+        return droppedItems.get();
+    }
+
+    private void start() {
+        if (started.compareAndSet(false, true)) {
+            for (int i = 0; i < concurrentRequests; i++) {
+                Thread thread = new Thread(this::consume, "ES-Bulk-Writer-" + i);
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+    }
+
+    private void consume() {
+        List<DocWriteRequest> requests = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                DocWriteRequest first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                logMetrics();
+                if (first == null) {
+                    continue;
+                }
+                requests.add(first);
+                queue.drainTo(requests, bulkActions - 1);
+
+                List<DocWriteRequest> bulk = new ArrayList<>(requests.size());
+                BulkRequest sizing = new BulkRequest();
+                for (DocWriteRequest request : requests) {
+                    bulk.add(request);
+                    sizing.add(request);
+                    if (sizing.estimatedSizeInBytes() >= maxBytes) {
+                        execute(bulk);
+                        bulk = new ArrayList<>();
+                        sizing = new BulkRequest();
+                    }
+                }
+                if (!bulk.isEmpty()) {
+                    execute(bulk);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Throwable t) {
+                logger.error(t.getMessage(), t);
+            } finally {
+                requests.clear();
+            }
+        }
+    }
+
+    private void execute(List<DocWriteRequest> requests) throws InterruptedException {
+        for (int retries = 0; ; retries++) {
+            BulkRequest bulkRequest = new BulkRequest();
+            requests.forEach(bulkRequest::add);
+
+            List<DocWriteRequest> retriable = new ArrayList<>();
+            boolean rejected = false;
+            long startTime = System.currentTimeMillis();
+            try {
+                BulkResponse response = client.bulk(bulkRequest);
+                if (response.hasFailures()) {
+                    for (BulkItemResponse itemResponse : response.getItems()) {
+                        if (!itemResponse.isFailed()) {
+                            continue;
+                        }
+                        RestStatus status = itemResponse.getFailure().getStatus();
+                        if (isRetriable(status)) {
+                            retriable.add(requests.get(itemResponse.getItemId()));
+                            rejected = rejected || RestStatus.TOO_MANY_REQUESTS.equals(status);
+                        } else {
+                            logger.error("bulk item {} failed, reason: {}", itemResponse.getId(), itemResponse.getFailureMessage());
+                            failed(Collections.singletonList(requests.get(itemResponse.getItemId())));
+                        }
+                    }
+                }
+            } catch (IOException | ElasticsearchException e) {
+                logger.error("bulk of {} requests failed, reason: {}", requests.size(), e.getMessage());
+                List<DocWriteRequest> unsafe = new ArrayList<>();
+                for (DocWriteRequest request : requests) {
+                    if (isIdempotent(request)) {
+                        retriable.add(request);
+                    } else {
+                        unsafe.add(request);
+                    }
+                }
+                if (!unsafe.isEmpty()) {
+                    droppedItems.addAndGet(unsafe.size());
+                    logger.error("{} scripted upserts aren't retried, the cluster may have applied them.", unsafe.size());
+                    failed(unsafe);
+                }
+                rejected = true;
+            }
+            long latency = System.currentTimeMillis() - startTime;
+
+            bulkCount.incrementAndGet();
+            bulkItems.addAndGet(requests.size());
+            bulkBytes.addAndGet(bulkRequest.estimatedSizeInBytes());
+            bulkLatency.addAndGet(latency);
+            tune(requests.size(), latency, rejected);
+
+            if (debug) {
+                logger.info("bulk {} requests, {} bytes, latency: {} ms, retriable: {}, next bulk actions: {}, queue depth: {}",
+                    requests.size(), bulkRequest.estimatedSizeInBytes(), latency, retriable.size(), bulkActions, queue.size());
+            }
+
+            if (retriable.isEmpty()) {
+                return;
+            }
+            if (retries >= MAX_RETRIES) {
+                droppedItems.addAndGet(retriable.size());
+                logger.error("{} requests are dropped after {} retries.", retriable.size(), retries);
+                failed(retriable);
+                return;
+            }
+            retriedItems.addAndGet(retriable.size());
+            Thread.sleep(RETRY_BACKOFF_MILLIS << retries);
+            requests = retriable;
+        }
+    }
+
+    private void failed(List<DocWriteRequest> requests) {
+        BatchFailureListener listener = failureListener;
+        if (listener != null) {
+            requests.forEach(request -> listener.onFailure(TimeSeriesUtils.modelName(client.trimIndexName(request.index())), request.id()));
+        }
+    }
+
+    /**
+     * The scripted upserts add their values to the stored document, sending one twice counts it twice.
+     */
+    private boolean isIdempotent(DocWriteRequest request) {
+        return !(request instanceof UpdateRequest) || ((UpdateRequest)request).script() == null;
+    }
+
+    private boolean isRetriable(RestStatus status) {
+        return RestStatus.TOO_MANY_REQUESTS.equals(status) || RestStatus.SERVICE_UNAVAILABLE.equals(status);
+    }
+
+    private void logMetrics() {
+        long now = System.currentTimeMillis();
+        long nextLogTime = nextMetricsLogTime.get();
+        if (now < nextLogTime || !nextMetricsLogTime.compareAndSet(nextLogTime, now + METRICS_LOG_INTERVAL_MILLIS)) {
+            return;
+        }
+
+        long count = bulkCount.get();
+        logger.info("bulks: {}, requests: {}, bytes: {}, average latency: {} ms, retried: {}, dropped: {}, bulk actions: {}, queue depth: {}",
+            count, bulkItems.get(), bulkBytes.get(), count == 0 ? 0 : bulkLatency.get() / count, retriedItems.get(),
+            droppedItems.get(), bulkActions, queue.size());
+    }
+
+    /**
+     * Multiplicative decrease on the rejection or the slowness, additive increase when a full bulk is fast.
+     */
+    private synchronized void tune(int size, long latency, boolean rejected) {
+        if (rejected || latency > targetLatency) {
+            bulkActions = Math.max(minActions, bulkActions / 2);
+        } else if (latency < targetLatency / 2 && size >= bulkActions) {
+            bulkActions = Math.min(maxActions, bulkActions + minActions);
+        }
+    }
+}
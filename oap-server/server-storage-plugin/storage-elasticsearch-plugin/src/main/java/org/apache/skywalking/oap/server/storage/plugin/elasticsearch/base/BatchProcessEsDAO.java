@@ -18,13 +18,11 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
-import java.util.List;
-import org.apache.skywalking.oap.server.core.storage.IBatchDAO;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.storage.*;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
-import org.elasticsearch.action.bulk.BulkProcessor;
-import org.elasticsearch.action.index.IndexRequest;
-import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.action.DocWriteRequest;
 import org.slf4j.*;
 
 /**
@@ -34,39 +32,39 @@ public class BatchProcessEsDAO extends EsDAO implements IBatchDAO {
 
     private static final Logger logger = LoggerFactory.getLogger(BatchProcessEsDAO.class);
 
-    private BulkProcessor bulkProcessor;
-    private final int bulkActions;
-    private final int bulkSize;
-    private final int flushInterval;
-    private final int concurrentRequests;
+    private final AdaptiveBulkWriter bulkWriter;
 
     public BatchProcessEsDAO(ElasticSearchClient client, int bulkActions, int bulkSize, int flushInterval,
-        int concurrentRequests) {
+        int concurrentRequests, int bulkQueueSize, int bulkTargetLatency) {
         super(client);
-        this.bulkActions = bulkActions;
-        this.bulkSize = bulkSize;
-        this.flushInterval = flushInterval;
-        this.concurrentRequests = concurrentRequests;
+        this.bulkWriter = new AdaptiveBulkWriter(client, bulkActions, bulkSize, flushInterval, concurrentRequests, bulkQueueSize, bulkTargetLatency);
     }
 
     @Override public void batchPersistence(List<?> batchCollection) {
-        if (bulkProcessor == null) {
-            this.bulkProcessor = getClient().createBulkProcessor(bulkActions, bulkSize, flushInterval, concurrentRequests);
-        }
-
         if (logger.isDebugEnabled()) {
             logger.debug("bulk data size: {}", batchCollection.size());
         }
 
         if (CollectionUtils.isNotEmpty(batchCollection)) {
+            List<DocWriteRequest> requests = new ArrayList<>(batchCollection.size());
             batchCollection.forEach(builder -> {
-                if (builder instanceof IndexRequest) {
-                    this.bulkProcessor.add((IndexRequest)builder);
-                }
-                if (builder instanceof UpdateRequest) {
-                    this.bulkProcessor.add((UpdateRequest)builder);
+                if (builder instanceof DocWriteRequest) {
+                    requests.add((DocWriteRequest)builder);
                 }
             });
+            bulkWriter.add(requests);
         }
     }
+
+    @Override public void setFailureListener(BatchFailureListener listener) {
+        bulkWriter.setFailureListener(listener);
+    }
+
+    @Override public int getQueueDepth() {
+        return bulkWriter.getQueueDepth();
+    }
+
+    @Override public boolean isOverloaded() {
+        return bulkWriter.isOverloaded();
+    }
 }
@@ -18,7 +18,8 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
-import org.apache.skywalking.oap.server.core.analysis.indicator.IntKeyLongValueArray;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.analysis.indicator.IntKeyLongValueHistogram;
 import org.apache.skywalking.oap.server.core.storage.model.DataTypeMapping;
 
 /**
@@ -33,10 +34,12 @@ public class ColumnTypeEsMapping implements DataTypeMapping {
             return "long";
         } else if (Double.class.equals(type) || double.class.equals(type)) {
             return "double";
-        } else if (String.class.equals(type)) {
-            return "keyword";
-        } else if (IntKeyLongValueArray.class.equals(type)) {
+        } else if (String.class.equals(type) || List.class.equals(type)) {
             return "keyword";
+        } else if (IntKeyLongValueHistogram.class.equals(type)) {
+            return "binary";
+        } else if (byte[].class.equals(type)) {
+            return "binary";
         } else {
             throw new IllegalArgumentException("Unsupported data type: " + type.getName());
         }
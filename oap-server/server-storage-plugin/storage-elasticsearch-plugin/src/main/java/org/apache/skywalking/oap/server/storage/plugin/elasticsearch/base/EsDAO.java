@@ -18,10 +18,13 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
+import java.io.IOException;
 import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
 import org.apache.skywalking.oap.server.core.query.sql.Where;
-import org.apache.skywalking.oap.server.core.storage.AbstractDAO;
+import org.apache.skywalking.oap.server.core.storage.*;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.common.xcontent.*;
 import org.elasticsearch.index.query.*;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 
@@ -53,4 +56,21 @@ public abstract class EsDAO extends AbstractDAO<ElasticSearchClient> {
         }
         sourceBuilder.size(0);
     }
+
+    /**
+     * Stream the columns of the data into the document.
+     */
+    protected final <T extends StorageData> XContentBuilder buildSource(StorageBuilder<T> storageBuilder,
+        T storageData) throws IOException {
+        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
+        storageBuilder.data2Stream(storageData, new XContentStorageDataStream(builder));
+        return builder.endObject();
+    }
+
+    /**
+     * The time series partitions are created by the first write, so reading one which doesn't exist yet is expected.
+     */
+    protected final boolean isIndexNotFound(Exception e) {
+        return e instanceof ElasticsearchException && e.getMessage() != null && e.getMessage().contains("index_not_found_exception");
+    }
 }
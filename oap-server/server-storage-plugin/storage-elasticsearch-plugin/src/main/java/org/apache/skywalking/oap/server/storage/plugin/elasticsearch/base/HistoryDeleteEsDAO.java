@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import java.io.IOException;
+import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.rest.RestStatus;
+import org.slf4j.*;
+
+/**
+ * Delete the history of the time series models by dropping whole partitions, never by deleting documents.
+ */
+public class HistoryDeleteEsDAO extends EsDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoryDeleteEsDAO.class);
+
+    public HistoryDeleteEsDAO(ElasticSearchClient client) {
+        super(client);
+    }
+
+    /**
+     * Drop the partitions of the model whose keys are less than the given one.
+     */
+    public void deleteHistory(String modelName, long partitionKeyBefore) {
+        try {
+            for (String partitionName : getClient().retrievalIndexByAlias(modelName)) {
+                long partitionKey = TimeSeriesUtils.partitionKey(modelName, partitionName);
+                if (partitionKey != -1 && partitionKey < partitionKeyBefore) {
+                    deletePartition(partitionName);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("delete history of {} failure.", modelName, e);
+        }
+    }
+
+    private void deletePartition(String partitionName) throws IOException {
+        try {
+            getClient().deleteIndex(partitionName);
+        } catch (ElasticsearchStatusException e) {
+            if (RestStatus.NOT_FOUND.equals(e.status())) {
+                logger.debug("partition {} has been deleted by another node.", partitionName);
+            } else {
+                throw e;
+            }
+        }
+    }
+}
@@ -19,30 +19,53 @@
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
 import java.io.IOException;
-import java.util.Map;
-import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.skywalking.oap.server.core.analysis.indicator.*;
 import org.apache.skywalking.oap.server.core.storage.*;
-import org.apache.skywalking.oap.server.core.storage.type.StorageDataType;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
-import org.elasticsearch.action.get.GetResponse;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.get.*;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.update.UpdateRequest;
-import org.elasticsearch.common.xcontent.*;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.script.*;
+import org.slf4j.*;
 
 /**
  * @author peng-yongsheng
  */
 public class IndicatorEsDAO extends EsDAO implements IIndicatorDAO<IndexRequest, UpdateRequest> {
 
+    private static final Logger logger = LoggerFactory.getLogger(IndicatorEsDAO.class);
+
+    private static final String DENOMINATOR_PARAM = "_denominator";
+
     private final StorageBuilder<Indicator> storageBuilder;
+    private final HistoryDeleteEsDAO historyDeleteDAO;
+    /**
+     * The painless script of the upsert for each model, the same for all its indicators.
+     */
+    private final Map<String, String> upsertScripts;
 
     public IndicatorEsDAO(ElasticSearchClient client, StorageBuilder<Indicator> storageBuilder) {
         super(client);
         this.storageBuilder = storageBuilder;
+        this.historyDeleteDAO = new HistoryDeleteEsDAO(client);
+        this.upsertScripts = new ConcurrentHashMap<>();
     }
 
     @Override public Indicator get(String modelName, Indicator indicator) throws IOException {
-        GetResponse response = getClient().get(modelName, indicator.id());
+        GetResponse response;
+        try {
+            response = getClient().get(TimeSeriesUtils.partitionName(modelName, indicator.getTimeBucket()), indicator.id());
+        } catch (ElasticsearchStatusException e) {
+            if (RestStatus.NOT_FOUND.equals(e.status())) {
+                return null;
+            }
+            throw e;
+        }
         if (response.isExists()) {
             return storageBuilder.map2Data(response.getSource());
         } else {
@@ -50,38 +73,91 @@ public class IndicatorEsDAO extends EsDAO implements IIndicatorDAO<IndexRequest,
         }
     }
 
-    @Override public IndexRequest prepareBatchInsert(String modelName, Indicator indicator) throws IOException {
-        Map<String, Object> objectMap = storageBuilder.data2Map(indicator);
+    @Override public List<Indicator> multiGet(String modelName, List<Indicator> indicators,
+        Set<String> failedIds) throws IOException {
+        List<String> ids = new ArrayList<>(indicators.size());
+        indicators.forEach(indicator -> ids.add(indicator.id()));
 
-        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
-        for (String key : objectMap.keySet()) {
-            Object value = objectMap.get(key);
-            if (value instanceof StorageDataType) {
-                builder.field(key, ((StorageDataType)value).toStorageData());
-            } else {
-                builder.field(key, value);
+        MultiGetResponse response = getClient().multiGet(TimeSeriesUtils.partitionNames(modelName, ids), ids);
+
+        List<Indicator> result = new ArrayList<>(ids.size());
+        for (MultiGetItemResponse itemResponse : response.getResponses()) {
+            if (itemResponse.isFailed()) {
+                if (!isIndexNotFound(itemResponse.getFailure().getFailure())) {
+                    logger.error("get {} failure, error message: {}", itemResponse.getId(), itemResponse.getFailure().getMessage());
+                    failedIds.add(itemResponse.getId());
+                }
+                continue;
+            }
+            if (itemResponse.getResponse().isExists()) {
+                result.add(storageBuilder.map2Data(itemResponse.getResponse().getSource()));
             }
         }
-        builder.endObject();
-        return getClient().prepareInsert(modelName, indicator.id(), builder);
+        return result;
+    }
+
+    @Override public IndexRequest prepareBatchInsert(String modelName, Indicator indicator) throws IOException {
+        XContentBuilder builder = buildSource(storageBuilder, indicator);
+        return getClient().prepareInsert(TimeSeriesUtils.partitionName(modelName, indicator.getTimeBucket()), indicator.id(), builder);
     }
 
+    /**
+     * Insert the document when it doesn't exist, the combined value may come from the persisted cache of the worker
+     * while the former insert has failed.
+     */
     @Override public UpdateRequest prepareBatchUpdate(String modelName, Indicator indicator) throws IOException {
-        Map<String, Object> objectMap = storageBuilder.data2Map(indicator);
+        XContentBuilder builder = buildSource(storageBuilder, indicator);
+        return getClient().prepareUpdate(TimeSeriesUtils.partitionName(modelName, indicator.getTimeBucket()), indicator.id(), builder).docAsUpsert(true);
+    }
+
+    @Override public boolean isUpsertSupported() {
+        return true;
+    }
+
+    @Override public UpdateRequest prepareBatchUpsert(String modelName, Indicator indicator) throws IOException {
+        AdditiveIndicator additiveIndicator = (AdditiveIndicator)indicator;
+        DerivedColumn derivedColumn = additiveIndicator.derivedColumn();
+
+        Map<String, Object> params = new HashMap<>(additiveIndicator.increments());
+        if (derivedColumn != null && derivedColumn.getDenominatorColumn() == null) {
+            params.put(DENOMINATOR_PARAM, derivedColumn.getDenominator());
+        }
+        String source = upsertScripts.computeIfAbsent(modelName, name -> upsertScript(additiveIndicator));
+        Script script = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, source, params);
+
+        XContentBuilder upsert = buildSource(storageBuilder, indicator);
+        return getClient().prepareUpsert(TimeSeriesUtils.partitionName(modelName, indicator.getTimeBucket()), indicator.id(), script, upsert);
+    }
+
+    /**
+     * For example, <code>ctx._source.summation += params.summation; ctx._source.count += params.count;
+     * ctx._source.value = ctx._source.summation * 1 / ctx._source.count;</code>
+     */
+    private String upsertScript(AdditiveIndicator indicator) {
+        StringBuilder script = new StringBuilder();
+        for (String columnName : indicator.increments().keySet()) {
+            script.append("ctx._source.").append(columnName).append(" += params.").append(columnName).append("; ");
+        }
 
-        XContentBuilder builder = XContentFactory.jsonBuilder().startObject();
-        for (String key : objectMap.keySet()) {
-            Object value = objectMap.get(key);
-            if (value instanceof StorageDataType) {
-                builder.field(key, ((StorageDataType)value).toStorageData());
+        DerivedColumn derivedColumn = indicator.derivedColumn();
+        if (derivedColumn != null) {
+            script.append("ctx._source.").append(derivedColumn.getColumnName())
+                .append(" = ctx._source.").append(derivedColumn.getNumeratorColumn())
+                .append(" * ").append(derivedColumn.getMultiplier()).append(" / ");
+            if (derivedColumn.getDenominatorColumn() == null) {
+                script.append("params.").append(DENOMINATOR_PARAM);
             } else {
-                builder.field(key, value);
+                script.append("ctx._source.").append(derivedColumn.getDenominatorColumn());
             }
+            script.append(";");
         }
-        builder.endObject();
-        return getClient().prepareUpdate(modelName, indicator.id(), builder);
+        return script.toString();
     }
 
+    /**
+     * Drop the whole partitions before the one which holds the given time bucket.
+     */
     @Override public void deleteHistory(String modelName, Long timeBucketBefore) {
+        historyDeleteDAO.deleteHistory(modelName, TimeSeriesUtils.partitionKey(timeBucketBefore));
     }
 }
@@ -49,6 +49,9 @@ public class StorageEsInstaller extends ModelInstaller {
     @Override protected boolean isExists(Client client, Model tableDefine) throws StorageException {
         ElasticSearchClient esClient = (ElasticSearchClient)client;
         try {
+            if (tableDefine.isTimeSeries()) {
+                return esClient.isExistsTemplate(tableDefine.getName());
+            }
             return esClient.isExistsIndex(tableDefine.getName());
         } catch (IOException e) {
             throw new StorageException(e.getMessage());
@@ -63,7 +66,14 @@ public class StorageEsInstaller extends ModelInstaller {
         ElasticSearchClient esClient = (ElasticSearchClient)client;
 
         try {
-            if (!esClient.deleteIndex(tableDefine.getName())) {
+            if (tableDefine.isTimeSeries()) {
+                for (String partitionName : esClient.retrievalIndexByAlias(tableDefine.getName())) {
+                    esClient.deleteIndex(partitionName);
+                }
+                if (!esClient.deleteTemplate(tableDefine.getName())) {
+                    throw new StorageException(tableDefine.getName() + " index template delete failure.");
+                }
+            } else if (!esClient.deleteIndex(tableDefine.getName())) {
                 throw new StorageException(tableDefine.getName() + " index delete failure.");
             }
         } catch (IOException e) {
@@ -85,9 +95,17 @@ public class StorageEsInstaller extends ModelInstaller {
             logger.error("create {} index mapping builder error", tableDefine.getName());
         }
 
+        /*
+         * The partitions of the time series models are created by the first write into them, which relies on the
+         * automatic index creation of the cluster, the template gives them the settings, mapping and alias.
+         */
         boolean isAcknowledged;
         try {
-            isAcknowledged = esClient.createIndex(tableDefine.getName(), settings, mappingBuilder);
+            if (tableDefine.isTimeSeries()) {
+                isAcknowledged = esClient.createTemplate(tableDefine.getName(), settings, mappingBuilder);
+            } else {
+                isAcknowledged = esClient.createIndex(tableDefine.getName(), settings, mappingBuilder);
+            }
         } catch (IOException e) {
             throw new StorageException(e.getMessage());
         }
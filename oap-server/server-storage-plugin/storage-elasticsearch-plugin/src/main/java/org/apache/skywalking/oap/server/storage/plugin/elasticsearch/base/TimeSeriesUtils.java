@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import java.time.*;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.query.entity.Step;
+import org.apache.skywalking.oap.server.core.storage.TimePyramid;
+
+/**
+ * Time series models are stored in partitioned indexes named by <code>modelName-partitionKey</code>, all of them
+ * join into the alias named by the model name. The minute and hour models, also the records, are partitioned by day,
+ * the day models by month and the month models by year, so that the retention drops whole indexes.
+ */
+public class TimeSeriesUtils {
+
+    public static final String PARTITION_SPLIT = "-";
+
+    /**
+     * Queries which cover more partitions than this go through the alias, to keep the request line short.
+     */
+    private static final int MAX_PARTITIONS_IN_QUERY = 31;
+
+    private TimeSeriesUtils() {
+    }
+
+    public static String partitionName(String modelName, long timeBucket) {
+        return modelName + PARTITION_SPLIT + partitionKey(timeBucket);
+    }
+
+    /**
+     * The ids of the indicators start with the time bucket, see {@link org.apache.skywalking.oap.server.core.analysis.indicator.Indicator#id()}.
+     */
+    public static String partitionName(String modelName, String id) {
+        int index = id.indexOf(Const.ID_SPLIT);
+        return partitionName(modelName, Long.parseLong(index == -1 ? id : id.substring(0, index)));
+    }
+
+    /**
+     * @return the model name of the given partition name, or itself when it isn't a partition.
+     */
+    public static String modelName(String partitionName) {
+        int index = partitionName.lastIndexOf(PARTITION_SPLIT);
+        if (index == -1 || partitionKey(partitionName.substring(0, index), partitionName) == -1) {
+            return partitionName;
+        }
+        return partitionName.substring(0, index);
+    }
+
+    public static List<String> partitionNames(String modelName, List<String> ids) {
+        List<String> partitionNames = new ArrayList<>(ids.size());
+        ids.forEach(id -> partitionNames.add(partitionName(modelName, id)));
+        return partitionNames;
+    }
+
+    /**
+     * @return the partitions which hold the time buckets between start and end, or the alias when there are too many.
+     */
+    public static List<String> partitionNames(String modelName, Step step, long startTB, long endTB) {
+        if (startTB > endTB) {
+            long temp = startTB;
+            startTB = endTB;
+            endTB = temp;
+        }
+        long startKey = partitionKey(startTB);
+        long endKey = partitionKey(endTB);
+
+        List<String> partitionNames = new ArrayList<>();
+        switch (step) {
+            case MINUTE:
+            case HOUR:
+                LocalDate endDay = toDay(endKey);
+                for (LocalDate day = toDay(startKey); !day.isAfter(endDay); day = day.plusDays(1)) {
+                    partitionNames.add(modelName + PARTITION_SPLIT + toKey(day));
+                }
+                break;
+            case DAY:
+                YearMonth endMonth = toMonth(endKey);
+                for (YearMonth month = toMonth(startKey); !month.isAfter(endMonth); month = month.plusMonths(1)) {
+                    partitionNames.add(modelName + PARTITION_SPLIT + toKey(month));
+                }
+                break;
+            case MONTH:
+                for (long year = startKey; year <= endKey; year++) {
+                    partitionNames.add(modelName + PARTITION_SPLIT + year);
+                }
+                break;
+        }
+
+        if (partitionNames.isEmpty() || partitionNames.size() > MAX_PARTITIONS_IN_QUERY) {
+            return Collections.singletonList(modelName);
+        }
+        return partitionNames;
+    }
+
+    /**
+     * The partition key is the time bucket one level coarser, day for minute and hour, month for day, year for month.
+     * The granularity is told by the length of the time bucket.
+     */
+    public static long partitionKey(long timeBucket) {
+        if (timeBucket >= 10000000000000L) {
+            // second, yyyyMMddHHmmss
+            return timeBucket / 1000000;
+        } else if (timeBucket >= 100000000000L) {
+            // minute, yyyyMMddHHmm
+            return timeBucket / 10000;
+        } else {
+            // hour yyyyMMddHH, day yyyyMMdd and month yyyyMM
+            return timeBucket / 100;
+        }
+    }
+
+    /**
+     * @return the key of the partition which holds the given time, for the models of the given time pyramid.
+     */
+    public static long partitionKey(TimePyramid timePyramid, LocalDateTime time) {
+        switch (timePyramid) {
+            case Day:
+                return toKey(YearMonth.from(time));
+            case Month:
+                return time.getYear();
+            default:
+                return toKey(time.toLocalDate());
+        }
+    }
+
+    /**
+     * @return the partition key of the given partition name, or -1 if it is not a partition of the model.
+     */
+    public static long partitionKey(String modelName, String partitionName) {
+        String prefix = modelName + PARTITION_SPLIT;
+        if (!partitionName.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(partitionName.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static LocalDate toDay(long key) {
+        return LocalDate.of((int)(key / 10000), (int)(key / 100 % 100), (int)(key % 100));
+    }
+
+    private static YearMonth toMonth(long key) {
+        return YearMonth.of((int)(key / 100), (int)(key % 100));
+    }
+
+    private static long toKey(LocalDate day) {
+        return day.getYear() * 10000L + day.getMonthValue() * 100 + day.getDayOfMonth();
+    }
+
+    private static long toKey(YearMonth month) {
+        return month.getYear() * 100L + month.getMonthValue();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataType;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+
+/**
+ * Write the columns straight into the document of the index or update request. The bytes columns, such as the
+ * histograms, are base64 encoded by the generator into the document buffer, for the binary type of the mapping.
+ */
+public class XContentStorageDataStream implements StorageDataStream {
+
+    private final XContentBuilder builder;
+
+    public XContentStorageDataStream(XContentBuilder builder) {
+        this.builder = builder;
+    }
+
+    @Override public void write(String columnName, int value) throws IOException {
+        builder.field(columnName, value);
+    }
+
+    @Override public void write(String columnName, long value) throws IOException {
+        builder.field(columnName, value);
+    }
+
+    @Override public void write(String columnName, double value) throws IOException {
+        builder.field(columnName, value);
+    }
+
+    @Override public void write(String columnName, String value) throws IOException {
+        builder.field(columnName, value);
+    }
+
+    @Override public void write(String columnName, byte[] value) throws IOException {
+        builder.field(columnName, value);
+    }
+
+    /**
+     * An array field, every value is indexed by the mapping of the column.
+     */
+    @Override public void write(String columnName, List<String> values) throws IOException {
+        builder.field(columnName, values);
+    }
+
+    @Override public void writeObject(String columnName, Object value) throws IOException {
+        if (value instanceof StorageDataType) {
+            builder.field(columnName, ((StorageDataType)value).toStorageData());
+        } else {
+            builder.field(columnName, value);
+        }
+    }
+}
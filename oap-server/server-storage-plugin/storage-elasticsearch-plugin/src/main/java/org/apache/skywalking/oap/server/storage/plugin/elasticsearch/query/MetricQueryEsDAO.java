@@ -26,13 +26,15 @@ import org.apache.skywalking.oap.server.core.query.sql.*;
 import org.apache.skywalking.oap.server.core.storage.TimePyramidTableNameBuilder;
 import org.apache.skywalking.oap.server.core.storage.query.IMetricQueryDAO;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
-import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.EsDAO;
+import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.*;
 import org.elasticsearch.action.get.*;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.elasticsearch.search.aggregations.bucket.terms.*;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 
+import static java.util.Objects.isNull;
+
 /**
  * @author peng-yongsheng
  */
@@ -54,9 +56,15 @@ public class MetricQueryEsDAO extends EsDAO implements IMetricQueryDAO {
 
         sourceBuilder.aggregation(entityIdAggregation);
 
-        SearchResponse response = getClient().search(indexName, sourceBuilder);
+        SearchResponse response = getClient().search(TimeSeriesUtils.partitionNames(indexName, step, startTB, endTB), sourceBuilder);
 
         IntValues intValues = new IntValues();
+        /*
+         * No aggregation is returned when none of the partitions of the time range exists.
+         */
+        if (isNull(response.getAggregations())) {
+            return intValues;
+        }
         Terms idTerms = response.getAggregations().get(Indicator.ENTITY_ID);
         for (Terms.Bucket idBucket : idTerms.getBuckets()) {
             Terms valueTerms = idBucket.getAggregations().get(valueCName);
@@ -85,11 +93,14 @@ public class MetricQueryEsDAO extends EsDAO implements IMetricQueryDAO {
         String valueCName) throws IOException {
         String indexName = TimePyramidTableNameBuilder.build(step, indName);
 
-        MultiGetResponse response = getClient().multiGet(indexName, ids);
+        MultiGetResponse response = getClient().multiGet(TimeSeriesUtils.partitionNames(indexName, ids), ids);
 
         IntValues intValues = new IntValues();
         for (MultiGetItemResponse itemResponse : response.getResponses()) {
-            int value = ((Number)itemResponse.getResponse().getSource().getOrDefault(valueCName, 0)).intValue();
+            int value = 0;
+            if (!itemResponse.isFailed() && itemResponse.getResponse().isExists()) {
+                value = ((Number)itemResponse.getResponse().getSource().getOrDefault(valueCName, 0)).intValue();
+            }
 
             KVInt kvInt = new KVInt();
             kvInt.setId(itemResponse.getId());
@@ -103,25 +114,27 @@ public class MetricQueryEsDAO extends EsDAO implements IMetricQueryDAO {
         String valueCName) throws IOException {
         String indexName = TimePyramidTableNameBuilder.build(step, indName);
 
-        MultiGetResponse response = getClient().multiGet(indexName, ids);
+        MultiGetResponse response = getClient().multiGet(TimeSeriesUtils.partitionNames(indexName, ids), ids);
 
         Thermodynamic thermodynamic = new Thermodynamic();
         for (MultiGetItemResponse itemResponse : response.getResponses()) {
+            if (itemResponse.isFailed() || !itemResponse.getResponse().isExists()) {
+                continue;
+            }
             int axisYStep = ((Number)itemResponse.getResponse().getSource().get(ThermodynamicIndicator.STEP)).intValue();
             thermodynamic.setAxisYStep(axisYStep);
             int numOfSteps = ((Number)itemResponse.getResponse().getSource().get(ThermodynamicIndicator.NUM_OF_STEPS)).intValue();
 
             String value = (String)itemResponse.getResponse().getSource().get(ThermodynamicIndicator.DETAIL_GROUP);
-            IntKeyLongValueArray intKeyLongValues = new IntKeyLongValueArray();
-            intKeyLongValues.toObject(value);
+            IntKeyLongValueHistogram histogram = new IntKeyLongValueHistogram(value);
 
             List<Long> axisYValues = new ArrayList<>();
             for (int i = 0; i < numOfSteps; i++) {
                 axisYValues.add(0L);
             }
 
-            for (IntKeyLongValue intKeyLongValue : intKeyLongValues) {
-                axisYValues.set(intKeyLongValue.getKey(), intKeyLongValue.getValue());
+            for (int i = 0; i < histogram.size(); i++) {
+                axisYValues.set(histogram.keyAt(i), histogram.valueAt(i));
             }
 
             thermodynamic.getNodes().add(axisYValues);
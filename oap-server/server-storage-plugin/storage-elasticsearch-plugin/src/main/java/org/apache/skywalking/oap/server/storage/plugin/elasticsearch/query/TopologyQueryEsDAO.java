@@ -30,13 +30,15 @@ import org.apache.skywalking.oap.server.core.storage.TimePyramidTableNameBuilder
 import org.apache.skywalking.oap.server.core.storage.query.ITopologyQueryDAO;
 import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
 import org.apache.skywalking.oap.server.library.util.CollectionUtils;
-import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.EsDAO;
+import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.*;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.index.query.*;
 import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.elasticsearch.search.aggregations.bucket.terms.*;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 
+import static java.util.Objects.isNull;
+
 /**
  * @author peng-yongsheng
  */
@@ -57,8 +59,8 @@ public class TopologyQueryEsDAO extends EsDAO implements ITopologyQueryDAO {
         sourceBuilder.size(0);
         setQueryCondition(sourceBuilder, startTB, endTB, serviceIds);
 
-        String indexName = TimePyramidTableNameBuilder.build(step, ServiceRelationServerSideIndicator.INDEX_NAME);
-        return load(sourceBuilder, indexName, ServiceRelationServerSideIndicator.SOURCE_SERVICE_ID, ServiceRelationServerSideIndicator.DEST_SERVICE_ID, Source.Service);
+        List<String> indexNames = TimeSeriesUtils.partitionNames(TimePyramidTableNameBuilder.build(step, ServiceRelationServerSideIndicator.INDEX_NAME), step, startTB, endTB);
+        return load(sourceBuilder, indexNames, ServiceRelationServerSideIndicator.SOURCE_SERVICE_ID, ServiceRelationServerSideIndicator.DEST_SERVICE_ID, Source.Service);
     }
 
     @Override
@@ -72,8 +74,8 @@ public class TopologyQueryEsDAO extends EsDAO implements ITopologyQueryDAO {
         sourceBuilder.size(0);
         setQueryCondition(sourceBuilder, startTB, endTB, serviceIds);
 
-        String indexName = TimePyramidTableNameBuilder.build(step, ServiceRelationClientSideIndicator.INDEX_NAME);
-        return load(sourceBuilder, indexName, ServiceRelationClientSideIndicator.SOURCE_SERVICE_ID, ServiceRelationClientSideIndicator.DEST_SERVICE_ID, Source.Service);
+        List<String> indexNames = TimeSeriesUtils.partitionNames(TimePyramidTableNameBuilder.build(step, ServiceRelationClientSideIndicator.INDEX_NAME), step, startTB, endTB);
+        return load(sourceBuilder, indexNames, ServiceRelationClientSideIndicator.SOURCE_SERVICE_ID, ServiceRelationClientSideIndicator.DEST_SERVICE_ID, Source.Service);
     }
 
     private void setQueryCondition(SearchSourceBuilder sourceBuilder, long startTB, long endTB,
@@ -95,25 +97,25 @@ public class TopologyQueryEsDAO extends EsDAO implements ITopologyQueryDAO {
     }
 
     @Override public List<Call> loadServerSideServiceRelations(Step step, long startTB, long endTB) throws IOException {
-        String indexName = TimePyramidTableNameBuilder.build(step, ServiceRelationServerSideIndicator.INDEX_NAME);
+        List<String> indexNames = TimeSeriesUtils.partitionNames(TimePyramidTableNameBuilder.build(step, ServiceRelationServerSideIndicator.INDEX_NAME), step, startTB, endTB);
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
         sourceBuilder.query(QueryBuilders.rangeQuery(ServiceRelationServerSideIndicator.TIME_BUCKET).lte(startTB).gte(endTB));
         sourceBuilder.size(0);
 
-        return load(sourceBuilder, indexName, ServiceRelationServerSideIndicator.SOURCE_SERVICE_ID, ServiceRelationServerSideIndicator.DEST_SERVICE_ID, Source.Service);
+        return load(sourceBuilder, indexNames, ServiceRelationServerSideIndicator.SOURCE_SERVICE_ID, ServiceRelationServerSideIndicator.DEST_SERVICE_ID, Source.Service);
     }
 
     @Override public List<Call> loadClientSideServiceRelations(Step step, long startTB, long endTB) throws IOException {
-        String indexName = TimePyramidTableNameBuilder.build(step, ServiceRelationClientSideIndicator.INDEX_NAME);
+        List<String> indexNames = TimeSeriesUtils.partitionNames(TimePyramidTableNameBuilder.build(step, ServiceRelationClientSideIndicator.INDEX_NAME), step, startTB, endTB);
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
         sourceBuilder.query(QueryBuilders.rangeQuery(ServiceRelationServerSideIndicator.TIME_BUCKET).lte(startTB).gte(endTB));
         sourceBuilder.size(0);
 
-        return load(sourceBuilder, indexName, ServiceRelationClientSideIndicator.SOURCE_SERVICE_ID, ServiceRelationClientSideIndicator.DEST_SERVICE_ID, Source.Service);
+        return load(sourceBuilder, indexNames, ServiceRelationClientSideIndicator.SOURCE_SERVICE_ID, ServiceRelationClientSideIndicator.DEST_SERVICE_ID, Source.Service);
     }
 
     @Override public List<ServiceMapping> loadServiceMappings(Step step, long startTB, long endTB) throws IOException {
-        String indexName = TimePyramidTableNameBuilder.build(step, ServiceMappingIndicator.INDEX_NAME);
+        List<String> indexNames = TimeSeriesUtils.partitionNames(TimePyramidTableNameBuilder.build(step, ServiceMappingIndicator.INDEX_NAME), step, startTB, endTB);
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
         sourceBuilder.query(QueryBuilders.rangeQuery(ServiceMappingIndicator.TIME_BUCKET).lte(startTB).gte(endTB));
         sourceBuilder.size(0);
@@ -122,9 +124,12 @@ public class TopologyQueryEsDAO extends EsDAO implements ITopologyQueryDAO {
         sourceAggregation.subAggregation(AggregationBuilders.terms(ServiceMappingIndicator.MAPPING_SERVICE_ID).field(ServiceMappingIndicator.MAPPING_SERVICE_ID).size(1000));
         sourceBuilder.aggregation(sourceAggregation);
 
-        SearchResponse response = getClient().search(indexName, sourceBuilder);
+        SearchResponse response = getClient().search(indexNames, sourceBuilder);
 
         List<ServiceMapping> serviceMappings = new ArrayList<>();
+        if (isNull(response.getAggregations())) {
+            return serviceMappings;
+        }
         Terms serviceIdTerms = response.getAggregations().get(ServiceMappingIndicator.SERVICE_ID);
         for (Terms.Bucket serviceIdBucket : serviceIdTerms.getBuckets()) {
             Terms mappingServiceIdTerms = serviceIdBucket.getAggregations().get(ServiceMappingIndicator.MAPPING_SERVICE_ID);
@@ -140,7 +145,7 @@ public class TopologyQueryEsDAO extends EsDAO implements ITopologyQueryDAO {
 
     @Override
     public List<ServiceComponent> loadServiceComponents(Step step, long startTB, long endTB) throws IOException {
-        String indexName = TimePyramidTableNameBuilder.build(step, ServiceComponentIndicator.INDEX_NAME);
+        List<String> indexNames = TimeSeriesUtils.partitionNames(TimePyramidTableNameBuilder.build(step, ServiceComponentIndicator.INDEX_NAME), step, startTB, endTB);
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
         sourceBuilder.query(QueryBuilders.rangeQuery(ServiceComponentIndicator.TIME_BUCKET).lte(startTB).gte(endTB));
         sourceBuilder.size(0);
@@ -149,9 +154,12 @@ public class TopologyQueryEsDAO extends EsDAO implements ITopologyQueryDAO {
         sourceAggregation.subAggregation(AggregationBuilders.terms(ServiceComponentIndicator.COMPONENT_ID).field(ServiceComponentIndicator.COMPONENT_ID).size(1000));
         sourceBuilder.aggregation(sourceAggregation);
 
-        SearchResponse response = getClient().search(indexName, sourceBuilder);
+        SearchResponse response = getClient().search(indexNames, sourceBuilder);
 
         List<ServiceComponent> serviceComponents = new ArrayList<>();
+        if (isNull(response.getAggregations())) {
+            return serviceComponents;
+        }
         Terms serviceIdTerms = response.getAggregations().get(ServiceComponentIndicator.SERVICE_ID);
         for (Terms.Bucket serviceIdBucket : serviceIdTerms.getBuckets()) {
             Terms componentIdTerms = serviceIdBucket.getAggregations().get(ServiceComponentIndicator.COMPONENT_ID);
@@ -168,7 +176,7 @@ public class TopologyQueryEsDAO extends EsDAO implements ITopologyQueryDAO {
     @Override
     public List<Call> loadSpecifiedDestOfServerSideEndpointRelations(Step step, long startTB, long endTB,
         int destEndpointId) throws IOException {
-        String indexName = TimePyramidTableNameBuilder.build(step, EndpointRelationServerSideIndicator.INDEX_NAME);
+        List<String> indexNames = TimeSeriesUtils.partitionNames(TimePyramidTableNameBuilder.build(step, EndpointRelationServerSideIndicator.INDEX_NAME), step, startTB, endTB);
 
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
         sourceBuilder.size(0);
@@ -178,13 +186,13 @@ public class TopologyQueryEsDAO extends EsDAO implements ITopologyQueryDAO {
         boolQuery.must().add(QueryBuilders.termQuery(EndpointRelationServerSideIndicator.DEST_ENDPOINT_ID, destEndpointId));
         sourceBuilder.query(boolQuery);
 
-        return load(sourceBuilder, indexName, EndpointRelationServerSideIndicator.SOURCE_ENDPOINT_ID, EndpointRelationServerSideIndicator.DEST_ENDPOINT_ID, Source.Endpoint);
+        return load(sourceBuilder, indexNames, EndpointRelationServerSideIndicator.SOURCE_ENDPOINT_ID, EndpointRelationServerSideIndicator.DEST_ENDPOINT_ID, Source.Endpoint);
     }
 
     @Override
     public List<Call> loadSpecifiedSourceOfClientSideEndpointRelations(Step step, long startTB, long endTB,
         int sourceEndpointId) throws IOException {
-        String indexName = TimePyramidTableNameBuilder.build(step, EndpointRelationClientSideIndicator.INDEX_NAME);
+        List<String> indexNames = TimeSeriesUtils.partitionNames(TimePyramidTableNameBuilder.build(step, EndpointRelationClientSideIndicator.INDEX_NAME), step, startTB, endTB);
 
         SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
         sourceBuilder.size(0);
@@ -194,18 +202,24 @@ public class TopologyQueryEsDAO extends EsDAO implements ITopologyQueryDAO {
         boolQuery.must().add(QueryBuilders.termQuery(EndpointRelationClientSideIndicator.SOURCE_ENDPOINT_ID, sourceEndpointId));
         sourceBuilder.query(boolQuery);
 
-        return load(sourceBuilder, indexName, EndpointRelationClientSideIndicator.SOURCE_ENDPOINT_ID, EndpointRelationClientSideIndicator.DEST_ENDPOINT_ID, Source.Endpoint);
+        return load(sourceBuilder, indexNames, EndpointRelationClientSideIndicator.SOURCE_ENDPOINT_ID, EndpointRelationClientSideIndicator.DEST_ENDPOINT_ID, Source.Endpoint);
     }
 
-    private List<Call> load(SearchSourceBuilder sourceBuilder, String indexName, String sourceCName,
+    private List<Call> load(SearchSourceBuilder sourceBuilder, List<String> indexNames, String sourceCName,
         String destCName, Source source) throws IOException {
         TermsAggregationBuilder sourceAggregation = AggregationBuilders.terms(sourceCName).field(sourceCName).size(1000);
         sourceAggregation.subAggregation(AggregationBuilders.terms(destCName).field(destCName).size(1000));
         sourceBuilder.aggregation(sourceAggregation);
 
-        SearchResponse response = getClient().search(indexName, sourceBuilder);
+        SearchResponse response = getClient().search(indexNames, sourceBuilder);
 
         List<Call> calls = new ArrayList<>();
+        /*
+         * No aggregation is returned when none of the partitions of the time range exists.
+         */
+        if (isNull(response.getAggregations())) {
+            return calls;
+        }
         Terms sourceTerms = response.getAggregations().get(sourceCName);
         for (Terms.Bucket sourceBucket : sourceTerms.getBuckets()) {
             Terms destTerms = sourceBucket.getAggregations().get(destCName);
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.query;
+
+import java.io.IOException;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.*;
+import org.apache.skywalking.oap.server.core.query.entity.*;
+import org.apache.skywalking.oap.server.core.storage.query.ITraceQueryDAO;
+import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.apache.skywalking.oap.server.library.util.StringUtils;
+import org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base.*;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.index.query.*;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.SortOrder;
+
+import static java.util.Objects.nonNull;
+
+public class TraceQueryEsDAO extends EsDAO implements ITraceQueryDAO {
+
+    /**
+     * The max number of the segments read for one trace.
+     */
+    private static final int SEGMENT_QUERY_MAX_SIZE = 200;
+
+    public TraceQueryEsDAO(ElasticSearchClient client) {
+        super(client);
+    }
+
+    @Override
+    public TraceBrief queryBasicTraces(long startMinuteTB, long endMinuteTB, long minDuration, long maxDuration,
+        String endpointName, int serviceId, String traceId, int limit, int from, TraceState traceState,
+        QueryOrder queryOrder) throws IOException {
+        SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
+
+        BoolQueryBuilder boolQueryBuilder = QueryBuilders.boolQuery();
+        sourceBuilder.query(boolQueryBuilder);
+        List<QueryBuilder> mustQueryList = boolQueryBuilder.must();
+
+        List<String> indexNames = Collections.singletonList(SegmentRecord.INDEX_NAME);
+        if (startMinuteTB != 0 && endMinuteTB != 0) {
+            mustQueryList.add(QueryBuilders.rangeQuery(SegmentRecord.TIME_BUCKET).gte(startMinuteTB).lte(endMinuteTB));
+            indexNames = TimeSeriesUtils.partitionNames(SegmentRecord.INDEX_NAME, Step.MINUTE, startMinuteTB, endMinuteTB);
+        }
+
+        if (minDuration != 0 || maxDuration != 0) {
+            RangeQueryBuilder rangeQueryBuilder = QueryBuilders.rangeQuery(SegmentRecord.LATENCY);
+            if (minDuration != 0) {
+                rangeQueryBuilder.gte(minDuration);
+            }
+            if (maxDuration != 0) {
+                rangeQueryBuilder.lte(maxDuration);
+            }
+            mustQueryList.add(rangeQueryBuilder);
+        }
+        if (StringUtils.isNotEmpty(endpointName)) {
+            mustQueryList.add(QueryBuilders.termQuery(SegmentRecord.ENDPOINT_NAME, endpointName));
+        }
+        if (serviceId != 0) {
+            mustQueryList.add(QueryBuilders.termQuery(SegmentRecord.SERVICE_ID, serviceId));
+        }
+        if (StringUtils.isNotEmpty(traceId)) {
+            mustQueryList.add(QueryBuilders.termQuery(SegmentRecord.GLOBAL_TRACE_IDS, traceId));
+        }
+
+        if (nonNull(traceState)) {
+            switch (traceState) {
+                case ERROR:
+                    mustQueryList.add(QueryBuilders.termQuery(SegmentRecord.IS_ERROR, 1));
+                    break;
+                case SUCCESS:
+                    mustQueryList.add(QueryBuilders.termQuery(SegmentRecord.IS_ERROR, 0));
+                    break;
+            }
+        }
+
+        if (QueryOrder.BY_DURATION.equals(queryOrder)) {
+            sourceBuilder.sort(SegmentRecord.LATENCY, SortOrder.DESC);
+        } else {
+            sourceBuilder.sort(SegmentRecord.START_TIME, SortOrder.DESC);
+        }
+
+        /*
+         * The brief only needs the index columns, skip the data binary which is the most of the document.
+         */
+        sourceBuilder.fetchSource(null, SegmentRecord.DATA_BINARY);
+        sourceBuilder.size(limit);
+        sourceBuilder.from(from);
+
+        SearchResponse response = getClient().search(indexNames, sourceBuilder);
+
+        TraceBrief traceBrief = new TraceBrief();
+        traceBrief.setTotal((int)response.getHits().getTotalHits());
+
+        for (SearchHit searchHit : response.getHits().getHits()) {
+            Map<String, Object> source = searchHit.getSourceAsMap();
+
+            BasicTrace basicTrace = new BasicTrace();
+            basicTrace.setSegmentId((String)source.get(SegmentRecord.SEGMENT_ID));
+            basicTrace.setStart(String.valueOf(source.get(SegmentRecord.START_TIME)));
+            basicTrace.getOperationNames().add((String)source.get(SegmentRecord.ENDPOINT_NAME));
+            basicTrace.setDuration(((Number)source.get(SegmentRecord.LATENCY)).intValue());
+            basicTrace.setError(((Number)source.get(SegmentRecord.IS_ERROR)).intValue() == 1);
+            basicTrace.getTraceIds().add((String)source.get(SegmentRecord.TRACE_ID));
+            traceBrief.getTraces().add(basicTrace);
+        }
+
+        return traceBrief;
+    }
+
+    @Override public List<SegmentRecord> queryByTraceId(String traceId) throws IOException {
+        SearchSourceBuilder sourceBuilder = SearchSourceBuilder.searchSource();
+        sourceBuilder.query(QueryBuilders.termQuery(SegmentRecord.GLOBAL_TRACE_IDS, traceId));
+        sourceBuilder.size(SEGMENT_QUERY_MAX_SIZE);
+
+        SearchResponse response = getClient().search(Collections.singletonList(SegmentRecord.INDEX_NAME), sourceBuilder);
+
+        SegmentRecord.Builder builder = new SegmentRecord.Builder();
+        List<SegmentRecord> segmentRecords = new ArrayList<>();
+        for (SearchHit searchHit : response.getHits().getHits()) {
+            segmentRecords.add(builder.map2Data(searchHit.getSourceAsMap()));
+        }
+        return segmentRecords;
+    }
+}
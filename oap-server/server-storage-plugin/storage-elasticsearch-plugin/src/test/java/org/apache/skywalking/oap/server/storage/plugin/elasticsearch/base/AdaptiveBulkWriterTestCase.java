@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import org.apache.skywalking.oap.server.library.client.NameSpace;
+import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.*;
+import org.elasticsearch.action.index.*;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.script.Script;
+import org.junit.*;
+
+public class AdaptiveBulkWriterTestCase {
+
+    @Test
+    public void testRetryRejectedAndShrink() throws InterruptedException {
+        RejectOnceClient client = new RejectOnceClient("0");
+        AdaptiveBulkWriter writer = new AdaptiveBulkWriter(client, 100, 20, 1, 1, 1000, 10000);
+
+        List<DocWriteRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            requests.add(new IndexRequest("index", "type", String.valueOf(i)).source("value", i));
+        }
+        writer.add(requests);
+
+        for (int i = 0; i < 100 && writer.getBulkItems() < 11; i++) {
+            Thread.sleep(50);
+        }
+
+        Assert.assertEquals(11, writer.getBulkItems());
+        Assert.assertEquals(1, writer.getRetriedItems());
+        Assert.assertEquals(0, writer.getDroppedItems());
+        Assert.assertEquals(50, writer.getBulkActions());
+        Assert.assertEquals(0, writer.getQueueDepth());
+        Assert.assertEquals(10, client.written.size());
+    }
+
+    @Test
+    public void testRetryIdempotentRequestsOfFailedBulk() throws InterruptedException {
+        FailingClient client = new FailingClient(1, null);
+        AdaptiveBulkWriter writer = new AdaptiveBulkWriter(client, 100, 20, 1, 1, 1000, 10000);
+        List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        writer.setFailureListener((modelName, id) -> failed.add(modelName + ":" + id));
+
+        List<DocWriteRequest> requests = new ArrayList<>();
+        requests.add(new IndexRequest("index-20181017", "type", "1").source("value", 1));
+        requests.add(new UpdateRequest("index-20181017", "type", "2").doc("value", 2).docAsUpsert(true));
+        requests.add(new UpdateRequest("index-20181017", "type", "3").script(new Script("ctx._source.value += params.value"))
+            .upsert("value", 3));
+        writer.add(requests);
+
+        for (int i = 0; i < 100 && writer.getBulkItems() < 5; i++) {
+            Thread.sleep(50);
+        }
+
+        Assert.assertEquals(5, writer.getBulkItems());
+        Assert.assertEquals(2, writer.getRetriedItems());
+        Assert.assertEquals(1, writer.getDroppedItems());
+        Assert.assertEquals(new HashSet<>(Arrays.asList("1", "2")), client.written);
+        Assert.assertEquals(Collections.singletonList("index:3"), failed);
+    }
+
+    @Test
+    public void testReportDroppedRequests() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        FailingClient client = new FailingClient(0, release);
+        AdaptiveBulkWriter writer = new AdaptiveBulkWriter(client, 1, 20, 1, 1, 1, 10000);
+        List<String> failed = Collections.synchronizedList(new ArrayList<>());
+        writer.setFailureListener((modelName, id) -> failed.add(id));
+
+        writer.add(Collections.singletonList(new IndexRequest("index", "type", "1").source("value", 1)));
+        for (int i = 0; i < 100 && writer.getQueueDepth() > 0; i++) {
+            Thread.sleep(50);
+        }
+
+        /*
+         * The writer is blocked in the bulk of the first request, the second one fills the queue.
+         */
+        writer.add(Arrays.asList(new IndexRequest("index", "type", "2").source("value", 2),
+            new IndexRequest("index", "type", "3").source("value", 3)));
+        Assert.assertEquals(1, writer.getDroppedItems());
+        Assert.assertEquals(Collections.singletonList("3"), failed);
+
+        release.countDown();
+        for (int i = 0; i < 100 && writer.getBulkItems() < 2; i++) {
+            Thread.sleep(50);
+        }
+        Assert.assertEquals(new HashSet<>(Arrays.asList("1", "2")), client.written);
+    }
+
+    /**
+     * Fail the first given number of bulks as a whole, and block the bulks until released.
+     */
+    private static class FailingClient extends ElasticSearchClient {
+
+        private final CountDownLatch release;
+        private int failures;
+        private final Set<String> written = Collections.synchronizedSet(new HashSet<>());
+
+        FailingClient(int failures, CountDownLatch release) {
+            super("localhost:9200", new NameSpace());
+            this.failures = failures;
+            this.release = release;
+        }
+
+        @Override public BulkResponse bulk(BulkRequest request) throws IOException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            if (failures > 0) {
+                failures--;
+                throw new IOException("timeout");
+            }
+
+            BulkItemResponse[] items = new BulkItemResponse[request.numberOfActions()];
+            for (int i = 0; i < items.length; i++) {
+                written.add(request.requests().get(i).id());
+                items[i] = new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, new IndexResponse());
+            }
+            return new BulkResponse(items, 1);
+        }
+    }
+
+    private static class RejectOnceClient extends ElasticSearchClient {
+
+        private final String rejectedId;
+        private boolean rejected = false;
+        private final Set<String> written = Collections.synchronizedSet(new HashSet<>());
+
+        RejectOnceClient(String rejectedId) {
+            super("localhost:9200", new NameSpace());
+            this.rejectedId = rejectedId;
+        }
+
+        @Override public BulkResponse bulk(BulkRequest request) {
+            BulkItemResponse[] items = new BulkItemResponse[request.numberOfActions()];
+            for (int i = 0; i < items.length; i++) {
+                DocWriteRequest docRequest = request.requests().get(i);
+                if (!rejected && rejectedId.equals(docRequest.id())) {
+                    rejected = true;
+                    BulkItemResponse.Failure failure = new BulkItemResponse.Failure("index", "type", docRequest.id(), new Exception("rejected"), RestStatus.TOO_MANY_REQUESTS);
+                    items[i] = new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, failure);
+                } else {
+                    written.add(docRequest.id());
+                    items[i] = new BulkItemResponse(i, DocWriteRequest.OpType.INDEX, new IndexResponse());
+                }
+            }
+            return new BulkResponse(items, 1);
+        }
+    }
+}
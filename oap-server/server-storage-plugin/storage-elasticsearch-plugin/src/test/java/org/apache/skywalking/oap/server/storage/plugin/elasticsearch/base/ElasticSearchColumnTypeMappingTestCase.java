@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
 
+import java.util.List;
 import org.junit.*;
 
 /**
@@ -39,5 +40,6 @@ public class ElasticSearchColumnTypeMappingTestCase {
         Assert.assertEquals("double", mapping.transform(Double.class));
 
         Assert.assertEquals("keyword", mapping.transform(String.class));
+        Assert.assertEquals("keyword", mapping.transform(List.class));
     }
 }
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import java.io.IOException;
+import org.apache.skywalking.oap.server.core.analysis.generated.service.*;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.library.client.NameSpace;
+import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.junit.*;
+
+public class IndicatorEsDAOUpsertTestCase {
+
+    private final ElasticSearchClient client = new ElasticSearchClient("localhost:9200", new NameSpace());
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAvgUpsert() throws IOException {
+        IndicatorEsDAO indicatorDAO = new IndicatorEsDAO(client, (StorageBuilder)new ServiceRespTimeIndicator.Builder());
+
+        ServiceRespTimeIndicator indicator = new ServiceRespTimeIndicator();
+        indicator.setEntityId("1");
+        indicator.setTimeBucket(2018103023L);
+        indicator.combine(100, 1);
+        indicator.combine(300, 1);
+        indicator.calculate();
+
+        UpdateRequest request = indicatorDAO.prepareBatchUpsert("service_resp_time_hour", indicator);
+        Assert.assertEquals("service_resp_time_hour-20181030", request.index());
+        Assert.assertEquals(indicator.id(), request.id());
+        Assert.assertEquals(400L, request.script().getParams().get("summation"));
+        Assert.assertEquals(2, request.script().getParams().get("count"));
+        Assert.assertTrue(request.script().getIdOrCode().contains("ctx._source.summation += params.summation;"));
+        Assert.assertTrue(request.script().getIdOrCode().endsWith("ctx._source.value = ctx._source.summation * 1 / ctx._source.count;"));
+        Assert.assertEquals(200, ((Number)request.upsertRequest().sourceAsMap().get("value")).intValue());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCpmUpsert() throws IOException {
+        IndicatorEsDAO indicatorDAO = new IndicatorEsDAO(client, (StorageBuilder)new ServiceCpmIndicator.Builder());
+
+        ServiceCpmIndicator indicator = new ServiceCpmIndicator();
+        indicator.setEntityId("1");
+        indicator.setTimeBucket(2018103023L);
+        indicator.combine(1);
+        indicator.calculate();
+
+        UpdateRequest request = indicatorDAO.prepareBatchUpsert("service_cpm_hour", indicator);
+        Assert.assertEquals(1L, request.script().getParams().get("total"));
+        Assert.assertEquals(60L, request.script().getParams().get("_denominator"));
+        Assert.assertEquals("ctx._source.total += params.total; ctx._source.value = ctx._source.total * 1 / params._denominator;", request.script().getIdOrCode());
+    }
+}
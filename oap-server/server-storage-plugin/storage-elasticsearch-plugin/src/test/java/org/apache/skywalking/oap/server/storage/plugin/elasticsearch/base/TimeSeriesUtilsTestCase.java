@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.query.entity.Step;
+import org.apache.skywalking.oap.server.core.storage.TimePyramid;
+import org.junit.*;
+
+public class TimeSeriesUtilsTestCase {
+
+    @Test
+    public void testPartitionName() {
+        Assert.assertEquals("service_cpm-20181030", TimeSeriesUtils.partitionName("service_cpm", 201810302359L));
+        Assert.assertEquals("service_cpm_hour-20181030", TimeSeriesUtils.partitionName("service_cpm_hour", 2018103023L));
+        Assert.assertEquals("service_cpm_day-201810", TimeSeriesUtils.partitionName("service_cpm_day", 20181030L));
+        Assert.assertEquals("service_cpm_month-2018", TimeSeriesUtils.partitionName("service_cpm_month", 201810L));
+        Assert.assertEquals("service_cpm-20181030", TimeSeriesUtils.partitionName("service_cpm", "201810302359_2"));
+    }
+
+    @Test
+    public void testModelName() {
+        Assert.assertEquals("service_cpm_hour", TimeSeriesUtils.modelName("service_cpm_hour-20181030"));
+        Assert.assertEquals("service_cpm", TimeSeriesUtils.modelName("service_cpm"));
+    }
+
+    @Test
+    public void testPartitionNamesInRange() {
+        Assert.assertEquals(Arrays.asList("service_cpm-20181031", "service_cpm-20181101"),
+            TimeSeriesUtils.partitionNames("service_cpm", Step.MINUTE, 201810312300L, 201811010100L));
+        Assert.assertEquals(Arrays.asList("service_cpm_day-201812", "service_cpm_day-201901"),
+            TimeSeriesUtils.partitionNames("service_cpm_day", Step.DAY, 20181230L, 20190102L));
+        Assert.assertEquals(Collections.singletonList("service_cpm_hour"),
+            TimeSeriesUtils.partitionNames("service_cpm_hour", Step.HOUR, 2018010100L, 2018123123L));
+    }
+
+    @Test
+    public void testPartitionKey() {
+        LocalDateTime time = LocalDateTime.of(2018, 10, 30, 23, 59);
+        Assert.assertEquals(20181030L, TimeSeriesUtils.partitionKey(TimePyramid.Minute, time));
+        Assert.assertEquals(201810L, TimeSeriesUtils.partitionKey(TimePyramid.Day, time));
+        Assert.assertEquals(2018L, TimeSeriesUtils.partitionKey(TimePyramid.Month, time));
+
+        Assert.assertEquals(20181030L, TimeSeriesUtils.partitionKey("service_cpm", "service_cpm-20181030"));
+        Assert.assertEquals(-1L, TimeSeriesUtils.partitionKey("service", "service_cpm-20181030"));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.base;
+
+import java.io.IOException;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.generated.service.ServiceP99Indicator;
+import org.apache.skywalking.oap.server.core.analysis.indicator.IntKeyLongValueHistogram;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataType;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.*;
+import org.junit.*;
+
+public class XContentStorageDataStreamTestCase {
+
+    @Test
+    public void testSameDocumentAsMap() throws IOException {
+        ServiceP99Indicator indicator = new ServiceP99Indicator();
+        indicator.setEntityId("1");
+        indicator.setTimeBucket(201810302359L);
+        indicator.setValue(300);
+        indicator.setPrecision(10);
+        IntKeyLongValueHistogram histogram = new IntKeyLongValueHistogram();
+        histogram.add(3, 10);
+        histogram.add(30, 2);
+        indicator.setDetailGroup(histogram);
+
+        ServiceP99Indicator.Builder storageBuilder = new ServiceP99Indicator.Builder();
+
+        XContentBuilder streamed = XContentFactory.jsonBuilder().startObject();
+        storageBuilder.data2Stream(indicator, new XContentStorageDataStream(streamed));
+        streamed.endObject();
+
+        XContentBuilder mapped = XContentFactory.jsonBuilder().startObject();
+        for (Map.Entry<String, Object> entry : storageBuilder.data2Map(indicator).entrySet()) {
+            Object value = entry.getValue();
+            mapped.field(entry.getKey(), value instanceof StorageDataType ? ((StorageDataType)value).toStorageData() : value);
+        }
+        mapped.endObject();
+
+        Map<String, Object> streamedSource = XContentHelper.convertToMap(BytesReference.bytes(streamed), false, XContentType.JSON).v2();
+        Assert.assertEquals(XContentHelper.convertToMap(BytesReference.bytes(mapped), false, XContentType.JSON).v2(), streamedSource);
+
+        ServiceP99Indicator readBack = storageBuilder.map2Data(streamedSource);
+        Assert.assertEquals(2, readBack.getDetailGroup().size());
+        Assert.assertEquals(30, readBack.getDetailGroup().keyAt(1));
+        Assert.assertEquals(2L, readBack.getDetailGroup().valueAt(1));
+    }
+
+    @Test
+    public void testGlobalTraceIdsAsArray() throws IOException {
+        SegmentRecord record = new SegmentRecord();
+        record.setSegmentId("1.2.3");
+        record.setTraceId("4.5.6");
+        record.setGlobalTraceIds(Arrays.asList("4.5.6", "7.8.9"));
+        record.setTimeBucket(201810302359L);
+
+        XContentBuilder streamed = XContentFactory.jsonBuilder().startObject();
+        new SegmentRecord.Builder().data2Stream(record, new XContentStorageDataStream(streamed));
+        streamed.endObject();
+
+        Map<String, Object> source = XContentHelper.convertToMap(BytesReference.bytes(streamed), false, XContentType.JSON).v2();
+        Assert.assertEquals(Arrays.asList("4.5.6", "7.8.9"), source.get(SegmentRecord.GLOBAL_TRACE_IDS));
+        Assert.assertEquals(Arrays.asList("4.5.6", "7.8.9"), new SegmentRecord.Builder().map2Data(source).getGlobalTraceIds());
+    }
+}
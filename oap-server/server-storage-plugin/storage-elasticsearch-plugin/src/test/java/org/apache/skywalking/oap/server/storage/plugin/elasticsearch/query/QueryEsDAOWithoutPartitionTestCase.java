@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.elasticsearch.query;
+
+import java.io.IOException;
+import org.apache.skywalking.oap.server.core.query.entity.Step;
+import org.apache.skywalking.oap.server.core.query.sql.*;
+import org.apache.skywalking.oap.server.library.client.elasticsearch.ElasticSearchClient;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.junit.*;
+import org.mockito.Mockito;
+
+import static org.mockito.Matchers.*;
+
+/**
+ * The search response has no aggregation when none of the partitions of the time range exists, e.g. a fresh install
+ * or a range beyond the TTL.
+ */
+public class QueryEsDAOWithoutPartitionTestCase {
+
+    private ElasticSearchClient client;
+
+    @Before
+    public void setUp() throws IOException {
+        client = Mockito.mock(ElasticSearchClient.class);
+        SearchResponse response = Mockito.mock(SearchResponse.class);
+        Mockito.when(client.search(anyListOf(String.class), any(SearchSourceBuilder.class))).thenReturn(response);
+    }
+
+    @Test
+    public void testMetricValues() throws IOException {
+        MetricQueryEsDAO metricQueryDAO = new MetricQueryEsDAO(client);
+        Assert.assertTrue(metricQueryDAO.getValues("service_resp_time", Step.MINUTE, 201810170000L, 201810170100L,
+            new Where(), "value", Function.Avg).getValues().isEmpty());
+    }
+
+    @Test
+    public void testTopology() throws IOException {
+        TopologyQueryEsDAO topologyQueryDAO = new TopologyQueryEsDAO(client);
+        Assert.assertTrue(topologyQueryDAO.loadServerSideServiceRelations(Step.MINUTE, 201810170000L, 201810170100L).isEmpty());
+        Assert.assertTrue(topologyQueryDAO.loadServiceMappings(Step.MINUTE, 201810170000L, 201810170100L).isEmpty());
+        Assert.assertTrue(topologyQueryDAO.loadServiceComponents(Step.MINUTE, 201810170000L, 201810170100L).isEmpty());
+    }
+}
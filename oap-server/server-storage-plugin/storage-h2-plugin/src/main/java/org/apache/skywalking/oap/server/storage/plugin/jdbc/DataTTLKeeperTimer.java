@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.*;
+import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
+import org.apache.skywalking.oap.server.core.CoreModule;
+import org.apache.skywalking.oap.server.core.storage.model.*;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.base.HistoryDeleteJDBCDAO;
+import org.slf4j.*;
+
+/**
+ * Keep the time series models in their TTL, by deleting the rows whose time bucket is out of the TTL.
+ */
+public class DataTTLKeeperTimer {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataTTLKeeperTimer.class);
+
+    private static final DateTimeFormatter MINUTE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+    private static final DateTimeFormatter HOUR_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHH");
+    private static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final ModuleManager moduleManager;
+    private final HistoryDeleteJDBCDAO historyDeleteDAO;
+    private final StorageModuleJDBCConfig config;
+
+    public DataTTLKeeperTimer(ModuleManager moduleManager, HistoryDeleteJDBCDAO historyDeleteDAO,
+        StorageModuleJDBCConfig config) {
+        this.moduleManager = moduleManager;
+        this.historyDeleteDAO = historyDeleteDAO;
+        this.config = config;
+    }
+
+    public void start() {
+        Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+            .setDaemon(true).setNameFormat("DataTTLKeeperTimer-%s").build()).scheduleAtFixedRate(
+            new RunnableWithExceptionProtection(this::delete,
+                t -> logger.error("Remove data in background failure.", t)), 1, 60, TimeUnit.MINUTES);
+    }
+
+    private void delete() {
+        IModelGetter modelGetter = moduleManager.find(CoreModule.NAME).getService(IModelGetter.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Model model : modelGetter.getModels()) {
+            if (model.isTimeSeries()) {
+                historyDeleteDAO.deleteHistory(model, expiredTimeBucket(model, now));
+            }
+        }
+    }
+
+    private long expiredTimeBucket(Model model, LocalDateTime now) {
+        if (model.isRecord()) {
+            return Long.parseLong(now.minusMinutes(config.getTraceDataTTL()).format(MINUTE_FORMATTER));
+        }
+        switch (model.getTimePyramid()) {
+            case Hour:
+                return Long.parseLong(now.minusHours(config.getHourMetricDataTTL()).format(HOUR_FORMATTER));
+            case Day:
+                return Long.parseLong(now.minusDays(config.getDayMetricDataTTL()).format(DAY_FORMATTER));
+            case Month:
+                return Long.parseLong(now.minusMonths(config.getMonthMetricDataTTL()).format(MONTH_FORMATTER));
+            default:
+                return Long.parseLong(now.minusMinutes(config.getMinuteMetricDataTTL()).format(MINUTE_FORMATTER));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc;
+
+import org.apache.skywalking.oap.server.core.storage.*;
+import org.apache.skywalking.oap.server.core.storage.cache.*;
+import org.apache.skywalking.oap.server.core.storage.query.*;
+import org.apache.skywalking.oap.server.library.client.ClientException;
+import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClient;
+import org.apache.skywalking.oap.server.library.module.*;
+import org.apache.skywalking.oap.server.library.util.StringUtils;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.base.*;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.cache.*;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.lock.*;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.query.*;
+
+/**
+ * The storage of the relational databases, one table for each model. The databases differ in the {@link
+ * SQLDialect}.
+ */
+public abstract class JDBCStorageProvider extends ModuleProvider {
+
+    private final StorageModuleJDBCConfig config;
+    private final SQLDialect dialect;
+    private JDBCClient jdbcClient;
+
+    public JDBCStorageProvider(SQLDialect dialect) {
+        super();
+        this.config = new StorageModuleJDBCConfig();
+        this.dialect = dialect;
+    }
+
+    @Override
+    public Class<? extends ModuleDefine> module() {
+        return StorageModule.class;
+    }
+
+    @Override
+    public ModuleConfig createConfigBeanIfAbsent() {
+        return config;
+    }
+
+    @Override
+    public void prepare() throws ServiceNotProvidedException {
+        String url = StringUtils.isEmpty(config.getUrl()) ? dialect.defaultUrl() : config.getUrl();
+        jdbcClient = new JDBCClient(dialect.driverClassName(), dialect.prepareUrl(url), config.getUserName(), config.getPassword(), config.getMaxActive(), config.getMaxOpenPreparedStatements());
+
+        this.registerServiceImplementation(IBatchDAO.class, new BatchJDBCDAO(jdbcClient, dialect, config.getBatchSize()));
+        this.registerServiceImplementation(StorageDAO.class, new StorageJDBCDAO(jdbcClient, dialect));
+        this.registerServiceImplementation(IRegisterLockDAO.class, new RegisterLockJDBCDAO(jdbcClient, dialect, 1000));
+
+        this.registerServiceImplementation(IServiceInventoryCacheDAO.class, new ServiceInventoryCacheJDBCDAO(jdbcClient, dialect));
+        this.registerServiceImplementation(IServiceInstanceInventoryCacheDAO.class, new ServiceInstanceInventoryCacheJDBCDAO(jdbcClient, dialect));
+        this.registerServiceImplementation(IEndpointInventoryCacheDAO.class, new EndpointInventoryCacheJDBCDAO(jdbcClient, dialect));
+        this.registerServiceImplementation(INetworkAddressInventoryCacheDAO.class, new NetworkAddressInventoryCacheJDBCDAO(jdbcClient, dialect));
+
+        this.registerServiceImplementation(ITopologyQueryDAO.class, new TopologyQueryJDBCDAO(jdbcClient, dialect));
+        this.registerServiceImplementation(ITraceQueryDAO.class, new TraceQueryJDBCDAO(jdbcClient, dialect));
+    }
+
+    @Override
+    public void start() throws ModuleStartException {
+        try {
+            jdbcClient.initialize();
+
+            StorageJDBCInstaller installer = new StorageJDBCInstaller(getManager(), dialect);
+            installer.install(jdbcClient);
+
+            RegisterLockJDBCInstaller lockInstaller = new RegisterLockJDBCInstaller(jdbcClient, dialect);
+            lockInstaller.install();
+
+            DataTTLKeeperTimer ttlKeeperTimer = new DataTTLKeeperTimer(getManager(), new HistoryDeleteJDBCDAO(jdbcClient, dialect), config);
+            ttlKeeperTimer.start();
+        } catch (ClientException | StorageException e) {
+            throw new ModuleStartException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void notifyAfterCompleted() {
+    }
+
+    @Override
+    public String[] requiredModules() {
+        return new String[0];
+    }
+}
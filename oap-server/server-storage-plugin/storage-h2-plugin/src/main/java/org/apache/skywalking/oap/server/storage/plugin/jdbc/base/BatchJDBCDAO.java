@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.base;
+
+import java.sql.*;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.storage.*;
+import org.apache.skywalking.oap.server.library.client.jdbc.*;
+import org.apache.skywalking.oap.server.library.util.CollectionUtils;
+import org.slf4j.*;
+
+/**
+ * Execute the collection in one transaction. The executors of the same SQL are sent as JDBC batches of one prepared
+ * statement, which the pool caches per connection.
+ */
+public class BatchJDBCDAO extends JDBCDAO implements IBatchDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchJDBCDAO.class);
+
+    private final int batchSize;
+    private volatile BatchFailureListener failureListener;
+
+    /**
+     * @param batchSize the max number of the rows in one JDBC batch.
+     */
+    public BatchJDBCDAO(JDBCClient client, SQLDialect dialect, int batchSize) {
+        super(client, dialect);
+        this.batchSize = batchSize;
+    }
+
+    @Override public void setFailureListener(BatchFailureListener listener) {
+        this.failureListener = listener;
+    }
+
+    @Override public void batchPersistence(List<?> batchCollection) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("batch data size: {}", batchCollection.size());
+        }
+
+        if (CollectionUtils.isEmpty(batchCollection)) {
+            return;
+        }
+
+        Map<String, List<SQLExecutor>> batches = new LinkedHashMap<>();
+        batchCollection.forEach(executor -> {
+            if (executor instanceof SQLExecutor) {
+                addToBatches(batches, (SQLExecutor)executor);
+            }
+        });
+
+        try (Connection connection = getClient().getConnection()) {
+            try {
+                connection.setAutoCommit(false);
+                for (Map.Entry<String, List<SQLExecutor>> batch : batches.entrySet()) {
+                    executeBatch(connection, batch.getKey(), batch.getValue());
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                logger.error("batch persistence failure, execute the rows one by one.", e);
+
+                connection.setAutoCommit(true);
+                batches.forEach((sql, executors) -> executeOneByOne(connection, sql, executors));
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (JDBCClientException | SQLException e) {
+            logger.error(e.getMessage(), e);
+            batches.values().forEach(this::failed);
+        }
+    }
+
+    private void addToBatches(Map<String, List<SQLExecutor>> batches, SQLExecutor executor) {
+        batches.computeIfAbsent(executor.getSql(), sql -> new ArrayList<>()).add(executor);
+        executor.getAppendedExecutors().forEach(appended -> addToBatches(batches, appended));
+    }
+
+    private void executeBatch(Connection connection, String sql, List<SQLExecutor> executors) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < executors.size(); i++) {
+                JDBCClient.setParameters(statement, executors.get(i).getParams());
+                statement.addBatch();
+                if ((i + 1) % batchSize == 0) {
+                    statement.executeBatch();
+                }
+            }
+            if (executors.size() % batchSize != 0) {
+                statement.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Keep the other rows when some of them fail, such as the insert of an indicator inserted by another OAP node.
+     */
+    private void executeOneByOne(Connection connection, String sql, List<SQLExecutor> executors) {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (SQLExecutor executor : executors) {
+                try {
+                    JDBCClient.setParameters(statement, executor.getParams());
+                    statement.executeUpdate();
+                } catch (SQLException e) {
+                    logger.error("execute {} failure, error message: {}", sql, e.getMessage());
+                    failed(Collections.singletonList(executor));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error(e.getMessage(), e);
+            failed(executors);
+        }
+    }
+
+    private void failed(List<SQLExecutor> executors) {
+        BatchFailureListener listener = failureListener;
+        if (listener != null) {
+            executors.forEach(executor -> listener.onFailure(executor.getModelName(), executor.getId()));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.base;
+
+import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+import org.apache.skywalking.oap.server.core.storage.model.*;
+import org.apache.skywalking.oap.server.library.client.jdbc.*;
+import org.slf4j.*;
+
+public class HistoryDeleteJDBCDAO extends JDBCDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoryDeleteJDBCDAO.class);
+
+    public HistoryDeleteJDBCDAO(JDBCClient client, SQLDialect dialect) {
+        super(client, dialect);
+    }
+
+    /**
+     * Delete the rows of the model and of its multi-valued columns before the given time bucket.
+     */
+    public void deleteHistory(Model model, long timeBucketBefore) {
+        deleteHistory(model.getName(), timeBucketBefore);
+        for (ModelColumn column : model.getColumns()) {
+            if (isMultiValued(column.getType())) {
+                deleteHistory(multiValuedTableName(model.getName(), column.getColumnName().getName()), timeBucketBefore);
+            }
+        }
+    }
+
+    /**
+     * Delete the rows before the given time bucket, by the index of the time bucket column.
+     */
+    public void deleteHistory(String modelName, long timeBucketBefore) {
+        String sql = "DELETE FROM " + getDialect().quote(modelName) + " WHERE " + getDialect().quote(Indicator.TIME_BUCKET) + " < ?";
+        try {
+            int deleted = getClient().executeUpdate(sql, timeBucketBefore);
+            logger.info("delete {} rows of {} before {}", deleted, modelName, timeBucketBefore);
+        } catch (JDBCClientException e) {
+            logger.error("delete the history of {} failure.", modelName, e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.base;
+
+import java.io.IOException;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.indicator.*;
+import org.apache.skywalking.oap.server.core.storage.*;
+import org.apache.skywalking.oap.server.library.client.jdbc.*;
+
+public class IndicatorJDBCDAO extends JDBCDAO implements IIndicatorDAO<SQLExecutor, SQLExecutor> {
+
+    private final StorageBuilder<Indicator> storageBuilder;
+    private final HistoryDeleteJDBCDAO historyDeleteDAO;
+    private final SQLCache insertSQLs;
+    private final SQLCache updateSQLs;
+    private final SQLCache upsertSQLs;
+
+    public IndicatorJDBCDAO(JDBCClient client, SQLDialect dialect, StorageBuilder<Indicator> storageBuilder) {
+        super(client, dialect);
+        this.storageBuilder = storageBuilder;
+        this.historyDeleteDAO = new HistoryDeleteJDBCDAO(client, dialect);
+        this.insertSQLs = new SQLCache();
+        this.updateSQLs = new SQLCache();
+        this.upsertSQLs = new SQLCache();
+    }
+
+    @Override public Indicator get(String modelName, Indicator indicator) throws IOException {
+        try {
+            return getClient().executeQuery(selectByIdSQL(modelName), resultSet -> {
+                if (resultSet.next()) {
+                    return storageBuilder.map2Data(toMap(resultSet));
+                }
+                return null;
+            }, indicator.id());
+        } catch (JDBCClientException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * One query reads all the indicators, it never fails for some of them only.
+     */
+    @Override public List<Indicator> multiGet(String modelName, List<Indicator> indicators,
+        Set<String> failedIds) throws IOException {
+        Object[] ids = new Object[indicators.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = indicators.get(i).id();
+        }
+
+        try {
+            return getClient().executeQuery(selectByIdsSQL(modelName, ids.length), resultSet -> {
+                List<Indicator> result = new ArrayList<>(ids.length);
+                while (resultSet.next()) {
+                    result.add(storageBuilder.map2Data(toMap(resultSet)));
+                }
+                return result;
+            }, ids);
+        } catch (JDBCClientException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override public SQLExecutor prepareBatchInsert(String modelName, Indicator indicator) throws IOException {
+        JDBCStorageDataStream stream = buildColumns(storageBuilder, indicator);
+        String sql = insertSQLs.get(modelName, stream.getColumnNames(), columnNames -> insertSQL(modelName, columnNames));
+        return new SQLExecutor(modelName, indicator.id(), sql, insertParams(indicator.id(), stream));
+    }
+
+    /**
+     * Insert the row when it doesn't exist, the combined value may come from the persisted cache of the worker while
+     * the former insert has failed.
+     */
+    @Override public SQLExecutor prepareBatchUpdate(String modelName, Indicator indicator) throws IOException {
+        JDBCStorageDataStream stream = buildColumns(storageBuilder, indicator);
+        String sql = updateSQLs.get(modelName, stream.getColumnNames(), columnNames -> insertOrUpdateSQL(modelName, columnNames));
+        return new SQLExecutor(modelName, indicator.id(), sql, insertParams(indicator.id(), stream));
+    }
+
+    @Override public boolean isUpsertSupported() {
+        return true;
+    }
+
+    @Override public SQLExecutor prepareBatchUpsert(String modelName, Indicator indicator) throws IOException {
+        AdditiveIndicator additiveIndicator = (AdditiveIndicator)indicator;
+        DerivedColumn derivedColumn = additiveIndicator.derivedColumn();
+
+        JDBCStorageDataStream stream = buildColumns(storageBuilder, indicator);
+        String sql = upsertSQLs.get(modelName, stream.getColumnNames(), columnNames -> upsertSQL(modelName, additiveIndicator, stream));
+
+        Object[] params = insertParams(indicator.id(), stream);
+        if (derivedColumn != null && derivedColumn.getDenominatorColumn() == null) {
+            params = Arrays.copyOf(params, params.length + 1);
+            params[params.length - 1] = derivedColumn.getDenominator();
+        }
+        return new SQLExecutor(modelName, indicator.id(), sql, params);
+    }
+
+    /**
+     * For example, <code>INSERT INTO t (id, ..., summation, count, value) VALUES (?, ..., ?, ?, ?) ON DUPLICATE KEY
+     * UPDATE value = (summation + VALUES(summation)) * 1 DIV (count + VALUES(count)), summation = summation +
+     * VALUES(summation), count = count + VALUES(count)</code>. The derived column is assigned first, from the stored
+     * sums, because MySQL assigns the columns one by one and the later assignments read the new values.
+     */
+    private String upsertSQL(String modelName, AdditiveIndicator indicator, JDBCStorageDataStream stream) {
+        Map<String, Object> increments = indicator.increments();
+        List<String> assignments = new ArrayList<>();
+
+        DerivedColumn derivedColumn = indicator.derivedColumn();
+        if (derivedColumn != null) {
+            String numerator = "(" + sum(derivedColumn.getNumeratorColumn(), increments) + ") * " + derivedColumn.getMultiplier();
+            String denominator = derivedColumn.getDenominatorColumn() == null ? "?" : "(" + sum(derivedColumn.getDenominatorColumn(), increments) + ")";
+            boolean integral = !(stream.getValue(derivedColumn.getColumnName()) instanceof Double);
+            assignments.add(getDialect().quote(derivedColumn.getColumnName()) + " = " + getDialect().divide(numerator, denominator, integral));
+        }
+        for (String columnName : stream.getColumnNames()) {
+            if (increments.containsKey(columnName)) {
+                assignments.add(getDialect().quote(columnName) + " = " + sum(columnName, increments));
+            }
+        }
+        return insertSQL(modelName, stream.getColumnNames()) + " ON DUPLICATE KEY UPDATE " + String.join(", ", assignments);
+    }
+
+    /**
+     * @return the stored value plus the increment of the column, or the stored value for the not additive column.
+     */
+    private String sum(String columnName, Map<String, Object> increments) {
+        String column = getDialect().quote(columnName);
+        return increments.containsKey(columnName) ? column + " + VALUES(" + column + ")" : column;
+    }
+
+    @Override public void deleteHistory(String modelName, Long timeBucketBefore) {
+        historyDeleteDAO.deleteHistory(modelName, timeBucketBefore);
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.base;
+
+import java.io.IOException;
+import java.sql.*;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.storage.*;
+import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClient;
+
+public abstract class JDBCDAO extends AbstractDAO<JDBCClient> {
+
+    /**
+     * The primary key of every table, the id of the storage data.
+     */
+    public static final String ID = "id";
+
+    /**
+     * The databases have no multi-valued column, every value of it is a row of its own table, which refers to the row
+     * of the data by the owner id column.
+     */
+    public static final String OWNER_ID = "owner_id";
+
+    private final SQLDialect dialect;
+
+    public JDBCDAO(JDBCClient client, SQLDialect dialect) {
+        super(client);
+        this.dialect = dialect;
+    }
+
+    public final SQLDialect getDialect() {
+        return dialect;
+    }
+
+    protected final <T extends StorageData> JDBCStorageDataStream buildColumns(StorageBuilder<T> storageBuilder,
+        T storageData) throws IOException {
+        JDBCStorageDataStream stream = new JDBCStorageDataStream();
+        storageBuilder.data2Stream(storageData, stream);
+        return stream;
+    }
+
+    /**
+     * @return the id followed by the column values, the parameters of {@link #insertSQL(String, List)}.
+     */
+    protected final Object[] insertParams(String id, JDBCStorageDataStream stream) {
+        Object[] params = new Object[stream.size() + 1];
+        params[0] = id;
+        for (int i = 0; i < stream.size(); i++) {
+            params[i + 1] = stream.getValues().get(i);
+        }
+        return params;
+    }
+
+    /**
+     * @return the column values followed by the id, the parameters of {@link #updateSQL(String, List)}.
+     */
+    protected final Object[] updateParams(String id, JDBCStorageDataStream stream) {
+        Object[] params = new Object[stream.size() + 1];
+        for (int i = 0; i < stream.size(); i++) {
+            params[i] = stream.getValues().get(i);
+        }
+        params[stream.size()] = id;
+        return params;
+    }
+
+    protected final String insertSQL(String tableName, List<String> columnNames) {
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(dialect.quote(tableName)).append(" (").append(dialect.quote(ID));
+        columnNames.forEach(columnName -> sql.append(", ").append(dialect.quote(columnName)));
+        sql.append(") VALUES (?");
+        columnNames.forEach(columnName -> sql.append(", ?"));
+        return sql.append(")").toString();
+    }
+
+    /**
+     * The insert which overwrites all the columns when the row exists, it has the parameters of {@link
+     * #insertSQL(String, List)}.
+     */
+    protected final String insertOrUpdateSQL(String tableName, List<String> columnNames) {
+        StringBuilder sql = new StringBuilder(insertSQL(tableName, columnNames)).append(" ON DUPLICATE KEY UPDATE ");
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            String column = dialect.quote(columnNames.get(i));
+            sql.append(column).append(" = VALUES(").append(column).append(")");
+        }
+        return sql.toString();
+    }
+
+    protected final String updateSQL(String tableName, List<String> columnNames) {
+        StringBuilder sql = new StringBuilder("UPDATE ").append(dialect.quote(tableName)).append(" SET ");
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(dialect.quote(columnNames.get(i))).append(" = ?");
+        }
+        return sql.append(" WHERE ").append(dialect.quote(ID)).append(" = ?").toString();
+    }
+
+    protected final String selectByIdSQL(String tableName) {
+        return "SELECT * FROM " + dialect.quote(tableName) + " WHERE " + dialect.quote(ID) + " = ?";
+    }
+
+    protected final String selectByIdsSQL(String tableName, int size) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(dialect.quote(tableName))
+            .append(" WHERE ").append(dialect.quote(ID)).append(" IN (");
+        for (int i = 0; i < size; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.append(")").toString();
+    }
+
+    /**
+     * @return true if the column of the given type is kept in the table of {@link #multiValuedTableName(String,
+     * String)}, not in the table of the model.
+     */
+    public static boolean isMultiValued(Class<?> columnType) {
+        return List.class.equals(columnType);
+    }
+
+    /**
+     * @return the table of the multi-valued column, with the id, {@link #OWNER_ID}, the column and the time bucket.
+     */
+    public static String multiValuedTableName(String tableName, String columnName) {
+        return tableName + "_" + columnName;
+    }
+
+    /**
+     * Read the columns of the current row as the map of {@link StorageBuilder#map2Data(Map)}. The binary columns are
+     * base64 encoded, the same as the source of elasticsearch, which the builders decode.
+     */
+    public static Map<String, Object> toMap(ResultSet resultSet) throws SQLException {
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        Map<String, Object> dbMap = new HashMap<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            switch (metaData.getColumnType(i)) {
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY:
+                case Types.BLOB:
+                    byte[] bytes = resultSet.getBytes(i);
+                    dbMap.put(metaData.getColumnLabel(i), bytes == null ? null : Base64.getEncoder().encodeToString(bytes));
+                    break;
+                default:
+                    dbMap.put(metaData.getColumnLabel(i), resultSet.getObject(i));
+            }
+        }
+        return dbMap;
+    }
+}
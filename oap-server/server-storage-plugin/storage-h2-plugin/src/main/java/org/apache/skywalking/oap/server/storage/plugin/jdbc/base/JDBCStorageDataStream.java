@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.base;
+
+import java.util.*;
+import lombok.Getter;
+import org.apache.skywalking.oap.server.core.analysis.indicator.IntKeyLongValueHistogram;
+import org.apache.skywalking.oap.server.core.storage.StorageDataStream;
+import org.apache.skywalking.oap.server.core.storage.type.StorageDataType;
+
+/**
+ * Collect the columns as the parameters of the prepared statements. The builders write their columns in a fixed
+ * order, so the SQL of a model is built once and reused. The multi-valued columns are collected apart, they are
+ * written into tables of their own.
+ */
+public class JDBCStorageDataStream implements StorageDataStream {
+
+    @Getter private final List<String> columnNames;
+    @Getter private final List<Object> values;
+    @Getter private final Map<String, List<String>> multiValuedColumns;
+
+    public JDBCStorageDataStream() {
+        this.columnNames = new ArrayList<>(16);
+        this.values = new ArrayList<>(16);
+        this.multiValuedColumns = new LinkedHashMap<>(2);
+    }
+
+    @Override public void write(String columnName, int value) {
+        add(columnName, value);
+    }
+
+    @Override public void write(String columnName, long value) {
+        add(columnName, value);
+    }
+
+    @Override public void write(String columnName, double value) {
+        add(columnName, value);
+    }
+
+    @Override public void write(String columnName, String value) {
+        add(columnName, value);
+    }
+
+    @Override public void write(String columnName, byte[] value) {
+        add(columnName, value);
+    }
+
+    @Override public void write(String columnName, List<String> values) {
+        multiValuedColumns.put(columnName, values == null ? Collections.emptyList() : values);
+    }
+
+    @Override public void writeObject(String columnName, Object value) {
+        if (value instanceof IntKeyLongValueHistogram) {
+            add(columnName, ((IntKeyLongValueHistogram)value).toBytes());
+        } else if (value instanceof StorageDataType) {
+            add(columnName, ((StorageDataType)value).toStorageData());
+        } else {
+            add(columnName, value);
+        }
+    }
+
+    private void add(String columnName, Object value) {
+        columnNames.add(columnName);
+        values.add(value);
+    }
+
+    public int size() {
+        return columnNames.size();
+    }
+
+    public Object getValue(String columnName) {
+        int index = columnNames.indexOf(columnName);
+        return index < 0 ? null : values.get(index);
+    }
+}
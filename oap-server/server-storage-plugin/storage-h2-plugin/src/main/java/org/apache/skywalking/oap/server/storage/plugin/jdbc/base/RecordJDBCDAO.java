@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.base;
+
+import java.io.IOException;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.analysis.record.Record;
+import org.apache.skywalking.oap.server.core.storage.*;
+import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClient;
+
+/**
+ * Insert the record, and the rows of its multi-valued columns into their own tables, in the same batch.
+ */
+public class RecordJDBCDAO extends JDBCDAO implements IRecordDAO<SQLExecutor> {
+
+    private final StorageBuilder<Record> storageBuilder;
+    private final SQLCache insertSQLs;
+
+    public RecordJDBCDAO(JDBCClient client, SQLDialect dialect, StorageBuilder<Record> storageBuilder) {
+        super(client, dialect);
+        this.storageBuilder = storageBuilder;
+        this.insertSQLs = new SQLCache();
+    }
+
+    @Override public SQLExecutor prepareBatchInsert(String modelName, Record record) throws IOException {
+        JDBCStorageDataStream stream = buildColumns(storageBuilder, record);
+        String sql = insertSQLs.get(modelName, stream.getColumnNames(), columnNames -> insertSQL(modelName, columnNames));
+        SQLExecutor executor = new SQLExecutor(modelName, record.id(), sql, insertParams(record.id(), stream));
+
+        for (Map.Entry<String, List<String>> column : stream.getMultiValuedColumns().entrySet()) {
+            String tableName = multiValuedTableName(modelName, column.getKey());
+            List<String> columnNames = Arrays.asList(OWNER_ID, column.getKey(), Record.TIME_BUCKET);
+            String valueSQL = insertSQLs.get(tableName, columnNames, names -> insertSQL(tableName, names));
+
+            List<String> values = column.getValue();
+            for (int i = 0; i < values.size(); i++) {
+                String id = record.id() + Const.ID_SPLIT + i;
+                executor.append(new SQLExecutor(tableName, id, valueSQL, new Object[] {id, record.id(), values.get(i), record.getTimeBucket()}));
+            }
+        }
+        return executor;
+    }
+}
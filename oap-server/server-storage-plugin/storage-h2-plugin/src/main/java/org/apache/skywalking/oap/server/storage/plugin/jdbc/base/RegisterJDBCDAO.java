@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.base;
+
+import java.io.IOException;
+import org.apache.skywalking.oap.server.core.register.RegisterSource;
+import org.apache.skywalking.oap.server.core.storage.*;
+import org.apache.skywalking.oap.server.library.client.jdbc.*;
+
+public class RegisterJDBCDAO extends JDBCDAO implements IRegisterDAO {
+
+    private final StorageBuilder<RegisterSource> storageBuilder;
+    private final SQLCache insertSQLs;
+    private final SQLCache updateSQLs;
+
+    public RegisterJDBCDAO(JDBCClient client, SQLDialect dialect, StorageBuilder<RegisterSource> storageBuilder) {
+        super(client, dialect);
+        this.storageBuilder = storageBuilder;
+        this.insertSQLs = new SQLCache();
+        this.updateSQLs = new SQLCache();
+    }
+
+    @Override public RegisterSource get(String modelName, String id) throws IOException {
+        try {
+            return getClient().executeQuery(selectByIdSQL(modelName), resultSet -> {
+                if (resultSet.next()) {
+                    return storageBuilder.map2Data(toMap(resultSet));
+                }
+                return null;
+            }, id);
+        } catch (JDBCClientException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override public void forceInsert(String modelName, RegisterSource source) throws IOException {
+        JDBCStorageDataStream stream = buildColumns(storageBuilder, source);
+        String sql = insertSQLs.get(modelName, stream.getColumnNames(), columnNames -> insertSQL(modelName, columnNames));
+        try {
+            getClient().executeUpdate(sql, insertParams(source.id(), stream));
+        } catch (JDBCClientException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override public void forceUpdate(String modelName, RegisterSource source) throws IOException {
+        JDBCStorageDataStream stream = buildColumns(storageBuilder, source);
+        String sql = updateSQLs.get(modelName, stream.getColumnNames(), columnNames -> updateSQL(modelName, columnNames));
+        try {
+            getClient().executeUpdate(sql, updateParams(source.id(), stream));
+        } catch (JDBCClientException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override public int max(String modelName) throws IOException {
+        String sql = "SELECT MAX(" + getDialect().quote(RegisterSource.SEQUENCE) + ") FROM " + getDialect().quote(modelName);
+        try {
+            return getClient().executeQuery(sql, resultSet -> resultSet.next() ? resultSet.getInt(1) : 0);
+        } catch (JDBCClientException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.base;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The SQL of each model, built from the columns written by its builder. Built again, not cached, for the data whose
+ * columns differ from the cached ones.
+ */
+public class SQLCache {
+
+    private final Map<String, CachedSQL> cache = new ConcurrentHashMap<>();
+
+    public String get(String modelName, List<String> columnNames, Function<List<String>, String> sqlBuilder) {
+        CachedSQL cachedSQL = cache.computeIfAbsent(modelName, name -> new CachedSQL(columnNames, sqlBuilder.apply(columnNames)));
+        if (cachedSQL.columnNames.equals(columnNames)) {
+            return cachedSQL.sql;
+        }
+        return sqlBuilder.apply(columnNames);
+    }
+
+    private static class CachedSQL {
+        private final List<String> columnNames;
+        private final String sql;
+
+        private CachedSQL(List<String> columnNames, String sql) {
+            this.columnNames = new ArrayList<>(columnNames);
+            this.sql = sql;
+        }
+    }
+}
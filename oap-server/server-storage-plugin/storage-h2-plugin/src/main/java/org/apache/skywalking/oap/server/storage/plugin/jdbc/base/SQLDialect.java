@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.base;
+
+import org.apache.skywalking.oap.server.core.storage.model.DataTypeMapping;
+
+/**
+ * The differences of the databases in the SQL built by the JDBC DAOs.
+ */
+public abstract class SQLDialect implements DataTypeMapping {
+
+    /**
+     * The max length of the id column and the indexed string columns, the same as the max length of the document id
+     * of elasticsearch.
+     */
+    public static final int INDEXED_STRING_LENGTH = 512;
+
+    public abstract String driverClassName();
+
+    public abstract String defaultUrl();
+
+    /**
+     * @return the url with the options the DAOs rely on.
+     */
+    public String prepareUrl(String url) {
+        return url;
+    }
+
+    /**
+     * Quote the table and column names, some of them are key words, such as match and value.
+     */
+    public abstract String quote(String identifier);
+
+    /**
+     * @return the type of the id column and the indexed string columns.
+     */
+    public abstract String indexedStringType();
+
+    /**
+     * @param integral true when the result is stored in an integer column, the division must truncate as java does.
+     */
+    public abstract String divide(String numerator, String denominator, boolean integral);
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.base;
+
+import java.util.*;
+import lombok.Getter;
+
+/**
+ * One row of a JDBC batch, the executors of the same SQL are sent to the database in one batch by {@link
+ * BatchJDBCDAO}.
+ */
+@Getter
+public class SQLExecutor {
+
+    private final String modelName;
+    private final String id;
+    private final String sql;
+    private final Object[] params;
+    /**
+     * The rows written in the same batch with this one, such as the values of its multi-valued columns.
+     */
+    private List<SQLExecutor> appendedExecutors = Collections.emptyList();
+
+    /**
+     * @param modelName the table and the id of the row, reported when it fails to be written.
+     */
+    public SQLExecutor(String modelName, String id, String sql, Object[] params) {
+        this.modelName = modelName;
+        this.id = id;
+        this.sql = sql;
+        this.params = params;
+    }
+
+    public void append(SQLExecutor executor) {
+        if (appendedExecutors.isEmpty()) {
+            appendedExecutors = new ArrayList<>(2);
+        }
+        appendedExecutors.add(executor);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.base;
+
+import java.sql.*;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+import org.apache.skywalking.oap.server.core.register.RegisterSource;
+import org.apache.skywalking.oap.server.core.storage.StorageException;
+import org.apache.skywalking.oap.server.core.storage.model.*;
+import org.apache.skywalking.oap.server.library.client.Client;
+import org.apache.skywalking.oap.server.library.client.jdbc.*;
+import org.apache.skywalking.oap.server.library.module.ModuleManager;
+import org.slf4j.*;
+
+public class StorageJDBCInstaller extends ModelInstaller {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageJDBCInstaller.class);
+
+    /**
+     * The columns filtered by the DAOs, the time bucket of the queries and the history deletion, the sequence of the
+     * inventory caches. The values of the multi-valued columns are always indexed.
+     */
+    private static final Set<String> INDEXED_COLUMNS = new HashSet<>(Arrays.asList(Indicator.TIME_BUCKET, RegisterSource.SEQUENCE));
+
+    private final SQLDialect dialect;
+
+    public StorageJDBCInstaller(ModuleManager moduleManager, SQLDialect dialect) {
+        super(moduleManager);
+        this.dialect = dialect;
+    }
+
+    @Override protected boolean isExists(Client client, Model tableDefine) throws StorageException {
+        JDBCClient jdbcClient = (JDBCClient)client;
+        try (Connection connection = jdbcClient.getConnection();
+             ResultSet resultSet = connection.getMetaData().getTables(connection.getCatalog(), null, tableDefine.getName(), null)) {
+            return resultSet.next();
+        } catch (JDBCClientException | SQLException e) {
+            throw new StorageException(e.getMessage());
+        }
+    }
+
+    @Override protected void columnCheck(Client client, Model tableDefine) throws StorageException {
+
+    }
+
+    @Override protected void deleteTable(Client client, Model tableDefine) throws StorageException {
+        JDBCClient jdbcClient = (JDBCClient)client;
+        try {
+            jdbcClient.execute("DROP TABLE IF EXISTS " + dialect.quote(tableDefine.getName()));
+            for (ModelColumn column : tableDefine.getColumns()) {
+                if (JDBCDAO.isMultiValued(column.getType())) {
+                    jdbcClient.execute("DROP TABLE IF EXISTS " + dialect.quote(JDBCDAO.multiValuedTableName(tableDefine.getName(), column.getColumnName().getName())));
+                }
+            }
+        } catch (JDBCClientException e) {
+            throw new StorageException(tableDefine.getName() + " table delete failure.");
+        }
+    }
+
+    @Override protected void createTable(Client client, Model tableDefine) throws StorageException {
+        JDBCClient jdbcClient = (JDBCClient)client;
+
+        StringBuilder sql = new StringBuilder("CREATE TABLE ").append(dialect.quote(tableDefine.getName())).append(" (");
+        sql.append(dialect.quote(JDBCDAO.ID)).append(" ").append(dialect.indexedStringType()).append(" NOT NULL");
+
+        List<String> indexedColumns = new ArrayList<>();
+        List<String> multiValuedColumns = new ArrayList<>();
+        for (ModelColumn column : tableDefine.getColumns()) {
+            String columnName = column.getColumnName().getName();
+            if (JDBCDAO.isMultiValued(column.getType())) {
+                multiValuedColumns.add(columnName);
+                continue;
+            }
+            boolean indexed = INDEXED_COLUMNS.contains(columnName);
+            if (indexed) {
+                indexedColumns.add(columnName);
+            }
+
+            String type = indexed && String.class.equals(column.getType()) ? dialect.indexedStringType() : dialect.transform(column.getType());
+            sql.append(", ").append(dialect.quote(columnName)).append(" ").append(type);
+        }
+        sql.append(", PRIMARY KEY (").append(dialect.quote(JDBCDAO.ID)).append("))");
+        logger.info("create table sql: {}", sql);
+
+        try {
+            jdbcClient.execute(sql.toString());
+            createIndexes(jdbcClient, tableDefine.getName(), indexedColumns);
+            for (String columnName : multiValuedColumns) {
+                createMultiValuedTable(jdbcClient, tableDefine.getName(), columnName);
+            }
+        } catch (JDBCClientException e) {
+            throw new StorageException("create " + tableDefine.getName() + " table failure, " + e.getMessage());
+        }
+        logger.info("create {} table finished", tableDefine.getName());
+    }
+
+    /**
+     * One row per value of the column, found by the value, and deleted by the time bucket with the data.
+     */
+    private void createMultiValuedTable(JDBCClient jdbcClient, String tableName,
+        String columnName) throws JDBCClientException {
+        String multiValuedTableName = JDBCDAO.multiValuedTableName(tableName, columnName);
+        String sql = "CREATE TABLE " + dialect.quote(multiValuedTableName) + " ("
+            + dialect.quote(JDBCDAO.ID) + " " + dialect.indexedStringType() + " NOT NULL, "
+            + dialect.quote(JDBCDAO.OWNER_ID) + " " + dialect.indexedStringType() + ", "
+            + dialect.quote(columnName) + " " + dialect.indexedStringType() + ", "
+            + dialect.quote(Indicator.TIME_BUCKET) + " " + dialect.transform(long.class) + ", "
+            + "PRIMARY KEY (" + dialect.quote(JDBCDAO.ID) + "))";
+        logger.info("create table sql: {}", sql);
+
+        jdbcClient.execute(sql);
+        createIndexes(jdbcClient, multiValuedTableName, Arrays.asList(columnName, Indicator.TIME_BUCKET));
+    }
+
+    private void createIndexes(JDBCClient jdbcClient, String tableName,
+        List<String> indexedColumns) throws JDBCClientException {
+        for (String columnName : indexedColumns) {
+            jdbcClient.execute("CREATE INDEX " + dialect.quote(tableName + "_" + columnName)
+                + " ON " + dialect.quote(tableName) + " (" + dialect.quote(columnName) + ")");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.cache;
+
+import org.apache.skywalking.oap.server.core.register.EndpointInventory;
+import org.apache.skywalking.oap.server.core.storage.cache.IEndpointInventoryCacheDAO;
+import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClient;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.base.SQLDialect;
+
+public class EndpointInventoryCacheJDBCDAO extends InventoryCacheJDBCDAO implements IEndpointInventoryCacheDAO {
+
+    private final EndpointInventory.Builder builder = new EndpointInventory.Builder();
+
+    public EndpointInventoryCacheJDBCDAO(JDBCClient client, SQLDialect dialect) {
+        super(client, dialect);
+    }
+
+    @Override public int getEndpointId(int serviceId, String endpointName) {
+        return getSequence(EndpointInventory.MODEL_NAME, EndpointInventory.buildId(serviceId, endpointName));
+    }
+
+    @Override public EndpointInventory get(int endpointId) {
+        return getBySequence(EndpointInventory.MODEL_NAME, endpointId, builder);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.cache;
+
+import org.apache.skywalking.oap.server.core.Const;
+import org.apache.skywalking.oap.server.core.register.RegisterSource;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.library.client.jdbc.*;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.base.*;
+import org.slf4j.*;
+
+public abstract class InventoryCacheJDBCDAO extends JDBCDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryCacheJDBCDAO.class);
+
+    public InventoryCacheJDBCDAO(JDBCClient client, SQLDialect dialect) {
+        super(client, dialect);
+    }
+
+    protected final int getSequence(String modelName, String id) {
+        String sql = "SELECT " + getDialect().quote(RegisterSource.SEQUENCE) + " FROM " + getDialect().quote(modelName) + " WHERE " + getDialect().quote(ID) + " = ?";
+        try {
+            return getClient().executeQuery(sql, resultSet -> resultSet.next() ? resultSet.getInt(1) : Const.NONE, id);
+        } catch (JDBCClientException e) {
+            logger.error(e.getMessage(), e);
+            return Const.NONE;
+        }
+    }
+
+    protected final <T extends RegisterSource> T getBySequence(String modelName, int sequence,
+        StorageBuilder<T> builder) {
+        String sql = "SELECT * FROM " + getDialect().quote(modelName) + " WHERE " + getDialect().quote(RegisterSource.SEQUENCE) + " = ?";
+        try {
+            return getClient().executeQuery(sql, resultSet -> resultSet.next() ? builder.map2Data(toMap(resultSet)) : null, sequence);
+        } catch (JDBCClientException e) {
+            logger.error(e.getMessage(), e);
+            return null;
+        }
+    }
+}
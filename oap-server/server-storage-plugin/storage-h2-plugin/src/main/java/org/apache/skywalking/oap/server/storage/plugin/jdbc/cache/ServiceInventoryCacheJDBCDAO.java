@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.cache;
+
+import org.apache.skywalking.oap.server.core.register.ServiceInventory;
+import org.apache.skywalking.oap.server.core.storage.cache.IServiceInventoryCacheDAO;
+import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClient;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.base.SQLDialect;
+
+public class ServiceInventoryCacheJDBCDAO extends InventoryCacheJDBCDAO implements IServiceInventoryCacheDAO {
+
+    private final ServiceInventory.Builder builder = new ServiceInventory.Builder();
+
+    public ServiceInventoryCacheJDBCDAO(JDBCClient client, SQLDialect dialect) {
+        super(client, dialect);
+    }
+
+    @Override public int getServiceId(String serviceName) {
+        return getSequence(ServiceInventory.MODEL_NAME, ServiceInventory.buildId(serviceName));
+    }
+
+    @Override public int getServiceId(int addressId) {
+        return getSequence(ServiceInventory.MODEL_NAME, ServiceInventory.buildId(addressId));
+    }
+
+    @Override public ServiceInventory get(int serviceId) {
+        return getBySequence(ServiceInventory.MODEL_NAME, serviceId, builder);
+    }
+}
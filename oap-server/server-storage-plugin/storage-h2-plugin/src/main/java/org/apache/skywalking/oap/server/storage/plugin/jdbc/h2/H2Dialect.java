@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.h2;
+
+import org.apache.skywalking.oap.server.core.analysis.indicator.IntKeyLongValueHistogram;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.base.SQLDialect;
+
+public class H2Dialect extends SQLDialect {
+
+    /**
+     * The upsert of the indicators is the INSERT ... ON DUPLICATE KEY UPDATE statement, supported by the MySQL
+     * compatibility mode of H2.
+     */
+    private static final String MYSQL_MODE = "MODE=MySQL";
+
+    @Override public String driverClassName() {
+        return "org.h2.Driver";
+    }
+
+    @Override public String defaultUrl() {
+        return "jdbc:h2:mem:skywalking-oap-db;DB_CLOSE_DELAY=-1;" + MYSQL_MODE;
+    }
+
+    @Override public String prepareUrl(String url) {
+        return url.contains(MYSQL_MODE) ? url : url + ";" + MYSQL_MODE;
+    }
+
+    @Override public String quote(String identifier) {
+        return "\"" + identifier + "\"";
+    }
+
+    @Override public String indexedStringType() {
+        return "VARCHAR(" + INDEXED_STRING_LENGTH + ")";
+    }
+
+    /**
+     * The division of the BIGINT values truncates.
+     */
+    @Override public String divide(String numerator, String denominator, boolean integral) {
+        return numerator + " / " + denominator;
+    }
+
+    @Override public String transform(Class<?> type) {
+        if (Integer.class.equals(type) || int.class.equals(type)) {
+            return "INT";
+        } else if (Long.class.equals(type) || long.class.equals(type)) {
+            return "BIGINT";
+        } else if (Double.class.equals(type) || double.class.equals(type)) {
+            return "DOUBLE";
+        } else if (String.class.equals(type)) {
+            return "VARCHAR(2000)";
+        } else if (IntKeyLongValueHistogram.class.equals(type)) {
+            return "VARBINARY";
+        } else if (byte[].class.equals(type)) {
+            return "VARBINARY";
+        } else {
+            throw new IllegalArgumentException("Unsupported data type: " + type.getName());
+        }
+    }
+}
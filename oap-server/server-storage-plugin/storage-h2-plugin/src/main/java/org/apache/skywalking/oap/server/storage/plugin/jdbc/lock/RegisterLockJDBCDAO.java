@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.lock;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.oap.server.core.source.Scope;
+import org.apache.skywalking.oap.server.core.storage.IRegisterLockDAO;
+import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClient;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.base.*;
+import org.slf4j.*;
+
+/**
+ * Lock the row of the scope by the version column, the lock succeeds only when no other OAP node changed the row
+ * since it was read.
+ */
+public class RegisterLockJDBCDAO extends JDBCDAO implements IRegisterLockDAO {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegisterLockJDBCDAO.class);
+
+    private final int timeout;
+    private final String selectSQL;
+    private final String lockSQL;
+    private final String releaseSQL;
+
+    public RegisterLockJDBCDAO(JDBCClient client, SQLDialect dialect, int timeout) {
+        super(client, dialect);
+        this.timeout = timeout;
+
+        String table = dialect.quote(RegisterLockTable.NAME);
+        String id = dialect.quote(RegisterLockTable.COLUMN_ID);
+        String expire = dialect.quote(RegisterLockTable.COLUMN_EXPIRE);
+        String lockable = dialect.quote(RegisterLockTable.COLUMN_LOCKABLE);
+        String version = dialect.quote(RegisterLockTable.COLUMN_VERSION);
+        this.selectSQL = "SELECT " + expire + ", " + lockable + ", " + version + " FROM " + table + " WHERE " + id + " = ?";
+        this.lockSQL = "UPDATE " + table + " SET " + expire + " = ?, " + lockable + " = 0, " + version + " = " + version + " + 1 WHERE " + id + " = ? AND " + version + " = ?";
+        this.releaseSQL = "UPDATE " + table + " SET " + lockable + " = 1, " + version + " = " + version + " + 1 WHERE " + id + " = ?";
+    }
+
+    @Override public boolean tryLock(Scope scope) {
+        int id = scope.ordinal();
+        try {
+            LockRow row = getClient().executeQuery(selectSQL, resultSet -> {
+                if (resultSet.next()) {
+                    return new LockRow(resultSet.getLong(1), resultSet.getInt(2) == 1, resultSet.getLong(3));
+                }
+                return null;
+            }, id);
+
+            if (row != null) {
+                if (row.lockable || System.currentTimeMillis() > row.expire) {
+                    return getClient().executeUpdate(lockSQL, System.currentTimeMillis() + timeout, id, row.version) == 1;
+                } else {
+                    TimeUnit.SECONDS.sleep(1);
+                    return false;
+                }
+            }
+        } catch (Throwable t) {
+            logger.warn("Try to lock the row with the id {} failure, error message: {}", id, t.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    @Override public void releaseLock(Scope scope) {
+        try {
+            getClient().executeUpdate(releaseSQL, scope.ordinal());
+        } catch (Throwable t) {
+            logger.error("Release lock failure.");
+        }
+    }
+
+    private static class LockRow {
+        private final long expire;
+        private final boolean lockable;
+        private final long version;
+
+        private LockRow(long expire, boolean lockable, long version) {
+            this.expire = expire;
+            this.lockable = lockable;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.lock;
+
+import org.apache.skywalking.oap.server.core.source.Scope;
+import org.apache.skywalking.oap.server.core.storage.StorageException;
+import org.apache.skywalking.oap.server.library.client.jdbc.*;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.base.SQLDialect;
+
+public class RegisterLockJDBCInstaller {
+
+    private final JDBCClient client;
+    private final SQLDialect dialect;
+
+    public RegisterLockJDBCInstaller(JDBCClient client, SQLDialect dialect) {
+        this.client = client;
+        this.dialect = dialect;
+    }
+
+    public void install() throws StorageException {
+        try {
+            client.execute("CREATE TABLE IF NOT EXISTS " + dialect.quote(RegisterLockTable.NAME) + " ("
+                + dialect.quote(RegisterLockTable.COLUMN_ID) + " INT NOT NULL, "
+                + dialect.quote(RegisterLockTable.COLUMN_EXPIRE) + " BIGINT, "
+                + dialect.quote(RegisterLockTable.COLUMN_LOCKABLE) + " INT, "
+                + dialect.quote(RegisterLockTable.COLUMN_VERSION) + " BIGINT, "
+                + "PRIMARY KEY (" + dialect.quote(RegisterLockTable.COLUMN_ID) + "))");
+            putIfAbsent(Scope.Endpoint.ordinal());
+            putIfAbsent(Scope.ServiceInstance.ordinal());
+            putIfAbsent(Scope.Service.ordinal());
+            putIfAbsent(Scope.NetworkAddress.ordinal());
+        } catch (JDBCClientException e) {
+            throw new StorageException(e.getMessage());
+        }
+    }
+
+    private void putIfAbsent(int scopeId) throws JDBCClientException {
+        String selectSQL = "SELECT 1 FROM " + dialect.quote(RegisterLockTable.NAME) + " WHERE " + dialect.quote(RegisterLockTable.COLUMN_ID) + " = ?";
+        if (!client.executeQuery(selectSQL, resultSet -> resultSet.next(), scopeId)) {
+            client.executeUpdate("INSERT INTO " + dialect.quote(RegisterLockTable.NAME) + " ("
+                + dialect.quote(RegisterLockTable.COLUMN_ID) + ", "
+                + dialect.quote(RegisterLockTable.COLUMN_EXPIRE) + ", "
+                + dialect.quote(RegisterLockTable.COLUMN_LOCKABLE) + ", "
+                + dialect.quote(RegisterLockTable.COLUMN_VERSION) + ") VALUES (?, ?, ?, ?)", scopeId, Long.MIN_VALUE, 1, 0L);
+        }
+    }
+}
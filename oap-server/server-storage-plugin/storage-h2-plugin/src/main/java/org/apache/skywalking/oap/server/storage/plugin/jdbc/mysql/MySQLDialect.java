@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.mysql;
+
+import org.apache.skywalking.oap.server.core.analysis.indicator.IntKeyLongValueHistogram;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.base.SQLDialect;
+
+public class MySQLDialect extends SQLDialect {
+
+    @Override public String driverClassName() {
+        return "com.mysql.jdbc.Driver";
+    }
+
+    /**
+     * The driver rewrites the JDBC batch of an insert into one multi-row insert.
+     */
+    @Override public String defaultUrl() {
+        return "jdbc:mysql://localhost:3306/skywalking?rewriteBatchedStatements=true&useUnicode=true&characterEncoding=utf8";
+    }
+
+    @Override public String quote(String identifier) {
+        return "`" + identifier + "`";
+    }
+
+    @Override public String indexedStringType() {
+        return "VARCHAR(" + INDEXED_STRING_LENGTH + ")";
+    }
+
+    /**
+     * The / operator of MySQL returns a decimal even for the integer values.
+     */
+    @Override public String divide(String numerator, String denominator, boolean integral) {
+        return numerator + (integral ? " DIV " : " / ") + denominator;
+    }
+
+    @Override public String transform(Class<?> type) {
+        if (Integer.class.equals(type) || int.class.equals(type)) {
+            return "INT";
+        } else if (Long.class.equals(type) || long.class.equals(type)) {
+            return "BIGINT";
+        } else if (Double.class.equals(type) || double.class.equals(type)) {
+            return "DOUBLE";
+        } else if (String.class.equals(type)) {
+            return "VARCHAR(2000)";
+        } else if (IntKeyLongValueHistogram.class.equals(type)) {
+            return "MEDIUMBLOB";
+        } else if (byte[].class.equals(type)) {
+            return "MEDIUMBLOB";
+        } else {
+            throw new IllegalArgumentException("Unsupported data type: " + type.getName());
+        }
+    }
+}
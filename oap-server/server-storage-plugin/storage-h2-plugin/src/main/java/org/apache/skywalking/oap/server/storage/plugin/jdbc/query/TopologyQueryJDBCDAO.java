@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.query;
+
+import java.io.IOException;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.UnexpectedException;
+import org.apache.skywalking.oap.server.core.analysis.manual.endpointrelation.*;
+import org.apache.skywalking.oap.server.core.analysis.manual.service.*;
+import org.apache.skywalking.oap.server.core.analysis.manual.servicerelation.*;
+import org.apache.skywalking.oap.server.core.query.entity.*;
+import org.apache.skywalking.oap.server.core.source.*;
+import org.apache.skywalking.oap.server.core.storage.TimePyramidTableNameBuilder;
+import org.apache.skywalking.oap.server.core.storage.query.ITopologyQueryDAO;
+import org.apache.skywalking.oap.server.library.client.jdbc.*;
+import org.apache.skywalking.oap.server.library.util.CollectionUtils;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.base.*;
+
+public class TopologyQueryJDBCDAO extends JDBCDAO implements ITopologyQueryDAO {
+
+    public TopologyQueryJDBCDAO(JDBCClient client, SQLDialect dialect) {
+        super(client, dialect);
+    }
+
+    @Override
+    public List<Call> loadSpecifiedServerSideServiceRelations(Step step, long startTB, long endTB,
+        List<Integer> serviceIds) throws IOException {
+        if (CollectionUtils.isEmpty(serviceIds)) {
+            throw new UnexpectedException("Service id is null");
+        }
+
+        String tableName = TimePyramidTableNameBuilder.build(step, ServiceRelationServerSideIndicator.INDEX_NAME);
+        return loadServiceCalls(tableName, startTB, endTB, ServiceRelationServerSideIndicator.SOURCE_SERVICE_ID, ServiceRelationServerSideIndicator.DEST_SERVICE_ID, serviceIds);
+    }
+
+    @Override
+    public List<Call> loadSpecifiedClientSideServiceRelations(Step step, long startTB, long endTB,
+        List<Integer> serviceIds) throws IOException {
+        if (CollectionUtils.isEmpty(serviceIds)) {
+            throw new UnexpectedException("Service id is null");
+        }
+
+        String tableName = TimePyramidTableNameBuilder.build(step, ServiceRelationClientSideIndicator.INDEX_NAME);
+        return loadServiceCalls(tableName, startTB, endTB, ServiceRelationClientSideIndicator.SOURCE_SERVICE_ID, ServiceRelationClientSideIndicator.DEST_SERVICE_ID, serviceIds);
+    }
+
+    @Override public List<Call> loadServerSideServiceRelations(Step step, long startTB, long endTB) throws IOException {
+        String tableName = TimePyramidTableNameBuilder.build(step, ServiceRelationServerSideIndicator.INDEX_NAME);
+        return loadServiceCalls(tableName, startTB, endTB, ServiceRelationServerSideIndicator.SOURCE_SERVICE_ID, ServiceRelationServerSideIndicator.DEST_SERVICE_ID, Collections.emptyList());
+    }
+
+    @Override public List<Call> loadClientSideServiceRelations(Step step, long startTB, long endTB) throws IOException {
+        String tableName = TimePyramidTableNameBuilder.build(step, ServiceRelationClientSideIndicator.INDEX_NAME);
+        return loadServiceCalls(tableName, startTB, endTB, ServiceRelationClientSideIndicator.SOURCE_SERVICE_ID, ServiceRelationClientSideIndicator.DEST_SERVICE_ID, Collections.emptyList());
+    }
+
+    @Override public List<ServiceMapping> loadServiceMappings(Step step, long startTB, long endTB) throws IOException {
+        String tableName = TimePyramidTableNameBuilder.build(step, ServiceMappingIndicator.INDEX_NAME);
+
+        List<ServiceMapping> serviceMappings = new ArrayList<>();
+        for (int[] pair : loadPairs(tableName, startTB, endTB, ServiceMappingIndicator.SERVICE_ID, ServiceMappingIndicator.MAPPING_SERVICE_ID, "", new ArrayList<>())) {
+            ServiceMapping serviceMapping = new ServiceMapping();
+            serviceMapping.setServiceId(pair[0]);
+            serviceMapping.setMappingServiceId(pair[1]);
+            serviceMappings.add(serviceMapping);
+        }
+        return serviceMappings;
+    }
+
+    @Override
+    public List<ServiceComponent> loadServiceComponents(Step step, long startTB, long endTB) throws IOException {
+        String tableName = TimePyramidTableNameBuilder.build(step, ServiceComponentIndicator.INDEX_NAME);
+
+        List<ServiceComponent> serviceComponents = new ArrayList<>();
+        for (int[] pair : loadPairs(tableName, startTB, endTB, ServiceComponentIndicator.SERVICE_ID, ServiceComponentIndicator.COMPONENT_ID, "", new ArrayList<>())) {
+            ServiceComponent serviceComponent = new ServiceComponent();
+            serviceComponent.setServiceId(pair[0]);
+            serviceComponent.setComponentId(pair[1]);
+            serviceComponents.add(serviceComponent);
+        }
+        return serviceComponents;
+    }
+
+    @Override
+    public List<Call> loadSpecifiedDestOfServerSideEndpointRelations(Step step, long startTB, long endTB,
+        int destEndpointId) throws IOException {
+        String tableName = TimePyramidTableNameBuilder.build(step, EndpointRelationServerSideIndicator.INDEX_NAME);
+        return loadEndpointCalls(tableName, startTB, endTB, EndpointRelationServerSideIndicator.SOURCE_ENDPOINT_ID, EndpointRelationServerSideIndicator.DEST_ENDPOINT_ID, EndpointRelationServerSideIndicator.DEST_ENDPOINT_ID, destEndpointId);
+    }
+
+    @Override
+    public List<Call> loadSpecifiedSourceOfClientSideEndpointRelations(Step step, long startTB, long endTB,
+        int sourceEndpointId) throws IOException {
+        String tableName = TimePyramidTableNameBuilder.build(step, EndpointRelationClientSideIndicator.INDEX_NAME);
+        return loadEndpointCalls(tableName, startTB, endTB, EndpointRelationClientSideIndicator.SOURCE_ENDPOINT_ID, EndpointRelationClientSideIndicator.DEST_ENDPOINT_ID, EndpointRelationClientSideIndicator.SOURCE_ENDPOINT_ID, sourceEndpointId);
+    }
+
+    /**
+     * @param serviceIds the calls from or to these services, empty means all the calls.
+     */
+    private List<Call> loadServiceCalls(String tableName, long startTB, long endTB, String sourceCName,
+        String destCName, List<Integer> serviceIds) throws IOException {
+        List<Object> params = new ArrayList<>(serviceIds);
+        params.addAll(serviceIds);
+
+        String condition = "";
+        if (!serviceIds.isEmpty()) {
+            condition = " AND (" + inCondition(sourceCName, serviceIds.size()) + " OR " + inCondition(destCName, serviceIds.size()) + ")";
+        }
+
+        List<Call> calls = new ArrayList<>();
+        for (int[] pair : loadPairs(tableName, startTB, endTB, sourceCName, destCName, condition, params)) {
+            Call call = new Call();
+            call.setSource(pair[0]);
+            call.setTarget(pair[1]);
+            call.setId(ServiceRelation.buildEntityId(call.getSource(), call.getTarget()));
+            calls.add(call);
+        }
+        return calls;
+    }
+
+    private List<Call> loadEndpointCalls(String tableName, long startTB, long endTB, String sourceCName,
+        String destCName, String endpointCName, int endpointId) throws IOException {
+        String condition = " AND " + getDialect().quote(endpointCName) + " = ?";
+
+        List<Call> calls = new ArrayList<>();
+        for (int[] pair : loadPairs(tableName, startTB, endTB, sourceCName, destCName, condition, new ArrayList<>(Collections.singletonList(endpointId)))) {
+            Call call = new Call();
+            call.setSource(pair[0]);
+            call.setTarget(pair[1]);
+            call.setId(EndpointRelation.buildEntityId(call.getSource(), call.getTarget()));
+            calls.add(call);
+        }
+        return calls;
+    }
+
+    private String inCondition(String columnName, int size) {
+        StringBuilder condition = new StringBuilder(getDialect().quote(columnName)).append(" IN (");
+        for (int i = 0; i < size; i++) {
+            condition.append(i == 0 ? "?" : ", ?");
+        }
+        return condition.append(")").toString();
+    }
+
+    /**
+     * @return the distinct pairs of the two columns in the time range.
+     */
+    private List<int[]> loadPairs(String tableName, long startTB, long endTB, String firstCName, String secondCName,
+        String condition, List<Object> conditionParams) throws IOException {
+        String sql = "SELECT DISTINCT " + getDialect().quote(firstCName) + ", " + getDialect().quote(secondCName)
+            + " FROM " + getDialect().quote(tableName)
+            + " WHERE " + getDialect().quote(ServiceRelationServerSideIndicator.TIME_BUCKET) + " >= ? AND " + getDialect().quote(ServiceRelationServerSideIndicator.TIME_BUCKET) + " <= ?"
+            + condition;
+
+        List<Object> params = new ArrayList<>();
+        params.add(startTB);
+        params.add(endTB);
+        params.addAll(conditionParams);
+
+        try {
+            return getClient().executeQuery(sql, resultSet -> {
+                List<int[]> pairs = new ArrayList<>();
+                while (resultSet.next()) {
+                    pairs.add(new int[] {resultSet.getInt(1), resultSet.getInt(2)});
+                }
+                return pairs;
+            }, params.toArray());
+        } catch (JDBCClientException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
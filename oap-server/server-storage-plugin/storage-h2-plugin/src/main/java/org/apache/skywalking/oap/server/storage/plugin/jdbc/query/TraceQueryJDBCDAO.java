@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.query;
+
+import java.io.IOException;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.*;
+import org.apache.skywalking.oap.server.core.query.entity.*;
+import org.apache.skywalking.oap.server.core.storage.query.ITraceQueryDAO;
+import org.apache.skywalking.oap.server.library.client.jdbc.*;
+import org.apache.skywalking.oap.server.library.util.StringUtils;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.base.*;
+
+import static java.util.Objects.nonNull;
+
+public class TraceQueryJDBCDAO extends JDBCDAO implements ITraceQueryDAO {
+
+    /**
+     * The max number of the segments read for one trace.
+     */
+    private static final int SEGMENT_QUERY_MAX_SIZE = 200;
+
+    public TraceQueryJDBCDAO(JDBCClient client, SQLDialect dialect) {
+        super(client, dialect);
+    }
+
+    @Override
+    public TraceBrief queryBasicTraces(long startMinuteTB, long endMinuteTB, long minDuration, long maxDuration,
+        String endpointName, int serviceId, String traceId, int limit, int from, TraceState traceState,
+        QueryOrder queryOrder) throws IOException {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        List<Object> params = new ArrayList<>();
+
+        if (startMinuteTB != 0 && endMinuteTB != 0) {
+            where.append(" AND ").append(getDialect().quote(SegmentRecord.TIME_BUCKET)).append(" >= ?");
+            where.append(" AND ").append(getDialect().quote(SegmentRecord.TIME_BUCKET)).append(" <= ?");
+            params.add(startMinuteTB);
+            params.add(endMinuteTB);
+        }
+        if (minDuration != 0) {
+            where.append(" AND ").append(getDialect().quote(SegmentRecord.LATENCY)).append(" >= ?");
+            params.add(minDuration);
+        }
+        if (maxDuration != 0) {
+            where.append(" AND ").append(getDialect().quote(SegmentRecord.LATENCY)).append(" <= ?");
+            params.add(maxDuration);
+        }
+        if (StringUtils.isNotEmpty(endpointName)) {
+            where.append(" AND ").append(getDialect().quote(SegmentRecord.ENDPOINT_NAME)).append(" = ?");
+            params.add(endpointName);
+        }
+        if (serviceId != 0) {
+            where.append(" AND ").append(getDialect().quote(SegmentRecord.SERVICE_ID)).append(" = ?");
+            params.add(serviceId);
+        }
+        if (StringUtils.isNotEmpty(traceId)) {
+            where.append(" AND ").append(getDialect().quote(ID)).append(" IN (").append(segmentIdsSQL()).append(")");
+            params.add(traceId);
+        }
+
+        if (nonNull(traceState)) {
+            switch (traceState) {
+                case ERROR:
+                    where.append(" AND ").append(getDialect().quote(SegmentRecord.IS_ERROR)).append(" = 1");
+                    break;
+                case SUCCESS:
+                    where.append(" AND ").append(getDialect().quote(SegmentRecord.IS_ERROR)).append(" = 0");
+                    break;
+            }
+        }
+
+        String orderBy = QueryOrder.BY_DURATION.equals(queryOrder) ? SegmentRecord.LATENCY : SegmentRecord.START_TIME;
+
+        /*
+         * The brief only needs the index columns, skip the data binary which is the most of the row.
+         */
+        String table = getDialect().quote(SegmentRecord.INDEX_NAME);
+        String countSQL = "SELECT COUNT(*) FROM " + table + where;
+        String selectSQL = "SELECT " + getDialect().quote(SegmentRecord.SEGMENT_ID) + ", " + getDialect().quote(SegmentRecord.START_TIME)
+            + ", " + getDialect().quote(SegmentRecord.ENDPOINT_NAME) + ", " + getDialect().quote(SegmentRecord.LATENCY)
+            + ", " + getDialect().quote(SegmentRecord.IS_ERROR) + ", " + getDialect().quote(SegmentRecord.TRACE_ID)
+            + " FROM " + table + where + " ORDER BY " + getDialect().quote(orderBy) + " DESC LIMIT " + limit + " OFFSET " + from;
+
+        try {
+            TraceBrief traceBrief = new TraceBrief();
+            traceBrief.setTotal(getClient().executeQuery(countSQL, resultSet -> resultSet.next() ? resultSet.getInt(1) : 0, params.toArray()));
+
+            getClient().executeQuery(selectSQL, resultSet -> {
+                while (resultSet.next()) {
+                    BasicTrace basicTrace = new BasicTrace();
+                    basicTrace.setSegmentId(resultSet.getString(SegmentRecord.SEGMENT_ID));
+                    basicTrace.setStart(String.valueOf(resultSet.getLong(SegmentRecord.START_TIME)));
+                    basicTrace.getOperationNames().add(resultSet.getString(SegmentRecord.ENDPOINT_NAME));
+                    basicTrace.setDuration(resultSet.getInt(SegmentRecord.LATENCY));
+                    basicTrace.setError(resultSet.getInt(SegmentRecord.IS_ERROR) == 1);
+                    basicTrace.getTraceIds().add(resultSet.getString(SegmentRecord.TRACE_ID));
+                    traceBrief.getTraces().add(basicTrace);
+                }
+                return traceBrief;
+            }, params.toArray());
+            return traceBrief;
+        } catch (JDBCClientException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override public List<SegmentRecord> queryByTraceId(String traceId) throws IOException {
+        String sql = "SELECT * FROM " + getDialect().quote(SegmentRecord.INDEX_NAME)
+            + " WHERE " + getDialect().quote(ID) + " IN (" + segmentIdsSQL() + ") LIMIT " + SEGMENT_QUERY_MAX_SIZE;
+
+        SegmentRecord.Builder builder = new SegmentRecord.Builder();
+        try {
+            return getClient().executeQuery(sql, resultSet -> {
+                List<SegmentRecord> segmentRecords = new ArrayList<>();
+                while (resultSet.next()) {
+                    segmentRecords.add(builder.map2Data(toMap(resultSet)));
+                }
+                return segmentRecords;
+            }, traceId);
+        } catch (JDBCClientException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return the sub query of the ids of the segments having the global trace id parameter.
+     */
+    private String segmentIdsSQL() {
+        return "SELECT " + getDialect().quote(OWNER_ID) + " FROM " + getDialect().quote(multiValuedTableName(SegmentRecord.INDEX_NAME, SegmentRecord.GLOBAL_TRACE_IDS))
+            + " WHERE " + getDialect().quote(SegmentRecord.GLOBAL_TRACE_IDS) + " = ?";
+    }
+}
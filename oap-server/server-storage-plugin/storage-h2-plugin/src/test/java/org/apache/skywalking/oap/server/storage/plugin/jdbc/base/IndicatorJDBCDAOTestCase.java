@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.base;
+
+import java.io.IOException;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.generated.service.*;
+import org.apache.skywalking.oap.server.core.analysis.indicator.Indicator;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.annotation.StorageAnnotationListener;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClient;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.H2Dialect;
+import org.junit.*;
+
+public class IndicatorJDBCDAOTestCase {
+
+    private static final String MODEL_NAME = "service_resp_time_hour";
+
+    private final H2Dialect dialect = new H2Dialect();
+    private final StorageJDBCInstaller installer = new StorageJDBCInstaller(null, dialect);
+    private JDBCClient client;
+    private Model model;
+    private IndicatorJDBCDAO indicatorDAO;
+    private BatchJDBCDAO batchDAO;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        client = new JDBCClient(dialect.driverClassName(), dialect.defaultUrl(), "", "", 2, 10);
+        client.initialize();
+
+        StorageAnnotationListener listener = new StorageAnnotationListener();
+        listener.notify(ServiceRespTimeIndicator.class);
+        for (Model model : listener.getModels()) {
+            if (MODEL_NAME.equals(model.getName())) {
+                this.model = model;
+            }
+        }
+        installer.createTable(client, model);
+
+        indicatorDAO = new IndicatorJDBCDAO(client, dialect, (StorageBuilder)new ServiceRespTimeIndicator.Builder());
+        batchDAO = new BatchJDBCDAO(client, dialect, 1);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        installer.deleteTable(client, model);
+        client.shutdown();
+    }
+
+    @Test
+    public void testInsertAndUpdate() throws IOException {
+        ServiceRespTimeIndicator indicator = indicator("1", 100);
+        ServiceRespTimeIndicator other = indicator("2", 300);
+        batchDAO.batchPersistence(Arrays.asList(indicatorDAO.prepareBatchInsert(MODEL_NAME, indicator), indicatorDAO.prepareBatchInsert(MODEL_NAME, other)));
+
+        List<Indicator> stored = indicatorDAO.multiGet(MODEL_NAME, Arrays.asList(indicator, other, indicator("3", 100)), new HashSet<>());
+        Assert.assertEquals(2, stored.size());
+
+        indicator.combine(stored.get(0));
+        indicator.calculate();
+        batchDAO.batchPersistence(Collections.singletonList(indicatorDAO.prepareBatchUpdate(MODEL_NAME, indicator)));
+
+        ServiceRespTimeIndicator updated = (ServiceRespTimeIndicator)indicatorDAO.get(MODEL_NAME, indicator);
+        Assert.assertEquals(200, updated.getSummation());
+        Assert.assertEquals(2, updated.getCount());
+        Assert.assertEquals(100, updated.getValue());
+        Assert.assertEquals("1", updated.getEntityId());
+        Assert.assertEquals(2018103023L, updated.getTimeBucket());
+    }
+
+    @Test
+    public void testUpdateInsertsAbsentRow() throws IOException {
+        ServiceRespTimeIndicator indicator = indicator("1", 100);
+        batchDAO.batchPersistence(Collections.singletonList(indicatorDAO.prepareBatchUpdate(MODEL_NAME, indicator)));
+
+        ServiceRespTimeIndicator stored = (ServiceRespTimeIndicator)indicatorDAO.get(MODEL_NAME, indicator);
+        Assert.assertEquals(100, stored.getSummation());
+        Assert.assertEquals(1, stored.getCount());
+    }
+
+    @Test
+    public void testUpsert() throws IOException {
+        ServiceRespTimeIndicator indicator = indicator("1", 100);
+        batchDAO.batchPersistence(Collections.singletonList(indicatorDAO.prepareBatchUpsert(MODEL_NAME, indicator)));
+
+        ServiceRespTimeIndicator increment = indicator("1", 300);
+        increment.combine(200, 1);
+        increment.calculate();
+        batchDAO.batchPersistence(Collections.singletonList(indicatorDAO.prepareBatchUpsert(MODEL_NAME, increment)));
+
+        ServiceRespTimeIndicator stored = (ServiceRespTimeIndicator)indicatorDAO.get(MODEL_NAME, indicator);
+        Assert.assertEquals(600, stored.getSummation());
+        Assert.assertEquals(3, stored.getCount());
+        Assert.assertEquals(200, stored.getValue());
+    }
+
+    @Test
+    public void testFailedBatchKeepsOtherRows() throws IOException {
+        ServiceRespTimeIndicator indicator = indicator("1", 100);
+        batchDAO.batchPersistence(Collections.singletonList(indicatorDAO.prepareBatchInsert(MODEL_NAME, indicator)));
+
+        List<String> failedIds = new ArrayList<>();
+        batchDAO.setFailureListener((modelName, id) -> failedIds.add(id));
+
+        ServiceRespTimeIndicator other = indicator("2", 300);
+        batchDAO.batchPersistence(Arrays.asList(indicatorDAO.prepareBatchInsert(MODEL_NAME, indicator), indicatorDAO.prepareBatchInsert(MODEL_NAME, other)));
+
+        Assert.assertNotNull(indicatorDAO.get(MODEL_NAME, other));
+        Assert.assertEquals(Collections.singletonList(indicator.id()), failedIds);
+    }
+
+    private ServiceRespTimeIndicator indicator(String entityId, long latency) {
+        ServiceRespTimeIndicator indicator = new ServiceRespTimeIndicator();
+        indicator.setEntityId(entityId);
+        indicator.setTimeBucket(2018103023L);
+        indicator.combine(latency, 1);
+        indicator.calculate();
+        return indicator;
+    }
+}
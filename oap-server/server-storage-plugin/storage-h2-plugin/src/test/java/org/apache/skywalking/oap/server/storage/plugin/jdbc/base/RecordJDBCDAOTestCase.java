@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.oap.server.storage.plugin.jdbc.base;
+
+import java.io.IOException;
+import java.util.*;
+import org.apache.skywalking.oap.server.core.analysis.manual.segment.SegmentRecord;
+import org.apache.skywalking.oap.server.core.query.entity.*;
+import org.apache.skywalking.oap.server.core.storage.StorageBuilder;
+import org.apache.skywalking.oap.server.core.storage.annotation.StorageAnnotationListener;
+import org.apache.skywalking.oap.server.core.storage.model.Model;
+import org.apache.skywalking.oap.server.library.client.jdbc.JDBCClient;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.h2.H2Dialect;
+import org.apache.skywalking.oap.server.storage.plugin.jdbc.query.TraceQueryJDBCDAO;
+import org.junit.*;
+
+public class RecordJDBCDAOTestCase {
+
+    private final H2Dialect dialect = new H2Dialect();
+    private final StorageJDBCInstaller installer = new StorageJDBCInstaller(null, dialect);
+    private JDBCClient client;
+    private Model model;
+    private RecordJDBCDAO recordDAO;
+    private BatchJDBCDAO batchDAO;
+    private TraceQueryJDBCDAO traceQueryDAO;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        client = new JDBCClient(dialect.driverClassName(), dialect.defaultUrl(), "", "", 2, 10);
+        client.initialize();
+
+        StorageAnnotationListener listener = new StorageAnnotationListener();
+        listener.notify(SegmentRecord.class);
+        model = listener.getModels().get(0);
+        installer.createTable(client, model);
+
+        recordDAO = new RecordJDBCDAO(client, dialect, (StorageBuilder)new SegmentRecord.Builder());
+        batchDAO = new BatchJDBCDAO(client, dialect, 10);
+        traceQueryDAO = new TraceQueryJDBCDAO(client, dialect);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        installer.deleteTable(client, model);
+        client.shutdown();
+    }
+
+    @Test
+    public void testQueryByAnyGlobalTraceId() throws IOException {
+        batchDAO.batchPersistence(Arrays.asList(
+            recordDAO.prepareBatchInsert(SegmentRecord.INDEX_NAME, segment("s1", Arrays.asList("t1", "t2"))),
+            recordDAO.prepareBatchInsert(SegmentRecord.INDEX_NAME, segment("s2", Collections.singletonList("t2")))));
+
+        Assert.assertEquals(1, traceQueryDAO.queryByTraceId("t1").size());
+        Assert.assertEquals("s1", traceQueryDAO.queryByTraceId("t1").get(0).getSegmentId());
+        Assert.assertEquals(2, traceQueryDAO.queryByTraceId("t2").size());
+        Assert.assertTrue(traceQueryDAO.queryByTraceId("t3").isEmpty());
+
+        TraceBrief traceBrief = traceQueryDAO.queryBasicTraces(0, 0, 0, 0, null, 0, "t2", 10, 0, TraceState.ALL, QueryOrder.BY_START_TIME);
+        Assert.assertEquals(2, traceBrief.getTotal());
+    }
+
+    @Test
+    public void testDeleteHistoryOfGlobalTraceIds() throws IOException {
+        batchDAO.batchPersistence(Collections.singletonList(
+            recordDAO.prepareBatchInsert(SegmentRecord.INDEX_NAME, segment("s1", Arrays.asList("t1", "t2")))));
+
+        new HistoryDeleteJDBCDAO(client, dialect).deleteHistory(model, 201810170001L);
+
+        Assert.assertTrue(traceQueryDAO.queryByTraceId("t1").isEmpty());
+        TraceBrief traceBrief = traceQueryDAO.queryBasicTraces(0, 0, 0, 0, null, 0, null, 10, 0, TraceState.ALL, QueryOrder.BY_START_TIME);
+        Assert.assertEquals(0, traceBrief.getTotal());
+    }
+
+    private SegmentRecord segment(String segmentId, List<String> globalTraceIds) {
+        SegmentRecord record = new SegmentRecord();
+        record.setSegmentId(segmentId);
+        record.setTraceId(globalTraceIds.get(0));
+        record.setGlobalTraceIds(globalTraceIds);
+        record.setEndpointName("/users");
+        record.setTimeBucket(201810170000L);
+        record.setDataBinary(new byte[] {1});
+        return record;
+    }
+}